@@ -0,0 +1,172 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraphBuilder;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open-list strategies for A*, and Contraction Hierarchy queries, on
+ * synthetic road grids of 10k, 100k and 1M nodes.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:java -Dexec.args="AStarBenchmark"
+ *
+ * priorityQueueRemoveAdd reproduces the original java.util.PriorityQueue
+ * remove + add relaxation over the same CSR arrays, so the only difference
+ * from csrIndexedHeap is the queue. chBidirectional answers the same queries
+ * from a hierarchy built once per trial (preprocessing is not measured).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AStarBenchmark {
+
+    private static final int QUERIES = 16;
+
+    // Grid side: 100 -> 10k nodes, 316 -> ~100k, 1000 -> 1M
+    @Param({"100", "316", "1000"})
+    public int side;
+
+    private RoadGraph graph;
+    private CsrAStar csrAStar;
+    private List<Node> nodes;
+    private final AStar nodeAStar = new AStar();
+
+    private int[] sources;
+    private int[] targets;
+    private int next;
+
+    // removeAddAStar's labels, allocated once per trial and reset per query by
+    // generation stamps as CsrAStar does, so only the open list differs
+    private double[] g;
+    private double[] f;
+    private int[] seen;
+    private int[] closed;
+    private int generation;
+    private PriorityQueue<Integer> open;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        nodes = new ArrayList<>(side * side);
+
+        // ~110 m spacing with jitter, 85% of grid links present (some detours)
+        for (int i = 0; i < side * side; i++) {
+            double lat = 11.0 + (i / side) * 0.001 + random.nextDouble() * 0.0003;
+            double lng = 77.0 + (i % side) * 0.001 + random.nextDouble() * 0.0003;
+            builder.addNode(lat, lng);
+            nodes.add(new Node(lat, lng));
+        }
+        for (int i = 0; i < side * side; i++) {
+            if (i % side + 1 < side && random.nextDouble() < 0.85) link(builder, i, i + 1);
+            if (i / side + 1 < side && random.nextDouble() < 0.85) link(builder, i, i + side);
+        }
+        graph = builder.build();
+        csrAStar = new CsrAStar(graph);
+
+        int n = graph.nodeCount();
+        g = new double[n];
+        f = new double[n];
+        seen = new int[n];
+        closed = new int[n];
+        open = new PriorityQueue<>((a, b) -> Double.compare(f[a], f[b]));
+
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            sources[q] = random.nextInt(side * side);
+            targets[q] = random.nextInt(side * side);
+        }
+    }
+
+    private void link(RoadGraphBuilder builder, int a, int b) {
+        builder.addBidirectional(a, b);
+        nodes.get(a).addNeighbor(nodes.get(b));
+        nodes.get(b).addNeighbor(nodes.get(a));
+    }
+
+    private int query() {
+        int q = next;
+        next = (next + 1) % QUERIES;
+        return q;
+    }
+
+    @Benchmark
+    public void csrIndexedHeap(Blackhole bh) {
+        int q = query();
+        bh.consume(csrAStar.findPath(sources[q], targets[q]));
+    }
+
+    @Benchmark
+    public void nodeGraphIndexedHeap(Blackhole bh) {
+        int q = query();
+        bh.consume(nodeAStar.findPath(nodes.get(sources[q]), nodes.get(targets[q]), DistanceWeight.INSTANCE));
+    }
+
+    @Benchmark
+    public void chBidirectional(Hierarchy hierarchy, Blackhole bh) {
+        int q = query();
+        bh.consume(hierarchy.ch.findPath(sources[q], targets[q]));
+    }
+
+    @Benchmark
+    public void priorityQueueRemoveAdd(Blackhole bh) {
+        int q = query();
+        bh.consume(removeAddAStar(sources[q], targets[q]));
+    }
+
+    // Built only for the trials that use it; contracting the 1M grid takes minutes
+    @State(Scope.Benchmark)
+    public static class Hierarchy {
+        ContractionHierarchy ch;
+
+        @Setup(Level.Trial)
+        public void setUp(AStarBenchmark benchmark) {
+            ch = ContractionHierarchy.build(benchmark.graph);
+        }
+    }
+
+    // The pre-IndexedMinHeap relaxation: O(n) PriorityQueue.remove on every improvement
+    private double removeAddAStar(int source, int target) {
+        generation++;
+        open.clear();
+        reach(source, 0, graph.distanceKm(source, target));
+        open.add(source);
+
+        while (!open.isEmpty()) {
+            int u = open.poll();
+            if (u == target) return g[u];
+            closed[u] = generation;
+
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                if (closed[v] == generation) continue;
+                double tentative = g[u] + graph.weight(e);
+                if (seen[v] != generation || tentative < g[v]) {
+                    open.remove(v);
+                    reach(v, tentative, tentative + graph.distanceKm(v, target));
+                    open.add(v);
+                }
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    private void reach(int node, double cost, double estimate) {
+        seen[node] = generation;
+        g[node] = cost;
+        f[node] = estimate;
+    }
+}
@@ -6,8 +6,13 @@ import org.springframework.web.bind.annotation.*;
 import com.neurofleetx.Route_Safety_Scoring.graph.SafetyGraphBuilder;
 import com.neurofleetx.Route_Safety_Scoring.model.RouteSafetyScore;
 import com.neurofleetx.Route_Safety_Scoring.service.RouteSafetyService;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.SafetyWeight;
 import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.RouteCandidate;
 import com.neurofleetx.Smart_Navigation_Engine.ai.service.AStarService;
+import com.neurofleetx.Smart_Navigation_Engine.ai.service.RouteCacheService;
+import com.neurofleetx.Smart_Navigation_Engine.ai.service.RouteEngineService;
 
 import java.util.List;
 
@@ -18,15 +23,21 @@ public class SafetyController {
     private final SafetyGraphBuilder graphBuilder;
     private final RouteSafetyService safetyService;
     private final AStarService aStarService;
+    private final RouteCacheService routeCache;
+    private final RouteEngineService routeEngine;
 
     public SafetyController(
             SafetyGraphBuilder graphBuilder,
             RouteSafetyService safetyService,
-            AStarService aStarService
+            AStarService aStarService,
+            RouteCacheService routeCache,
+            RouteEngineService routeEngine
     ) {
         this.graphBuilder = graphBuilder;
         this.safetyService = safetyService;
         this.aStarService = aStarService;
+        this.routeCache = routeCache;
+        this.routeEngine = routeEngine;
     }
 
     @GetMapping("/score")
@@ -37,17 +48,31 @@ public class SafetyController {
             @RequestParam double endLng
     ) {
 
-        // 1️⃣ Build simple graph
-        List<Node> graph = graphBuilder.buildSampled(startLat, startLng, endLat, endLng, 20);
+        // 0️⃣ Same origin/destination cells -> same score (independent of live traffic)
+        RouteCacheService.Key key = routeCache.key("safety", startLat, startLng, endLat, endLng, RouteCacheService.STATIC);
+        RouteSafetyScore cached = routeCache.get(key);
+        if (cached != null) return cached;
 
-        // 2️⃣ Get start & end nodes
-        Node start = graph.get(0);
-        Node end = graph.get(graph.size() - 1);
+        // 1️⃣ Safest road network path (by road class) when both points snap onto a road
+        List<Node> path;
+        RouteCandidate road = routeEngine.generateSnappedRoute(
+                "Safety Route", startLat, startLng, endLat, endLng, SafetyWeight.INSTANCE);
+        if (road != null) {
+            path = road.getPathNodes();
+        } else {
+            // 2️⃣ Otherwise a simple graph between the raw points
+            List<Node> graph = graphBuilder.buildSampled(startLat, startLng, endLat, endLng, 20);
 
-        // 3️⃣ Use A* to compute a path
-        List<Node> path = aStarService.findPath(start, end, 1.0);
+            Node start = graph.get(0);
+            Node end = graph.get(graph.size() - 1);
+
+            // 3️⃣ Use A* to compute a path
+            path = aStarService.findPath(start, end, DistanceWeight.INSTANCE);
+        }
 
         // 4️⃣ Compute safety score
-        return safetyService.scoreRoute("Safety Route", path);
+        RouteSafetyScore score = safetyService.scoreRoute("Safety Route", path);
+        routeCache.put(key, score, path);
+        return score;
     }
 }
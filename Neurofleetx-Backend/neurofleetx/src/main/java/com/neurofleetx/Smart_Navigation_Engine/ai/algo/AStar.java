@@ -4,68 +4,101 @@ import java.util.*;
 
 import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
 
+/**
+ * A* over the Node object graph.
+ *
+ * All search state lives in a per-call Search object; Nodes are only read,
+ * so one AStar instance and one graph can serve any number of concurrent
+ * queries. Nodes get a dense index when first reached, which keys the score
+ * arrays and the IndexedMinHeap (O(log n) decrease-key). Edge costs and the
+ * heuristic come from a WeightFunction (see algo.weight).
+ */
 public class AStar {
 
-    public List<Node> findPath(Node start, Node goal, double trafficScore) {
-
-        PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingDouble(Node::getF));
-        Map<Node, Double> gScore = new HashMap<>();
-        Map<Node, Node> cameFrom = new HashMap<>();
+    public List<Node> findPath(Node start, Node goal, WeightFunction weight) {
+        return new Search(goal, weight).run(start);
+    }
 
-        start.setG(0);
-        start.setF(start.haversineDistance(goal));
-        gScore.put(start, 0.0);
-        open.add(start);
+    private static final class Search {
 
-        Set<Node> closed = new HashSet<>();
+        private final Node goal;
+        private final WeightFunction weight;
 
-        while (!open.isEmpty()) {
-            Node current = open.poll();
+        // Node -> dense index, by identity
+        private final Map<Node, Integer> index = new IdentityHashMap<>();
+        private final List<Node> nodes = new ArrayList<>();
 
-            if (current.equals(goal)) {
-                return reconstructPath(cameFrom, current);
-            }
+        private double[] gScore = new double[64];
+        private int[] cameFrom = new int[64];
+        private boolean[] closed = new boolean[64];
 
-            closed.add(current);
+        private final IndexedMinHeap open = new IndexedMinHeap(64);
 
-            List<Node> neighbors = current.getNeighbors();
-            if (neighbors == null) continue;
+        Search(Node goal, WeightFunction weight) {
+            this.goal = goal;
+            this.weight = weight;
+        }
 
-            for (Node neighbor : neighbors) {
-                if (closed.contains(neighbor)) continue;
+        List<Node> run(Node start) {
+            int s = indexOf(start);
+            gScore[s] = 0.0;
+            cameFrom[s] = -1;
+            open.insert(s, weight.estimate(start, goal));
 
-                double base = current.haversineDistance(neighbor);
+            while (!open.isEmpty()) {
+                int currentIdx = open.poll();
+                Node current = nodes.get(currentIdx);
 
-                // Traffic-aware weighted distance
-                double weighted = base * (1 + (1 - trafficScore));
+                if (current == goal) {
+                    return reconstructPath(currentIdx);
+                }
 
-                double tentativeG = gScore.getOrDefault(current, Double.POSITIVE_INFINITY) + weighted;
+                closed[currentIdx] = true;
 
-                if (tentativeG < gScore.getOrDefault(neighbor, Double.POSITIVE_INFINITY)) {
+                List<Node> neighbors = current.getNeighbors();
+                if (neighbors == null) continue;
 
-                    cameFrom.put(neighbor, current);
-                    gScore.put(neighbor, tentativeG);
+                for (Node neighbor : neighbors) {
+                    int n = indexOf(neighbor);
+                    if (closed[n]) continue;
 
-                    neighbor.setG(tentativeG);
-                    neighbor.setF(tentativeG + neighbor.haversineDistance(goal));
+                    double tentativeG = gScore[currentIdx] + weight.cost(current, neighbor);
 
-                    open.remove(neighbor);
-                    open.add(neighbor);
+                    if (tentativeG < gScore[n]) {
+                        cameFrom[n] = currentIdx;
+                        gScore[n] = tentativeG;
+                        open.offer(n, tentativeG + weight.estimate(neighbor, goal));
+                    }
                 }
             }
+
+            return Collections.emptyList();
         }
 
-        return Collections.emptyList();
-    }
+        private int indexOf(Node node) {
+            Integer i = index.get(node);
+            if (i != null) return i;
 
-    private List<Node> reconstructPath(Map<Node, Node> cameFrom, Node current) {
-        LinkedList<Node> path = new LinkedList<>();
-        path.addFirst(current);
+            int next = nodes.size();
+            if (next == gScore.length) {
+                int capacity = next * 2;
+                gScore = Arrays.copyOf(gScore, capacity);
+                cameFrom = Arrays.copyOf(cameFrom, capacity);
+                closed = Arrays.copyOf(closed, capacity);
+            }
+            gScore[next] = Double.POSITIVE_INFINITY;
+            cameFrom[next] = -1;
+            index.put(node, next);
+            nodes.add(node);
+            return next;
+        }
 
-        while (cameFrom.containsKey(current)) {
-            current = cameFrom.get(current);
-            path.addFirst(current);
+        private List<Node> reconstructPath(int current) {
+            LinkedList<Node> path = new LinkedList<>();
+            for (int i = current; i != -1; i = cameFrom[i]) {
+                path.addFirst(nodes.get(i));
+            }
+            return path;
         }
-        return path;
     }
 }
@@ -0,0 +1,70 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.GraphPath;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.TrafficWeights;
+
+
+/**
+ * A* with landmark (ALT) lower bounds over live traffic weights.
+ *
+ * Edge costs come from whatever TrafficWeights snapshot the caller passes,
+ * so a traffic refresh is picked up by the next query with no preprocessing;
+ * the landmarks only need rebuilding when the graph itself changes. Search
+ * state comes from the graph's SearchSpacePool, as in CsrAStar.
+ */
+public final class AltAStar {
+
+    private final RoadGraph graph;
+    private final Landmarks landmarks;
+    private final SearchSpacePool spaces;
+
+    public AltAStar(Landmarks landmarks) {
+        this.graph = landmarks.graph();
+        this.landmarks = landmarks;
+        this.spaces = SearchSpacePool.of(graph);
+    }
+
+    public RoadGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Quickest path under the given weights; cost() is in hours.
+     */
+    public GraphPath findPath(int source, int target, TrafficWeights weights) {
+        if (weights.graph() != graph) {
+            throw new IllegalArgumentException("Traffic weights belong to a different graph");
+        }
+        int[] active = landmarks.select(source, target);
+
+        SearchSpace space = spaces.acquire();
+        try {
+            space.begin();
+            SearchSpace.Side s = space.forward;
+            s.reach(source, 0.0, -1, -1);
+            s.open.insert(source, landmarks.lowerBound(source, target, active));
+
+            while (!s.open.isEmpty()) {
+                int u = s.open.poll();
+                if (u == target) return new GraphPath(s.path(target), s.g[target]);
+                s.close(u);
+
+                double gu = s.g[u];
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    int v = graph.target(e);
+                    if (s.isClosed(v)) continue;
+
+                    double tentative = gu + weights.timeHours(e);
+                    if (tentative < s.g(v)) {
+                        s.reach(v, tentative, u, e);
+                        s.open.offer(v, tentative + landmarks.lowerBound(v, target, active));
+                    }
+                }
+            }
+            return GraphPath.none();
+        } finally {
+            spaces.release(space);
+        }
+    }
+}
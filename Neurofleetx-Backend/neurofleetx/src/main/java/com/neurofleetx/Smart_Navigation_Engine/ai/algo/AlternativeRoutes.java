@@ -0,0 +1,281 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.GraphPath;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * k alternative routes by the plateau method.
+ *
+ * One forward Dijkstra from the source and one backward Dijkstra from the
+ * target, both bounded by MAX_STRETCH times the optimal cost, are shared by
+ * every alternative. A plateau is a chain of edges that lies on both trees;
+ * each one gives the route source -> plateau start (forward tree), the
+ * plateau, plateau end -> target (backward tree). The optimal route is
+ * read off the forward tree and always comes first.
+ *
+ * A route is only accepted if
+ *  - its cost is at most MAX_STRETCH times the optimum (bounded stretch),
+ *  - its plateau is at least MIN_PLATEAU of the optimum: every subpath no
+ *    longer than the plateau lies inside one of the two tree paths, so the
+ *    route is locally optimal at that scale (no pointless detours),
+ *  - at most MAX_SHARING of its length is shared with routes already taken
+ *    (diversity), and it visits no node twice.
+ * Candidates are tried by cost minus plateau length.
+ */
+public final class AlternativeRoutes {
+
+    static final double MAX_STRETCH = 1.4;
+    static final double MIN_PLATEAU = 0.2;
+    static final double MAX_SHARING = 0.6;
+
+    private final RoadGraph graph;
+    private final ReverseEdges reverse;
+    private final SearchSpacePool spaces;
+
+    public AlternativeRoutes(RoadGraph graph) {
+        this.graph = graph;
+        this.reverse = new ReverseEdges(graph);
+        this.spaces = SearchSpacePool.of(graph);
+    }
+
+    public RoadGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Up to k routes under the given metric, the optimal one first. Empty when
+     * the target is unreachable; fewer than k when the graph offers no more
+     * routes that pass the filters.
+     */
+    public List<GraphPath> find(int source, int target, int k, WeightFunction weight) {
+        List<GraphPath> routes = new ArrayList<>();
+        if (k <= 0) return routes;
+
+        SearchSpace space = spaces.acquire();
+        try {
+            return find(new Trees(space), source, target, k, weight, routes);
+        } finally {
+            spaces.release(space);
+        }
+    }
+
+    private List<GraphPath> find(Trees s, int source, int target, int k, WeightFunction weight,
+                                 List<GraphPath> routes) {
+        s.begin();
+
+        double best = forward(s, source, target, weight);
+        if (Double.isInfinite(best)) return routes;
+        if (source == target) {
+            routes.add(new GraphPath(new int[]{source}, 0.0));
+            return routes;
+        }
+        backward(s, target, best * MAX_STRETCH, weight);
+
+        List<Plateau> plateaus = plateaus(s, best);
+        plateaus.sort((a, b) -> Double.compare(a.cost - a.length, b.cost - b.length));
+
+        // The optimal route straight off the forward tree: with ties it may be split over several plateaus
+        Set<Long> taken = new HashSet<>();
+        int[] optimal = s.forwardPath(target);
+        take(optimal, taken);
+        routes.add(new GraphPath(optimal, best));
+
+        for (Plateau p : plateaus) {
+            if (routes.size() == k) break;
+
+            int[] nodes = s.route(p.start);
+            if (nodes == null || sharing(nodes, taken) > MAX_SHARING) continue;
+
+            take(nodes, taken);
+            routes.add(new GraphPath(nodes, p.cost));
+        }
+        return routes;
+    }
+
+    // Settles every node within MAX_STRETCH of the optimum; returns the optimal cost
+    private double forward(Trees s, int source, int target, WeightFunction weight) {
+        IndexedMinHeap open = s.space.forward.open;
+        s.reachForward(source, 0.0, -1);
+        open.insert(source, 0.0);
+
+        double bound = Double.POSITIVE_INFINITY;
+        while (!open.isEmpty()) {
+            int u = open.poll();
+            double gu = s.gF[u];
+            if (gu > bound) break;
+            s.settleForward(u);
+            if (u == target) bound = gu * MAX_STRETCH;
+
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = graph.target(e);
+                if (s.isSettledForward(v)) continue;
+
+                double tentative = gu + weight.edgeCost(graph, u, e);
+                if (tentative < s.gForward(v)) {
+                    s.reachForward(v, tentative, u);
+                    open.offer(v, tentative);
+                }
+            }
+        }
+        return s.isSettledForward(target) ? s.gF[target] : Double.POSITIVE_INFINITY;
+    }
+
+    private void backward(Trees s, int target, double bound, WeightFunction weight) {
+        IndexedMinHeap open = s.space.backward().open;
+        s.reachBackward(target, 0.0, -1);
+        open.insert(target, 0.0);
+
+        while (!open.isEmpty()) {
+            int v = open.poll();
+            double gv = s.gB[v];
+            if (gv > bound) break;
+            s.settleBackward(v);
+
+            for (int i = reverse.offsets[v], end = reverse.offsets[v + 1]; i < end; i++) {
+                int u = reverse.sources[i];
+                if (s.isSettledBackward(u)) continue;
+
+                double tentative = gv + weight.edgeCost(graph, u, reverse.edges[i]);
+                if (tentative < s.gBackward(u)) {
+                    s.reachBackward(u, tentative, v);
+                    open.offer(u, tentative);
+                }
+            }
+        }
+    }
+
+    // Maximal chains of edges on both trees that pass the stretch and plateau-length filters
+    private List<Plateau> plateaus(Trees s, double best) {
+        List<Plateau> result = new ArrayList<>();
+        double maxCost = best * MAX_STRETCH;
+        double minLength = best * MIN_PLATEAU;
+
+        for (int i = 0; i < s.space.settledCount; i++) {
+            int v = s.space.settled(i);
+            if (!s.isSettledBackward(v) || s.onPlateau(s.parentF[v], v)) continue;
+
+            int end = v;
+            while (s.onPlateau(end, s.parentB[end])) end = s.parentB[end];
+            if (end == v) continue;
+
+            double length = s.gF[end] - s.gF[v];
+            double cost = s.gF[end] + s.gB[end];
+            if (cost <= maxCost && length >= minLength) result.add(new Plateau(v, cost, length));
+        }
+        return result;
+    }
+
+    private void take(int[] nodes, Set<Long> taken) {
+        for (int i = 1; i < nodes.length; i++) taken.add(key(nodes[i - 1], nodes[i]));
+    }
+
+    // Share of the route's length (km) on edges already used by accepted routes
+    private double sharing(int[] nodes, Set<Long> taken) {
+        double shared = 0, total = 0;
+        for (int i = 1; i < nodes.length; i++) {
+            double km = graph.distanceKm(nodes[i - 1], nodes[i]);
+            total += km;
+            if (taken.contains(key(nodes[i - 1], nodes[i]))) shared += km;
+        }
+        return total > 0 ? shared / total : 1.0;
+    }
+
+    private long key(int from, int to) {
+        return (long) from * graph.nodeCount() + to;
+    }
+
+    private record Plateau(int start, double cost, double length) {
+    }
+
+    /**
+     * Both trees over a borrowed SearchSpace: forward labels on its forward
+     * side, backward labels (parent = successor towards the target) on its
+     * backward side, forward-settled nodes in settle order on its settled list.
+     */
+    private static final class Trees {
+        final SearchSpace space;
+        final double[] gF, gB;
+        final int[] parentF;  // predecessor towards the source
+        final int[] parentB;  // successor towards the target
+
+        Trees(SearchSpace space) {
+            this.space = space;
+            SearchSpace.Side b = space.backward();
+            gF = space.forward.g;
+            gB = b.g;
+            parentF = space.forward.parent;
+            parentB = b.parent;
+        }
+
+        void begin() {
+            space.begin();
+        }
+
+        double gForward(int node) {
+            return space.forward.g(node);
+        }
+
+        double gBackward(int node) {
+            return space.backward().g(node);
+        }
+
+        void reachForward(int node, double cost, int from) {
+            space.forward.reach(node, cost, from, -1);
+        }
+
+        void reachBackward(int node, double cost, int to) {
+            space.backward().reach(node, cost, to, -1);
+        }
+
+        void settleForward(int node) {
+            space.forward.close(node);
+            space.settle(node);
+        }
+
+        void settleBackward(int node) {
+            space.backward().close(node);
+        }
+
+        boolean isSettledForward(int node) {
+            return space.forward.isClosed(node);
+        }
+
+        boolean isSettledBackward(int node) {
+            return space.backward().isClosed(node);
+        }
+
+        // Edge u -> v is on both the forward and the backward tree
+        boolean onPlateau(int u, int v) {
+            return u >= 0 && v >= 0
+                    && isSettledForward(v) && parentF[v] == u
+                    && isSettledBackward(u) && parentB[u] == v;
+        }
+
+        int[] forwardPath(int target) {
+            return space.forward.path(target);
+        }
+
+        // source ~> start along the forward tree, then on to the target along the backward tree; null if it loops
+        int[] route(int start) {
+            int head = 0;
+            for (int v = start; v != -1; v = parentF[v]) head++;
+            int tail = 0;
+            for (int v = parentB[start]; v != -1; v = parentB[v]) tail++;
+
+            int[] nodes = new int[head + tail];
+            for (int v = start, i = head - 1; v != -1; v = parentF[v], i--) nodes[i] = v;
+            for (int v = parentB[start], i = head; v != -1; v = parentB[v], i++) nodes[i] = v;
+
+            space.clearMarks();
+            for (int v : nodes) {
+                if (!space.mark(v)) return null;
+            }
+            return nodes;
+        }
+    }
+}
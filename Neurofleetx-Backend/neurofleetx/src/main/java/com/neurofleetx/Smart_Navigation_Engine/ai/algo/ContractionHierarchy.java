@@ -0,0 +1,348 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.SearchSpace.Side;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.GraphPath;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+
+import java.util.Arrays;
+
+/**
+ * Contraction Hierarchy over a RoadGraph, for exact shortest paths by edge
+ * weight (km, or free-flow hours with buildByTime) with a bidirectional
+ * Dijkstra that only ever moves "up" the node ranking.
+ *
+ * Both search graphs are stored at the lower-ranked end of each edge in CSR
+ * form: the upward graph holds u->x with rank(u) < rank(x) for the forward
+ * search; the downward graph holds x->u with rank(x) > rank(u), reversed, for
+ * the backward search. Shortcuts remember the node they bypass, and paths are
+ * unpacked back to RoadGraph node ids. Immutable after build(); query state
+ * comes from the graph's SearchSpacePool as in CsrAStar.
+ */
+public final class ContractionHierarchy {
+
+    private final RoadGraph graph;
+    private final int[] rank;
+
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] upMiddle;
+
+    private final int[] downOffsets;
+    private final int[] downTargets;
+    private final double[] downWeights;
+    private final int[] downMiddle;
+
+    private final int shortcutCount;
+    private final SearchSpacePool spaces;
+
+    ContractionHierarchy(RoadGraph graph, int[] rank,
+                         int[] upOffsets, int[] upTargets, double[] upWeights, int[] upMiddle,
+                         int[] downOffsets, int[] downTargets, double[] downWeights, int[] downMiddle,
+                         int shortcutCount) {
+        this.graph = graph;
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddle = upMiddle;
+        this.downOffsets = downOffsets;
+        this.downTargets = downTargets;
+        this.downWeights = downWeights;
+        this.downMiddle = downMiddle;
+        this.shortcutCount = shortcutCount;
+        this.spaces = SearchSpacePool.of(graph);
+    }
+
+    /**
+     * Preprocesses the graph by edge length. Takes seconds to minutes
+     * depending on graph size, so callers build it off the request path.
+     */
+    public static ContractionHierarchy build(RoadGraph graph) {
+        return new ContractionHierarchyBuilder(graph, graph::weight).build(graph);
+    }
+
+    /**
+     * Same preprocessing by free-flow travel time (hours), for time matrices.
+     */
+    public static ContractionHierarchy buildByTime(RoadGraph graph) {
+        return new ContractionHierarchyBuilder(graph, graph::travelTimeHours).build(graph);
+    }
+
+    public RoadGraph graph() {
+        return graph;
+    }
+
+    public int shortcutCount() {
+        return shortcutCount;
+    }
+
+    public int rank(int node) {
+        return rank[node];
+    }
+
+    // Approximate heap footprint of the search graphs
+    public long memoryBytes() {
+        return 4L * rank.length + 8L * (rank.length + 1) + 16L * (upTargets.length + downTargets.length);
+    }
+
+    /**
+     * Shortest path by the weight the hierarchy was built on; same cost as CsrAStar.findPath.
+     */
+    public GraphPath findPath(int source, int target) {
+        if (source == target) return new GraphPath(new int[]{source}, 0);
+
+        SearchSpace space = spaces.acquire();
+        try {
+            return findPath(space, source, target);
+        } finally {
+            spaces.release(space);
+        }
+    }
+
+    private GraphPath findPath(SearchSpace space, int source, int target) {
+        space.begin();
+        Side forward = space.forward;
+        Side backward = space.backward();
+        forward.reach(source, 0, -1, -1);
+        forward.open.insert(source, 0);
+        backward.reach(target, 0, -1, -1);
+        backward.open.insert(target, 0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meet = -1;
+        while (true) {
+            double fk = forward.open.isEmpty() ? Double.POSITIVE_INFINITY : forward.open.peekKey();
+            double bk = backward.open.isEmpty() ? Double.POSITIVE_INFINITY : backward.open.peekKey();
+            // Neither side can still improve on the best meeting point
+            if (Math.min(fk, bk) >= best) break;
+
+            boolean isForward = fk <= bk;
+            Side side = isForward ? forward : backward;
+            Side other = isForward ? backward : forward;
+            int u = side.open.poll();
+            double gu = side.g[u];
+
+            double total = gu + other.g(u);
+            if (total < best) {
+                best = total;
+                meet = u;
+            }
+
+            int[] offsets = isForward ? upOffsets : downOffsets;
+            int[] targets = isForward ? upTargets : downTargets;
+            double[] weights = isForward ? upWeights : downWeights;
+            if (isStalled(u, gu, side, isForward)) continue;
+
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int x = targets[e];
+                double tentative = gu + weights[e];
+                if (tentative < side.g(x)) {
+                    side.reach(x, tentative, u, e);
+                    side.open.offer(x, tentative);
+                }
+            }
+        }
+        if (meet < 0) return GraphPath.none();
+        return new GraphPath(unpackPath(forward, backward, meet), best);
+    }
+
+    /**
+     * Bucket side of a many-to-many query: one upward search per target on the
+     * downward graph, leaving (target index, distance) at every node it
+     * settles. Build once per target set, then call distancesFrom per source
+     * (any number of threads at once).
+     */
+    public Buckets buckets(int[] targets) {
+        int n = rank.length;
+        int[] entryNode = new int[Math.max(16, targets.length * 64)];
+        int[] entryTarget = new int[entryNode.length];
+        double[] entryDist = new double[entryNode.length];
+        int count = 0;
+
+        SearchSpace space = spaces.acquire();
+        try {
+            for (int t = 0; t < targets.length; t++) {
+                space.begin();
+                Side side = space.backward();
+                side.reach(targets[t], 0, -1, -1);
+                side.open.insert(targets[t], 0);
+                while (!side.open.isEmpty()) {
+                    int u = side.open.poll();
+                    double gu = side.g[u];
+                    if (isStalled(u, gu, side, false)) continue;
+
+                    if (count == entryNode.length) {
+                        entryNode = Arrays.copyOf(entryNode, count * 2);
+                        entryTarget = Arrays.copyOf(entryTarget, count * 2);
+                        entryDist = Arrays.copyOf(entryDist, count * 2);
+                    }
+                    entryNode[count] = u;
+                    entryTarget[count] = t;
+                    entryDist[count] = gu;
+                    count++;
+
+                    relax(side, u, gu, downOffsets, downTargets, downWeights);
+                }
+            }
+        } finally {
+            spaces.release(space);
+        }
+
+        // Group the entries by node (counting sort)
+        int[] start = new int[n + 1];
+        for (int i = 0; i < count; i++) start[entryNode[i] + 1]++;
+        for (int v = 0; v < n; v++) start[v + 1] += start[v];
+        int[] cursor = Arrays.copyOf(start, n);
+        int[] bucketTarget = new int[count];
+        double[] bucketDist = new double[count];
+        for (int i = 0; i < count; i++) {
+            int slot = cursor[entryNode[i]]++;
+            bucketTarget[slot] = entryTarget[i];
+            bucketDist[slot] = entryDist[i];
+        }
+        return new Buckets(targets.length, start, bucketTarget, bucketDist);
+    }
+
+    /**
+     * Distances from source to every target of the buckets, written to
+     * row[offset..offset + targetCount); unreachable targets get +infinity.
+     */
+    public void distancesFrom(int source, Buckets buckets, float[] row, int offset) {
+        Arrays.fill(row, offset, offset + buckets.targetCount, Float.POSITIVE_INFINITY);
+        double[] best = new double[buckets.targetCount];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+
+        SearchSpace space = spaces.acquire();
+        try {
+            space.begin();
+            Side side = space.forward;
+            side.reach(source, 0, -1, -1);
+            side.open.insert(source, 0);
+            while (!side.open.isEmpty()) {
+                int u = side.open.poll();
+                double gu = side.g[u];
+                if (isStalled(u, gu, side, true)) continue;
+
+                for (int i = buckets.start[u], end = buckets.start[u + 1]; i < end; i++) {
+                    int t = buckets.target[i];
+                    double total = gu + buckets.dist[i];
+                    if (total < best[t]) best[t] = total;
+                }
+                relax(side, u, gu, upOffsets, upTargets, upWeights);
+            }
+        } finally {
+            spaces.release(space);
+        }
+        for (int t = 0; t < best.length; t++) row[offset + t] = (float) best[t];
+    }
+
+    private static void relax(Side side, int u, double gu, int[] offsets, int[] targets, double[] weights) {
+        for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+            int x = targets[e];
+            double tentative = gu + weights[e];
+            if (tentative < side.g(x)) {
+                side.reach(x, tentative, u, e);
+                side.open.offer(x, tentative);
+            }
+        }
+    }
+
+    /**
+     * Target-side search results grouped by node; immutable.
+     */
+    public static final class Buckets {
+        final int targetCount;
+        final int[] start;
+        final int[] target;
+        final double[] dist;
+
+        Buckets(int targetCount, int[] start, int[] target, double[] dist) {
+            this.targetCount = targetCount;
+            this.start = start;
+            this.target = target;
+            this.dist = dist;
+        }
+
+        public int entryCount() {
+            return target.length;
+        }
+    }
+
+    // Stall-on-demand: u is not on a shortest path if a higher node already reaches it more cheaply
+    private boolean isStalled(int u, double gu, Side side, boolean isForward) {
+        int[] offsets = isForward ? downOffsets : upOffsets;
+        int[] targets = isForward ? downTargets : upTargets;
+        double[] weights = isForward ? downWeights : upWeights;
+        for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+            if (side.g(targets[e]) + weights[e] < gu) return true;
+        }
+        return false;
+    }
+
+    private int[] unpackPath(Side forward, Side backward, int meet) {
+        NodeList path = new NodeList();
+
+        // Forward half, collected meet -> source, then reversed
+        int[] stack = new int[64];
+        int depth = 0;
+        int v = meet;
+        while (forward.parent[v] != -1) {
+            if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+            stack[depth++] = forward.parentEdge[v];
+            v = forward.parent[v];
+        }
+        path.add(v);
+        for (int i = depth - 1; i >= 0; i--) {
+            int e = stack[i];
+            int x = upTargets[e];
+            unpack(v, x, upMiddle[e], path);
+            v = x;
+        }
+
+        // Backward half: each parent edge points up from the child towards the meeting node
+        for (v = meet; backward.parent[v] != -1; ) {
+            int e = backward.parentEdge[v];
+            int next = backward.parent[v];
+            unpack(v, next, downMiddle[e], path);
+            v = next;
+        }
+        return path.toArray();
+    }
+
+    /**
+     * Appends the original nodes of edge a->b after a (b included).
+     * A shortcut a->b via m is a->m (down graph of m) then m->b (up graph of m).
+     */
+    private void unpack(int a, int b, int via, NodeList path) {
+        if (via < 0) {
+            path.add(b);
+            return;
+        }
+        int first = find(downOffsets, downTargets, via, a);
+        unpack(a, via, downMiddle[first], path);
+        int second = find(upOffsets, upTargets, via, b);
+        unpack(via, b, upMiddle[second], path);
+    }
+
+    private static int find(int[] offsets, int[] targets, int node, int target) {
+        for (int e = offsets[node], end = offsets[node + 1]; e < end; e++) {
+            if (targets[e] == target) return e;
+        }
+        throw new IllegalStateException("Shortcut component " + node + "<->" + target + " missing");
+    }
+
+    private static final class NodeList {
+        int[] items = new int[256];
+        int size;
+
+        void add(int node) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = node;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+
+import java.util.Arrays;
+
+/**
+ * Node-ordering and contraction for ContractionHierarchy.
+ *
+ * Nodes are contracted cheapest first, by edge difference (shortcuts added
+ * minus edges removed) plus the number of already-contracted neighbours and
+ * the hierarchy depth, which keeps contraction spread evenly over the map.
+ * Priorities are re-evaluated lazily: a node is re-queued when it reaches the
+ * top with a priority that has gone stale.
+ * A shortcut u->x via v is only added when a bounded Dijkstra from u that
+ * avoids v finds no path to x at most as short; giving up early just adds a
+ * redundant shortcut, never a wrong one.
+ */
+final class ContractionHierarchyBuilder {
+
+    // Witness searches stop after settling this many nodes; priority estimates use a cheaper bound
+    private static final int WITNESS_SETTLE_LIMIT = 400;
+    private static final int SIMULATION_SETTLE_LIMIT = 30;
+
+    private final int n;
+
+    // Working edge set: original edges plus shortcuts, at most one per (from, to)
+    private int[] from;
+    private int[] to;
+    private int[] middle;    // contracted node a shortcut bypasses, -1 for original edges
+    private double[] weight;
+    private int edges;
+
+    private final IntList[] out;
+    private final IntList[] in;
+    private final boolean[] contracted;
+    private final int[] contractedNeighbours;
+    private final int[] depth;
+
+    // Witness search scratch space
+    private final double[] dist;
+    private final int[] seen;
+    private int generation;
+    private final IndexedMinHeap witnessQueue;
+
+    ContractionHierarchyBuilder(RoadGraph graph, EdgeCost cost) {
+        n = graph.nodeCount();
+        int m = graph.edgeCount();
+        from = new int[Math.max(16, m * 2)];
+        to = new int[from.length];
+        middle = new int[from.length];
+        weight = new double[from.length];
+
+        out = new IntList[n];
+        in = new IntList[n];
+        for (int v = 0; v < n; v++) {
+            out[v] = new IntList();
+            in[v] = new IntList();
+        }
+        contracted = new boolean[n];
+        contractedNeighbours = new int[n];
+        depth = new int[n];
+        dist = new double[n];
+        seen = new int[n];
+        witnessQueue = new IndexedMinHeap(n);
+
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                double w = cost.cost(e);
+                if (Double.isFinite(w)) addOrImprove(u, graph.target(e), w, -1);
+            }
+        }
+    }
+
+    ContractionHierarchy build(RoadGraph graph) {
+        IndexedMinHeap order = new IndexedMinHeap(n);
+        for (int v = 0; v < n; v++) order.insert(v, priority(v));
+
+        int[] rank = new int[n];
+        int next = 0;
+        IntList neighbours = new IntList();
+        while (!order.isEmpty()) {
+            int v = order.poll();
+            if (!order.isEmpty()) {
+                double current = priority(v);
+                if (current > order.peekKey()) {
+                    order.insert(v, current);
+                    continue;
+                }
+            }
+            contract(v, true);
+            contracted[v] = true;
+            rank[v] = next++;
+
+            neighbours.clear();
+            collectNeighbours(v, neighbours);
+            detach(v);
+            for (int i = 0; i < neighbours.size; i++) {
+                int w = neighbours.items[i];
+                contractedNeighbours[w]++;
+                depth[w] = Math.max(depth[w], depth[v] + 1);
+            }
+        }
+        return pack(graph, rank);
+    }
+
+    private double priority(int v) {
+        int incident = 0;
+        for (int i = 0; i < in[v].size; i++) if (!contracted[from[in[v].items[i]]]) incident++;
+        for (int i = 0; i < out[v].size; i++) if (!contracted[to[out[v].items[i]]]) incident++;
+        int shortcuts = contract(v, false, SIMULATION_SETTLE_LIMIT);
+        return 2.0 * (shortcuts - incident) + contractedNeighbours[v] + depth[v];
+    }
+
+    /**
+     * Shortcuts needed to remove v from the remaining graph; added when apply is set.
+     */
+    private int contract(int v, boolean apply) {
+        return contract(v, apply, WITNESS_SETTLE_LIMIT);
+    }
+
+    private int contract(int v, boolean apply, int settleLimit) {
+        int shortcuts = 0;
+        IntList inEdges = in[v];
+        IntList outEdges = out[v];
+
+        for (int i = 0; i < inEdges.size; i++) {
+            int ie = inEdges.items[i];
+            int u = from[ie];
+            if (contracted[u]) continue;
+
+            double maxVia = -1;
+            for (int j = 0; j < outEdges.size; j++) {
+                int x = to[outEdges.items[j]];
+                if (contracted[x] || x == u) continue;
+                maxVia = Math.max(maxVia, weight[ie] + weight[outEdges.items[j]]);
+            }
+            if (maxVia < 0) continue;
+
+            witnessSearch(u, v, maxVia, settleLimit);
+            for (int j = 0; j < outEdges.size; j++) {
+                int oe = outEdges.items[j];
+                int x = to[oe];
+                if (contracted[x] || x == u) continue;
+                double via = weight[ie] + weight[oe];
+                if (witnessDistance(x) <= via) continue;
+                shortcuts++;
+                if (apply) addOrImprove(u, x, via, v);
+            }
+        }
+        return shortcuts;
+    }
+
+    // Bounded Dijkstra from source over uncontracted nodes, never entering the node being contracted
+    private void witnessSearch(int source, int skip, double maxCost, int settleLimit) {
+        witnessQueue.clear();
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            generation = 1;
+        }
+        dist[source] = 0;
+        seen[source] = generation;
+        witnessQueue.insert(source, 0);
+
+        int settled = 0;
+        while (!witnessQueue.isEmpty() && settled++ < settleLimit) {
+            if (witnessQueue.peekKey() > maxCost) break;
+            int u = witnessQueue.poll();
+            IntList edgesOut = out[u];
+            for (int i = 0; i < edgesOut.size; i++) {
+                int e = edgesOut.items[i];
+                int x = to[e];
+                if (x == skip || contracted[x]) continue;
+                double d = dist[u] + weight[e];
+                if (seen[x] != generation || d < dist[x]) {
+                    dist[x] = d;
+                    seen[x] = generation;
+                    witnessQueue.offer(x, d);
+                }
+            }
+        }
+    }
+
+    private double witnessDistance(int node) {
+        return seen[node] == generation ? dist[node] : Double.POSITIVE_INFINITY;
+    }
+
+    private void collectNeighbours(int v, IntList result) {
+        for (int i = 0; i < in[v].size; i++) {
+            int u = from[in[v].items[i]];
+            if (!contracted[u] && !result.contains(u)) result.add(u);
+        }
+        for (int i = 0; i < out[v].size; i++) {
+            int x = to[out[v].items[i]];
+            if (!contracted[x] && !result.contains(x)) result.add(x);
+        }
+    }
+
+    // Drops v's edges from its neighbours' lists so later scans skip them
+    private void detach(int v) {
+        for (int i = 0; i < in[v].size; i++) {
+            int e = in[v].items[i];
+            out[from[e]].remove(e);
+        }
+        for (int i = 0; i < out[v].size; i++) {
+            int e = out[v].items[i];
+            in[to[e]].remove(e);
+        }
+    }
+
+    private void addOrImprove(int u, int x, double w, int via) {
+        if (u == x) return;
+        IntList edgesOut = out[u];
+        for (int i = 0; i < edgesOut.size; i++) {
+            int e = edgesOut.items[i];
+            if (to[e] == x) {
+                if (w < weight[e]) {
+                    weight[e] = w;
+                    middle[e] = via;
+                }
+                return;
+            }
+        }
+
+        if (edges == from.length) {
+            int capacity = edges * 2;
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            middle = Arrays.copyOf(middle, capacity);
+            weight = Arrays.copyOf(weight, capacity);
+        }
+        from[edges] = u;
+        to[edges] = x;
+        weight[edges] = w;
+        middle[edges] = via;
+        out[u].add(edges);
+        in[x].add(edges);
+        edges++;
+    }
+
+    /**
+     * Splits the edges into the upward graph (stored at the lower end, pointing up)
+     * and the downward graph reversed (also stored at the lower end, pointing up).
+     */
+    private ContractionHierarchy pack(RoadGraph graph, int[] rank) {
+        int[] upOffsets = new int[n + 1];
+        int[] downOffsets = new int[n + 1];
+        for (int e = 0; e < edges; e++) {
+            if (rank[from[e]] < rank[to[e]]) upOffsets[from[e] + 1]++;
+            else downOffsets[to[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+
+        int[] upTargets = new int[upOffsets[n]];
+        double[] upWeights = new double[upTargets.length];
+        int[] upMiddle = new int[upTargets.length];
+        int[] downTargets = new int[downOffsets[n]];
+        double[] downWeights = new double[downTargets.length];
+        int[] downMiddle = new int[downTargets.length];
+
+        int[] upCursor = Arrays.copyOf(upOffsets, n);
+        int[] downCursor = Arrays.copyOf(downOffsets, n);
+        int shortcuts = 0;
+        for (int e = 0; e < edges; e++) {
+            if (middle[e] >= 0) shortcuts++;
+            if (rank[from[e]] < rank[to[e]]) {
+                int slot = upCursor[from[e]]++;
+                upTargets[slot] = to[e];
+                upWeights[slot] = weight[e];
+                upMiddle[slot] = middle[e];
+            } else {
+                int slot = downCursor[to[e]]++;
+                downTargets[slot] = from[e];
+                downWeights[slot] = weight[e];
+                downMiddle[slot] = middle[e];
+            }
+        }
+
+        return new ContractionHierarchy(graph, rank,
+                upOffsets, upTargets, upWeights, upMiddle,
+                downOffsets, downTargets, downWeights, downMiddle, shortcuts);
+    }
+
+    /**
+     * Cost of an edge of the source graph; non-finite costs drop the edge.
+     */
+    @FunctionalInterface
+    interface EdgeCost {
+        double cost(int edge);
+    }
+
+    /**
+     * Growable int list; adjacency lists are short, so linear scans are fine.
+     */
+    private static final class IntList {
+        int[] items = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = value;
+        }
+
+        boolean contains(int value) {
+            for (int i = 0; i < size; i++) if (items[i] == value) return true;
+            return false;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == value) {
+                    items[i] = items[--size];
+                    return;
+                }
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
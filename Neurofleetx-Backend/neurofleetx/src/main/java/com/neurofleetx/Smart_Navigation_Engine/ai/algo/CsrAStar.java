@@ -0,0 +1,101 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.GraphPath;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+
+
+/**
+ * A* over a RoadGraph.
+ *
+ * Search state lives in primitive arrays borrowed from the graph's
+ * SearchSpacePool for the query and reused across queries: a generation
+ * stamp marks which slots belong to the current query, so nothing is
+ * cleared or allocated per expansion. The graph is only read, so one
+ * instance serves concurrent requests without locking.
+ */
+public final class CsrAStar {
+
+    private final RoadGraph graph;
+    private final SearchSpacePool spaces;
+
+    public CsrAStar(RoadGraph graph) {
+        this.graph = graph;
+        this.spaces = SearchSpacePool.of(graph);
+    }
+
+    public RoadGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Shortest path by edge weight (km); the straight-line distance to the
+     * target is the heuristic, which never overestimates road length.
+     */
+    public GraphPath findPath(int source, int target) {
+        SearchSpace space = spaces.acquire();
+        try {
+            SearchSpace.Side s = begin(space, source, graph.distanceKm(source, target));
+            while (!s.open.isEmpty()) {
+                int u = s.open.poll();
+                if (u == target) return new GraphPath(s.path(target), s.g[target]);
+                s.close(u);
+
+                double gu = s.g[u];
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    int v = graph.target(e);
+                    if (s.isClosed(v)) continue;
+
+                    double tentative = gu + graph.weight(e);
+                    if (tentative < s.g(v)) {
+                        s.reach(v, tentative, u, e);
+                        s.open.offer(v, tentative + graph.distanceKm(v, target));
+                    }
+                }
+            }
+            return GraphPath.none();
+        } finally {
+            spaces.release(space);
+        }
+    }
+
+    /**
+     * Cheapest path under the given metric; cost() is in the metric's unit.
+     * Same loop as findPath(source, target) with the edge cost and heuristic
+     * taken from the WeightFunction; each call site sees one final metric
+     * class, so the JIT can inline both.
+     */
+    public GraphPath findPath(int source, int target, WeightFunction weight) {
+        SearchSpace space = spaces.acquire();
+        try {
+            SearchSpace.Side s = begin(space, source, weight.estimate(graph, source, target));
+            while (!s.open.isEmpty()) {
+                int u = s.open.poll();
+                if (u == target) return new GraphPath(s.path(target), s.g[target]);
+                s.close(u);
+
+                double gu = s.g[u];
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    int v = graph.target(e);
+                    if (s.isClosed(v)) continue;
+
+                    double tentative = gu + weight.edgeCost(graph, u, e);
+                    if (tentative < s.g(v)) {
+                        s.reach(v, tentative, u, e);
+                        s.open.offer(v, tentative + weight.estimate(graph, v, target));
+                    }
+                }
+            }
+            return GraphPath.none();
+        } finally {
+            spaces.release(space);
+        }
+    }
+
+    private static SearchSpace.Side begin(SearchSpace space, int source, double estimate) {
+        space.begin();
+        SearchSpace.Side s = space.forward;
+        s.reach(source, 0.0, -1, -1);
+        s.open.insert(source, estimate);
+        return s;
+    }
+}
@@ -0,0 +1,143 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over int items 0..capacity-1 with double keys.
+ *
+ * Every item's heap slot is tracked, so decreaseKey is O(log n) instead of
+ * the O(n) remove + add a java.util.PriorityQueue needs. No allocation after
+ * construction unless an item beyond the capacity is inserted (the arrays
+ * then grow); clear() only touches the items still queued.
+ */
+public final class IndexedMinHeap {
+
+    private int[] heap;     // slot -> item
+    private int[] position; // item -> slot, -1 when not queued
+    private double[] key;   // item -> key
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        key = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int item) {
+        return item < position.length && position[item] >= 0;
+    }
+
+    public double key(int item) {
+        return key[item];
+    }
+
+    public double peekKey() {
+        return key[heap[0]];
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public void insert(int item, double k) {
+        if (item >= position.length) grow(item + 1);
+        key[item] = k;
+        heap[size] = item;
+        position[item] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int item, double k) {
+        key[item] = k;
+        siftUp(position[item]);
+    }
+
+    /**
+     * Inserts the item, or lowers its key if it is queued with a larger one.
+     * @return true if the heap changed
+     */
+    public boolean offer(int item, double k) {
+        if (item >= position.length || position[item] < 0) {
+            insert(item, k);
+            return true;
+        }
+        if (k < key[item]) {
+            decreaseKey(item, k);
+            return true;
+        }
+        return false;
+    }
+
+    public int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, Math.max(16, position.length * 2));
+        int old = position.length;
+        heap = Arrays.copyOf(heap, capacity);
+        key = Arrays.copyOf(key, capacity);
+        position = Arrays.copyOf(position, capacity);
+        Arrays.fill(position, old, capacity, -1);
+    }
+
+    private void siftUp(int slot) {
+        int item = heap[slot];
+        double k = key[item];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parent = heap[parentSlot];
+            if (key[parent] <= k) break;
+            heap[slot] = parent;
+            position[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = item;
+        position[item] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int item = heap[slot];
+        double k = key[item];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && key[heap[right]] < key[heap[child]]) child = right;
+            if (key[heap[child]] >= k) break;
+            heap[slot] = heap[child];
+            position[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = item;
+        position[item] = slot;
+    }
+}
@@ -0,0 +1,97 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+
+
+/**
+ * Bounded one-to-all Dijkstra: every node within a cost limit of a source,
+ * either reachable from it (forward) or able to reach it (backward, over
+ * the reversed edges: "who can get here in 10 minutes"). Search state comes
+ * from the graph's SearchSpacePool as in CsrAStar; results are detached
+ * copies.
+ */
+public final class Isochrone {
+
+    private final RoadGraph graph;
+    private volatile ReverseEdges reverse;
+    private final SearchSpacePool spaces;
+
+    public Isochrone(RoadGraph graph) {
+        this.graph = graph;
+        this.spaces = SearchSpacePool.of(graph);
+    }
+
+    public RoadGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Nodes with a cost of at most limit from the source (backward = to the
+     * source), in order of cost.
+     */
+    public Reach reach(int source, double limit, WeightFunction weight, boolean backward) {
+        ReverseEdges in = backward ? reverseEdges() : null;
+        SearchSpace space = spaces.acquire();
+        try {
+            space.begin();
+            SearchSpace.Side s = space.forward;
+            s.reach(source, 0.0, -1, -1);
+            s.open.insert(source, 0.0);
+            while (!s.open.isEmpty()) {
+                int u = s.open.poll();
+                double gu = s.g[u];
+                if (gu > limit) break;
+                s.close(u);
+                space.settle(u);
+
+                if (in == null) {
+                    for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                        relax(s, graph.target(e), gu + weight.edgeCost(graph, u, e));
+                    }
+                } else {
+                    for (int i = in.offsets[u], end = in.offsets[u + 1]; i < end; i++) {
+                        int v = in.sources[i];
+                        relax(s, v, gu + weight.edgeCost(graph, v, in.edges[i]));
+                    }
+                }
+            }
+
+            int[] nodes = space.settledNodes();
+            double[] costs = new double[nodes.length];
+            for (int i = 0; i < nodes.length; i++) costs[i] = s.g[nodes[i]];
+            return new Reach(nodes, costs);
+        } finally {
+            spaces.release(space);
+        }
+    }
+
+    private static void relax(SearchSpace.Side s, int v, double tentative) {
+        if (s.isClosed(v)) return;
+        if (tentative < s.g(v)) {
+            s.reach(v, tentative, -1, -1);
+            s.open.offer(v, tentative);
+        }
+    }
+
+    // Built on the first backward query only
+    private ReverseEdges reverseEdges() {
+        ReverseEdges r = reverse;
+        if (r == null) {
+            synchronized (this) {
+                r = reverse;
+                if (r == null) reverse = r = new ReverseEdges(graph);
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Reached nodes with their cost, cheapest first.
+     */
+    public record Reach(int[] nodes, double[] costs) {
+
+        public int size() {
+            return nodes.length;
+        }
+    }
+}
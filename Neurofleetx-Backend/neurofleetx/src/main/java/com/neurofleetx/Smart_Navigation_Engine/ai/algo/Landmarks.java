@@ -0,0 +1,190 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * ALT landmarks: free-flow travel times (hours) from and to a few well
+ * spread nodes, giving triangle-inequality lower bounds
+ *   d(v, t) >= d(L, t) - d(L, v)   and   d(v, t) >= d(v, L) - d(t, L)
+ * for every landmark L. The bounds hold for any weights that are never
+ * below free flow (see TrafficWeights), so they are computed once per graph
+ * and stay valid however traffic changes.
+ *
+ * Distances are stored node-major (all landmarks of a node together) as
+ * floats, 8 bytes per node per landmark. Float rounding can overstate a
+ * bound by ~1e-7 of the landmark distance (milliseconds on a city graph),
+ * which is the most a returned route can be off optimal.
+ */
+public final class Landmarks {
+
+    // Landmarks consulted per query: the ones giving the best bound for source -> target
+    public static final int ACTIVE = 4;
+
+    private final RoadGraph graph;
+    private final int[] nodes;
+    private final float[] from; // from[v * k + l] = d(L_l, v)
+    private final float[] to;   // to[v * k + l]   = d(v, L_l)
+
+    private Landmarks(RoadGraph graph, int[] nodes, float[] from, float[] to) {
+        this.graph = graph;
+        this.nodes = nodes;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Picks count landmarks by farthest-point selection and runs a forward and
+     * a backward Dijkstra from each: 2 * count full searches over the graph.
+     */
+    public static Landmarks build(RoadGraph graph, int count) {
+        int n = graph.nodeCount();
+        if (n == 0) throw new IllegalArgumentException("Cannot place landmarks on an empty graph");
+        int k = Math.max(1, Math.min(count, n));
+        ReverseEdges reverse = new ReverseEdges(graph);
+
+        int[] chosen = new int[k];
+        float[] from = new float[n * k];
+        float[] to = new float[n * k];
+        double[] dist = new double[n];
+        double[] spread = new double[n];
+        Arrays.fill(spread, Double.POSITIVE_INFINITY);
+
+        // Start far from a well-connected node, then keep taking the node farthest from all chosen so far
+        dijkstra(graph, null, wellConnected(graph, dist), dist);
+        int next = farthest(dist);
+        for (int l = 0; l < k; l++) {
+            chosen[l] = next;
+            dijkstra(graph, null, next, dist);
+            for (int v = 0; v < n; v++) {
+                from[v * k + l] = (float) dist[v];
+                if (Double.isFinite(dist[v])) spread[v] = Math.min(spread[v], dist[v]);
+            }
+            dijkstra(graph, reverse, next, dist);
+            for (int v = 0; v < n; v++) to[v * k + l] = (float) dist[v];
+
+            for (int c = 0; c <= l; c++) spread[chosen[c]] = -1;
+            next = farthest(spread);
+        }
+        return new Landmarks(graph, chosen, from, to);
+    }
+
+    public RoadGraph graph() {
+        return graph;
+    }
+
+    public int count() {
+        return nodes.length;
+    }
+
+    public int node(int landmark) {
+        return nodes[landmark];
+    }
+
+    public long memoryBytes() {
+        return 4L * (from.length + to.length);
+    }
+
+    /**
+     * The ACTIVE landmarks with the largest bound between source and target.
+     */
+    public int[] select(int source, int target) {
+        int k = nodes.length;
+        int active = Math.min(ACTIVE, k);
+        double[] bound = new double[k];
+        Integer[] order = new Integer[k];
+        for (int l = 0; l < k; l++) {
+            bound[l] = bound(source, target, l);
+            order[l] = l;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(bound[b], bound[a]));
+        int[] result = new int[active];
+        for (int i = 0; i < active; i++) result[i] = order[i];
+        return result;
+    }
+
+    /**
+     * Lower bound on the free-flow travel time (hours) from v to target.
+     */
+    public double lowerBound(int v, int target, int[] active) {
+        double best = 0;
+        for (int l : active) {
+            double b = bound(v, target, l);
+            if (b > best) best = b;
+        }
+        return best;
+    }
+
+    private double bound(int v, int target, int l) {
+        int k = nodes.length;
+        double best = 0;
+
+        float lt = from[target * k + l], lv = from[v * k + l];
+        if (lt != Float.POSITIVE_INFINITY && lv != Float.POSITIVE_INFINITY) best = lt - lv;
+
+        float vl = to[v * k + l], tl = to[target * k + l];
+        if (vl != Float.POSITIVE_INFINITY && tl != Float.POSITIVE_INFINITY) best = Math.max(best, vl - tl);
+        return best;
+    }
+
+    // One-way streets can strand a node in a small strongly connected pocket; probe a few and keep the best
+    private static int wellConnected(RoadGraph graph, double[] dist) {
+        Random random = new Random(graph.nodeCount());
+        int best = 0, bestReach = -1;
+        for (int probe = 0; probe < 8; probe++) {
+            int v = random.nextInt(graph.nodeCount());
+            dijkstra(graph, null, v, dist);
+            int reach = 0;
+            for (double d : dist) if (Double.isFinite(d)) reach++;
+            if (reach > bestReach) {
+                bestReach = reach;
+                best = v;
+            }
+            if (reach == dist.length) break;
+        }
+        return best;
+    }
+
+    private static int farthest(double[] dist) {
+        int best = 0;
+        double bestDist = -1;
+        for (int v = 0; v < dist.length; v++) {
+            if (Double.isFinite(dist[v]) && dist[v] > bestDist) {
+                bestDist = dist[v];
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    // Plain Dijkstra by free-flow time, forward or over the reversed edges
+    private static void dijkstra(RoadGraph graph, ReverseEdges reverse, int source, double[] dist) {
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        IndexedMinHeap open = new IndexedMinHeap(graph.nodeCount());
+        dist[source] = 0;
+        open.insert(source, 0);
+        while (!open.isEmpty()) {
+            int u = open.poll();
+            double du = dist[u];
+            if (reverse == null) {
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    relax(open, dist, graph.target(e), du + graph.travelTimeHours(e));
+                }
+            } else {
+                for (int i = reverse.offsets[u], end = reverse.offsets[u + 1]; i < end; i++) {
+                    int e = reverse.edges[i];
+                    relax(open, dist, reverse.sources[i], du + graph.travelTimeHours(e));
+                }
+            }
+        }
+    }
+
+    private static void relax(IndexedMinHeap open, double[] dist, int v, double d) {
+        if (d < dist[v]) {
+            dist[v] = d;
+            open.offer(v, d);
+        }
+    }
+}
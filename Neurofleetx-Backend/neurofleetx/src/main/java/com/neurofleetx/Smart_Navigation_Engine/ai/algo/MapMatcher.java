@@ -0,0 +1,368 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.EdgeIndex;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.EdgeSnap;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.util.GeoUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hidden Markov map matching of GPS fixes onto a RoadGraph (Newson and
+ * Krumm): the hidden states of a fix are the road edges within the search
+ * radius, projected onto; a candidate's emission score falls with the
+ * square of its distance from the fix (Gaussian, sigma), and a transition
+ * between candidates of consecutive fixes falls with the difference between
+ * the road distance and the straight-line distance of the fixes
+ * (exponential, beta). Viterbi picks the most likely sequence.
+ *
+ * Fixes closer than 2 sigma to the previous one carry no information and are
+ * skipped; fixes with no road nearby are left unmatched. When no candidate
+ * of a fix can be reached from the previous fix within MAX_DETOUR of their
+ * straight-line distance, the chain is closed and a new one starts there.
+ *
+ * A Session matches fixes as they arrive, committing a fix once lag newer
+ * fixes have been seen (fixed-lag smoothing); with an unbounded lag it is a
+ * batch matcher that commits everything on finish(). Road distances come
+ * from bounded Dijkstras by edge length; search state comes from the
+ * graph's SearchSpacePool as in CsrAStar, so sessions themselves stay small.
+ */
+public final class MapMatcher {
+
+    static final int MAX_CANDIDATES = 8;
+    static final double MAX_DETOUR = 2.0;
+    static final double ROUTE_SLACK_KM = 0.2;
+
+    private final RoadGraph graph;
+    private final EdgeIndex index;
+    private final double sigmaKm;
+    private final double betaKm;
+    private final double radiusKm;
+    private final SearchSpacePool spaces;
+
+    public MapMatcher(RoadGraph graph, double sigmaKm, double betaKm, double radiusKm) {
+        this.graph = graph;
+        this.index = graph.edgeIndex();
+        this.sigmaKm = sigmaKm;
+        this.betaKm = betaKm;
+        this.radiusKm = radiusKm;
+        this.spaces = SearchSpacePool.of(graph);
+    }
+
+    public RoadGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Incremental matcher that commits each fix once lag newer fixes are in.
+     */
+    public Session session(int lag) {
+        return new Session(Math.max(1, lag));
+    }
+
+    /**
+     * Batch match of a whole track; arrays are parallel, times in ms.
+     */
+    public List<MatchStep> match(double[] lat, double[] lng, long[] timeMs) {
+        Session s = new Session(Integer.MAX_VALUE);
+        List<MatchStep> steps = new ArrayList<>();
+        for (int i = 0; i < lat.length; i++) steps.addAll(s.add(lat[i], lng[i], timeMs[i]));
+        steps.addAll(s.finish());
+        return steps;
+    }
+
+    /**
+     * One matched fix. edges are the edges entered since the previous matched
+     * fix, ending with snap.edge() (empty when still on the same edge);
+     * routeKm is the road distance from the previous matched point. The first
+     * fix of a chain has only its own edge and no distance.
+     */
+    public record MatchStep(int fix, long timeMs, EdgeSnap snap, int[] edges, double routeKm, boolean chainStart) {
+    }
+
+    private record Candidate(EdgeSnap snap, double emission) {
+    }
+
+    private static final class Step {
+        final int fix;
+        final double lat, lng;
+        final long timeMs;
+        final Candidate[] candidates;
+        final double[] score;
+        final int[] back;   // best predecessor in the previous step, -1 at a chain start
+        final boolean chainStart;
+
+        Step(int fix, double lat, double lng, long timeMs, Candidate[] candidates, boolean chainStart) {
+            this.fix = fix;
+            this.lat = lat;
+            this.lng = lng;
+            this.timeMs = timeMs;
+            this.candidates = candidates;
+            this.score = new double[candidates.length];
+            this.back = new int[candidates.length];
+            this.chainStart = chainStart;
+            Arrays.fill(back, -1);
+        }
+
+        int best() {
+            int best = 0;
+            for (int i = 1; i < score.length; i++) if (score[i] > score[best]) best = i;
+            return best;
+        }
+    }
+
+    /**
+     * Matching state of one track. Not thread-safe; feed fixes in time order.
+     */
+    public final class Session {
+
+        private final int lag;
+        private final ArrayDeque<Step> window = new ArrayDeque<>();
+        private EdgeSnap committed;  // last emitted point of the current chain
+        private int fixes;
+        private double lastLat = Double.NaN, lastLng;
+
+        private Session(int lag) {
+            this.lag = lag;
+        }
+
+        /**
+         * Adds a fix; returns the fixes committed by it, oldest first.
+         */
+        public List<MatchStep> add(double lat, double lng, long timeMs) {
+            int fix = fixes++;
+            List<MatchStep> out = new ArrayList<>();
+
+            if (!Double.isNaN(lastLat) && GeoUtils.haversineDistanceKm(lastLat, lastLng, lat, lng) < 2 * sigmaKm) {
+                return out;
+            }
+            Candidate[] candidates = candidates(lat, lng);
+            if (candidates.length == 0) return out;
+            lastLat = lat;
+            lastLng = lng;
+
+            Step prev = window.peekLast();
+            Step step = new Step(fix, lat, lng, timeMs, candidates, prev == null);
+            if (prev == null || !transition(prev, step)) {
+                // Chain start, or nothing of this fix is reachable from the previous one: close the chain
+                if (prev != null) {
+                    out.addAll(flush());
+                    step = new Step(fix, lat, lng, timeMs, candidates, true);
+                }
+                for (int i = 0; i < candidates.length; i++) step.score[i] = candidates[i].emission;
+            }
+            window.addLast(step);
+
+            if (window.size() > lag) out.add(commitOldest());
+            return out;
+        }
+
+        /**
+         * Commits every fix still in the window.
+         */
+        public List<MatchStep> finish() {
+            return flush();
+        }
+
+        public int pendingCount() {
+            return window.size();
+        }
+
+        // Viterbi step; false if no candidate of next is reachable from prev
+        private boolean transition(Step prev, Step next) {
+            double straightKm = GeoUtils.haversineDistanceKm(prev.lat, prev.lng, next.lat, next.lng);
+            double limitKm = straightKm * MAX_DETOUR + ROUTE_SLACK_KM;
+            Arrays.fill(next.score, Double.NEGATIVE_INFINITY);
+
+            int[] targets = new int[next.candidates.length];
+            for (int j = 0; j < targets.length; j++) targets[j] = next.candidates[j].snap.from();
+            double[] toTarget = new double[targets.length];
+
+            boolean reachable = false;
+            for (int i = 0; i < prev.candidates.length; i++) {
+                if (prev.score[i] == Double.NEGATIVE_INFINITY) continue;
+                EdgeSnap a = prev.candidates[i].snap;
+                double leave = (1 - a.fraction()) * graph.weight(a.edge());
+                distances(a.to(), targets, limitKm - leave, toTarget);
+
+                for (int j = 0; j < targets.length; j++) {
+                    double route = routeKm(a, next.candidates[j].snap, leave, toTarget[j]);
+                    if (route > limitKm) continue;
+                    double s = prev.score[i] - Math.abs(route - straightKm) / betaKm + next.candidates[j].emission;
+                    if (s > next.score[j]) {
+                        next.score[j] = s;
+                        next.back[j] = i;
+                        reachable = true;
+                    }
+                }
+            }
+            if (!reachable) return false;
+
+            // Keep scores near zero over long tracks
+            double top = next.score[next.best()];
+            for (int j = 0; j < next.score.length; j++) next.score[j] -= top;
+            return true;
+        }
+
+        // Fixes the oldest step on the path to the current best candidate
+        private MatchStep commitOldest() {
+            Step newest = window.peekLast();
+            int k = newest.best();
+            Iterator<Step> it = window.descendingIterator();
+            Step s = it.next();
+            while (it.hasNext()) {
+                k = s.back[k];
+                s = it.next();
+            }
+
+            Step oldest = window.pollFirst();
+            MatchStep result = emit(oldest, k);
+
+            // Later paths must pass through the committed candidate
+            Step before = null;
+            for (Step following : window) {
+                for (int j = 0; j < following.back.length; j++) {
+                    boolean cut = before == null ? following.back[j] != k
+                            : following.back[j] < 0 || before.score[following.back[j]] == Double.NEGATIVE_INFINITY;
+                    if (cut) following.score[j] = Double.NEGATIVE_INFINITY;
+                }
+                before = following;
+            }
+            return result;
+        }
+
+        // Commits the whole window along the best path and closes the chain
+        private List<MatchStep> flush() {
+            List<MatchStep> out = new ArrayList<>();
+            if (window.isEmpty()) return out;
+
+            Step[] steps = window.toArray(new Step[0]);
+            int[] chosen = new int[steps.length];
+            chosen[steps.length - 1] = steps[steps.length - 1].best();
+            for (int i = steps.length - 1; i > 0; i--) chosen[i - 1] = steps[i].back[chosen[i]];
+
+            for (int i = 0; i < steps.length; i++) out.add(emit(steps[i], chosen[i]));
+            window.clear();
+            committed = null;
+            return out;
+        }
+
+        private MatchStep emit(Step step, int k) {
+            EdgeSnap snap = step.candidates[k].snap;
+            MatchStep result;
+            if (committed == null || step.chainStart) {
+                result = new MatchStep(step.fix, step.timeMs, snap, new int[]{snap.edge()}, 0, true);
+            } else {
+                result = route(committed, snap, step);
+            }
+            committed = snap;
+            return result;
+        }
+
+        private MatchStep route(EdgeSnap a, EdgeSnap b, Step step) {
+            if (a.edge() == b.edge() && b.fraction() >= a.fraction()) {
+                double km = (b.fraction() - a.fraction()) * graph.weight(a.edge());
+                return new MatchStep(step.fix, step.timeMs, b, new int[0], km, false);
+            }
+            double leave = (1 - a.fraction()) * graph.weight(a.edge());
+            int[] middle = path(a.to(), b.from());
+            int[] edges = Arrays.copyOf(middle, middle.length + 1);
+            edges[middle.length] = b.edge();
+
+            double km = leave + b.fraction() * graph.weight(b.edge());
+            for (int e : middle) km += graph.weight(e);
+            return new MatchStep(step.fix, step.timeMs, b, edges, km, false);
+        }
+    }
+
+    private double routeKm(EdgeSnap a, EdgeSnap b, double leave, double between) {
+        if (a.edge() == b.edge() && b.fraction() >= a.fraction()) {
+            return (b.fraction() - a.fraction()) * graph.weight(a.edge());
+        }
+        return leave + between + b.fraction() * graph.weight(b.edge());
+    }
+
+    // Road edges within the radius (twice the radius if none), nearest first
+    private Candidate[] candidates(double lat, double lng) {
+        List<EdgeSnap> snaps = new ArrayList<>();
+        for (double r = radiusKm; snaps.isEmpty() && r <= 2 * radiusKm; r *= 2) {
+            index.forEachEdgeWithin(graph, lat, lng, r, e -> snaps.add(index.project(graph, e, lat, lng)));
+        }
+        snaps.sort((x, y) -> Double.compare(x.distanceKm(), y.distanceKm()));
+
+        int n = Math.min(MAX_CANDIDATES, snaps.size());
+        Candidate[] result = new Candidate[n];
+        for (int i = 0; i < n; i++) {
+            double z = snaps.get(i).distanceKm() / sigmaKm;
+            result[i] = new Candidate(snaps.get(i), -0.5 * z * z);
+        }
+        return result;
+    }
+
+    // Road km from source to each target, +infinity beyond the limit
+    private void distances(int source, int[] targets, double limitKm, double[] out) {
+        Arrays.fill(out, Double.POSITIVE_INFINITY);
+        if (limitKm < 0) return;
+        SearchSpace space = spaces.acquire();
+        try {
+            SearchSpace.Side s = search(space, source, targets, limitKm);
+            for (int j = 0; j < targets.length; j++) {
+                if (s.isClosed(targets[j])) out[j] = s.g[targets[j]];
+            }
+        } finally {
+            spaces.release(space);
+        }
+    }
+
+    // Edges of the shortest path source -> target; reachable, as the transition found it
+    private int[] path(int source, int target) {
+        SearchSpace space = spaces.acquire();
+        try {
+            SearchSpace.Side s = search(space, source, new int[]{target}, Double.POSITIVE_INFINITY);
+            if (!s.isClosed(target)) return new int[0];
+            int length = 0;
+            for (int v = target; v != source; v = s.parent[v]) length++;
+            int[] edges = new int[length];
+            for (int v = target, i = length - 1; v != source; v = s.parent[v], i--) {
+                edges[i] = s.parentEdge[v];
+            }
+            return edges;
+        } finally {
+            spaces.release(space);
+        }
+    }
+
+    private SearchSpace.Side search(SearchSpace space, int source, int[] targets, double limitKm) {
+        space.begin();
+        SearchSpace.Side s = space.forward;
+        int remaining = 0;
+        for (int t : targets) {
+            if (space.mark(t)) remaining++;
+        }
+
+        s.reach(source, 0, -1, -1);
+        s.open.insert(source, 0);
+        while (remaining > 0 && !s.open.isEmpty()) {
+            int u = s.open.poll();
+            double gu = s.g[u];
+            if (gu > limitKm) break;
+            s.close(u);
+            if (space.isMarked(u)) remaining--;
+
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = graph.target(e);
+                if (s.isClosed(v)) continue;
+                double tentative = gu + graph.weight(e);
+                if (tentative < s.g(v)) {
+                    s.reach(v, tentative, u, e);
+                    s.open.offer(v, tentative);
+                }
+            }
+        }
+        return s;
+    }
+}
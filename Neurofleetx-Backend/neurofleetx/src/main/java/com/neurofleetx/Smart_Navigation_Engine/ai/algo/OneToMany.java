@@ -0,0 +1,70 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+
+
+/**
+ * One-to-many Dijkstra over a RoadGraph under any WeightFunction: one search
+ * from the source that stops as soon as every target is settled. A matrix
+ * is one call per origin, so rows can be computed on as many threads as
+ * there are cores; search state comes from the graph's SearchSpacePool as
+ * in CsrAStar.
+ */
+public final class OneToMany {
+
+    private final RoadGraph graph;
+    private final SearchSpacePool spaces;
+
+    public OneToMany(RoadGraph graph) {
+        this.graph = graph;
+        this.spaces = SearchSpacePool.of(graph);
+    }
+
+    public RoadGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Costs from source to each target, written to row[offset..offset + targets.length);
+     * unreachable targets get +infinity. Targets may repeat.
+     */
+    public void distancesFrom(int source, int[] targets, WeightFunction weight, float[] row, int offset) {
+        SearchSpace space = spaces.acquire();
+        try {
+            space.begin();
+            SearchSpace.Side s = space.forward;
+
+            int remaining = 0;
+            for (int t : targets) {
+                if (space.mark(t)) remaining++;
+            }
+
+            s.reach(source, 0.0, -1, -1);
+            s.open.insert(source, 0.0);
+            while (remaining > 0 && !s.open.isEmpty()) {
+                int u = s.open.poll();
+                s.close(u);
+                if (space.isMarked(u)) remaining--;
+
+                double gu = s.g[u];
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    int v = graph.target(e);
+                    if (s.isClosed(v)) continue;
+
+                    double tentative = gu + weight.edgeCost(graph, u, e);
+                    if (tentative < s.g(v)) {
+                        s.reach(v, tentative, u, e);
+                        s.open.offer(v, tentative);
+                    }
+                }
+            }
+
+            for (int i = 0; i < targets.length; i++) {
+                int t = targets[i];
+                row[offset + i] = s.isClosed(t) ? (float) s.g[t] : Float.POSITIVE_INFINITY;
+            }
+        } finally {
+            spaces.release(space);
+        }
+    }
+}
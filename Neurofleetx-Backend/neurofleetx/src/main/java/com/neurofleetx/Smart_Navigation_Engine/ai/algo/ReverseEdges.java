@@ -0,0 +1,34 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+
+import java.util.Arrays;
+
+/**
+ * Incoming edges per node (edge ids into the forward graph), for searches
+ * that run backwards from the target.
+ */
+final class ReverseEdges {
+
+    final int[] offsets;
+    final int[] sources;
+    final int[] edges;
+
+    ReverseEdges(RoadGraph graph) {
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        offsets = new int[n + 1];
+        sources = new int[m];
+        edges = new int[m];
+        for (int e = 0; e < m; e++) offsets[graph.target(e) + 1]++;
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int slot = cursor[graph.target(e)]++;
+                sources[slot] = u;
+                edges[slot] = e;
+            }
+        }
+    }
+}
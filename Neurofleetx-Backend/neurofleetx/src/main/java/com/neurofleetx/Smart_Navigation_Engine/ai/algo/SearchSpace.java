@@ -0,0 +1,153 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import java.util.Arrays;
+
+/**
+ * Scratch space for one search at a time over a graph of nodeCount nodes:
+ * labels for a forward and (allocated on first use) a backward search, a
+ * list of settled nodes and a set of node marks.
+ *
+ * Slots are only valid when stamped with the current generation, so begin()
+ * clears nothing but the heaps' remaining entries. Borrowed from a
+ * SearchSpacePool for the duration of a query; never shared between threads
+ * while borrowed.
+ */
+final class SearchSpace {
+
+    final int nodeCount;
+    final Side forward;
+    private Side backward;
+
+    private int[] settled;
+    int settledCount;
+
+    private int[] marks;
+    private int markStamp;
+
+    private int generation;
+
+    SearchSpace(int nodeCount) {
+        this.nodeCount = nodeCount;
+        this.forward = new Side(nodeCount);
+    }
+
+    /**
+     * Starts a new query: every label, the settled list and the marks read as empty.
+     */
+    void begin() {
+        forward.open.clear();
+        if (backward != null) backward.open.clear();
+        settledCount = 0;
+        if (++generation == Integer.MAX_VALUE) {
+            forward.reset();
+            if (backward != null) backward.reset();
+            generation = 1;
+        }
+        forward.generation = generation;
+        if (backward != null) backward.generation = generation;
+        clearMarks();
+    }
+
+    Side backward() {
+        if (backward == null) {
+            backward = new Side(nodeCount);
+            backward.generation = generation;
+        }
+        return backward;
+    }
+
+    void settle(int node) {
+        if (settled == null) settled = new int[nodeCount];
+        settled[settledCount++] = node;
+    }
+
+    int settled(int i) {
+        return settled[i];
+    }
+
+    int[] settledNodes() {
+        return settledCount == 0 ? new int[0] : Arrays.copyOf(settled, settledCount);
+    }
+
+    // Empties the mark set without touching the query's labels
+    void clearMarks() {
+        if (marks == null) return;
+        if (++markStamp == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            markStamp = 1;
+        }
+    }
+
+    /**
+     * @return false if the node was already marked
+     */
+    boolean mark(int node) {
+        if (marks == null) {
+            marks = new int[nodeCount];
+            markStamp = 1;
+        }
+        if (marks[node] == markStamp) return false;
+        marks[node] = markStamp;
+        return true;
+    }
+
+    boolean isMarked(int node) {
+        return marks != null && marks[node] == markStamp;
+    }
+
+    /**
+     * Labels of one search direction: cost, predecessor node and edge, and
+     * whether the node is settled.
+     */
+    static final class Side {
+        final double[] g;
+        final int[] parent;
+        final int[] parentEdge;
+        final int[] seen;    // generation in which g/parent were written
+        final int[] closed;  // generation in which the node was settled
+        final IndexedMinHeap open;
+        int generation;
+
+        Side(int n) {
+            g = new double[n];
+            parent = new int[n];
+            parentEdge = new int[n];
+            seen = new int[n];
+            closed = new int[n];
+            open = new IndexedMinHeap(n);
+        }
+
+        double g(int node) {
+            return seen[node] == generation ? g[node] : Double.POSITIVE_INFINITY;
+        }
+
+        void reach(int node, double cost, int from, int edge) {
+            g[node] = cost;
+            parent[node] = from;
+            parentEdge[node] = edge;
+            seen[node] = generation;
+        }
+
+        void close(int node) {
+            closed[node] = generation;
+        }
+
+        boolean isClosed(int node) {
+            return closed[node] == generation;
+        }
+
+        // Nodes from target back to the search root along the parent pointers, root first
+        int[] path(int target) {
+            int length = 0;
+            for (int v = target; v != -1; v = parent[v]) length++;
+            int[] nodes = new int[length];
+            for (int v = target, i = length - 1; v != -1; v = parent[v], i--) nodes[i] = v;
+            return nodes;
+        }
+
+        private void reset() {
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded set of SearchSpaces for one graph, shared by every algorithm
+ * that runs on it (A*, ALT, CH queries, one-to-many, isochrones,
+ * alternatives, map matching).
+ *
+ * A query borrows a space for its duration and waits when all are in use.
+ * At most one space per core is ever allocated, created on first demand, so
+ * the scratch memory for a graph is cores x O(nodes) however many request
+ * threads route on it; searches are CPU bound, so more would not run any
+ * faster. A query must not borrow a second space while it holds one.
+ */
+public final class SearchSpacePool {
+
+    // Pools by graph; a graph that is no longer referenced takes its pool with it
+    private static final Map<RoadGraph, SearchSpacePool> POOLS = new WeakHashMap<>();
+
+    private final int nodeCount;
+    private final int capacity;
+    private final ArrayBlockingQueue<SearchSpace> idle;
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    public SearchSpacePool(int nodeCount, int capacity) {
+        this.nodeCount = nodeCount;
+        this.capacity = Math.max(1, capacity);
+        this.idle = new ArrayBlockingQueue<>(this.capacity);
+    }
+
+    /**
+     * The pool shared by all searches over the graph.
+     */
+    public static SearchSpacePool of(RoadGraph graph) {
+        synchronized (POOLS) {
+            return POOLS.computeIfAbsent(graph,
+                    g -> new SearchSpacePool(g.nodeCount(), Runtime.getRuntime().availableProcessors()));
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Spaces created so far, at most capacity()
+    public int allocated() {
+        return allocated.get();
+    }
+
+    SearchSpace acquire() {
+        SearchSpace space = idle.poll();
+        if (space != null) return space;
+
+        if (allocated.incrementAndGet() <= capacity) return new SearchSpace(nodeCount);
+        allocated.decrementAndGet();
+        try {
+            return idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a search space", e);
+        }
+    }
+
+    void release(SearchSpace space) {
+        idle.offer(space);
+    }
+}
@@ -1,7 +1,17 @@
 package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
 
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
 import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
 
+/**
+ * Edge cost and matching A* heuristic for one routing metric.
+ *
+ * The Node methods serve the object graph (AStar); the RoadGraph methods
+ * serve CsrAStar and can use per-edge attributes (speed, road class). The
+ * estimate must never exceed the true remaining cost, or A* stops returning
+ * optimal paths. Implementations in algo.weight are final, so a search that
+ * sees one metric at a time stays monomorphic and the JIT inlines the cost.
+ */
 @FunctionalInterface
 public interface WeightFunction {
     double cost(Node a, Node b);
@@ -10,4 +20,15 @@ public interface WeightFunction {
     default double estimate(Node a, Node b) {
         return a.haversineDistance(b);
     }
+
+    // Cost of a RoadGraph edge leaving node from; by default the Node cost between its ends
+    default double edgeCost(RoadGraph graph, int from, int edge) {
+        int to = graph.target(edge);
+        return cost(new Node(graph.lat(from), graph.lng(from)), new Node(graph.lat(to), graph.lng(to)));
+    }
+
+    // Default heuristic on a RoadGraph: straight-line km, admissible for km-based costs only
+    default double estimate(RoadGraph graph, int node, int target) {
+        return graph.distanceKm(node, target);
+    }
 }
@@ -0,0 +1,224 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.vrp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A multi-stop routing instance over a travel matrix: stops with demand,
+ * service time and a time window; vehicles with a start (and optional end)
+ * location, a capacity and a driver shift. Times are minutes from the plan
+ * start. Immutable once built; solvers on several threads share one.
+ *
+ * Locations index the square travel matrices; a negative or infinite entry
+ * means there is no route between the two locations.
+ */
+public final class VrpProblem {
+
+    // A vehicle without an end location finishes at its last stop
+    public static final int OPEN_END = -1;
+
+    final int locationCount;
+    final double[] time;     // minutes, row-major, +infinity = no route
+    final double[] distance; // km, row-major
+
+    final int[] stopLocation;
+    final int[] demand;
+    final double[] service;
+    final double[] ready;
+    final double[] due;
+
+    final int[] startLocation;
+    final int[] endLocation;
+    final int[] capacity;
+    final double[] shiftStart;
+    final double[] shiftEnd;
+
+    private VrpProblem(Builder b) {
+        locationCount = b.locationCount;
+        time = b.time;
+        distance = b.distance;
+
+        int s = b.stops.size();
+        stopLocation = new int[s];
+        demand = new int[s];
+        service = new double[s];
+        ready = new double[s];
+        due = new double[s];
+        for (int i = 0; i < s; i++) {
+            Stop stop = b.stops.get(i);
+            stopLocation[i] = stop.location;
+            demand[i] = stop.demand;
+            service[i] = stop.serviceMin;
+            ready[i] = stop.readyMin;
+            due[i] = stop.dueMin;
+        }
+
+        int v = b.vehicles.size();
+        startLocation = new int[v];
+        endLocation = new int[v];
+        capacity = new int[v];
+        shiftStart = new double[v];
+        shiftEnd = new double[v];
+        for (int i = 0; i < v; i++) {
+            Vehicle vehicle = b.vehicles.get(i);
+            startLocation[i] = vehicle.start;
+            endLocation[i] = vehicle.end;
+            capacity[i] = vehicle.capacity;
+            shiftStart[i] = vehicle.shiftStartMin;
+            shiftEnd[i] = vehicle.shiftEndMin;
+        }
+    }
+
+    public int stopCount() {
+        return stopLocation.length;
+    }
+
+    public int vehicleCount() {
+        return startLocation.length;
+    }
+
+    double time(int from, int to) {
+        return time[from * locationCount + to];
+    }
+
+    /**
+     * Travel minutes of the route, or +infinity when it misses a time window,
+     * overloads the vehicle or runs past the end of the shift. An empty route
+     * costs nothing: the vehicle stays where it is.
+     */
+    double routeCost(int vehicle, int[] stops, int length) {
+        if (length == 0) return 0;
+
+        double t = shiftStart[vehicle];
+        double travel = 0;
+        int load = 0;
+        int at = startLocation[vehicle];
+        for (int i = 0; i < length; i++) {
+            int s = stops[i];
+            load += demand[s];
+            if (load > capacity[vehicle]) return Double.POSITIVE_INFINITY;
+
+            double leg = time(at, stopLocation[s]);
+            travel += leg;
+            t += leg;
+            if (t > due[s]) return Double.POSITIVE_INFINITY;
+            t = Math.max(t, ready[s]) + service[s];
+            at = stopLocation[s];
+        }
+        if (endLocation[vehicle] != OPEN_END) {
+            double leg = time(at, endLocation[vehicle]);
+            travel += leg;
+            t += leg;
+        }
+        return t > shiftEnd[vehicle] ? Double.POSITIVE_INFINITY : travel;
+    }
+
+    /**
+     * Arrival, service start and departure at each stop of a feasible route,
+     * with the load on board after the stop.
+     */
+    public List<Visit> schedule(int vehicle, int[] stops) {
+        List<Visit> visits = new ArrayList<>(stops.length);
+        double t = shiftStart[vehicle];
+        int load = 0;
+        int at = startLocation[vehicle];
+        for (int s : stops) {
+            double arrival = t + time(at, stopLocation[s]);
+            double start = Math.max(arrival, ready[s]);
+            t = start + service[s];
+            load += demand[s];
+            visits.add(new Visit(s, arrival, start, t, load));
+            at = stopLocation[s];
+        }
+        return visits;
+    }
+
+    // When the vehicle is done: back at its end location, or leaving its last stop
+    public double finishTime(int vehicle, int[] stops) {
+        if (stops.length == 0) return shiftStart[vehicle];
+        List<Visit> visits = schedule(vehicle, stops);
+        double t = visits.get(visits.size() - 1).departure();
+        if (endLocation[vehicle] != OPEN_END) t += time(stopLocation[stops[stops.length - 1]], endLocation[vehicle]);
+        return t;
+    }
+
+    public double travelMinutes(int vehicle, int[] stops) {
+        return stops.length == 0 ? 0 : legSum(time, vehicle, stops);
+    }
+
+    public double distanceKm(int vehicle, int[] stops) {
+        return stops.length == 0 ? 0 : legSum(distance, vehicle, stops);
+    }
+
+    private double legSum(double[] matrix, int vehicle, int[] stops) {
+        double sum = 0;
+        int at = startLocation[vehicle];
+        for (int s : stops) {
+            sum += matrix[at * locationCount + stopLocation[s]];
+            at = stopLocation[s];
+        }
+        if (endLocation[vehicle] != OPEN_END) sum += matrix[at * locationCount + endLocation[vehicle]];
+        return sum;
+    }
+
+    public record Visit(int stop, double arrival, double serviceStart, double departure, int load) {
+    }
+
+    private record Stop(int location, int demand, double serviceMin, double readyMin, double dueMin) {
+    }
+
+    private record Vehicle(int start, int end, int capacity, double shiftStartMin, double shiftEndMin) {
+    }
+
+    /**
+     * Collects stops and vehicles over square travel matrices of
+     * locationCount x locationCount (time in minutes, distance in km).
+     */
+    public static final class Builder {
+
+        private final int locationCount;
+        private final double[] time;
+        private final double[] distance;
+        private final List<Stop> stops = new ArrayList<>();
+        private final List<Vehicle> vehicles = new ArrayList<>();
+
+        public Builder(int locationCount, float[] timeMin, float[] distanceKm) {
+            int cells = locationCount * locationCount;
+            if (timeMin.length != cells || distanceKm.length != cells) {
+                throw new IllegalArgumentException("Expected " + locationCount + " x " + locationCount + " matrices");
+            }
+            this.locationCount = locationCount;
+            this.time = new double[cells];
+            this.distance = new double[cells];
+            for (int i = 0; i < cells; i++) {
+                boolean routed = timeMin[i] >= 0 && Float.isFinite(timeMin[i]);
+                time[i] = routed ? timeMin[i] : Double.POSITIVE_INFINITY;
+                distance[i] = routed ? Math.max(0, distanceKm[i]) : Double.POSITIVE_INFINITY;
+            }
+        }
+
+        public int addStop(int location, int demand, double serviceMin, double readyMin, double dueMin) {
+            checkLocation(location);
+            if (demand < 0 || serviceMin < 0) throw new IllegalArgumentException("Negative demand or service time");
+            stops.add(new Stop(location, demand, serviceMin, readyMin, dueMin));
+            return stops.size() - 1;
+        }
+
+        public int addVehicle(int startLocation, int endLocation, int capacity, double shiftStartMin, double shiftEndMin) {
+            checkLocation(startLocation);
+            if (endLocation != OPEN_END) checkLocation(endLocation);
+            vehicles.add(new Vehicle(startLocation, endLocation, capacity, shiftStartMin, shiftEndMin));
+            return vehicles.size() - 1;
+        }
+
+        public VrpProblem build() {
+            return new VrpProblem(this);
+        }
+
+        private void checkLocation(int location) {
+            if (location < 0 || location >= locationCount) {
+                throw new IllegalArgumentException("Location " + location + " is outside the matrix");
+            }
+        }
+    }
+}
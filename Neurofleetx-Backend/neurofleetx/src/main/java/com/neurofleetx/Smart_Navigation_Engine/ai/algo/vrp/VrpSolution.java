@@ -0,0 +1,40 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.vrp;
+
+/**
+ * Ordered stops per vehicle plus the stops no vehicle could take.
+ * Solutions compare by unassigned count first, then by travel minutes.
+ */
+public final class VrpSolution {
+
+    private final int[][] routes;
+    private final int[] unassigned;
+    private final double travelMinutes;
+
+    VrpSolution(int[][] routes, int[] unassigned, double travelMinutes) {
+        this.routes = routes;
+        this.unassigned = unassigned;
+        this.travelMinutes = travelMinutes;
+    }
+
+    public int vehicleCount() {
+        return routes.length;
+    }
+
+    public int[] route(int vehicle) {
+        return routes[vehicle].clone();
+    }
+
+    public int[] unassigned() {
+        return unassigned.clone();
+    }
+
+    public double travelMinutes() {
+        return travelMinutes;
+    }
+
+    public boolean isBetterThan(VrpSolution other) {
+        if (other == null) return true;
+        if (unassigned.length != other.unassigned.length) return unassigned.length < other.unassigned.length;
+        return travelMinutes < other.travelMinutes;
+    }
+}
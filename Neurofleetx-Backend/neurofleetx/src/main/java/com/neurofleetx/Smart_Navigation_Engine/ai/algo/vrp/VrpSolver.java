@@ -0,0 +1,429 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.vrp;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Construction heuristic plus local search for a VrpProblem.
+ *
+ * Stops are inserted by regret-2: the stop that would lose most by not
+ * getting its best route goes first, at its cheapest feasible position.
+ * The result is improved with three neighbourhoods until none of them
+ * finds a better solution:
+ *  - relocate: one stop to the best position in any route,
+ *  - or-opt: a chain of 2-3 consecutive stops likewise,
+ *  - 2-opt: reverse a stretch of a route.
+ * Until the deadline the solver then ruins part of the solution (random
+ * stops, or a stop and its nearest neighbours), recreates it with noisy
+ * regret insertion and runs the local search again, keeping the change
+ * when it is not more than ACCEPT_WORSE longer.
+ *
+ * One solver per thread; run several with different seeds for a spread of
+ * candidate solutions.
+ */
+public final class VrpSolver {
+
+    static final int MAX_SEGMENT = 3;
+    static final double MAX_RUIN = 0.3;
+    static final double NOISE = 0.2;
+    static final double ACCEPT_WORSE = 0.01;
+    private static final double EPS = 1e-9;
+
+    private final VrpProblem p;
+    private final Random random;
+    private final int vehicles;
+    private final int stops;
+
+    // Working solution
+    private final int[][] route;
+    private final int[] size;
+    private final double[] cost;
+    private final int[] load;
+    private final int[] vehicleOf; // -1 = unassigned
+
+    private final int[] bufA;
+    private final int[] bufB;
+    private int[][] nearest;
+    private long deadline;
+    private boolean bounded;
+
+    public VrpSolver(VrpProblem problem, long seed) {
+        this.p = problem;
+        this.random = new Random(seed);
+        this.vehicles = problem.vehicleCount();
+        this.stops = problem.stopCount();
+        this.route = new int[vehicles][stops];
+        this.size = new int[vehicles];
+        this.cost = new double[vehicles];
+        this.load = new int[vehicles];
+        this.vehicleOf = new int[stops];
+        this.bufA = new int[stops + MAX_SEGMENT];
+        this.bufB = new int[stops + MAX_SEGMENT];
+    }
+
+    /**
+     * Best solution found before the deadline (System.nanoTime). The first
+     * local optimum is always completed, however short the budget.
+     */
+    public VrpSolution solve(long deadlineNanos, boolean randomStart) {
+        this.deadline = deadlineNanos;
+        Arrays.fill(vehicleOf, -1);
+
+        recreate(randomStart ? NOISE : 0);
+        bounded = false;
+        localSearch();
+        bounded = true;
+        VrpSolution best = snapshot();
+        VrpSolution current = best;
+
+        while (!timeUp() && stops > 0 && vehicles > 0) {
+            ruin();
+            recreate(NOISE);
+            localSearch();
+
+            VrpSolution candidate = snapshot();
+            if (candidate.isBetterThan(best)) best = candidate;
+            if (accepts(candidate, current)) {
+                current = candidate;
+            } else {
+                restore(current);
+            }
+        }
+        return best;
+    }
+
+    private boolean timeUp() {
+        return bounded && System.nanoTime() - deadline > 0;
+    }
+
+    private static boolean accepts(VrpSolution candidate, VrpSolution current) {
+        int c = candidate.unassigned().length, cur = current.unassigned().length;
+        if (c != cur) return c < cur;
+        return candidate.travelMinutes() <= current.travelMinutes() * (1 + ACCEPT_WORSE);
+    }
+
+    // ---------------------------------------------------------------- construction
+
+    // Regret-2 insertion of every unassigned stop; noise > 0 perturbs the order
+    private void recreate(double noise) {
+        int[] pending = new int[stops];
+        int m = 0;
+        for (int s = 0; s < stops; s++) if (vehicleOf[s] < 0) pending[m++] = s;
+        if (m == 0 || vehicles == 0) return;
+
+        double[] delta = new double[m * vehicles];
+        int[] position = new int[m * vehicles];
+        for (int i = 0; i < m; i++) {
+            for (int v = 0; v < vehicles; v++) bestInsertion(pending[i], v, delta, position, i * vehicles + v);
+        }
+
+        while (m > 0) {
+            int chosen = -1, chosenVehicle = -1;
+            double chosenScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < m; i++) {
+                double first = Double.POSITIVE_INFINITY, second = Double.POSITIVE_INFINITY;
+                int firstVehicle = -1;
+                for (int v = 0; v < vehicles; v++) {
+                    double d = delta[i * vehicles + v];
+                    if (d < first) {
+                        second = first;
+                        first = d;
+                        firstVehicle = v;
+                    } else if (d < second) {
+                        second = d;
+                    }
+                }
+                if (firstVehicle < 0) continue;
+
+                // A stop with a single feasible route goes before any with a choice
+                double regret = Double.isInfinite(second) ? 1e12 - first : second - first;
+                double score = regret * (1 + noise * random.nextDouble());
+                if (score > chosenScore) {
+                    chosenScore = score;
+                    chosen = i;
+                    chosenVehicle = firstVehicle;
+                }
+            }
+            if (chosen < 0) break; // nothing left fits anywhere
+
+            int s = pending[chosen];
+            insert(s, chosenVehicle, position[chosen * vehicles + chosenVehicle]);
+
+            // Drop the chosen row, then refresh the one column that changed
+            m--;
+            pending[chosen] = pending[m];
+            System.arraycopy(delta, m * vehicles, delta, chosen * vehicles, vehicles);
+            System.arraycopy(position, m * vehicles, position, chosen * vehicles, vehicles);
+            for (int i = 0; i < m; i++) {
+                bestInsertion(pending[i], chosenVehicle, delta, position, i * vehicles + chosenVehicle);
+            }
+        }
+    }
+
+    // Cheapest feasible position for stop s in vehicle v's route; +infinity if none
+    private void bestInsertion(int s, int v, double[] delta, int[] position, int slot) {
+        double best = Double.POSITIVE_INFINITY;
+        int bestPos = -1;
+        if (load[v] + p.demand[s] <= p.capacity[v]) {
+            int n = size[v];
+            int[] r = route[v];
+            for (int pos = 0; pos <= n; pos++) {
+                System.arraycopy(r, 0, bufB, 0, pos);
+                bufB[pos] = s;
+                System.arraycopy(r, pos, bufB, pos + 1, n - pos);
+                double d = p.routeCost(v, bufB, n + 1) - cost[v];
+                if (d < best) {
+                    best = d;
+                    bestPos = pos;
+                }
+            }
+        }
+        delta[slot] = best;
+        position[slot] = bestPos;
+    }
+
+    // ---------------------------------------------------------------- local search
+
+    private void localSearch() {
+        boolean improved = true;
+        while (improved && !timeUp()) {
+            improved = insertUnassigned() | moveSegments() | twoOpt();
+        }
+    }
+
+    // An unassigned stop that now fits somewhere is always an improvement
+    private boolean insertUnassigned() {
+        boolean improved = false;
+        double[] delta = new double[1];
+        int[] position = new int[1];
+        for (int s = 0; s < stops; s++) {
+            if (vehicleOf[s] >= 0) continue;
+            double best = Double.POSITIVE_INFINITY;
+            int bestVehicle = -1, bestPos = -1;
+            for (int v = 0; v < vehicles; v++) {
+                bestInsertion(s, v, delta, position, 0);
+                if (delta[0] < best) {
+                    best = delta[0];
+                    bestVehicle = v;
+                    bestPos = position[0];
+                }
+            }
+            if (bestVehicle >= 0) {
+                insert(s, bestVehicle, bestPos);
+                improved = true;
+            }
+        }
+        return improved;
+    }
+
+    // Relocate (one stop) and or-opt (chains of 2..MAX_SEGMENT) to the best position in any route
+    private boolean moveSegments() {
+        boolean improved = false;
+        for (int a = 0; a < vehicles; a++) {
+            for (int i = 0; i < size[a] && !timeUp(); i++) {
+                for (int len = 1; len <= MAX_SEGMENT && i + len <= size[a]; len++) {
+                    if (moveSegment(a, i, len)) improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private boolean moveSegment(int a, int i, int len) {
+        int[] ra = route[a];
+        int restLength = size[a] - len;
+        System.arraycopy(ra, 0, bufA, 0, i);
+        System.arraycopy(ra, i + len, bufA, i, restLength - i);
+        double costWithout = p.routeCost(a, bufA, restLength);
+
+        int segmentDemand = 0;
+        for (int k = i; k < i + len; k++) segmentDemand += p.demand[ra[k]];
+
+        double bestDelta = -EPS;
+        int bestVehicle = -1, bestPos = -1;
+        for (int b = 0; b < vehicles; b++) {
+            boolean same = b == a;
+            if (!same && (Double.isInfinite(costWithout) || load[b] + segmentDemand > p.capacity[b])) continue;
+
+            int[] base = same ? bufA : route[b];
+            int n = same ? restLength : size[b];
+            double before = same ? cost[a] : cost[a] + cost[b];
+            for (int pos = 0; pos <= n; pos++) {
+                if (same && pos == i) continue;
+                System.arraycopy(base, 0, bufB, 0, pos);
+                System.arraycopy(ra, i, bufB, pos, len);
+                System.arraycopy(base, pos, bufB, pos + len, n - pos);
+                double after = p.routeCost(b, bufB, n + len) + (same ? 0 : costWithout);
+                double d = after - before;
+                if (d < bestDelta) {
+                    bestDelta = d;
+                    bestVehicle = b;
+                    bestPos = pos;
+                }
+            }
+        }
+        if (bestVehicle < 0) return false;
+
+        int[] segment = Arrays.copyOfRange(ra, i, i + len);
+        for (int s : segment) remove(s);
+        for (int k = 0; k < len; k++) insertAt(segment[k], bestVehicle, bestPos + k);
+        refresh(a);
+        refresh(bestVehicle);
+        return true;
+    }
+
+    private boolean twoOpt() {
+        boolean improved = false;
+        for (int v = 0; v < vehicles && !timeUp(); v++) {
+            int n = size[v];
+            int[] r = route[v];
+            for (int i = 0; i < n - 1; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    System.arraycopy(r, 0, bufB, 0, n);
+                    reverse(bufB, i, j);
+                    double c = p.routeCost(v, bufB, n);
+                    if (c < cost[v] - EPS) {
+                        reverse(r, i, j);
+                        cost[v] = c;
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static void reverse(int[] a, int i, int j) {
+        while (i < j) {
+            int t = a[i];
+            a[i++] = a[j];
+            a[j--] = t;
+        }
+    }
+
+    // ---------------------------------------------------------------- ruin
+
+    private void ruin() {
+        int assigned = 0;
+        for (int s = 0; s < stops; s++) if (vehicleOf[s] >= 0) assigned++;
+        if (assigned == 0) return;
+        int k = 1 + random.nextInt(Math.max(1, (int) (assigned * MAX_RUIN)));
+
+        if (random.nextBoolean()) {
+            // A random stop and the stops nearest to it
+            int seed = randomAssigned(assigned);
+            int[] near = nearest()[seed];
+            tryRemove(seed);
+            for (int i = 0, removed = 1; i < near.length && removed < k; i++) {
+                if (vehicleOf[near[i]] >= 0 && tryRemove(near[i])) removed++;
+            }
+        } else {
+            for (int removed = 0, tries = 0; removed < k && tries < 4 * k; tries++) {
+                int s = randomAssigned(assigned - removed);
+                if (s >= 0 && tryRemove(s)) removed++;
+            }
+        }
+    }
+
+    private int randomAssigned(int assigned) {
+        if (assigned <= 0) return -1;
+        int skip = random.nextInt(assigned);
+        for (int s = 0; s < stops; s++) {
+            if (vehicleOf[s] >= 0 && skip-- == 0) return s;
+        }
+        return -1;
+    }
+
+    // Unassigns s unless that leaves its route infeasible (possible when the matrix breaks the triangle inequality)
+    private boolean tryRemove(int s) {
+        int v = vehicleOf[s];
+        int n = size[v], at = indexOf(v, s);
+        System.arraycopy(route[v], 0, bufA, 0, at);
+        System.arraycopy(route[v], at + 1, bufA, at, n - at - 1);
+        if (Double.isInfinite(p.routeCost(v, bufA, n - 1))) return false;
+        remove(s);
+        refresh(v);
+        return true;
+    }
+
+    // Other stops by round-trip time, nearest first
+    private int[][] nearest() {
+        if (nearest != null) return nearest;
+        nearest = new int[stops][];
+        long[] keys = new long[stops - 1];
+        for (int s = 0; s < stops; s++) {
+            int k = 0;
+            for (int o = 0; o < stops; o++) {
+                if (o == s) continue;
+                double d = p.time(p.stopLocation[s], p.stopLocation[o]) + p.time(p.stopLocation[o], p.stopLocation[s]);
+                // Non-negative float bits sort like the floats themselves
+                keys[k++] = ((long) Float.floatToIntBits((float) Math.min(d, Float.MAX_VALUE)) << 32) | o;
+            }
+            Arrays.sort(keys);
+            int[] order = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) order[i] = (int) keys[i];
+            nearest[s] = order;
+        }
+        return nearest;
+    }
+
+    // ---------------------------------------------------------------- bookkeeping
+
+    private void insert(int s, int v, int pos) {
+        insertAt(s, v, pos);
+        refresh(v);
+    }
+
+    private void insertAt(int s, int v, int pos) {
+        int[] r = route[v];
+        System.arraycopy(r, pos, r, pos + 1, size[v] - pos);
+        r[pos] = s;
+        size[v]++;
+        vehicleOf[s] = v;
+    }
+
+    private void remove(int s) {
+        int v = vehicleOf[s];
+        int at = indexOf(v, s);
+        System.arraycopy(route[v], at + 1, route[v], at, size[v] - at - 1);
+        size[v]--;
+        vehicleOf[s] = -1;
+    }
+
+    private int indexOf(int v, int s) {
+        for (int i = 0; i < size[v]; i++) if (route[v][i] == s) return i;
+        throw new IllegalStateException("Stop " + s + " missing from route " + v);
+    }
+
+    private void refresh(int v) {
+        cost[v] = p.routeCost(v, route[v], size[v]);
+        int l = 0;
+        for (int i = 0; i < size[v]; i++) l += p.demand[route[v][i]];
+        load[v] = l;
+    }
+
+    private VrpSolution snapshot() {
+        int[][] routes = new int[vehicles][];
+        double travel = 0;
+        for (int v = 0; v < vehicles; v++) {
+            routes[v] = Arrays.copyOf(route[v], size[v]);
+            travel += cost[v];
+        }
+        int unassignedCount = 0;
+        for (int s = 0; s < stops; s++) if (vehicleOf[s] < 0) unassignedCount++;
+        int[] unassigned = new int[unassignedCount];
+        for (int s = 0, k = 0; s < stops; s++) if (vehicleOf[s] < 0) unassigned[k++] = s;
+        return new VrpSolution(routes, unassigned, travel);
+    }
+
+    private void restore(VrpSolution solution) {
+        Arrays.fill(vehicleOf, -1);
+        for (int v = 0; v < vehicles; v++) {
+            int[] r = solution.route(v);
+            System.arraycopy(r, 0, route[v], 0, r.length);
+            size[v] = r.length;
+            for (int s : r) vehicleOf[s] = v;
+            refresh(v);
+        }
+    }
+}
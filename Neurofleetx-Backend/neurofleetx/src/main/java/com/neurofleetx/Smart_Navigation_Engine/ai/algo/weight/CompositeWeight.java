@@ -0,0 +1,68 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.WeightFunction;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+
+import java.util.Arrays;
+
+/**
+ * Weighted sum of other metrics, e.g. hours + 0.1 * litres. Coefficients
+ * convert each part to a common cost unit and must be >= 0; the heuristic
+ * is the same sum of the parts' heuristics, so it stays admissible.
+ *
+ * Immutable: plus() returns a new composite.
+ */
+public final class CompositeWeight implements WeightFunction {
+
+    private final WeightFunction[] parts;
+    private final double[] coefficients;
+
+    private CompositeWeight(WeightFunction[] parts, double[] coefficients) {
+        this.parts = parts;
+        this.coefficients = coefficients;
+    }
+
+    public static CompositeWeight of(WeightFunction part, double coefficient) {
+        return new CompositeWeight(new WeightFunction[0], new double[0]).plus(part, coefficient);
+    }
+
+    public CompositeWeight plus(WeightFunction part, double coefficient) {
+        if (coefficient < 0 || !Double.isFinite(coefficient)) {
+            throw new IllegalArgumentException("Coefficient must be finite and >= 0, got " + coefficient);
+        }
+        WeightFunction[] p = Arrays.copyOf(parts, parts.length + 1);
+        double[] c = Arrays.copyOf(coefficients, coefficients.length + 1);
+        p[parts.length] = part;
+        c[coefficients.length] = coefficient;
+        return new CompositeWeight(p, c);
+    }
+
+    @Override
+    public double cost(Node a, Node b) {
+        double total = 0;
+        for (int i = 0; i < parts.length; i++) total += coefficients[i] * parts[i].cost(a, b);
+        return total;
+    }
+
+    @Override
+    public double estimate(Node a, Node b) {
+        double total = 0;
+        for (int i = 0; i < parts.length; i++) total += coefficients[i] * parts[i].estimate(a, b);
+        return total;
+    }
+
+    @Override
+    public double edgeCost(RoadGraph graph, int from, int edge) {
+        double total = 0;
+        for (int i = 0; i < parts.length; i++) total += coefficients[i] * parts[i].edgeCost(graph, from, edge);
+        return total;
+    }
+
+    @Override
+    public double estimate(RoadGraph graph, int node, int target) {
+        double total = 0;
+        for (int i = 0; i < parts.length; i++) total += coefficients[i] * parts[i].estimate(graph, node, target);
+        return total;
+    }
+}
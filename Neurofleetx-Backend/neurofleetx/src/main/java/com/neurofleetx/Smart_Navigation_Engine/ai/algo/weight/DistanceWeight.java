@@ -0,0 +1,36 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.WeightFunction;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+
+/**
+ * Road length in km. The straight line to the goal is the heuristic.
+ */
+public final class DistanceWeight implements WeightFunction {
+
+    public static final DistanceWeight INSTANCE = new DistanceWeight();
+
+    private DistanceWeight() {
+    }
+
+    @Override
+    public double cost(Node a, Node b) {
+        return a.haversineDistance(b);
+    }
+
+    @Override
+    public double estimate(Node a, Node b) {
+        return a.haversineDistance(b);
+    }
+
+    @Override
+    public double edgeCost(RoadGraph graph, int from, int edge) {
+        return graph.weight(edge);
+    }
+
+    @Override
+    public double estimate(RoadGraph graph, int node, int target) {
+        return graph.distanceKm(node, target);
+    }
+}
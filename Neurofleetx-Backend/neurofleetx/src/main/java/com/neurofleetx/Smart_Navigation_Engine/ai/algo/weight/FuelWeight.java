@@ -0,0 +1,54 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.WeightFunction;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+
+/**
+ * Fuel in litres, from a U-shaped consumption curve: cheapest around
+ * OPTIMAL_SPEED_KMH, rising for crawling traffic and for motorway speeds.
+ * The heuristic is the straight line at the best-case consumption.
+ */
+public final class FuelWeight implements WeightFunction {
+
+    public static final FuelWeight INSTANCE = new FuelWeight();
+
+    static final double BASE_L_PER_100KM = 6.0;
+    static final double OPTIMAL_SPEED_KMH = 60.0;
+    private static final double CURVE = 0.0015; // extra L/100km per (km/h off optimal)^2
+
+    // Litres per km at each whole speed 0..255, so the edge cost is a table lookup
+    private static final double[] LITRES_PER_KM = new double[256];
+
+    static {
+        for (int v = 0; v < LITRES_PER_KM.length; v++) {
+            double off = Math.max(1, v) - OPTIMAL_SPEED_KMH;
+            LITRES_PER_KM[v] = (BASE_L_PER_100KM + CURVE * off * off) / 100.0;
+        }
+    }
+
+    private static final double MIN_LITRES_PER_KM = BASE_L_PER_100KM / 100.0;
+
+    private FuelWeight() {
+    }
+
+    @Override
+    public double cost(Node a, Node b) {
+        return a.haversineDistance(b) * LITRES_PER_KM[RoadGraph.DEFAULT_SPEED_KMH];
+    }
+
+    @Override
+    public double estimate(Node a, Node b) {
+        return a.haversineDistance(b) * MIN_LITRES_PER_KM;
+    }
+
+    @Override
+    public double edgeCost(RoadGraph graph, int from, int edge) {
+        return graph.weight(edge) * LITRES_PER_KM[graph.speedKmh(edge)];
+    }
+
+    @Override
+    public double estimate(RoadGraph graph, int node, int target) {
+        return graph.distanceKm(node, target) * MIN_LITRES_PER_KM;
+    }
+}
@@ -0,0 +1,51 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.WeightFunction;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+
+/**
+ * Risk-weighted km: each km is multiplied by a risk factor >= 1 from the
+ * road class. Major roads count at face value; residential and service
+ * streets (pedestrians, parked cars, poor lighting) and very fast roads
+ * cost more. Node graphs have no road class, so every edge gets the
+ * ordinary-road factor. The heuristic is the straight line at factor 1.
+ */
+public final class SafetyWeight implements WeightFunction {
+
+    public static final SafetyWeight INSTANCE = new SafetyWeight();
+
+    static final double MAJOR_ROAD_RISK = 1.0;
+    static final double ORDINARY_ROAD_RISK = 1.2;
+    static final double RESIDENTIAL_RISK = 1.6;
+    static final double HIGH_SPEED_EXTRA = 0.3; // above HIGH_SPEED_KMH
+    static final int HIGH_SPEED_KMH = 90;
+
+    private SafetyWeight() {
+    }
+
+    @Override
+    public double cost(Node a, Node b) {
+        return a.haversineDistance(b) * ORDINARY_ROAD_RISK;
+    }
+
+    @Override
+    public double estimate(Node a, Node b) {
+        return a.haversineDistance(b) * MAJOR_ROAD_RISK;
+    }
+
+    @Override
+    public double edgeCost(RoadGraph graph, int from, int edge) {
+        int flags = graph.flags(edge);
+        double risk = (flags & RoadGraph.FLAG_MAJOR_ROAD) != 0 ? MAJOR_ROAD_RISK
+                : (flags & RoadGraph.FLAG_RESIDENTIAL) != 0 ? RESIDENTIAL_RISK
+                : ORDINARY_ROAD_RISK;
+        if (graph.speedKmh(edge) > HIGH_SPEED_KMH) risk += HIGH_SPEED_EXTRA;
+        return graph.weight(edge) * risk;
+    }
+
+    @Override
+    public double estimate(RoadGraph graph, int node, int target) {
+        return graph.distanceKm(node, target) * MAJOR_ROAD_RISK;
+    }
+}
@@ -0,0 +1,41 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.WeightFunction;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+
+/**
+ * Driving time in hours.
+ *
+ * On a RoadGraph each edge is driven at its speed limit; Node graphs carry
+ * no speeds, so their edges use RoadGraph.DEFAULT_SPEED_KMH. The heuristic
+ * is the straight line at the fastest speed in the graph, which no edge can
+ * beat. Live traffic is TrafficTimeWeight.
+ */
+public final class TimeWeight implements WeightFunction {
+
+    public static final TimeWeight FREE_FLOW = new TimeWeight();
+
+    private TimeWeight() {
+    }
+
+    @Override
+    public double cost(Node a, Node b) {
+        return a.haversineDistance(b) / RoadGraph.DEFAULT_SPEED_KMH;
+    }
+
+    @Override
+    public double estimate(Node a, Node b) {
+        return a.haversineDistance(b) / RoadGraph.DEFAULT_SPEED_KMH;
+    }
+
+    @Override
+    public double edgeCost(RoadGraph graph, int from, int edge) {
+        return graph.travelTimeHours(edge);
+    }
+
+    @Override
+    public double estimate(RoadGraph graph, int node, int target) {
+        return graph.distanceKm(node, target) / graph.maxSpeedKmh();
+    }
+}
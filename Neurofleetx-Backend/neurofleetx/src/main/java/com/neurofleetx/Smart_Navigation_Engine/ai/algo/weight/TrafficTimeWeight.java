@@ -0,0 +1,45 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.WeightFunction;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.TrafficWeights;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+
+/**
+ * Driving time in hours on one live TrafficWeights snapshot: free-flow time
+ * times the edge's slowdown. Node graphs carry no traffic and are driven at
+ * RoadGraph.DEFAULT_SPEED_KMH. Slowdowns are never below 1, so the straight
+ * line at the graph's fastest speed stays an admissible heuristic.
+ */
+public final class TrafficTimeWeight implements WeightFunction {
+
+    private final TrafficWeights weights;
+
+    private TrafficTimeWeight(TrafficWeights weights) {
+        this.weights = weights;
+    }
+
+    public static TrafficTimeWeight of(TrafficWeights weights) {
+        return new TrafficTimeWeight(weights);
+    }
+
+    @Override
+    public double cost(Node a, Node b) {
+        return a.haversineDistance(b) / RoadGraph.DEFAULT_SPEED_KMH;
+    }
+
+    @Override
+    public double estimate(Node a, Node b) {
+        return a.haversineDistance(b) / RoadGraph.DEFAULT_SPEED_KMH;
+    }
+
+    @Override
+    public double edgeCost(RoadGraph graph, int from, int edge) {
+        return weights.timeHours(edge);
+    }
+
+    @Override
+    public double estimate(RoadGraph graph, int node, int target) {
+        return graph.distanceKm(node, target) / graph.maxSpeedKmh();
+    }
+}
@@ -4,31 +4,77 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.neurofleetx.Smart_Navigation_Engine.ai.AiRouteAgent;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.WeightFunction;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.CompositeWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.FuelWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.TimeWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
 import com.neurofleetx.Smart_Navigation_Engine.ai.service.DataAggregatorService;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.IsochroneResponse;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.MatrixRequest;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.MatrixResponse;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.OptimizeRequest;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.OptimizeResponse;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.ReachableVehiclesResponse;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.RouteCandidate;
 import com.neurofleetx.Smart_Navigation_Engine.ai.service.GraphBuilder;
+import com.neurofleetx.Smart_Navigation_Engine.ai.service.IsochroneService;
+import com.neurofleetx.Smart_Navigation_Engine.ai.service.MatrixService;
+import com.neurofleetx.Smart_Navigation_Engine.ai.service.RoadNetworkService;
+import com.neurofleetx.Smart_Navigation_Engine.ai.service.RouteCacheService;
 import com.neurofleetx.Smart_Navigation_Engine.ai.service.RouteEngineService;
+import com.neurofleetx.Smart_Navigation_Engine.ai.service.TrafficWeightService;
+import com.neurofleetx.Smart_Navigation_Engine.ai.service.TripOptimizerService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/route")
 public class RouteController {
 
+    // Litres of fuel plus driving time valued at ECO_LITRES_PER_HOUR, so the
+    // eco route does not take long detours at the most economical speed
+    static final double ECO_LITRES_PER_HOUR = 2.0;
+    private static final WeightFunction ECO = CompositeWeight.of(FuelWeight.INSTANCE, 1.0)
+            .plus(TimeWeight.FREE_FLOW, ECO_LITRES_PER_HOUR);
+
     private final DataAggregatorService aggregator;
     private final AiRouteAgent aiRouteAgent;
     private final GraphBuilder graphBuilder;
     private final RouteEngineService routeEngine;
+    private final RoadNetworkService roadNetwork;
+    private final RouteCacheService routeCache;
+    private final TrafficWeightService trafficWeights;
+    private final MatrixService matrixService;
+    private final TripOptimizerService tripOptimizer;
+    private final IsochroneService isochroneService;
 
     public RouteController(
             DataAggregatorService aggregator,
             AiRouteAgent aiRouteAgent,
             GraphBuilder graphBuilder,
-            RouteEngineService routeEngine
+            RouteEngineService routeEngine,
+            RoadNetworkService roadNetwork,
+            RouteCacheService routeCache,
+            TrafficWeightService trafficWeights,
+            MatrixService matrixService,
+            TripOptimizerService tripOptimizer,
+            IsochroneService isochroneService
     ) {
         this.aggregator = aggregator;
         this.aiRouteAgent = aiRouteAgent;
         this.graphBuilder = graphBuilder;
         this.routeEngine = routeEngine;
+        this.roadNetwork = roadNetwork;
+        this.routeCache = routeCache;
+        this.trafficWeights = trafficWeights;
+        this.matrixService = matrixService;
+        this.tripOptimizer = tripOptimizer;
+        this.isochroneService = isochroneService;
     }
 
     /**
@@ -41,15 +87,110 @@ public class RouteController {
             @RequestParam double endLat,
             @RequestParam double endLng) {
 
-        // 3 completely different graphs
-        var graph1 = graphBuilder.buildMultiRouteGraph(startLat, startLng, endLat, endLng, 25);
-        var graph2 = graphBuilder.buildMultiRouteGraph(startLat, startLng, endLat, endLng, 25);
-        var graph3 = graphBuilder.buildMultiRouteGraph(startLat, startLng, endLat, endLng, 25);
+        // Same origin/destination cells and traffic epoch -> same routes; the
+        // metric name changes once the live-traffic search becomes available
+        RoadGraph graph = roadNetwork.getGraph();
+        String metric = graph != null && roadNetwork.getTrafficSearch(graph) != null ? "routes+traffic" : "routes";
+        RouteCacheService.Key key = routeCache.key(metric, startLat, startLng, endLat, endLng, trafficWeights.epoch());
+
+        List<RouteCandidate> cached = routeCache.get(key);
+        if (cached != null) return ResponseEntity.ok(cached);
+
+        List<RouteCandidate> routes = computeRoutes(startLat, startLng, endLat, endLng);
+
+        List<Node> covered = new ArrayList<>();
+        for (RouteCandidate r : routes) covered.addAll(r.getPathNodes());
+        routeCache.put(key, routes, covered);
+
+        return ResponseEntity.ok(routes);
+    }
+
+    /**
+     * Route cache hit / miss counters
+     */
+    @GetMapping("/cache/stats")
+    public Map<String, Object> cacheStats() {
+        return routeCache.stats();
+    }
+
+    /**
+     * ORIGIN x DESTINATION MATRIX (e.g. vehicles x pickups) in one call
+     */
+    @PostMapping("/matrix")
+    public ResponseEntity<MatrixResponse> matrix(@RequestBody MatrixRequest request) {
+        return ResponseEntity.ok(matrixService.compute(request));
+    }
+
+    /**
+     * MULTI-STOP TRIP OPTIMIZER: ordered stops per vehicle
+     */
+    @PostMapping("/optimize")
+    public ResponseEntity<OptimizeResponse> optimize(@RequestBody OptimizeRequest request) {
+        return ResponseEntity.ok(tripOptimizer.optimize(request));
+    }
+
+    /**
+     * ISOCHRONE: area reachable from the point (reverse=true: able to reach it) per time band
+     */
+    @GetMapping("/isochrone")
+    public ResponseEntity<IsochroneResponse> isochrone(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5,10,15") List<Double> minutes,
+            @RequestParam(defaultValue = "false") boolean reverse) {
+        return ResponseEntity.ok(isochroneService.isochrone(lat, lng, minutes, reverse));
+    }
+
+    /**
+     * Vehicles that can reach the point within the given minutes, quickest first
+     */
+    @GetMapping("/isochrone/vehicles")
+    public ResponseEntity<ReachableVehiclesResponse> reachableVehicles(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") double minutes) {
+        return ResponseEntity.ok(isochroneService.reachableVehicles(lat, lng, minutes));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    private List<RouteCandidate> computeRoutes(double startLat, double startLng, double endLat, double endLng) {
+
+        // Real road network when one is loaded and both points snap onto a road
+        if (roadNetwork.isAvailable()) {
+            int source = roadNetwork.snapNode(startLat, startLng);
+            int target = roadNetwork.snapNode(endLat, endLng);
+            if (source >= 0 && target >= 0) {
+                RouteCandidate road = routeEngine.generateRoadRoute(
+                        "Shortest Route", roadNetwork.getGraph(), source, target);
+                if (road != null) {
+                    List<RouteCandidate> result = new ArrayList<>(List.of(road));
+
+                    // Quickest by speed limits, plus real alternatives from the same search trees
+                    result.addAll(routeEngine.generateAlternativeRoutes(
+                            "Fastest Route", roadNetwork.getGraph(), source, target, TimeWeight.FREE_FLOW));
+
+                    // Least fuel for the time spent
+                    RouteCandidate eco = routeEngine.generateRoadRoute(
+                            "Eco Route", roadNetwork.getGraph(), source, target, ECO);
+                    if (eco != null) result.add(eco);
+
+                    // Live-traffic alternative when traffic routing is enabled and ready
+                    RouteCandidate traffic = routeEngine.generateTrafficRoute(
+                            "Low Traffic Route", roadNetwork.getGraph(), source, target);
+                    if (traffic != null) result.add(traffic);
 
-        var r1 = routeEngine.generateSingleRoute("Shortest Route", graph1);
-        var r2 = routeEngine.generateSingleRoute("Fastest Route", graph2);
-        var r3 = routeEngine.generateSingleRoute("Low Traffic Route", graph3);
+                    return result;
+                }
+            }
+        }
 
-        return ResponseEntity.ok(List.of(r1, r2, r3));
+        // No road network: alternatives over one corridor lattice between the two points
+        RoadGraph corridor = graphBuilder.buildCorridorGraph(startLat, startLng, endLat, endLng, 25, 7);
+        return routeEngine.generateAlternativeRoutes(
+                "Shortest Route", corridor, 0, corridor.nodeCount() - 1, DistanceWeight.INSTANCE);
     }
 }
\ No newline at end of file
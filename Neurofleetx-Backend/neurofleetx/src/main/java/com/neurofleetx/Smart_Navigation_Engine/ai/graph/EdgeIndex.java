@@ -0,0 +1,228 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph;
+
+import com.neurofleetx.util.GeoUtils;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform lat/lng grid over the edges of a RoadGraph, for snapping points
+ * onto roads rather than onto the nearest junction.
+ *
+ * Every edge is listed in each cell its bounding box touches, in the same
+ * CSR layout as GridIndex. The point of an edge closest to a query lies in
+ * one of those cells, so the ring search of GridIndex carries over: once the
+ * best edge is nearer than the ring reach, no unscanned cell can hold a
+ * closer one. Road segments are short, so most edges sit in one or two cells.
+ * Distances are measured on an equirectangular projection around the query
+ * point, which is exact enough at snapping range.
+ */
+public final class EdgeIndex {
+
+    // ~220 m of latitude; coarsened for sparse graphs so the cell table stays small
+    public static final double DEFAULT_CELL_DEG = 0.002;
+
+    private static final double KM_PER_DEG = 111.195;
+
+    private final double minLat;
+    private final double minLng;
+    private final double cellDeg;
+    private final int rows;
+    private final int cols;
+    private final int[] cellStart; // length rows * cols + 1
+    private final int[] cellEdges;
+    private final int[] source;    // source node per edge
+
+    private EdgeIndex(double minLat, double minLng, double cellDeg, int rows, int cols,
+                      int[] cellStart, int[] cellEdges, int[] source) {
+        this.minLat = minLat;
+        this.minLng = minLng;
+        this.cellDeg = cellDeg;
+        this.rows = rows;
+        this.cols = cols;
+        this.cellStart = cellStart;
+        this.cellEdges = cellEdges;
+        this.source = source;
+    }
+
+    static EdgeIndex build(RoadGraph graph, double cellDeg) {
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        double minLat = Double.POSITIVE_INFINITY, minLng = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY, maxLng = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            minLat = Math.min(minLat, graph.lat(v));
+            maxLat = Math.max(maxLat, graph.lat(v));
+            minLng = Math.min(minLng, graph.lng(v));
+            maxLng = Math.max(maxLng, graph.lng(v));
+        }
+        if (n == 0) {
+            minLat = minLng = maxLat = maxLng = 0;
+        }
+
+        // About two edges per cell at most, whatever the region size
+        long maxCells = Math.max(1024L, 2L * m);
+        int rows, cols;
+        while (true) {
+            rows = (int) Math.min(Integer.MAX_VALUE, (long) Math.floor((maxLat - minLat) / cellDeg) + 1);
+            cols = (int) Math.min(Integer.MAX_VALUE, (long) Math.floor((maxLng - minLng) / cellDeg) + 1);
+            if ((long) rows * cols <= maxCells) break;
+            cellDeg *= 2;
+        }
+
+        int[] source = new int[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) source[e] = u;
+        }
+
+        // Two passes over the bounding-box cells: count, then fill
+        int[] start = new int[rows * cols + 1];
+        for (int e = 0; e < m; e++) {
+            int[] box = box(graph, source[e], graph.target(e), minLat, minLng, cellDeg, rows, cols);
+            for (int r = box[0]; r <= box[1]; r++) {
+                for (int c = box[2]; c <= box[3]; c++) start[r * cols + c + 1]++;
+            }
+        }
+        for (int c = 0; c < rows * cols; c++) start[c + 1] += start[c];
+
+        int[] cursor = new int[rows * cols];
+        System.arraycopy(start, 0, cursor, 0, cursor.length);
+        int[] edges = new int[start[rows * cols]];
+        for (int e = 0; e < m; e++) {
+            int[] box = box(graph, source[e], graph.target(e), minLat, minLng, cellDeg, rows, cols);
+            for (int r = box[0]; r <= box[1]; r++) {
+                for (int c = box[2]; c <= box[3]; c++) edges[cursor[r * cols + c]++] = e;
+            }
+        }
+        return new EdgeIndex(minLat, minLng, cellDeg, rows, cols, start, edges, source);
+    }
+
+    // {rowMin, rowMax, colMin, colMax} of the cells under the segment's bounding box
+    private static int[] box(RoadGraph graph, int u, int v, double minLat, double minLng,
+                             double cellDeg, int rows, int cols) {
+        return new int[]{
+                clamp((int) ((Math.min(graph.lat(u), graph.lat(v)) - minLat) / cellDeg), rows),
+                clamp((int) ((Math.max(graph.lat(u), graph.lat(v)) - minLat) / cellDeg), rows),
+                clamp((int) ((Math.min(graph.lng(u), graph.lng(v)) - minLng) / cellDeg), cols),
+                clamp((int) ((Math.max(graph.lng(u), graph.lng(v)) - minLng) / cellDeg), cols)
+        };
+    }
+
+    private static int clamp(int i, int size) {
+        return Math.max(0, Math.min(i, size - 1));
+    }
+
+    public int source(int edge) {
+        return source[edge];
+    }
+
+    /**
+     * Closest point on any edge to the query, or null if none is within maxKm.
+     * Both directions of a two-way road are equally close; the first one found wins.
+     */
+    public EdgeSnap nearestEdge(RoadGraph graph, double lat, double lng, double maxKm) {
+        long r0 = (long) Math.floor((lat - minLat) / cellDeg);
+        long c0 = (long) Math.floor((lng - minLng) / cellDeg);
+
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        int best = -1;
+        double bestSq = Double.POSITIVE_INFINITY;
+
+        for (long k = 0; ; k++) {
+            if (r0 - k < 0 && r0 + k >= rows && c0 - k < 0 && c0 + k >= cols) break;
+
+            for (long r = r0 - k; r <= r0 + k; r++) {
+                if (r < 0 || r >= rows) continue;
+                boolean edgeRow = r == r0 - k || r == r0 + k;
+                long step = edgeRow ? 1 : Math.max(1, 2 * k);
+                for (long c = c0 - k; c <= c0 + k; c += step) {
+                    if (c < 0 || c >= cols) continue;
+                    int cell = (int) (r * cols + c);
+                    for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+                        int e = cellEdges[i];
+                        double sq = distanceSq(graph, e, lat, lng, cosLat);
+                        if (sq < bestSq) {
+                            bestSq = sq;
+                            best = e;
+                        }
+                    }
+                }
+            }
+
+            double reach = k * cellDeg * cosLat;
+            if (best >= 0 && bestSq <= reach * reach) break;
+            if (reach * KM_PER_DEG > maxKm) break;
+        }
+        if (best < 0) return null;
+
+        EdgeSnap snap = project(graph, best, lat, lng);
+        return snap.distanceKm() <= maxKm ? snap : null;
+    }
+
+    /**
+     * Calls back every edge passing within radiusKm of the point, each once,
+     * in no particular order.
+     */
+    public void forEachEdgeWithin(RoadGraph graph, double lat, double lng, double radiusKm, IntConsumer action) {
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        double dLat = radiusKm / KM_PER_DEG;
+        double dLng = dLat / cosLat;
+        int r1 = (int) Math.max(0, Math.floor((lat - dLat - minLat) / cellDeg));
+        int r2 = (int) Math.min(rows - 1, Math.floor((lat + dLat - minLat) / cellDeg));
+        int c1 = (int) Math.max(0, Math.floor((lng - dLng - minLng) / cellDeg));
+        int c2 = (int) Math.min(cols - 1, Math.floor((lng + dLng - minLng) / cellDeg));
+        double limitSq = dLat * dLat;
+
+        for (int r = r1; r <= r2; r++) {
+            for (int c = c1; c <= c2; c++) {
+                int cell = r * cols + c;
+                for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+                    int e = cellEdges[i];
+                    // An edge spanning several cells is reported from the first one the query covers
+                    int u = source[e], v = graph.target(e);
+                    int er = clamp((int) ((Math.min(graph.lat(u), graph.lat(v)) - minLat) / cellDeg), rows);
+                    int ec = clamp((int) ((Math.min(graph.lng(u), graph.lng(v)) - minLng) / cellDeg), cols);
+                    if (r != Math.max(r1, er) || c != Math.max(c1, ec)) continue;
+
+                    if (distanceSq(graph, e, lat, lng, cosLat) <= limitSq) action.accept(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Projection of the point onto the edge, with the haversine distance to it.
+     */
+    public EdgeSnap project(RoadGraph graph, int edge, double lat, double lng) {
+        int u = source[edge], v = graph.target(edge);
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        double t = fraction(graph, u, v, lat, lng, cosLat);
+        double pLat = graph.lat(u) + t * (graph.lat(v) - graph.lat(u));
+        double pLng = graph.lng(u) + t * (graph.lng(v) - graph.lng(u));
+        return new EdgeSnap(edge, u, v, t, pLat, pLng, GeoUtils.haversineDistanceKm(lat, lng, pLat, pLng));
+    }
+
+    // Squared distance in degrees of latitude from the point to the segment
+    private double distanceSq(RoadGraph graph, int edge, double lat, double lng, double cosLat) {
+        int u = source[edge], v = graph.target(edge);
+        double t = fraction(graph, u, v, lat, lng, cosLat);
+        double dLat = graph.lat(u) + t * (graph.lat(v) - graph.lat(u)) - lat;
+        double dLng = (graph.lng(u) + t * (graph.lng(v) - graph.lng(u)) - lng) * cosLat;
+        return dLat * dLat + dLng * dLng;
+    }
+
+    private static double fraction(RoadGraph graph, int u, int v, double lat, double lng, double cosLat) {
+        double ax = (graph.lng(u) - lng) * cosLat, ay = graph.lat(u) - lat;
+        double dx = (graph.lng(v) - graph.lng(u)) * cosLat, dy = graph.lat(v) - graph.lat(u);
+        double len = dx * dx + dy * dy;
+        if (len == 0) return 0;
+        return Math.max(0, Math.min(1, -(ax * dx + ay * dy) / len));
+    }
+
+    public int cellCount() {
+        return rows * cols;
+    }
+
+    public long memoryBytes() {
+        return 4L * (cellStart.length + cellEdges.length + source.length);
+    }
+}
@@ -0,0 +1,15 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph;
+
+/**
+ * A point projected onto a RoadGraph edge: the edge from -> to, how far
+ * along it the projection lies (0 at from, 1 at to), the projected point
+ * and its distance from the query point in km.
+ */
+public record EdgeSnap(int edge, int from, int to, double fraction,
+                       double lat, double lng, double distanceKm) {
+
+    // The edge end the projection is closer to, for searches that start or end at nodes
+    public int nearerNode() {
+        return fraction < 0.5 ? from : to;
+    }
+}
@@ -0,0 +1,57 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph;
+
+/**
+ * Result of a search over a RoadGraph: node ids from source to target and
+ * the summed edge cost. An unreachable target gives an empty path.
+ */
+public final class GraphPath {
+
+    private static final GraphPath NONE = new GraphPath(new int[0], Double.POSITIVE_INFINITY);
+
+    private final int[] nodes;
+    private final double cost;
+
+    public GraphPath(int[] nodes, double cost) {
+        this.nodes = nodes;
+        this.cost = cost;
+    }
+
+    public static GraphPath none() {
+        return NONE;
+    }
+
+    public int[] nodes() {
+        return nodes;
+    }
+
+    public double cost() {
+        return cost;
+    }
+
+    public boolean isFound() {
+        return nodes.length > 0;
+    }
+
+    // Length in km along the graph geometry, independent of the cost metric
+    public double distanceKm(RoadGraph graph) {
+        double total = 0;
+        for (int i = 1; i < nodes.length; i++) {
+            total += graph.distanceKm(nodes[i - 1], nodes[i]);
+        }
+        return total;
+    }
+
+    // Free-flow driving time in hours, using the fastest edge between each pair of path nodes
+    public double travelTimeHours(RoadGraph graph) {
+        double total = 0;
+        for (int i = 1; i < nodes.length; i++) {
+            int u = nodes[i - 1], v = nodes[i];
+            double best = Double.POSITIVE_INFINITY;
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                if (graph.target(e) == v) best = Math.min(best, graph.travelTimeHours(e));
+            }
+            total += Double.isInfinite(best) ? graph.distanceKm(u, v) / RoadGraph.DEFAULT_SPEED_KMH : best;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,191 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph;
+
+import com.neurofleetx.util.GeoUtils;
+
+import java.nio.IntBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform lat/lng grid over the nodes of a RoadGraph.
+ *
+ * Cell c = row * cols + col holds nodes cellNodes[cellStart[c]..cellStart[c+1]),
+ * the same CSR layout as the edges, so the index can be written into the graph
+ * file and mapped back without rebuilding. Nearest-node queries scan rings of
+ * cells outward from the query point and stop once no unscanned cell can be
+ * closer than the best node found.
+ */
+public final class GridIndex {
+
+    // ~1.1 km of latitude; coarsened for sparse graphs so the cell table stays small
+    public static final double DEFAULT_CELL_DEG = 0.01;
+
+    private static final double KM_PER_DEG = 111.195;
+
+    private final double minLat;
+    private final double minLng;
+    private final double cellDeg;
+    private final int rows;
+    private final int cols;
+    private final IntBuffer cellStart; // length rows * cols + 1
+    private final IntBuffer cellNodes; // length n
+
+    GridIndex(double minLat, double minLng, double cellDeg, int rows, int cols,
+              IntBuffer cellStart, IntBuffer cellNodes) {
+        if (rows <= 0 || cols <= 0 || cellDeg <= 0 || cellStart.limit() != (long) rows * cols + 1) {
+            throw new IllegalArgumentException("Invalid grid index dimensions");
+        }
+        this.minLat = minLat;
+        this.minLng = minLng;
+        this.cellDeg = cellDeg;
+        this.rows = rows;
+        this.cols = cols;
+        this.cellStart = cellStart;
+        this.cellNodes = cellNodes;
+    }
+
+    static GridIndex build(RoadGraph graph, double cellDeg) {
+        int n = graph.nodeCount();
+        double minLat = Double.POSITIVE_INFINITY, minLng = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY, maxLng = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            minLat = Math.min(minLat, graph.lat(v));
+            maxLat = Math.max(maxLat, graph.lat(v));
+            minLng = Math.min(minLng, graph.lng(v));
+            maxLng = Math.max(maxLng, graph.lng(v));
+        }
+        if (n == 0) {
+            minLat = minLng = maxLat = maxLng = 0;
+        }
+
+        // About two nodes per cell at most, whatever the region size
+        long maxCells = Math.max(1024L, 2L * n);
+        int rows, cols;
+        while (true) {
+            rows = (int) Math.min(Integer.MAX_VALUE, (long) Math.floor((maxLat - minLat) / cellDeg) + 1);
+            cols = (int) Math.min(Integer.MAX_VALUE, (long) Math.floor((maxLng - minLng) / cellDeg) + 1);
+            if ((long) rows * cols <= maxCells) break;
+            cellDeg *= 2;
+        }
+
+        int[] start = new int[rows * cols + 1];
+        int[] cellOf = new int[n];
+        for (int v = 0; v < n; v++) {
+            int r = (int) ((graph.lat(v) - minLat) / cellDeg);
+            int c = (int) ((graph.lng(v) - minLng) / cellDeg);
+            cellOf[v] = Math.min(r, rows - 1) * cols + Math.min(c, cols - 1);
+            start[cellOf[v] + 1]++;
+        }
+        for (int c = 0; c < rows * cols; c++) start[c + 1] += start[c];
+
+        int[] cursor = new int[rows * cols];
+        System.arraycopy(start, 0, cursor, 0, cursor.length);
+        int[] nodes = new int[n];
+        for (int v = 0; v < n; v++) nodes[cursor[cellOf[v]]++] = v;
+
+        return new GridIndex(minLat, minLng, cellDeg, rows, cols, IntBuffer.wrap(start), IntBuffer.wrap(nodes));
+    }
+
+    /**
+     * Nearest node to the point, or -1 if none is within maxKm.
+     */
+    public int nearestNode(RoadGraph graph, double lat, double lng, double maxKm) {
+        // Query cell may lie outside the grid; rings are clipped instead
+        long r0 = (long) Math.floor((lat - minLat) / cellDeg);
+        long c0 = (long) Math.floor((lng - minLng) / cellDeg);
+
+        // Equirectangular distance (in degrees of latitude) is enough to rank candidates
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        int best = -1;
+        double bestSq = Double.POSITIVE_INFINITY;
+
+        for (long k = 0; ; k++) {
+            if (r0 - k < 0 && r0 + k >= rows && c0 - k < 0 && c0 + k >= cols) break;
+
+            for (long r = r0 - k; r <= r0 + k; r++) {
+                if (r < 0 || r >= rows) continue;
+                boolean edgeRow = r == r0 - k || r == r0 + k;
+                long step = edgeRow ? 1 : Math.max(1, 2 * k);
+                for (long c = c0 - k; c <= c0 + k; c += step) {
+                    if (c < 0 || c >= cols) continue;
+                    int cell = (int) (r * cols + c);
+                    for (int i = cellStart.get(cell), end = cellStart.get(cell + 1); i < end; i++) {
+                        int v = cellNodes.get(i);
+                        double dLat = graph.lat(v) - lat;
+                        double dLng = (graph.lng(v) - lng) * cosLat;
+                        double sq = dLat * dLat + dLng * dLng;
+                        if (sq < bestSq) {
+                            bestSq = sq;
+                            best = v;
+                        }
+                    }
+                }
+            }
+
+            // Everything outside rings 0..k is at least k cells away in one axis
+            double reach = k * cellDeg * cosLat;
+            if (best >= 0 && bestSq <= reach * reach) break;
+            if (reach * KM_PER_DEG > maxKm) break;
+        }
+        if (best < 0) return -1;
+
+        double km = GeoUtils.haversineDistanceKm(lat, lng, graph.lat(best), graph.lng(best));
+        return km <= maxKm ? best : -1;
+    }
+
+    /**
+     * Calls back every node within radiusKm of the point, in no particular order.
+     */
+    public void forEachNodeWithin(RoadGraph graph, double lat, double lng, double radiusKm, IntConsumer action) {
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        double dLat = radiusKm / KM_PER_DEG;
+        double dLng = dLat / cosLat;
+        int r1 = (int) Math.max(0, Math.floor((lat - dLat - minLat) / cellDeg));
+        int r2 = (int) Math.min(rows - 1, Math.floor((lat + dLat - minLat) / cellDeg));
+        int c1 = (int) Math.max(0, Math.floor((lng - dLng - minLng) / cellDeg));
+        int c2 = (int) Math.min(cols - 1, Math.floor((lng + dLng - minLng) / cellDeg));
+
+        for (int r = r1; r <= r2; r++) {
+            for (int c = c1; c <= c2; c++) {
+                int cell = r * cols + c;
+                for (int i = cellStart.get(cell), end = cellStart.get(cell + 1); i < end; i++) {
+                    int v = cellNodes.get(i);
+                    if (GeoUtils.haversineDistanceKm(lat, lng, graph.lat(v), graph.lng(v)) <= radiusKm) {
+                        action.accept(v);
+                    }
+                }
+            }
+        }
+    }
+
+    public int cellCount() {
+        return rows * cols;
+    }
+
+    double minLat() {
+        return minLat;
+    }
+
+    double minLng() {
+        return minLng;
+    }
+
+    double cellDeg() {
+        return cellDeg;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int cols() {
+        return cols;
+    }
+
+    int cellStart(int cell) {
+        return cellStart.get(cell);
+    }
+
+    int cellNode(int slot) {
+        return cellNodes.get(slot);
+    }
+}
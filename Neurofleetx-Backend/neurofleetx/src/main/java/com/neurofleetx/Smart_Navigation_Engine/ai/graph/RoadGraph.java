@@ -0,0 +1,202 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+import com.neurofleetx.util.GeoUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable road graph in compressed-sparse-row form.
+ *
+ * Nodes are ints 0..n-1 with coordinates in two parallel columns. The
+ * outgoing edges of node u are the slots edgeStart(u)..edgeEnd(u)-1 of the
+ * target/weight columns. Weights are edge lengths in km; each edge also
+ * carries a speed limit (km/h) and flag bits. One-way roads simply have no
+ * reverse edge. Nothing here is written after construction, so one instance
+ * can be shared by any number of concurrent searches.
+ *
+ * Columns are NIO buffers: heap-wrapped arrays for graphs built in memory,
+ * or read-only slices of a file mapping (RoadGraphFile) so a loaded graph
+ * lives in the page cache rather than on the Java heap.
+ */
+public final class RoadGraph {
+
+    // Used when a road has no usable maxspeed and for synthetic graphs
+    public static final int DEFAULT_SPEED_KMH = 40;
+
+    // Edge flag bits
+    public static final int FLAG_ONEWAY = 1;
+    public static final int FLAG_MAJOR_ROAD = 1 << 1;  // motorway / trunk / primary
+    public static final int FLAG_RESIDENTIAL = 1 << 2; // residential / living_street / service
+
+    private final DoubleBuffer lat;
+    private final DoubleBuffer lng;
+    private final IntBuffer offsets;   // length n + 1
+    private final IntBuffer targets;   // length m
+    private final FloatBuffer weights; // length m
+    private final ByteBuffer speeds;   // length m, unsigned km/h
+    private final ByteBuffer flags;    // length m
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final boolean mapped;
+
+    // Built on first use for in-memory graphs; read from the file for mapped ones
+    private volatile GridIndex index;
+    private volatile EdgeIndex edgeIndex; // built on first use, not stored in the graph file
+
+    // Highest edge speed, computed on first use (0 = not yet)
+    private volatile int maxSpeedKmh;
+
+    RoadGraph(double[] lat, double[] lng, int[] offsets, int[] targets, float[] weights,
+              byte[] speeds, byte[] flags) {
+        this(DoubleBuffer.wrap(lat), DoubleBuffer.wrap(lng), IntBuffer.wrap(offsets), IntBuffer.wrap(targets),
+                FloatBuffer.wrap(weights), ByteBuffer.wrap(speeds), ByteBuffer.wrap(flags), null, false);
+    }
+
+    RoadGraph(DoubleBuffer lat, DoubleBuffer lng, IntBuffer offsets, IntBuffer targets, FloatBuffer weights,
+              ByteBuffer speeds, ByteBuffer flags, GridIndex index, boolean mapped) {
+        if (lng.limit() != lat.limit() || offsets.limit() != lat.limit() + 1
+                || weights.limit() != targets.limit() || speeds.limit() != targets.limit()
+                || flags.limit() != targets.limit()) {
+            throw new IllegalArgumentException("Road graph columns have inconsistent lengths");
+        }
+        this.lat = lat;
+        this.lng = lng;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.speeds = speeds;
+        this.flags = flags;
+        this.nodeCount = lat.limit();
+        this.edgeCount = targets.limit();
+        this.index = index;
+        this.mapped = mapped;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public double lat(int node) {
+        return lat.get(node);
+    }
+
+    public double lng(int node) {
+        return lng.get(node);
+    }
+
+    public int edgeStart(int node) {
+        return offsets.get(node);
+    }
+
+    public int edgeEnd(int node) {
+        return offsets.get(node + 1);
+    }
+
+    public int target(int edge) {
+        return targets.get(edge);
+    }
+
+    public float weight(int edge) {
+        return weights.get(edge);
+    }
+
+    public int speedKmh(int edge) {
+        return speeds.get(edge) & 0xFF;
+    }
+
+    public int flags(int edge) {
+        return flags.get(edge);
+    }
+
+    // Free-flow travel time of an edge in hours
+    public double travelTimeHours(int edge) {
+        return weights.get(edge) / (double) Math.max(1, speeds.get(edge) & 0xFF);
+    }
+
+    public double distanceKm(int a, int b) {
+        return GeoUtils.haversineDistanceKm(lat.get(a), lng.get(a), lat.get(b), lng.get(b));
+    }
+
+    // Upper bound on speed anywhere in the graph, for admissible travel-time heuristics
+    public int maxSpeedKmh() {
+        int max = maxSpeedKmh;
+        if (max == 0) {
+            max = 1;
+            for (int e = 0; e < edgeCount; e++) max = Math.max(max, speeds.get(e) & 0xFF);
+            maxSpeedKmh = max;
+        }
+        return max;
+    }
+
+    // True when the columns are a file mapping rather than heap arrays
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    // Approximate footprint of the columns (heap or page cache)
+    public long memoryBytes() {
+        return 16L * nodeCount + 4L * (nodeCount + 1) + 10L * edgeCount;
+    }
+
+    public GridIndex spatialIndex() {
+        GridIndex g = index;
+        if (g == null) {
+            synchronized (this) {
+                g = index;
+                if (g == null) {
+                    g = GridIndex.build(this, GridIndex.DEFAULT_CELL_DEG);
+                    index = g;
+                }
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Nearest node to the point, or -1 if none is within maxKm.
+     */
+    public int nearestNode(double latitude, double longitude, double maxKm) {
+        return spatialIndex().nearestNode(this, latitude, longitude, maxKm);
+    }
+
+    public EdgeIndex edgeIndex() {
+        EdgeIndex g = edgeIndex;
+        if (g == null) {
+            synchronized (this) {
+                g = edgeIndex;
+                if (g == null) {
+                    g = EdgeIndex.build(this, EdgeIndex.DEFAULT_CELL_DEG);
+                    edgeIndex = g;
+                }
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Closest point on any road to the given point, or null if none is within maxKm.
+     */
+    public EdgeSnap nearestEdge(double latitude, double longitude, double maxKm) {
+        return edgeIndex().nearestEdge(this, latitude, longitude, maxKm);
+    }
+
+    // Legacy node objects for code that still renders List<Node> (instructions, RouteCandidate)
+    public List<Node> toNodes(int[] path) {
+        List<Node> nodes = new ArrayList<>(path.length);
+        for (int node : path) {
+            nodes.add(new Node(lat.get(node), lng.get(node)));
+        }
+        return nodes;
+    }
+}
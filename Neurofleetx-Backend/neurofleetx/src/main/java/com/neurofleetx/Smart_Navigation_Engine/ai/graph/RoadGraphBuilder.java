@@ -0,0 +1,124 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+import com.neurofleetx.util.GeoUtils;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects nodes and edges in any order and packs them into a RoadGraph.
+ * Edges are grouped by source with a counting sort, so build() is O(n + m).
+ */
+public class RoadGraphBuilder {
+
+    private double[] lat = new double[1024];
+    private double[] lng = new double[1024];
+    private int nodes;
+
+    private int[] from = new int[4096];
+    private int[] to = new int[4096];
+    private float[] weight = new float[4096];
+    private byte[] speed = new byte[4096];
+    private byte[] flag = new byte[4096];
+    private int edges;
+
+    public int addNode(double latitude, double longitude) {
+        if (nodes == lat.length) {
+            lat = Arrays.copyOf(lat, nodes * 2);
+            lng = Arrays.copyOf(lng, nodes * 2);
+        }
+        lat[nodes] = latitude;
+        lng[nodes] = longitude;
+        return nodes++;
+    }
+
+    public void addEdge(int source, int target, double weightKm) {
+        addEdge(source, target, weightKm, RoadGraph.DEFAULT_SPEED_KMH, 0);
+    }
+
+    public void addEdge(int source, int target, double weightKm, int speedKmh, int flags) {
+        if (source < 0 || source >= nodes || target < 0 || target >= nodes) {
+            throw new IllegalArgumentException("Edge " + source + "->" + target + " references an unknown node");
+        }
+        if (source == target) return;
+
+        if (edges == from.length) {
+            from = Arrays.copyOf(from, edges * 2);
+            to = Arrays.copyOf(to, edges * 2);
+            weight = Arrays.copyOf(weight, edges * 2);
+            speed = Arrays.copyOf(speed, edges * 2);
+            flag = Arrays.copyOf(flag, edges * 2);
+        }
+        from[edges] = source;
+        to[edges] = target;
+        weight[edges] = (float) weightKm;
+        speed[edges] = (byte) Math.max(1, Math.min(255, speedKmh));
+        flag[edges] = (byte) flags;
+        edges++;
+    }
+
+    // Edge weighted by the straight-line length between its ends
+    public void addEdge(int source, int target) {
+        addEdge(source, target, haversine(source, target));
+    }
+
+    public void addBidirectional(int a, int b) {
+        double km = haversine(a, b);
+        addEdge(a, b, km);
+        addEdge(b, a, km);
+    }
+
+    public int nodeCount() {
+        return nodes;
+    }
+
+    public RoadGraph build() {
+        int[] offsets = new int[nodes + 1];
+        for (int e = 0; e < edges; e++) offsets[from[e] + 1]++;
+        for (int u = 0; u < nodes; u++) offsets[u + 1] += offsets[u];
+
+        int[] cursor = Arrays.copyOf(offsets, nodes);
+        int[] targets = new int[edges];
+        float[] weights = new float[edges];
+        byte[] speeds = new byte[edges];
+        byte[] flags = new byte[edges];
+        for (int e = 0; e < edges; e++) {
+            int slot = cursor[from[e]]++;
+            targets[slot] = to[e];
+            weights[slot] = weight[e];
+            speeds[slot] = speed[e];
+            flags[slot] = flag[e];
+        }
+
+        return new RoadGraph(Arrays.copyOf(lat, nodes), Arrays.copyOf(lng, nodes), offsets, targets,
+                weights, speeds, flags);
+    }
+
+    /**
+     * Packs a legacy Node object graph (e.g. from GraphBuilder).
+     * Node ids follow list order; neighbours outside the list are added as new nodes.
+     */
+    public static RoadGraph fromNodes(List<Node> graph) {
+        RoadGraphBuilder b = new RoadGraphBuilder();
+        Map<Node, Integer> ids = new IdentityHashMap<>();
+        for (Node n : graph) {
+            ids.computeIfAbsent(n, k -> b.addNode(k.getLat(), k.getLng()));
+        }
+        for (int i = 0; i < graph.size(); i++) {
+            Node n = graph.get(i);
+            if (n.getNeighbors() == null) continue;
+            for (Node m : n.getNeighbors()) {
+                int target = ids.computeIfAbsent(m, k -> b.addNode(k.getLat(), k.getLng()));
+                b.addEdge(ids.get(n), target);
+            }
+        }
+        return b.build();
+    }
+
+    private double haversine(int a, int b) {
+        return GeoUtils.haversineDistanceKm(lat[a], lng[a], lat[b], lng[b]);
+    }
+}
@@ -0,0 +1,255 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary RoadGraph file, opened through a read-only memory mapping.
+ *
+ * Every version starts with magic "NFXG" and an int version (big-endian).
+ *
+ * Version 2 (written by this class) is little-endian and zero-copy: the
+ * 64-byte header is followed by lat[n], lng[n] (double), offsets[n+1],
+ * targets[m] (int), weights[m] (float), the grid index cellStart[cells+1]
+ * and cellNodes[n] (int), then speeds[m] and flags[m] (byte). Each section
+ * starts on a 64-byte boundary and is handed to RoadGraph as a view of the
+ * mapping, so opening a file costs a few syscalls regardless of its size and
+ * every process serving the same region shares one copy in the page cache.
+ *
+ * Version 1 (big-endian, no index) is still readable; it is copied onto the
+ * heap and the index is built on first use.
+ */
+public final class RoadGraphFile {
+
+    static final int MAGIC = 0x4E465847; // "NFXG"
+    static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int ALIGN = 64;
+
+    private RoadGraphFile() {
+    }
+
+    public static void write(RoadGraph graph, Path file) throws IOException {
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        GridIndex index = graph.spatialIndex();
+        Layout layout = new Layout(n, m, index.cellCount());
+
+        // Written next to the target and moved into place, so a reader never sees a partial file
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Out out = new Out(channel);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.order(ByteOrder.BIG_ENDIAN).putInt(MAGIC).putInt(VERSION).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(n).putInt(m)
+                    .putInt(index.rows()).putInt(index.cols())
+                    .putDouble(index.minLat()).putDouble(index.minLng()).putDouble(index.cellDeg())
+                    .putLong(layout.size);
+            out.put(header.array());
+
+            out.padTo(layout.lat);
+            for (int v = 0; v < n; v++) out.buf(8).putDouble(graph.lat(v));
+            out.padTo(layout.lng);
+            for (int v = 0; v < n; v++) out.buf(8).putDouble(graph.lng(v));
+            out.padTo(layout.offsets);
+            for (int v = 0; v <= n; v++) out.buf(4).putInt(v < n ? graph.edgeStart(v) : m);
+            out.padTo(layout.targets);
+            for (int e = 0; e < m; e++) out.buf(4).putInt(graph.target(e));
+            out.padTo(layout.weights);
+            for (int e = 0; e < m; e++) out.buf(4).putFloat(graph.weight(e));
+            out.padTo(layout.cellStart);
+            for (int c = 0; c <= index.cellCount(); c++) out.buf(4).putInt(index.cellStart(c));
+            out.padTo(layout.cellNodes);
+            for (int i = 0; i < n; i++) out.buf(4).putInt(index.cellNode(i));
+            out.padTo(layout.speeds);
+            for (int e = 0; e < m; e++) out.buf(1).put((byte) graph.speedKmh(e));
+            out.padTo(layout.flags);
+            for (int e = 0; e < m; e++) out.buf(1).put((byte) graph.flags(e));
+            out.padTo(layout.size);
+            out.flush();
+            channel.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static RoadGraph read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < 16) {
+                throw new IOException("Not a road graph file: " + file);
+            }
+            ByteBuffer prefix = ByteBuffer.allocate(8);
+            channel.read(prefix, 0);
+            prefix.flip();
+            if (prefix.getInt() != MAGIC) {
+                throw new IOException("Not a road graph file: " + file);
+            }
+            int version = prefix.getInt();
+            return switch (version) {
+                case 1 -> readV1(channel, file);
+                case 2 -> mapV2(channel, file);
+                default -> throw new IOException("Unsupported road graph version " + version + " in " + file);
+            };
+        }
+    }
+
+    // The mapping outlives the channel, so the returned graph stays valid after close
+    private static RoadGraph mapV2(FileChannel channel, Path file) throws IOException {
+        if (channel.size() < HEADER_BYTES) {
+            throw new IOException("Truncated or corrupt road graph file: " + file);
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES - 8).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(header, 8);
+        header.flip();
+        int n = header.getInt();
+        int m = header.getInt();
+        int rows = header.getInt();
+        int cols = header.getInt();
+        double minLat = header.getDouble();
+        double minLng = header.getDouble();
+        double cellDeg = header.getDouble();
+        long size = header.getLong();
+
+        if (n < 0 || m < 0 || rows <= 0 || cols <= 0 || (long) rows * cols >= Integer.MAX_VALUE) {
+            throw new IOException("Truncated or corrupt road graph file: " + file);
+        }
+        Layout layout = new Layout(n, m, rows * cols);
+        if (size != layout.size || channel.size() != layout.size) {
+            throw new IOException("Truncated or corrupt road graph file: " + file);
+        }
+
+        IntBuffer offsets = map(channel, layout.offsets, 4L * (n + 1)).asIntBuffer();
+        IntBuffer cellStart = map(channel, layout.cellStart, 4L * (rows * cols + 1)).asIntBuffer();
+        // Cheap end-of-column checks; a full scan would page in the whole file
+        if (offsets.get(n) != m || cellStart.get(rows * cols) != n) {
+            throw new IOException("Truncated or corrupt road graph file: " + file);
+        }
+
+        GridIndex index = new GridIndex(minLat, minLng, cellDeg, rows, cols, cellStart,
+                map(channel, layout.cellNodes, 4L * n).asIntBuffer());
+        return new RoadGraph(
+                map(channel, layout.lat, 8L * n).asDoubleBuffer(),
+                map(channel, layout.lng, 8L * n).asDoubleBuffer(),
+                offsets,
+                map(channel, layout.targets, 4L * m).asIntBuffer(),
+                map(channel, layout.weights, 4L * m).asFloatBuffer(),
+                map(channel, layout.speeds, m),
+                map(channel, layout.flags, m),
+                index,
+                true);
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Road graph section of " + length + " bytes is too large to map");
+        }
+        MappedByteBuffer section = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        return section.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static RoadGraph readV1(FileChannel channel, Path file) throws IOException {
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        buf.position(8);
+        int n = buf.getInt();
+        int m = buf.getInt();
+
+        long expected = 16L + 16L * n + 4L * (n + 1) + 10L * m;
+        if (n < 0 || m < 0 || channel.size() != expected) {
+            throw new IOException("Truncated or corrupt road graph file: " + file);
+        }
+
+        double[] lat = new double[n];
+        double[] lng = new double[n];
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+        float[] weights = new float[m];
+        byte[] speeds = new byte[m];
+        byte[] flags = new byte[m];
+
+        DoubleBuffer doubles = buf.asDoubleBuffer();
+        doubles.get(lat);
+        doubles.get(lng);
+        buf.position(buf.position() + (int) (16L * n));
+        IntBuffer ints = buf.asIntBuffer();
+        ints.get(offsets);
+        ints.get(targets);
+        buf.position(buf.position() + (int) (4L * (n + 1) + 4L * m));
+        FloatBuffer floats = buf.asFloatBuffer();
+        floats.get(weights);
+        buf.position(buf.position() + (int) (4L * m));
+        buf.get(speeds);
+        buf.get(flags);
+
+        return new RoadGraph(lat, lng, offsets, targets, weights, speeds, flags);
+    }
+
+    /**
+     * Section offsets of a version 2 file; a pure function of the counts.
+     */
+    private static final class Layout {
+        final long lat, lng, offsets, targets, weights, cellStart, cellNodes, speeds, flags, size;
+
+        Layout(int n, int m, int cells) {
+            lat = HEADER_BYTES;
+            lng = align(lat + 8L * n);
+            offsets = align(lng + 8L * n);
+            targets = align(offsets + 4L * (n + 1));
+            weights = align(targets + 4L * m);
+            cellStart = align(weights + 4L * m);
+            cellNodes = align(cellStart + 4L * (cells + 1));
+            speeds = align(cellNodes + 4L * n);
+            flags = align(speeds + m);
+            size = align(flags + m);
+        }
+
+        private static long align(long position) {
+            return (position + ALIGN - 1) & -ALIGN;
+        }
+    }
+
+    /**
+     * Little-endian buffered writer over a channel.
+     */
+    private static final class Out {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long written;
+
+        Out(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        // Room for the next value
+        ByteBuffer buf(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+            written += bytes;
+            return buffer;
+        }
+
+        void put(byte[] bytes) throws IOException {
+            for (byte b : bytes) buf(1).put(b);
+        }
+
+        void padTo(long position) throws IOException {
+            while (written < position) buf(1).put((byte) 0);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+}
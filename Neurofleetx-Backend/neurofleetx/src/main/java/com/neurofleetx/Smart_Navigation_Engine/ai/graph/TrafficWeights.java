@@ -0,0 +1,70 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph;
+
+/**
+ * Live travel-time weights for the edges of one RoadGraph.
+ *
+ * Each edge's free-flow time (length / speed limit) is multiplied by a
+ * slowdown factor >= 1 derived from traffic observations. Snapshots are
+ * immutable: a refresh builds a new one with the next epoch and swaps it
+ * in, so a search that started on the old snapshot finishes consistently
+ * and caches can key on the epoch. Because factors never go below 1, free
+ * flow stays a lower bound on every snapshot, which is what lets ALT
+ * landmarks computed once on free-flow times keep working as traffic changes.
+ */
+public final class TrafficWeights {
+
+    public static final float MAX_FACTOR = 10f;
+
+    private final RoadGraph graph;
+    private final float[] factors; // null when nothing is slowed down
+    private final long epoch;
+
+    private TrafficWeights(RoadGraph graph, float[] factors, long epoch) {
+        this.graph = graph;
+        this.factors = factors;
+        this.epoch = epoch;
+    }
+
+    public static TrafficWeights freeFlow(RoadGraph graph) {
+        return new TrafficWeights(graph, null, 0);
+    }
+
+    /**
+     * Snapshot with the given per-edge factors (clamped to 1..MAX_FACTOR).
+     * The array is taken over, not copied.
+     */
+    public static TrafficWeights of(RoadGraph graph, float[] factors, long epoch) {
+        if (factors.length != graph.edgeCount()) {
+            throw new IllegalArgumentException("Expected " + graph.edgeCount() + " edge factors, got " + factors.length);
+        }
+        for (int e = 0; e < factors.length; e++) {
+            factors[e] = Math.max(1f, Math.min(MAX_FACTOR, factors[e]));
+        }
+        return new TrafficWeights(graph, factors, epoch);
+    }
+
+    public RoadGraph graph() {
+        return graph;
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public float factor(int edge) {
+        return factors == null ? 1f : factors[edge];
+    }
+
+    // Current travel time of an edge in hours
+    public double timeHours(int edge) {
+        double base = graph.travelTimeHours(edge);
+        return factors == null ? base : base * factors[edge];
+    }
+
+    public int slowedEdgeCount() {
+        if (factors == null) return 0;
+        int count = 0;
+        for (float f : factors) if (f > 1f) count++;
+        return count;
+    }
+}
@@ -0,0 +1,82 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph.osm;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing long -> int map for OSM node ids; avoids one boxed entry
+ * per node when importing millions of them.
+ */
+final class LongIntHashMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    LongIntHashMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void put(long key, int value) {
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        if (size * 2 > keys.length) rehash();
+    }
+
+    void putIfAbsent(long key, int value) {
+        int slot = slot(key);
+        if (keys[slot] != EMPTY) return;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) rehash();
+    }
+
+    boolean containsKey(long key) {
+        return keys[slot(key)] != EMPTY;
+    }
+
+    int get(long key, int missing) {
+        int slot = slot(key);
+        return keys[slot] != EMPTY ? values[slot] : missing;
+    }
+
+    // Slot holding the key, or the empty slot where it would go
+    private int slot(long key) {
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 33) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
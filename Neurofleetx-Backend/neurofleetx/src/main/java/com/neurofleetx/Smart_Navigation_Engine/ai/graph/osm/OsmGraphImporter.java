@@ -0,0 +1,353 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph.osm;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraphBuilder;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraphFile;
+import com.neurofleetx.util.GeoUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Offline importer: OSM PBF extract -> routable RoadGraph file.
+ *
+ * Usage: java -cp app.jar ...OsmGraphImporter region.osm.pbf region.graph [minLat,minLng,maxLat,maxLng]
+ *
+ * Pass 1 keeps drivable highway ways and remembers the node ids they use;
+ * pass 2 reads the coordinates of just those nodes. Every way segment
+ * becomes an edge (two for two-way roads) weighted by its length, with the
+ * maxspeed (or a per-class default) and one-way flag. Only the largest
+ * strongly connected component of the directed segments is kept, so any
+ * snapped point can reach any other and be reached from it (one-way
+ * streets that lead out of the network and never back are dropped).
+ */
+public final class OsmGraphImporter {
+
+    private static final Set<String> BLOCKED_ACCESS = Set.of("no", "private");
+
+    // Default km/h per highway class when maxspeed is missing or not numeric
+    private static final Map<String, Integer> CLASS_SPEEDS = Map.ofEntries(
+            Map.entry("motorway", 100), Map.entry("motorway_link", 60),
+            Map.entry("trunk", 80), Map.entry("trunk_link", 50),
+            Map.entry("primary", 65), Map.entry("primary_link", 45),
+            Map.entry("secondary", 55), Map.entry("secondary_link", 40),
+            Map.entry("tertiary", 45), Map.entry("tertiary_link", 35),
+            Map.entry("unclassified", 35), Map.entry("road", 30),
+            Map.entry("residential", 25), Map.entry("living_street", 10),
+            Map.entry("service", 15)
+    );
+
+    private static final int FORWARD = 1;
+    private static final int BACKWARD = 2;
+    private static final int BOTH = FORWARD | BACKWARD;
+
+    private OsmGraphImporter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: OsmGraphImporter <input.osm.pbf> <output.graph> [minLat,minLng,maxLat,maxLng]");
+            System.exit(1);
+        }
+        double[] bbox = args.length > 2 ? parseBbox(args[2]) : null;
+
+        long started = System.currentTimeMillis();
+        RoadGraph graph = importPbf(Paths.get(args[0]), bbox);
+        RoadGraphFile.write(graph, Paths.get(args[1]));
+
+        System.out.printf("Imported %d nodes, %d edges (%.1f MB) in %d ms%n",
+                graph.nodeCount(), graph.edgeCount(), graph.memoryBytes() / 1e6,
+                System.currentTimeMillis() - started);
+    }
+
+    public static RoadGraph importPbf(Path pbf, double[] bbox) throws IOException {
+        WayCollector ways = new WayCollector();
+        OsmPbfReader.read(pbf, ways);
+
+        NodeCollector nodes = new NodeCollector(ways.nodeIndex, bbox);
+        OsmPbfReader.read(pbf, nodes);
+
+        return ways.buildGraph(nodes);
+    }
+
+    // ======================================================
+    // PASS 1: ways
+    // ======================================================
+    private static final class WayCollector implements OsmPbfReader.Handler {
+
+        final LongIntHashMap nodeIndex = new LongIntHashMap(1 << 20);
+
+        long[] refs = new long[1 << 20];
+        int refCount;
+        int[] wayStart = new int[1 << 16]; // wayStart[w]..wayStart[w+1] in refs
+        byte[] speed = new byte[1 << 16];
+        byte[] direction = new byte[1 << 16];
+        byte[] flags = new byte[1 << 16];
+        int wayCount;
+
+        @Override
+        public boolean wantsNodes() {
+            return false;
+        }
+
+        @Override
+        public void way(long id, long[] wayRefs, Map<String, String> tags) {
+            String highway = tags.get("highway");
+            if (highway == null || !CLASS_SPEEDS.containsKey(highway) || wayRefs.length < 2) return;
+            if ("yes".equals(tags.get("area"))) return;
+            if (!isDrivable(tags)) return;
+
+            int dir = direction(highway, tags);
+            if (dir == 0) return;
+
+            if (wayCount + 2 > wayStart.length) {
+                int capacity = wayStart.length * 2;
+                wayStart = Arrays.copyOf(wayStart, capacity);
+                speed = Arrays.copyOf(speed, capacity);
+                direction = Arrays.copyOf(direction, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+            }
+            if (refCount + wayRefs.length > refs.length) {
+                refs = Arrays.copyOf(refs, Math.max(refs.length * 2, refCount + wayRefs.length));
+            }
+
+            wayStart[wayCount] = refCount;
+            for (long ref : wayRefs) {
+                refs[refCount++] = ref;
+                nodeIndex.putIfAbsent(ref, -1);
+            }
+            speed[wayCount] = (byte) speedKmh(highway, tags.get("maxspeed"));
+            direction[wayCount] = (byte) dir;
+            flags[wayCount] = (byte) flags(highway, dir);
+            wayCount++;
+            wayStart[wayCount] = refCount;
+        }
+
+        RoadGraph buildGraph(NodeCollector nodes) {
+            int n = nodes.count;
+
+            // Segment list (both directions already expanded) in import numbering
+            int[] from = new int[Math.max(16, refCount * 2)];
+            int[] to = new int[from.length];
+            float[] km = new float[from.length];
+            byte[] segSpeed = new byte[from.length];
+            byte[] segFlags = new byte[from.length];
+            int segments = 0;
+
+            for (int w = 0; w < wayCount; w++) {
+                for (int i = wayStart[w]; i + 1 < wayStart[w + 1]; i++) {
+                    int a = nodeIndex.get(refs[i], -1);
+                    int b = nodeIndex.get(refs[i + 1], -1);
+                    if (a < 0 || b < 0 || a == b) continue;
+
+                    float length = (float) GeoUtils.haversineDistanceKm(
+                            nodes.lat[a], nodes.lng[a], nodes.lat[b], nodes.lng[b]);
+
+                    if ((direction[w] & FORWARD) != 0) {
+                        from[segments] = a; to[segments] = b;
+                        km[segments] = length; segSpeed[segments] = speed[w]; segFlags[segments] = flags[w];
+                        segments++;
+                    }
+                    if ((direction[w] & BACKWARD) != 0) {
+                        from[segments] = b; to[segments] = a;
+                        km[segments] = length; segSpeed[segments] = speed[w]; segFlags[segments] = flags[w];
+                        segments++;
+                    }
+                }
+            }
+
+            // Keep the largest strongly connected component, renumbered densely
+            int[] component = strongComponents(n, from, to, segments);
+            int[] size = new int[n];
+            int largest = -1;
+            for (int v = 0; v < n; v++) {
+                int c = component[v];
+                if (++size[c] > 1 && (largest < 0 || size[c] > size[largest])) largest = c;
+            }
+            int[] newId = new int[n];
+            RoadGraphBuilder builder = new RoadGraphBuilder();
+            for (int v = 0; v < n; v++) {
+                newId[v] = largest >= 0 && component[v] == largest
+                        ? builder.addNode(nodes.lat[v], nodes.lng[v])
+                        : -1;
+            }
+            for (int s = 0; s < segments; s++) {
+                int a = newId[from[s]];
+                int b = newId[to[s]];
+                if (a < 0 || b < 0) continue;
+                builder.addEdge(a, b, km[s], segSpeed[s] & 0xFF, segFlags[s]);
+            }
+            return builder.build();
+        }
+    }
+
+    // ======================================================
+    // PASS 2: coordinates of referenced nodes
+    // ======================================================
+    private static final class NodeCollector implements OsmPbfReader.Handler {
+
+        private final LongIntHashMap nodeIndex;
+        private final double[] bbox;
+
+        double[] lat;
+        double[] lng;
+        int count;
+
+        NodeCollector(LongIntHashMap nodeIndex, double[] bbox) {
+            this.nodeIndex = nodeIndex;
+            this.bbox = bbox;
+            this.lat = new double[Math.max(16, nodeIndex.size())];
+            this.lng = new double[lat.length];
+        }
+
+        @Override
+        public boolean wantsWays() {
+            return false;
+        }
+
+        @Override
+        public void node(long id, double latitude, double longitude) {
+            if (!nodeIndex.containsKey(id)) return;
+            if (bbox != null && (latitude < bbox[0] || longitude < bbox[1] || latitude > bbox[2] || longitude > bbox[3])) {
+                return;
+            }
+            lat[count] = latitude;
+            lng[count] = longitude;
+            nodeIndex.put(id, count++);
+        }
+    }
+
+    // ======================================================
+    // TAG RULES
+    // ======================================================
+    private static boolean isDrivable(Map<String, String> tags) {
+        String motor = tags.getOrDefault("motor_vehicle", tags.get("motorcar"));
+        if (motor != null) return !BLOCKED_ACCESS.contains(motor);
+        String access = tags.get("access");
+        return access == null || !BLOCKED_ACCESS.contains(access);
+    }
+
+    private static int direction(String highway, Map<String, String> tags) {
+        String oneway = tags.get("oneway");
+        if (oneway != null) {
+            switch (oneway) {
+                case "yes", "true", "1" -> { return FORWARD; }
+                case "-1", "reverse" -> { return BACKWARD; }
+                case "no", "false", "0" -> { return BOTH; }
+                default -> { /* e.g. "reversible": fall through to implied rules */ }
+            }
+        }
+        String junction = tags.get("junction");
+        if ("motorway".equals(highway) || "roundabout".equals(junction) || "circular".equals(junction)) {
+            return FORWARD;
+        }
+        return BOTH;
+    }
+
+    private static int flags(String highway, int direction) {
+        int flags = direction == BOTH ? 0 : RoadGraph.FLAG_ONEWAY;
+        if (highway.startsWith("motorway") || highway.startsWith("trunk") || highway.startsWith("primary")) {
+            flags |= RoadGraph.FLAG_MAJOR_ROAD;
+        } else if (highway.equals("residential") || highway.equals("living_street") || highway.equals("service")) {
+            flags |= RoadGraph.FLAG_RESIDENTIAL;
+        }
+        return flags;
+    }
+
+    // "50", "50 km/h", "30 mph"; anything else (zones, "none", "walk") uses the class default
+    static int speedKmh(String highway, String maxspeed) {
+        int fallback = CLASS_SPEEDS.getOrDefault(highway, RoadGraph.DEFAULT_SPEED_KMH);
+        if (maxspeed == null) return fallback;
+
+        String s = maxspeed.trim().toLowerCase(Locale.ROOT);
+        int end = 0;
+        while (end < s.length() && Character.isDigit(s.charAt(end))) end++;
+        if (end == 0) return fallback;
+
+        double value = Double.parseDouble(s.substring(0, end));
+        if (s.contains("mph")) value *= 1.609;
+        return (int) Math.max(5, Math.min(200, Math.round(value)));
+    }
+
+    private static double[] parseBbox(String s) {
+        String[] p = s.split(",");
+        if (p.length != 4) throw new IllegalArgumentException("bbox must be minLat,minLng,maxLat,maxLng");
+        double[] bbox = new double[4];
+        for (int i = 0; i < 4; i++) bbox[i] = Double.parseDouble(p[i].trim());
+        return bbox;
+    }
+
+    /**
+     * Strongly connected components of the directed segments (Tarjan, with an
+     * explicit call stack so long roads cannot overflow the thread stack).
+     * Returns a component id per node.
+     */
+    static int[] strongComponents(int n, int[] from, int[] to, int segments) {
+        int[] offsets = new int[n + 1];
+        for (int s = 0; s < segments; s++) offsets[from[s] + 1]++;
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] adjacent = new int[segments];
+        for (int s = 0; s < segments; s++) adjacent[cursor[from[s]]++] = to[s];
+
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] component = new int[n];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int sp = 0, next = 0, components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) continue;
+            index[root] = low[root] = next++;
+            stack[sp++] = root;
+            onStack[root] = true;
+            callNode[0] = root;
+            callEdge[0] = offsets[root];
+            int depth = 1;
+
+            while (depth > 0) {
+                int v = callNode[depth - 1];
+                if (callEdge[depth - 1] < offsets[v + 1]) {
+                    int w = adjacent[callEdge[depth - 1]++];
+                    if (index[w] < 0) {
+                        index[w] = low[w] = next++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        callNode[depth] = w;
+                        callEdge[depth] = offsets[w];
+                        depth++;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // v is done: pop its component if it is the root of one, then return to the caller
+                depth--;
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--sp];
+                        onStack[w] = false;
+                        component[w] = components;
+                    } while (w != v);
+                    components++;
+                }
+                if (depth > 0) {
+                    int caller = callNode[depth - 1];
+                    low[caller] = Math.min(low[caller], low[v]);
+                }
+            }
+        }
+        return component;
+    }
+}
@@ -0,0 +1,272 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph.osm;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Streaming reader for OpenStreetMap PBF extracts (fileformat.proto /
+ * osmformat.proto), without a protobuf dependency.
+ *
+ * Nodes (plain and dense) and ways are pushed to a Handler block by block;
+ * relations, changesets and metadata are skipped. Only raw and zlib blobs are
+ * supported, which is what the common extract providers produce.
+ */
+public final class OsmPbfReader {
+
+    private static final Set<String> SUPPORTED_FEATURES = Set.of("OsmSchema-V0.6", "DenseNodes");
+    private static final int MAX_BLOB_SIZE = 32 * 1024 * 1024;
+
+    public interface Handler {
+        default boolean wantsNodes() {
+            return true;
+        }
+
+        default boolean wantsWays() {
+            return true;
+        }
+
+        default void node(long id, double lat, double lon) {
+        }
+
+        default void way(long id, long[] refs, Map<String, String> tags) {
+        }
+    }
+
+    private OsmPbfReader() {
+    }
+
+    public static void read(Path file, Handler handler) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            Inflater inflater = new Inflater();
+            try {
+                while (true) {
+                    int headerLength;
+                    try {
+                        headerLength = in.readInt();
+                    } catch (EOFException e) {
+                        return;
+                    }
+
+                    byte[] header = new byte[headerLength];
+                    in.readFully(header);
+
+                    String type = null;
+                    int dataSize = 0;
+                    ProtoReader h = new ProtoReader(header);
+                    while (h.next()) {
+                        if (h.field() == 1) type = h.string();
+                        else if (h.field() == 3) dataSize = h.int32();
+                        else h.skip();
+                    }
+                    if (dataSize < 0 || dataSize > MAX_BLOB_SIZE) {
+                        throw new IOException("Invalid PBF blob size " + dataSize);
+                    }
+
+                    byte[] blob = new byte[dataSize];
+                    in.readFully(blob);
+
+                    if ("OSMHeader".equals(type)) {
+                        checkHeader(decompress(blob, inflater));
+                    } else if ("OSMData".equals(type)) {
+                        readPrimitiveBlock(decompress(blob, inflater), handler);
+                    }
+                }
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    private static byte[] decompress(byte[] blob, Inflater inflater) throws IOException {
+        byte[] raw = null;
+        byte[] zlib = null;
+        int rawSize = 0;
+
+        ProtoReader r = new ProtoReader(blob);
+        while (r.next()) {
+            switch (r.field()) {
+                case 1 -> raw = r.bytes();
+                case 2 -> rawSize = r.int32();
+                case 3 -> zlib = r.bytes();
+                default -> {
+                    if (r.wireType() == ProtoReader.LENGTH_DELIMITED && r.field() >= 4) {
+                        throw new IOException("Unsupported PBF blob compression (field " + r.field() + ")");
+                    }
+                    r.skip();
+                }
+            }
+        }
+        if (raw != null) return raw;
+        if (zlib == null) throw new IOException("Empty PBF blob");
+
+        byte[] out = new byte[rawSize];
+        inflater.reset();
+        inflater.setInput(zlib);
+        try {
+            int n = inflater.inflate(out);
+            if (n != rawSize) throw new IOException("PBF blob inflated to " + n + " bytes, expected " + rawSize);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt zlib data in PBF blob", e);
+        }
+        return out;
+    }
+
+    private static void checkHeader(byte[] data) throws IOException {
+        ProtoReader r = new ProtoReader(data);
+        while (r.next()) {
+            if (r.field() == 4) {
+                String feature = r.string();
+                if (!SUPPORTED_FEATURES.contains(feature)) {
+                    throw new IOException("Unsupported PBF feature: " + feature);
+                }
+            } else {
+                r.skip();
+            }
+        }
+    }
+
+    // ======================================================
+    // PRIMITIVE BLOCK
+    // ======================================================
+    private static void readPrimitiveBlock(byte[] data, Handler handler) {
+        String[] strings = new String[0];
+        long granularity = 100;
+        long latOffset = 0;
+        long lonOffset = 0;
+        List<ProtoReader> groups = new ArrayList<>();
+
+        // Groups (field 2) precede granularity/offsets (17-20) on the wire, so collect them first
+        ProtoReader r = new ProtoReader(data);
+        while (r.next()) {
+            switch (r.field()) {
+                case 1 -> strings = readStringTable(r.message());
+                case 2 -> groups.add(r.message());
+                case 17 -> granularity = r.int32();
+                case 19 -> latOffset = r.varint();
+                case 20 -> lonOffset = r.varint();
+                default -> r.skip();
+            }
+        }
+
+        Block block = new Block(strings, granularity, latOffset, lonOffset);
+        for (ProtoReader group : groups) {
+            while (group.next()) {
+                switch (group.field()) {
+                    case 1 -> {
+                        if (handler.wantsNodes()) readNode(group.message(), block, handler);
+                        else group.skip();
+                    }
+                    case 2 -> {
+                        if (handler.wantsNodes()) readDenseNodes(group.message(), block, handler);
+                        else group.skip();
+                    }
+                    case 3 -> {
+                        if (handler.wantsWays()) readWay(group.message(), block, handler);
+                        else group.skip();
+                    }
+                    default -> group.skip();
+                }
+            }
+        }
+    }
+
+    private static String[] readStringTable(ProtoReader r) {
+        List<String> strings = new ArrayList<>();
+        while (r.next()) {
+            if (r.field() == 1) strings.add(r.string());
+            else r.skip();
+        }
+        return strings.toArray(new String[0]);
+    }
+
+    private static void readNode(ProtoReader r, Block block, Handler handler) {
+        long id = 0, lat = 0, lon = 0;
+        while (r.next()) {
+            switch (r.field()) {
+                case 1 -> id = r.sint64();
+                case 8 -> lat = r.sint64();
+                case 9 -> lon = r.sint64();
+                default -> r.skip();
+            }
+        }
+        handler.node(id, block.lat(lat), block.lon(lon));
+    }
+
+    private static void readDenseNodes(ProtoReader r, Block block, Handler handler) {
+        long[] ids = null, lats = null, lons = null;
+        while (r.next()) {
+            switch (r.field()) {
+                case 1 -> ids = r.packedSint64Delta();
+                case 8 -> lats = r.packedSint64Delta();
+                case 9 -> lons = r.packedSint64Delta();
+                default -> r.skip();
+            }
+        }
+        if (ids == null || lats == null || lons == null) return;
+
+        for (int i = 0; i < ids.length; i++) {
+            handler.node(ids[i], block.lat(lats[i]), block.lon(lons[i]));
+        }
+    }
+
+    private static void readWay(ProtoReader r, Block block, Handler handler) {
+        long id = 0;
+        int[] keys = new int[0];
+        int[] vals = new int[0];
+        long[] refs = new long[0];
+        while (r.next()) {
+            switch (r.field()) {
+                case 1 -> id = r.varint();
+                case 2 -> keys = r.packedUint32();
+                case 3 -> vals = r.packedUint32();
+                case 8 -> refs = r.packedSint64Delta();
+                default -> r.skip();
+            }
+        }
+
+        Map<String, String> tags;
+        if (keys.length == 0) {
+            tags = Collections.emptyMap();
+        } else {
+            tags = new HashMap<>(keys.length * 2);
+            for (int i = 0; i < keys.length && i < vals.length; i++) {
+                tags.put(block.strings[keys[i]], block.strings[vals[i]]);
+            }
+        }
+        handler.way(id, refs, tags);
+    }
+
+    private static final class Block {
+        final String[] strings;
+        final long granularity;
+        final long latOffset;
+        final long lonOffset;
+
+        Block(String[] strings, long granularity, long latOffset, long lonOffset) {
+            this.strings = strings;
+            this.granularity = granularity;
+            this.latOffset = latOffset;
+            this.lonOffset = lonOffset;
+        }
+
+        double lat(long raw) {
+            return 1e-9 * (latOffset + granularity * raw);
+        }
+
+        double lon(long raw) {
+            return 1e-9 * (lonOffset + granularity * raw);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph.osm;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal protobuf wire-format decoder over a byte array slice; just enough
+ * for the OSM PBF messages (varints, zigzag, length-delimited, packed).
+ */
+final class ProtoReader {
+
+    static final int VARINT = 0;
+    static final int FIXED64 = 1;
+    static final int LENGTH_DELIMITED = 2;
+    static final int FIXED32 = 5;
+
+    private final byte[] buf;
+    private int pos;
+    private final int limit;
+
+    private int tag;
+
+    ProtoReader(byte[] buf) {
+        this(buf, 0, buf.length);
+    }
+
+    ProtoReader(byte[] buf, int offset, int length) {
+        this.buf = buf;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+    boolean next() {
+        if (pos >= limit) return false;
+        tag = (int) varint();
+        return true;
+    }
+
+    int field() {
+        return tag >>> 3;
+    }
+
+    int wireType() {
+        return tag & 7;
+    }
+
+    long varint() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf[pos++];
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return result;
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    long sint64() {
+        long v = varint();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    int int32() {
+        return (int) varint();
+    }
+
+    // Sub-message or packed field: returns a reader over it and skips past it
+    ProtoReader message() {
+        int length = int32();
+        ProtoReader sub = new ProtoReader(buf, pos, length);
+        pos += length;
+        return sub;
+    }
+
+    byte[] bytes() {
+        int length = int32();
+        byte[] out = new byte[length];
+        System.arraycopy(buf, pos, out, 0, length);
+        pos += length;
+        return out;
+    }
+
+    String string() {
+        int length = int32();
+        String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return s;
+    }
+
+    void skip() {
+        switch (wireType()) {
+            case VARINT -> varint();
+            case FIXED64 -> pos += 8;
+            case LENGTH_DELIMITED -> {
+                int length = int32();
+                pos += length;
+            }
+            case FIXED32 -> pos += 4;
+            default -> throw new IllegalStateException("Unsupported wire type " + wireType());
+        }
+    }
+
+    // Number of varints in the rest of this reader (for sizing packed arrays)
+    int countVarints() {
+        int count = 0;
+        for (int i = pos; i < limit; i++) {
+            if (buf[i] >= 0) count++;
+        }
+        return count;
+    }
+
+    boolean hasRemaining() {
+        return pos < limit;
+    }
+
+    long[] packedSint64Delta() {
+        ProtoReader packed = message();
+        long[] out = new long[packed.countVarints()];
+        long value = 0;
+        for (int i = 0; i < out.length; i++) {
+            value += packed.sint64();
+            out[i] = value;
+        }
+        return out;
+    }
+
+    int[] packedUint32() {
+        ProtoReader packed = message();
+        int[] out = new int[packed.countVarints()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = packed.int32();
+        }
+        return out;
+    }
+}
@@ -0,0 +1,44 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class IsochroneResponse {
+
+    private double lat;
+    private double lng;
+
+    // from = reachable from the point; to = can reach the point
+    private String direction;
+
+    // Straight-line estimates because no road network is loaded
+    private boolean approximate;
+
+    private double cellDeg;
+    private List<Band> bands;
+
+    // Every cell with a reachable road node, with its quickest time
+    private List<Cell> cells;
+
+    private long computeMs;
+
+    @Data
+    public static class Band {
+        private double minutes;
+        private int reachedNodes;
+        // Convex envelope of everything reachable within the band, [lat, lng] counter-clockwise
+        private List<double[]> hull;
+    }
+
+    @Data
+    public static class Cell {
+        // Cell centre
+        private double lat;
+        private double lng;
+        private double minutes;
+        // Index of the first band that contains the cell
+        private int band;
+    }
+}
@@ -0,0 +1,18 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MatrixRequest {
+
+    // [lat, lng] pairs, e.g. available vehicles
+    private List<double[]> sources;
+
+    // [lat, lng] pairs, e.g. pending pickups
+    private List<double[]> destinations;
+
+    // time (minutes) | distance (km)
+    private String metric = "time";
+}
@@ -0,0 +1,21 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.model;
+
+import lombok.Data;
+
+@Data
+public class MatrixResponse {
+
+    private String metric;
+    private String unit;
+
+    private int rows;
+    private int cols;
+
+    // Row-major: values[row * cols + col] is source row -> destination col; -1 = no route
+    private float[] values;
+
+    // Straight-line estimates because no road network is loaded
+    private boolean approximate;
+
+    private long computeMs;
+}
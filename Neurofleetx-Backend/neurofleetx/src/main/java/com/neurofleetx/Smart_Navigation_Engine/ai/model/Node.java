@@ -3,16 +3,15 @@ package com.neurofleetx.Smart_Navigation_Engine.ai.model;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Graph topology only: position and neighbours. Search state (g, f, parent)
+ * is kept by the search itself so a graph can be routed concurrently.
+ */
 public class Node {
 
     private double lat;
     private double lng;
 
-    private double g = Double.POSITIVE_INFINITY;
-    private double f = Double.POSITIVE_INFINITY;
-
-    private Node parent;
-
     private List<Node> neighbors = new ArrayList<>();
 
     public Node(double lat, double lng) {
@@ -47,13 +46,4 @@ public class Node {
 
     public List<Node> getNeighbors() { return neighbors; }
     public void setNeighbors(List<Node> neigh) { this.neighbors = neigh; }
-
-    public double getG() { return g; }
-    public void setG(double g) { this.g = g; }
-
-    public double getF() { return f; }
-    public void setF(double f) { this.f = f; }
-
-    public Node getParent() { return parent; }
-    public void setParent(Node parent) { this.parent = parent; }
 }
@@ -0,0 +1,48 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OptimizeRequest {
+
+    private List<VehicleSpec> vehicles;
+    private List<StopSpec> stops;
+
+    // Search time; capped by routing.vrp.max-budget-ms
+    private Long timeBudgetMs;
+
+    // All times are minutes from the start of the plan
+    @Data
+    public static class VehicleSpec {
+        private Long vehicleId;
+        private double startLat;
+        private double startLng;
+
+        // Where the shift ends (e.g. the depot); null = the route ends at its last stop
+        private Double endLat;
+        private Double endLng;
+
+        // null = unlimited
+        private Integer capacity;
+
+        private double shiftStartMin = 0;
+        // null = no shift limit
+        private Double shiftEndMin;
+    }
+
+    @Data
+    public static class StopSpec {
+        private String stopId;
+        private double lat;
+        private double lng;
+
+        private int demand = 1;
+        private double serviceMin = 0;
+
+        // Time window for arriving; null = open
+        private Double readyMin;
+        private Double dueMin;
+    }
+}
@@ -0,0 +1,46 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OptimizeResponse {
+
+    // One per requested vehicle, in request order; unused vehicles have no stops
+    private List<VehicleRoute> routes;
+
+    // Stops no vehicle can serve within its capacity, shift and the stop's time window
+    private List<String> unassigned;
+
+    private double totalTravelMin;
+    private double totalDistanceKm;
+
+    // Straight-line travel estimates because no road network is loaded
+    private boolean approximate;
+
+    private long computeMs;
+
+    @Data
+    public static class VehicleRoute {
+        private Long vehicleId;
+        private List<Visit> stops;
+        private double travelMin;
+        private double distanceKm;
+        private double startMin;
+        private double finishMin;
+        private int load;
+    }
+
+    @Data
+    public static class Visit {
+        private String stopId;
+        private double lat;
+        private double lng;
+        private double arrivalMin;
+        private double serviceStartMin;
+        private double departureMin;
+        // On board after the stop
+        private int load;
+    }
+}
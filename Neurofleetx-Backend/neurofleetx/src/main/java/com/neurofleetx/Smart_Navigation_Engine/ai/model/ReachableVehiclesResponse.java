@@ -0,0 +1,32 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ReachableVehiclesResponse {
+
+    private double lat;
+    private double lng;
+    private double minutes;
+
+    // Straight-line estimates because no road network is loaded
+    private boolean approximate;
+
+    // Quickest first
+    private List<ReachableVehicle> vehicles;
+
+    private long computeMs;
+
+    @Data
+    public static class ReachableVehicle {
+        private Long vehicleId;
+        private String registrationNo;
+        private String driverName;
+        private String status;
+        private double lat;
+        private double lng;
+        private double etaMin;
+    }
+}
@@ -3,6 +3,12 @@ package com.neurofleetx.Smart_Navigation_Engine.ai.service;
 import org.springframework.stereotype.Service;
 
 import com.neurofleetx.Smart_Navigation_Engine.ai.algo.AStar;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.AlternativeRoutes;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.CsrAStar;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.WeightFunction;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.GraphPath;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
 import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
 
 import java.util.List;
@@ -10,24 +16,65 @@ import java.util.List;
 @Service
 public class AStarService {
 
+    // Stateless between calls: every query keeps its own search state
     private final AStar aStar = new AStar();
 
+    // Holds the searches for the long-lived region graph
+    private final RoadNetworkService roadNetwork;
+
+    public AStarService(RoadNetworkService roadNetwork) {
+        this.roadNetwork = roadNetwork;
+    }
+
     /**
-     * ⭐ Traffic-aware A* Pathfinding
-     * @param start starting node
-     * @param goal destination node
-     * @param trafficScore 0.0 - heavy traffic, 1.0 - free road
+     * ⭐ A* under a routing metric (distance, time, fuel, safety or a composite)
+     * Cost and heuristic both come from the WeightFunction.
      */
-    public List<Node> findPath(Node start, Node goal, double trafficScore) {
-        return aStar.findPath(start, goal, trafficScore);
+    public List<Node> findPath(Node start, Node goal, WeightFunction weight) {
+        return aStar.findPath(start, goal, weight);
     }
 
     /**
-     * ⭐ Fallback method (no traffic impact)
-     * Used when someone still calls old A* without traffic score.
+     * ⭐ Shortest path by distance
+     * Node graphs carry no traffic; live traffic is only routed on a RoadGraph.
      */
     public List<Node> findPath(Node start, Node goal) {
-        return aStar.findPath(start, goal, 1.0); // Assume perfect traffic
+        return aStar.findPath(start, goal, DistanceWeight.INSTANCE);
+    }
+
+    /**
+     * ⭐ A* over a compact (CSR) road graph
+     * Node ids in, node ids out; safe to call concurrently on one graph.
+     */
+    public GraphPath findPath(RoadGraph graph, int source, int target) {
+        return csrSearch(graph).findPath(source, target);
+    }
+
+    /**
+     * ⭐ Metric-aware A* over a compact (CSR) road graph
+     * GraphPath.cost() is in the metric's unit (km, hours, litres, ...).
+     */
+    public GraphPath findPath(RoadGraph graph, int source, int target, WeightFunction weight) {
+        return csrSearch(graph).findPath(source, target, weight);
+    }
+
+    /**
+     * ⭐ Up to k alternative routes over a road graph (plateau method)
+     * Optimal route first; all of them come from one forward and one backward search.
+     */
+    public List<GraphPath> findAlternatives(RoadGraph graph, int source, int target, int k, WeightFunction weight) {
+        return alternativeSearch(graph).find(source, target, k, weight);
+    }
+
+    // Region graph: the shared search; corridor graphs are built per request, so is their search
+    private CsrAStar csrSearch(RoadGraph graph) {
+        CsrAStar search = roadNetwork.getSearch(graph);
+        return search != null ? search : new CsrAStar(graph);
+    }
+
+    private AlternativeRoutes alternativeSearch(RoadGraph graph) {
+        AlternativeRoutes search = roadNetwork.getAlternatives(graph);
+        return search != null ? search : new AlternativeRoutes(graph);
     }
 
     /**
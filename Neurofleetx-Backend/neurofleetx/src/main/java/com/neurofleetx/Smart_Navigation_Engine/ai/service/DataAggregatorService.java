@@ -1,7 +1,9 @@
 package com.neurofleetx.Smart_Navigation_Engine.ai.service;
 
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
 import com.neurofleetx.Smart_Navigation_Engine.ai.model.AggregatedData;
 import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.RouteCandidate;
 
 import org.springframework.stereotype.Service;
 
@@ -16,23 +18,61 @@ public class DataAggregatorService {
     private final WeatherService weatherService;
     private final GraphBuilder graphBuilder;
     private final AStarService aStarService;
+    private final RouteCacheService routeCache;
+    private final RouteEngineService routeEngine;
 
     public DataAggregatorService(MapService mapService,
                                  Trafficservice trafficService,
                                  WeatherService weatherService,
                                  GraphBuilder graphBuilder,
-                                 AStarService aStarService) {
+                                 AStarService aStarService,
+                                 RouteCacheService routeCache,
+                                 RouteEngineService routeEngine) {
         this.mapService = mapService;
         this.trafficService = trafficService;
         this.weatherService = weatherService;
         this.graphBuilder = graphBuilder;
         this.aStarService = aStarService;
+        this.routeCache = routeCache;
+        this.routeEngine = routeEngine;
     }
 
     public AggregatedData aggregate(double startLat, double startLng,
                                     double endLat, double endLng) {
 
-        // 1) Try ORS route JSON (optional)
+        // 0) Same origin/destination cells within the TTL -> no routing / ORS call.
+        //    Only the route is cached: it does not depend on live conditions, the scores do.
+        RouteCacheService.Key key = routeCache.key("aggregate", startLat, startLng, endLat, endLng, RouteCacheService.STATIC);
+        RoutePart route = routeCache.get(key);
+        if (route == null) {
+            route = route(startLat, startLng, endLat, endLng);
+            routeCache.put(key, route, route.path());
+        }
+
+        double traffic = trafficService.getTrafficScore(startLat, startLng, endLat, endLng);
+        double weather = weatherService.getWeatherScore(endLat, endLng);
+
+        return new AggregatedData(route.distKm() * 1000, route.durationSec(), traffic, weather);
+    }
+
+    private record RoutePart(List<Node> path, double distKm, double durationSec) {
+    }
+
+    // 1) Local road network: both points snapped onto roads, no external call
+    private RoutePart route(double startLat, double startLng, double endLat, double endLng) {
+        RouteCandidate road = routeEngine.generateSnappedRoute("Aggregate", startLat, startLng, endLat, endLng);
+        if (road != null) {
+            return new RoutePart(road.getPathNodes(), road.getTotalDistanceKm(), road.getTotalDurationMin() * 60);
+        }
+        List<Node> path = synthesizedPath(startLat, startLng, endLat, endLng);
+        double distKm = aStarService.totalDistanceKm(path);
+        return new RoutePart(path, distKm, (distKm / 40.0) * 3600);
+    }
+
+    // ORS geometry when the API answers, else a synthetic graph; A* over whichever was built
+    private List<Node> synthesizedPath(double startLat, double startLng, double endLat, double endLng) {
+
+        // 2) Try ORS route JSON (optional)
         Map<String, Object> orsJson = null;
         try {
             orsJson = mapService.getRoute(startLat, startLng, endLat, endLng);
@@ -68,14 +108,6 @@ public class DataAggregatorService {
         Node start = graph.get(0);
         Node goal = graph.get(graph.size() - 1);
 
-        List<Node> path = aStarService.findPath(start, goal, 0.7);
-
-        double distKm = aStarService.totalDistanceKm(path);
-        double durationSec = (distKm / 40.0) * 3600;
-
-        double traffic = trafficService.getTrafficScore(startLat, startLng, endLat, endLng);
-        double weather = weatherService.getWeatherScore(endLat, endLng);
-
-        return new AggregatedData(distKm * 1000, durationSec, traffic, weather);
+        return aStarService.findPath(start, goal, DistanceWeight.INSTANCE);
     }
 }
@@ -2,8 +2,13 @@ package com.neurofleetx.Smart_Navigation_Engine.ai.service;
 
 import org.springframework.stereotype.Service;
 
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraphBuilder;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraphFile;
 import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,6 +34,73 @@ public class GraphBuilder {
         return nodes;
     }
 
+    /**
+     * Open a prebuilt road graph file (see OsmGraphImporter).
+     * The file is memory-mapped, not parsed, so this returns almost immediately.
+     */
+    public RoadGraph openRoadGraph(Path file) throws IOException {
+        return RoadGraphFile.read(file);
+    }
+
+    /**
+     * Corridor lattice between two points, for routing when no road network is loaded.
+     * lanes parallel paths (odd, centre lane = straight line) bulge out between
+     * the ends like a lens and are cross-linked at every sample, so alternative
+     * routes can be searched on one graph. Node 0 is the start, the last node the end.
+     */
+    public RoadGraph buildCorridorGraph(double startLat,
+                                        double startLng,
+                                        double endLat,
+                                        double endLng,
+                                        int samples,
+                                        int lanes) {
+
+        if (samples < 5) samples = 5;
+        if (lanes < 3) lanes = 3;
+        if (lanes % 2 == 0) lanes++;
+
+        double dLat = endLat - startLat;
+        double dLng = endLng - startLng;
+        double length = Math.hypot(dLat, dLng);
+
+        // Unit perpendicular to the axis; half-width grows with the trip, at least ~500 m
+        double perpLat = length > 0 ? -dLng / length : 0;
+        double perpLng = length > 0 ? dLat / length : 1;
+        double halfWidth = Math.max(0.005, 0.15 * length);
+        int mid = lanes / 2;
+
+        RoadGraphBuilder b = new RoadGraphBuilder();
+        int start = b.addNode(startLat, startLng);
+
+        // --- INNER SAMPLES: ids start + 1 + (i - 1) * lanes + j ---
+        for (int i = 1; i < samples - 1; i++) {
+            double t = (double) i / (samples - 1);
+            double taper = Math.sin(Math.PI * t);
+            for (int j = 0; j < lanes; j++) {
+                double offset = halfWidth * taper * (j - mid) / mid;
+                b.addNode(startLat + t * dLat + offset * perpLat, startLng + t * dLng + offset * perpLng);
+            }
+        }
+        int end = b.addNode(endLat, endLng);
+
+        for (int i = 1; i < samples - 1; i++) {
+            for (int j = 0; j < lanes; j++) {
+                int v = start + 1 + (i - 1) * lanes + j;
+
+                if (i == 1) b.addBidirectional(start, v);
+                if (i == samples - 2) b.addBidirectional(v, end);
+                if (j + 1 < lanes) b.addBidirectional(v, v + 1);
+
+                if (i + 1 < samples - 1) {
+                    b.addBidirectional(v, v + lanes);
+                    if (j > 0) b.addBidirectional(v, v + lanes - 1);
+                    if (j + 1 < lanes) b.addBidirectional(v, v + lanes + 1);
+                }
+            }
+        }
+        return b.build();
+    }
+
     /**
      * Multi-route random graph (creates 3 route-like variations)
      */
@@ -0,0 +1,295 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.service;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.Isochrone;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.TrafficTimeWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.IsochroneResponse;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.ReachableVehiclesResponse;
+import com.neurofleetx.dto.FleetStatusDTO;
+import com.neurofleetx.service.LatestPositionStore;
+import com.neurofleetx.util.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reachability on the road graph: the area reachable from a point within
+ * a few time bands, and the vehicles that can reach a point in time.
+ *
+ * Both are one bounded Dijkstra by live travel time (free flow until
+ * traffic weights are published): forward from the point for the area,
+ * backward over the reversed edges for vehicles, whose latest positions
+ * come from LatestPositionStore. The area is reported as grid cells of
+ * routing.isochrone.cell-deg holding a reachable road node, plus a convex
+ * envelope per band. Without a road network both fall back to straight
+ * lines at RoadGraph.DEFAULT_SPEED_KMH.
+ */
+@Slf4j
+@Service
+public class IsochroneService {
+
+    private final RoadNetworkService roadNetwork;
+    private final TrafficWeightService trafficWeights;
+    private final LatestPositionStore latestPositions;
+
+    @Value("${routing.isochrone.max-minutes:60}")
+    private double maxMinutes;
+
+    // ~550 m
+    @Value("${routing.isochrone.cell-deg:0.005}")
+    private double cellDeg;
+
+    private volatile Isochrone search;
+
+    public IsochroneService(RoadNetworkService roadNetwork,
+                            TrafficWeightService trafficWeights,
+                            LatestPositionStore latestPositions) {
+        this.roadNetwork = roadNetwork;
+        this.trafficWeights = trafficWeights;
+        this.latestPositions = latestPositions;
+    }
+
+    /**
+     * Area reachable from (backward: able to reach) the point within each band, in minutes.
+     */
+    public IsochroneResponse isochrone(double lat, double lng, List<Double> bands, boolean backward) {
+        long started = System.currentTimeMillis();
+
+        // 1️⃣ Validate bands
+        if (bands == null || bands.isEmpty()) throw new IllegalArgumentException("At least one band is required");
+        double[] limits = bands.stream().mapToDouble(Double::doubleValue).sorted().distinct().toArray();
+        if (limits[0] <= 0 || limits[limits.length - 1] > maxMinutes) {
+            throw new IllegalArgumentException("Bands must be between 0 and " + maxMinutes + " minutes");
+        }
+        double limit = limits[limits.length - 1];
+
+        // 2️⃣ Reached points with their time in minutes
+        RoadGraph graph = roadNetwork.getGraph();
+        double[] pointLat, pointLng, pointMin;
+        if (graph != null) {
+            int source = snapOrFail(lat, lng);
+            Isochrone.Reach reach = searchFor(graph).reach(source, limit / 60,
+                    TrafficTimeWeight.of(trafficWeights.current(graph)), backward);
+            int n = reach.size();
+            pointLat = new double[n];
+            pointLng = new double[n];
+            pointMin = new double[n];
+            for (int i = 0; i < n; i++) {
+                pointLat[i] = graph.lat(reach.nodes()[i]);
+                pointLng[i] = graph.lng(reach.nodes()[i]);
+                pointMin[i] = reach.costs()[i] * 60;
+            }
+        } else {
+            double[][] disc = straightLineDisc(lat, lng, limit);
+            pointLat = disc[0];
+            pointLng = disc[1];
+            pointMin = disc[2];
+        }
+
+        // 3️⃣ Cells, quickest time per cell
+        Map<Long, double[]> quickest = new HashMap<>();
+        for (int i = 0; i < pointMin.length; i++) {
+            long cell = cellKey(pointLat[i], pointLng[i]);
+            double[] q = quickest.get(cell);
+            if (q == null) quickest.put(cell, new double[]{pointMin[i]});
+            else if (pointMin[i] < q[0]) q[0] = pointMin[i];
+        }
+        List<IsochroneResponse.Cell> cells = new ArrayList<>(quickest.size());
+        quickest.forEach((key, q) -> {
+            IsochroneResponse.Cell c = new IsochroneResponse.Cell();
+            double[] centre = cellCentre(key);
+            c.setLat(centre[0]);
+            c.setLng(centre[1]);
+            c.setMinutes(q[0]);
+            c.setBand(bandOf(limits, q[0]));
+            cells.add(c);
+        });
+        cells.sort(Comparator.comparingDouble(IsochroneResponse.Cell::getMinutes));
+
+        // 4️⃣ One envelope per band over everything reached within it
+        List<IsochroneResponse.Band> result = new ArrayList<>();
+        for (double band : limits) {
+            List<double[]> inside = new ArrayList<>();
+            for (int i = 0; i < pointMin.length; i++) {
+                if (pointMin[i] <= band) inside.add(new double[]{pointLat[i], pointLng[i]});
+            }
+            IsochroneResponse.Band b = new IsochroneResponse.Band();
+            b.setMinutes(band);
+            b.setReachedNodes(inside.size());
+            b.setHull(convexHull(inside));
+            result.add(b);
+        }
+
+        IsochroneResponse response = new IsochroneResponse();
+        response.setLat(lat);
+        response.setLng(lng);
+        response.setDirection(backward ? "to" : "from");
+        response.setApproximate(graph == null);
+        response.setCellDeg(cellDeg);
+        response.setBands(result);
+        response.setCells(cells);
+        response.setComputeMs(System.currentTimeMillis() - started);
+        return response;
+    }
+
+    /**
+     * Vehicles whose latest position can reach the point within the given minutes, quickest first.
+     */
+    public ReachableVehiclesResponse reachableVehicles(double lat, double lng, double minutes) {
+        long started = System.currentTimeMillis();
+        if (minutes <= 0 || minutes > maxMinutes) {
+            throw new IllegalArgumentException("minutes must be between 0 and " + maxMinutes);
+        }
+
+        List<ReachableVehiclesResponse.ReachableVehicle> vehicles = new ArrayList<>();
+        RoadGraph graph = roadNetwork.getGraph();
+        if (graph != null) {
+            // 1️⃣ Vehicles by the road node they stand on
+            Map<Integer, List<FleetStatusDTO>> byNode = new HashMap<>();
+            for (FleetStatusDTO v : latestPositions.snapshot()) {
+                if (v.getLatitude() == null || v.getLongitude() == null) continue;
+                int node = roadNetwork.snapNode(v.getLatitude(), v.getLongitude());
+                if (node >= 0) byNode.computeIfAbsent(node, k -> new ArrayList<>()).add(v);
+            }
+
+            // 2️⃣ One backward search from the point finds every vehicle's time to it
+            int target = snapOrFail(lat, lng);
+            Isochrone.Reach reach = searchFor(graph).reach(target, minutes / 60,
+                    TrafficTimeWeight.of(trafficWeights.current(graph)), true);
+            for (int i = 0; i < reach.size() && !byNode.isEmpty(); i++) {
+                List<FleetStatusDTO> here = byNode.remove(reach.nodes()[i]);
+                if (here == null) continue;
+                for (FleetStatusDTO v : here) vehicles.add(reachable(v, reach.costs()[i] * 60));
+            }
+        } else {
+            for (FleetStatusDTO v : latestPositions.snapshot()) {
+                if (v.getLatitude() == null || v.getLongitude() == null) continue;
+                double eta = straightLineMinutes(v.getLatitude(), v.getLongitude(), lat, lng);
+                if (eta <= minutes) vehicles.add(reachable(v, eta));
+            }
+        }
+        vehicles.sort(Comparator.comparingDouble(ReachableVehiclesResponse.ReachableVehicle::getEtaMin));
+
+        ReachableVehiclesResponse response = new ReachableVehiclesResponse();
+        response.setLat(lat);
+        response.setLng(lng);
+        response.setMinutes(minutes);
+        response.setApproximate(graph == null);
+        response.setVehicles(vehicles);
+        response.setComputeMs(System.currentTimeMillis() - started);
+        return response;
+    }
+
+    private int snapOrFail(double lat, double lng) {
+        int node = roadNetwork.snapNode(lat, lng);
+        if (node < 0) throw new IllegalArgumentException("No road near " + lat + ", " + lng);
+        return node;
+    }
+
+    // Search state is per graph; keep the one for the graph currently loaded
+    private Isochrone searchFor(RoadGraph graph) {
+        Isochrone s = search;
+        if (s == null || s.graph() != graph) {
+            s = new Isochrone(graph);
+            search = s;
+        }
+        return s;
+    }
+
+    private static ReachableVehiclesResponse.ReachableVehicle reachable(FleetStatusDTO v, double etaMin) {
+        ReachableVehiclesResponse.ReachableVehicle r = new ReachableVehiclesResponse.ReachableVehicle();
+        r.setVehicleId(v.getVehicleId());
+        r.setRegistrationNo(v.getRegistrationNo());
+        r.setDriverName(v.getDriverName());
+        r.setStatus(v.getStatus());
+        r.setLat(v.getLatitude());
+        r.setLng(v.getLongitude());
+        r.setEtaMin(etaMin);
+        return r;
+    }
+
+    // Cell centres around the point within the limit at straight-line speed: {lats, lngs, minutes}
+    private double[][] straightLineDisc(double lat, double lng, double limitMin) {
+        double radiusKm = RoadGraph.DEFAULT_SPEED_KMH * limitMin / 60;
+        double dLat = radiusKm / 111.0;
+        double dLng = dLat / Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        int steps = (int) Math.ceil(dLat / cellDeg);
+        int lngSteps = (int) Math.ceil(dLng / cellDeg);
+
+        int n = 0;
+        double[] lats = new double[(2 * steps + 1) * (2 * lngSteps + 1)];
+        double[] lngs = new double[lats.length];
+        double[] mins = new double[lats.length];
+        for (int i = -steps; i <= steps; i++) {
+            for (int j = -lngSteps; j <= lngSteps; j++) {
+                double cLat = lat + i * cellDeg, cLng = lng + j * cellDeg;
+                double m = straightLineMinutes(lat, lng, cLat, cLng);
+                if (m > limitMin) continue;
+                lats[n] = cLat;
+                lngs[n] = cLng;
+                mins[n] = m;
+                n++;
+            }
+        }
+        return new double[][]{Arrays.copyOf(lats, n), Arrays.copyOf(lngs, n), Arrays.copyOf(mins, n)};
+    }
+
+    private static double straightLineMinutes(double lat1, double lng1, double lat2, double lng2) {
+        return GeoUtils.haversineDistanceKm(lat1, lng1, lat2, lng2) / RoadGraph.DEFAULT_SPEED_KMH * 60;
+    }
+
+    // Signed row in the high half, signed column in the low half
+    long cellKey(double lat, double lng) {
+        long latIndex = (long) Math.floor(lat / cellDeg);
+        long lngIndex = (long) Math.floor(lng / cellDeg);
+        return (latIndex << 32) | (lngIndex & 0xFFFFFFFFL);
+    }
+
+    // {lat, lng} of the centre of the cell
+    double[] cellCentre(long key) {
+        return new double[]{((key >> 32) + 0.5) * cellDeg, ((int) key + 0.5) * cellDeg};
+    }
+
+    static int bandOf(double[] limits, double minutes) {
+        for (int b = 0; b < limits.length; b++) if (minutes <= limits[b]) return b;
+        return limits.length - 1;
+    }
+
+    // Andrew's monotone chain over [lat, lng] points, counter-clockwise in (lng, lat);
+    // collinear and repeated points are dropped
+    static List<double[]> convexHull(List<double[]> points) {
+        points.sort((a, b) -> a[1] != b[1] ? Double.compare(a[1], b[1]) : Double.compare(a[0], b[0]));
+        // Coincident points are kept once
+        List<double[]> unique = new ArrayList<>(points.size());
+        for (double[] p : points) {
+            double[] last = unique.isEmpty() ? null : unique.get(unique.size() - 1);
+            if (last == null || last[0] != p[0] || last[1] != p[1]) unique.add(p);
+        }
+        points = unique;
+        if (points.size() < 3) return points;
+
+        double[][] hull = new double[2 * points.size()][];
+        int k = 0;
+        for (double[] p : points) {
+            while (k >= 2 && cross(hull[k - 2], hull[k - 1], p) <= 0) k--;
+            hull[k++] = p;
+        }
+        for (int i = points.size() - 2, lower = k + 1; i >= 0; i--) {
+            double[] p = points.get(i);
+            while (k >= lower && cross(hull[k - 2], hull[k - 1], p) <= 0) k--;
+            hull[k++] = p;
+        }
+        return new ArrayList<>(Arrays.asList(hull).subList(0, k - 1));
+    }
+
+    private static double cross(double[] o, double[] a, double[] b) {
+        return (a[1] - o[1]) * (b[0] - o[0]) - (a[0] - o[0]) * (b[1] - o[1]);
+    }
+}
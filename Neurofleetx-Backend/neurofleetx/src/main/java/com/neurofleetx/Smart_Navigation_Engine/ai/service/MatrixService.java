@@ -0,0 +1,241 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.service;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.ContractionHierarchy;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.OneToMany;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.WeightFunction;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.TimeWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.MatrixRequest;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.MatrixResponse;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Origin x destination travel matrices for dispatch (vehicles x pickups).
+ *
+ * Points are snapped onto the road graph and deduplicated; each distinct
+ * origin is one one-to-many search, and the searches run on a fixed pool of
+ * routing.matrix.threads. When a hierarchy for the metric is ready (the
+ * distance one with routing.algorithm=ch, the travel-time one with
+ * routing.matrix.ch) the targets' backward searches are done once into
+ * buckets and every row is a single upward search (bucket many-to-many);
+ * otherwise every row is a Dijkstra that stops when all destinations are
+ * settled. Times are free flow. Without a road network the matrix holds
+ * straight-line estimates.
+ */
+@Slf4j
+@Service
+public class MatrixService {
+
+    // Value for pairs without a route (or points that do not snap onto a road)
+    public static final float NO_ROUTE = -1f;
+
+    private final RoadNetworkService roadNetwork;
+
+    // 0 = one per core
+    @Value("${routing.matrix.threads:0}")
+    private int threads;
+
+    // 250,000 = 500 x 500
+    @Value("${routing.matrix.max-cells:250000}")
+    private int maxCells;
+
+    private ExecutorService workers;
+    private volatile OneToMany oneToMany;
+
+    public MatrixService(RoadNetworkService roadNetwork) {
+        this.roadNetwork = roadNetwork;
+    }
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        workers = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "route-matrix");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public MatrixResponse compute(MatrixRequest request) {
+        long started = System.currentTimeMillis();
+
+        // 1️⃣ Validate
+        List<double[]> sources = request.getSources();
+        List<double[]> destinations = request.getDestinations();
+        if (sources == null || sources.isEmpty() || destinations == null || destinations.isEmpty()) {
+            throw new IllegalArgumentException("sources and destinations must not be empty");
+        }
+        if ((long) sources.size() * destinations.size() > maxCells) {
+            throw new IllegalArgumentException("Matrix of " + sources.size() + " x " + destinations.size()
+                    + " exceeds " + maxCells + " cells");
+        }
+        for (double[] p : sources) checkPoint(p);
+        for (double[] p : destinations) checkPoint(p);
+
+        String metric = request.getMetric() == null ? "time" : request.getMetric().toLowerCase();
+        boolean byTime;
+        switch (metric) {
+            case "time" -> byTime = true;
+            case "distance" -> byTime = false;
+            default -> throw new IllegalArgumentException("Unknown metric: " + request.getMetric());
+        }
+
+        // 2️⃣ Road matrix, or straight-line estimates without a road network
+        RoadGraph graph = roadNetwork.getGraph();
+        float[] values = graph != null
+                ? roadMatrix(graph, sources, destinations, byTime)
+                : straightLineMatrix(sources, destinations, byTime);
+
+        // 3️⃣ Response
+        MatrixResponse response = new MatrixResponse();
+        response.setMetric(metric);
+        response.setUnit(byTime ? "min" : "km");
+        response.setRows(sources.size());
+        response.setCols(destinations.size());
+        response.setValues(values);
+        response.setApproximate(graph == null);
+        response.setComputeMs(System.currentTimeMillis() - started);
+        log.debug("Matrix {} x {} by {} in {} ms", sources.size(), destinations.size(), metric, response.getComputeMs());
+        return response;
+    }
+
+    private float[] roadMatrix(RoadGraph graph, List<double[]> sources, List<double[]> destinations, boolean byTime) {
+        int rows = sources.size(), cols = destinations.size();
+
+        // Distinct snapped nodes; rowOf / colOf map each point to one of them (-1 = did not snap)
+        Map<Integer, Integer> distinct = new HashMap<>();
+        int[] rowOf = new int[rows];
+        for (int i = 0; i < rows; i++) rowOf[i] = distinctIndex(sources.get(i), distinct);
+        int[] sourceNodes = keysByIndex(distinct);
+
+        distinct.clear();
+        int[] colOf = new int[cols];
+        for (int j = 0; j < cols; j++) colOf[j] = distinctIndex(destinations.get(j), distinct);
+        int[] targetNodes = keysByIndex(distinct);
+
+        // One row per distinct source, all rows in parallel
+        int width = targetNodes.length;
+        float[] distinctValues = new float[sourceNodes.length * width];
+        if (width > 0) {
+            List<Callable<Void>> tasks = rowTasks(graph, sourceNodes, targetNodes, byTime, distinctValues);
+            runAll(tasks);
+        }
+
+        // Expand to the requested rows and columns
+        float hoursToOutput = byTime ? 60f : 1f;
+        float[] values = new float[rows * cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                float v = rowOf[i] < 0 || colOf[j] < 0
+                        ? Float.POSITIVE_INFINITY
+                        : distinctValues[rowOf[i] * width + colOf[j]];
+                values[i * cols + j] = Float.isInfinite(v) ? NO_ROUTE : v * hoursToOutput;
+            }
+        }
+        return values;
+    }
+
+    private List<Callable<Void>> rowTasks(RoadGraph graph, int[] sourceNodes, int[] targetNodes,
+                                          boolean byTime, float[] out) {
+        int width = targetNodes.length;
+        List<Callable<Void>> tasks = new ArrayList<>(sourceNodes.length);
+
+        ContractionHierarchy ch = byTime ? roadNetwork.getTimeHierarchy(graph) : roadNetwork.getHierarchy(graph);
+        if (ch != null) {
+            ContractionHierarchy.Buckets buckets = ch.buckets(targetNodes);
+            for (int i = 0; i < sourceNodes.length; i++) {
+                int row = i;
+                tasks.add(() -> {
+                    ch.distancesFrom(sourceNodes[row], buckets, out, row * width);
+                    return null;
+                });
+            }
+            return tasks;
+        }
+
+        OneToMany search = searchFor(graph);
+        WeightFunction weight = byTime ? TimeWeight.FREE_FLOW : DistanceWeight.INSTANCE;
+        for (int i = 0; i < sourceNodes.length; i++) {
+            int row = i;
+            tasks.add(() -> {
+                search.distancesFrom(sourceNodes[row], targetNodes, weight, out, row * width);
+                return null;
+            });
+        }
+        return tasks;
+    }
+
+    private void runAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> f : workers.invokeAll(tasks)) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Matrix computation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Matrix computation failed", e.getCause());
+        }
+    }
+
+    private float[] straightLineMatrix(List<double[]> sources, List<double[]> destinations, boolean byTime) {
+        int cols = destinations.size();
+        float[] values = new float[sources.size() * cols];
+        for (int i = 0; i < sources.size(); i++) {
+            Node a = new Node(sources.get(i)[0], sources.get(i)[1]);
+            for (int j = 0; j < cols; j++) {
+                double km = a.haversineDistance(new Node(destinations.get(j)[0], destinations.get(j)[1]));
+                values[i * cols + j] = (float) (byTime ? km / RoadGraph.DEFAULT_SPEED_KMH * 60 : km);
+            }
+        }
+        return values;
+    }
+
+    // Search state is per graph; keep the one for the graph currently loaded
+    private OneToMany searchFor(RoadGraph graph) {
+        OneToMany search = oneToMany;
+        if (search == null || search.graph() != graph) {
+            search = new OneToMany(graph);
+            oneToMany = search;
+        }
+        return search;
+    }
+
+    private int distinctIndex(double[] point, Map<Integer, Integer> distinct) {
+        int node = roadNetwork.snapNode(point[0], point[1]);
+        if (node < 0) return -1;
+        return distinct.computeIfAbsent(node, k -> distinct.size());
+    }
+
+    private static int[] keysByIndex(Map<Integer, Integer> distinct) {
+        int[] nodes = new int[distinct.size()];
+        distinct.forEach((node, index) -> nodes[index] = node);
+        return nodes;
+    }
+
+    private static void checkPoint(double[] p) {
+        if (p == null || p.length != 2 || Math.abs(p[0]) > 90 || Math.abs(p[1]) > 180) {
+            throw new IllegalArgumentException("Points must be [lat, lng]: " + Arrays.toString(p));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.service;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.AltAStar;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.AlternativeRoutes;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.ContractionHierarchy;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.CsrAStar;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.Landmarks;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.EdgeSnap;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Holds the region road graph imported offline from OSM (see OsmGraphImporter)
+ * and snaps coordinates onto it. When routing.graph.file is not configured
+ * the route endpoints keep using the synthetic graphs from GraphBuilder.
+ *
+ * Preprocessing runs in the background after the graph loads: a Contraction
+ * Hierarchy with routing.algorithm=ch (routes use A* until it is ready) and
+ * ALT landmarks with routing.traffic.enabled (no traffic-aware route until
+ * they are ready), and a travel-time hierarchy for matrices with
+ * routing.matrix.ch (time matrices use one-to-many Dijkstra until then).
+ */
+@Slf4j
+@Service
+public class RoadNetworkService {
+
+    private final GraphBuilder graphBuilder;
+
+    @Value("${routing.graph.file:}")
+    private String graphFile;
+
+    // Points further than this from any road node are not routed on the graph
+    @Value("${routing.snap.max-km:1.0}")
+    private double maxSnapKm;
+
+    // astar | ch
+    @Value("${routing.algorithm:astar}")
+    private String algorithm;
+
+    @Value("${routing.traffic.enabled:false}")
+    private boolean trafficEnabled;
+
+    @Value("${routing.alt.landmarks:8}")
+    private int landmarkCount;
+
+    @Value("${routing.matrix.ch:false}")
+    private boolean matrixHierarchy;
+
+    private volatile RoadGraph graph;
+    private volatile CsrAStar search;
+    private volatile AlternativeRoutes alternatives;
+    private volatile ContractionHierarchy hierarchy;
+    private volatile ContractionHierarchy timeHierarchy;
+    private volatile AltAStar trafficSearch;
+
+    public RoadNetworkService(GraphBuilder graphBuilder) {
+        this.graphBuilder = graphBuilder;
+    }
+
+    @PostConstruct
+    void load() {
+        if (graphFile == null || graphFile.isBlank()) {
+            log.info("No routing.graph.file configured; using synthetic route graphs");
+            return;
+        }
+        Path path = Paths.get(graphFile);
+        if (!Files.exists(path)) {
+            log.warn("Road graph file {} not found; using synthetic route graphs", path);
+            return;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            RoadGraph loaded = graphBuilder.openRoadGraph(path);
+            search = new CsrAStar(loaded);
+            alternatives = new AlternativeRoutes(loaded);
+            graph = loaded;
+            log.info("Loaded road graph {} ({} nodes, {} edges, {}) in {} ms",
+                    path, graph.nodeCount(), graph.edgeCount(), graph.isMapped() ? "mapped" : "on heap",
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Failed to load road graph {}: {}", path, e.getMessage());
+            return;
+        }
+
+        boolean wantsHierarchy = "ch".equalsIgnoreCase(algorithm);
+        if (wantsHierarchy || trafficEnabled || matrixHierarchy) {
+            RoadGraph g = graph;
+            Thread builder = new Thread(() -> preprocess(g, wantsHierarchy, trafficEnabled, matrixHierarchy),
+                    "route-preprocess");
+            builder.setDaemon(true);
+            builder.start();
+        }
+    }
+
+    private void preprocess(RoadGraph g, boolean wantsHierarchy, boolean wantsLandmarks, boolean wantsTimeHierarchy) {
+        if (wantsLandmarks) {
+            try {
+                long started = System.currentTimeMillis();
+                Landmarks landmarks = Landmarks.build(g, landmarkCount);
+                trafficSearch = new AltAStar(landmarks);
+                log.info("ALT landmarks ready ({} landmarks, {} MB) in {} ms", landmarks.count(),
+                        landmarks.memoryBytes() / 1_000_000, System.currentTimeMillis() - started);
+            } catch (Exception e) {
+                log.error("Landmark preprocessing failed; traffic-aware routes disabled: {}", e.getMessage());
+            }
+        }
+        if (wantsHierarchy) {
+            try {
+                long started = System.currentTimeMillis();
+                ContractionHierarchy ch = ContractionHierarchy.build(g);
+                hierarchy = ch;
+                log.info("Contraction hierarchy ready ({} shortcuts) in {} ms",
+                        ch.shortcutCount(), System.currentTimeMillis() - started);
+            } catch (Exception e) {
+                log.error("Contraction hierarchy preprocessing failed; staying on A*: {}", e.getMessage());
+            }
+        }
+        if (wantsTimeHierarchy) {
+            try {
+                long started = System.currentTimeMillis();
+                ContractionHierarchy ch = ContractionHierarchy.buildByTime(g);
+                timeHierarchy = ch;
+                log.info("Travel-time hierarchy ready ({} shortcuts) in {} ms",
+                        ch.shortcutCount(), System.currentTimeMillis() - started);
+            } catch (Exception e) {
+                log.error("Travel-time hierarchy preprocessing failed; time matrices stay on Dijkstra: {}",
+                        e.getMessage());
+            }
+        }
+    }
+
+    public boolean isAvailable() {
+        return graph != null;
+    }
+
+    public RoadGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * A* for the given graph if it is the region graph, else null: searches
+     * for per-request graphs are not worth keeping.
+     */
+    public CsrAStar getSearch(RoadGraph g) {
+        CsrAStar s = search;
+        return s != null && s.graph() == g ? s : null;
+    }
+
+    // Same for the alternative-route search, whose reverse edges are O(edges) to build
+    public AlternativeRoutes getAlternatives(RoadGraph g) {
+        AlternativeRoutes a = alternatives;
+        return a != null && a.graph() == g ? a : null;
+    }
+
+    /**
+     * Hierarchy for the given graph, or null while it is still being built
+     * (or when routing.algorithm is not ch).
+     */
+    public ContractionHierarchy getHierarchy(RoadGraph g) {
+        ContractionHierarchy ch = hierarchy;
+        return ch != null && ch.graph() == g ? ch : null;
+    }
+
+    /**
+     * Hierarchy by free-flow travel time for the given graph, or null while it
+     * is still being built (or when routing.matrix.ch is off).
+     */
+    public ContractionHierarchy getTimeHierarchy(RoadGraph g) {
+        ContractionHierarchy ch = timeHierarchy;
+        return ch != null && ch.graph() == g ? ch : null;
+    }
+
+    /**
+     * Landmark search over live traffic weights for the given graph, or null
+     * while landmarks are being built (or when routing.traffic.enabled is off).
+     */
+    public AltAStar getTrafficSearch(RoadGraph g) {
+        AltAStar alt = trafficSearch;
+        return alt != null && alt.graph() == g ? alt : null;
+    }
+
+    /**
+     * Closest point on a road to the given point, or null if no road is within
+     * routing.snap.max-km (or no graph is loaded).
+     */
+    public EdgeSnap snap(double lat, double lng) {
+        RoadGraph g = graph;
+        return g != null ? g.nearestEdge(lat, lng, maxSnapKm) : null;
+    }
+
+    /**
+     * Node to start or end a search at for the point: the nearer end of the
+     * road it snaps onto, so a point beside a road never lands on a junction
+     * of a different road that happens to be closer. -1 if it does not snap.
+     */
+    public int snapNode(double lat, double lng) {
+        EdgeSnap s = snap(lat, lng);
+        return s != null ? s.nearerNode() : -1;
+    }
+
+    /**
+     * Nearest graph node to the point, or -1 if none is within routing.snap.max-km.
+     */
+    public int nearestNode(double lat, double lng) {
+        RoadGraph g = graph;
+        return g != null ? g.nearestNode(lat, lng, maxSnapKm) : -1;
+    }
+}
@@ -0,0 +1,200 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.service;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+import com.neurofleetx.util.LocationResolver;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of route computations (routes, safety score, aggregate) shared by
+ * requests whose origin and destination fall in the same grid cells.
+ *
+ * Keys are (metric, origin cell, destination cell, traffic epoch) on the
+ * LocationResolver cell scheme at routing.cache.cell-deg. Results that do
+ * not depend on live traffic use STATIC instead of an epoch. Each entry
+ * remembers the COVER_CELL_DEG cells its route passes through; when traffic
+ * moves to a new epoch, entries crossing a changed cell are dropped and the
+ * rest are carried over to the new epoch. Size-bounded LRU with a TTL.
+ */
+@Slf4j
+@Service
+public class RouteCacheService {
+
+    // Epoch for results that do not depend on live traffic
+    public static final long STATIC = -1;
+
+    // Resolution of the coverage cells used for invalidation (~1.1 km)
+    public static final double COVER_CELL_DEG = 0.01;
+
+    @Value("${routing.cache.enabled:true}")
+    private boolean enabled;
+
+    // Origin / destination snapping (~110 m)
+    @Value("${routing.cache.cell-deg:0.001}")
+    private double cellDeg;
+
+    @Value("${routing.cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${routing.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public record Key(String metric, long origin, long destination, long epoch) {
+    }
+
+    private record Entry(Object value, long expiresAt, long[] cells) {
+    }
+
+    // LRU by access; guarded by its own monitor
+    private LinkedHashMap<Key, Entry> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= maxEntries) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    public Key key(String metric, double startLat, double startLng, double endLat, double endLng, long epoch) {
+        return new Key(metric,
+                LocationResolver.gridId(startLat, startLng, cellDeg),
+                LocationResolver.gridId(endLat, endLng, cellDeg),
+                epoch);
+    }
+
+    /**
+     * Cached value for the key, or null on a miss (or an expired entry).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key) {
+        if (!enabled) return null;
+        synchronized (cache) {
+            Entry e = cache.get(key);
+            if (e != null && e.expiresAt > System.currentTimeMillis()) {
+                hits.increment();
+                return (T) e.value;
+            }
+            if (e != null) {
+                cache.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Store a result with the nodes of the route(s) it was computed on.
+     */
+    public void put(Key key, Object value, Collection<Node> covered) {
+        if (!enabled || value == null) return;
+        Entry e = new Entry(value, System.currentTimeMillis() + ttlSeconds * 1000, cellsOf(covered));
+        synchronized (cache) {
+            cache.put(key, e);
+        }
+    }
+
+    /**
+     * Traffic moved from oldEpoch to newEpoch with weights changed in the given
+     * COVER_CELL_DEG cells: drop entries whose route crosses one of them and
+     * re-key the others to the new epoch. STATIC entries are untouched.
+     */
+    public void advanceEpoch(long oldEpoch, long newEpoch, Set<Long> changedCells) {
+        int dropped = 0, kept = 0;
+        synchronized (cache) {
+            List<Map.Entry<Key, Entry>> carried = new ArrayList<>();
+            for (Iterator<Map.Entry<Key, Entry>> it = cache.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Key, Entry> me = it.next();
+                Key k = me.getKey();
+                if (k.epoch == STATIC) continue;
+
+                it.remove();
+                if (k.epoch == oldEpoch && !crosses(me.getValue().cells, changedCells)) {
+                    carried.add(me);
+                } else {
+                    dropped++;
+                }
+            }
+            for (Map.Entry<Key, Entry> me : carried) {
+                Key k = me.getKey();
+                cache.put(new Key(k.metric, k.origin, k.destination, newEpoch), me.getValue());
+            }
+            kept = carried.size();
+        }
+        invalidations.add(dropped);
+        if (dropped > 0) log.debug("Route cache epoch {}: {} entries invalidated, {} kept", newEpoch, dropped, kept);
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Hit / miss counters since startup, for the cache-stats endpoint.
+     */
+    public Map<String, Object> stats() {
+        long h = hits.sum(), m = misses.sum();
+        int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("hitRate", h + m > 0 ? (double) h / (h + m) : 0.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    public static long coverCell(double lat, double lng) {
+        return LocationResolver.gridId(lat, lng, COVER_CELL_DEG);
+    }
+
+    private static long[] cellsOf(Collection<Node> nodes) {
+        if (nodes == null) return new long[0];
+        long[] cells = new long[nodes.size()];
+        int count = 0;
+        for (Node n : nodes) cells[count++] = coverCell(n.getLat(), n.getLng());
+        Arrays.sort(cells, 0, count);
+
+        // Dedupe in place
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || cells[unique - 1] != cells[i]) cells[unique++] = cells[i];
+        }
+        return Arrays.copyOf(cells, unique);
+    }
+
+    private static boolean crosses(long[] cells, Set<Long> changed) {
+        for (long c : cells) if (changed.contains(c)) return true;
+        return false;
+    }
+}
@@ -1,10 +1,19 @@
 package com.neurofleetx.Smart_Navigation_Engine.ai.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.AltAStar;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.ContractionHierarchy;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.WeightFunction;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.GraphPath;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.TrafficWeights;
 import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
 import com.neurofleetx.Smart_Navigation_Engine.ai.model.RouteCandidate;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -12,105 +21,146 @@ public class RouteEngineService {
 
     private final AStarService aStarService;
     private final NavigationInstructionService navService;
+    private final RoadNetworkService roadNetworkService;
+    private final TrafficWeightService trafficWeightService;
+
+    // astar | ch (road graph routes only; falls back to A* until the hierarchy is built)
+    private final String algorithm;
+
+    // Routes returned by generateAlternativeRoutes, the optimal one included
+    private final int maxAlternatives;
 
     public RouteEngineService(AStarService aStarService,
-                              NavigationInstructionService navService) {
+                              NavigationInstructionService navService,
+                              RoadNetworkService roadNetworkService,
+                              TrafficWeightService trafficWeightService,
+                              @Value("${routing.algorithm:astar}") String algorithm,
+                              @Value("${routing.alternatives.max:3}") int maxAlternatives) {
         this.aStarService = aStarService;
         this.navService = navService;
+        this.roadNetworkService = roadNetworkService;
+        this.trafficWeightService = trafficWeightService;
+        this.algorithm = algorithm;
+        this.maxAlternatives = maxAlternatives;
     }
 
     /**
-     * Generate 3 alternative routes using weighted A*
+     * Route over the imported road network (node ids from RoadNetworkService).
+     * Duration uses the speed limit of each edge instead of a flat 40 km/h.
+     * Returns null when the target is unreachable.
      */
-    public List<RouteCandidate> generateRoutes(Node start, Node goal, double trafficScore) {
-
-        // 1️⃣ Shortest Route (ignore traffic)
-        RouteCandidate shortest = buildRoute(
-                "Shortest Route",
-                start, goal,
-                1.0   // No penalty
-        );
+    public RouteCandidate generateRoadRoute(String name, RoadGraph graph, int source, int target) {
 
-        // 2️⃣ Fastest Route (prefers straight paths)
-        RouteCandidate fastest = buildRoute(
-                "Fastest Route",
-                start, goal,
-                0.8   // faster roads preferred
-        );
-
-        // 3️⃣ Low Traffic Route (heavily influenced by traffic)
-        RouteCandidate lowTraffic = buildRoute(
-                "Low Traffic Route",
-                start, goal,
-                1 + (1 - trafficScore) // penalty increases if trafficScore is low
-        );
+        GraphPath path = shortestPath(graph, source, target);
+        if (!path.isFound()) return null;
 
-        return List.of(shortest, fastest, lowTraffic);
+        return roadCandidate(name, graph, path, path.travelTimeHours(graph));
     }
 
-
     /**
-     * Build a single route using weighted A*
+     * Shortest road route between two arbitrary points, each snapped onto the
+     * nearest road. Null when no road network is loaded, a point is off the
+     * network or the target is unreachable; callers fall back to synthetic graphs.
      */
-    private RouteCandidate buildRoute(String name, Node start, Node goal, double weightFactor) {
+    public RouteCandidate generateSnappedRoute(String name, double startLat, double startLng,
+                                               double endLat, double endLng) {
+        return generateSnappedRoute(name, startLat, startLng, endLat, endLng, DistanceWeight.INSTANCE);
+    }
 
-        // Weighted A* call
-        List<Node> path = aStarService.findPath(start, goal, weightFactor);
+    /**
+     * Same as generateSnappedRoute, optimal under the given metric.
+     */
+    public RouteCandidate generateSnappedRoute(String name, double startLat, double startLng,
+                                               double endLat, double endLng, WeightFunction weight) {
 
-        double distanceKm = aStarService.totalDistanceKm(path);
-        double durationMin = (distanceKm / 40.0) * 60;
+        RoadGraph graph = roadNetworkService.getGraph();
+        if (graph == null) return null;
 
-        RouteCandidate c = new RouteCandidate();
-        c.setRouteName(name);
-        c.setPathNodes(path);
+        int source = roadNetworkService.snapNode(startLat, startLng);
+        int target = roadNetworkService.snapNode(endLat, endLng);
+        if (source < 0 || target < 0) return null;
 
-        // For map rendering
-        c.setCoordinates(
-                path.stream()
-                        .map(n -> new double[]{n.getLat(), n.getLng()})
-                        .toList()
-        );
+        return generateRoadRoute(name, graph, source, target, weight);
+    }
 
-        c.setTotalDistanceKm(distanceKm);
-        c.setTotalDurationMin(durationMin);
+    /**
+     * Road route under any metric, e.g. TimeWeight.FREE_FLOW for the fastest
+     * route. The distance metric goes through shortestPath (and so the CH when
+     * enabled); other metrics run metric-aware A*. Returns null when unreachable.
+     */
+    public RouteCandidate generateRoadRoute(String name, RoadGraph graph, int source, int target, WeightFunction weight) {
 
-        // ⭐ NEW: Add Turn-by-Turn Instructions
-        c.setTurnByTurn(navService.generateDirections(path));
+        GraphPath path = weight == DistanceWeight.INSTANCE
+                ? shortestPath(graph, source, target)
+                : aStarService.findPath(graph, source, target, weight);
+        if (!path.isFound()) return null;
 
-        return c;
+        return roadCandidate(name, graph, path, path.travelTimeHours(graph));
     }
 
+    /**
+     * Genuinely different routes between two nodes of one graph, from one pair
+     * of shared search trees (see AlternativeRoutes). The first is optimal under
+     * the metric and gets firstName; the rest are "Alternative Route 1", 2, ...
+     * Empty when the target is unreachable.
+     */
+    public List<RouteCandidate> generateAlternativeRoutes(String firstName, RoadGraph graph,
+                                                          int source, int target, WeightFunction weight) {
+
+        List<GraphPath> paths = aStarService.findAlternatives(graph, source, target, maxAlternatives, weight);
+
+        List<RouteCandidate> routes = new ArrayList<>();
+        for (int i = 0; i < paths.size(); i++) {
+            String name = i == 0 ? firstName : "Alternative Route " + i;
+            routes.add(roadCandidate(name, graph, paths.get(i), paths.get(i).travelTimeHours(graph)));
+        }
+        return routes;
+    }
 
     /**
-     * Used for completely different alternative graph routes
+     * Quickest route under live traffic weights (ALT landmarks over TrafficData).
+     * Returns null when traffic routing is off, still preprocessing, or the target is unreachable.
      */
-    public RouteCandidate generateSingleRoute(String name, List<Node> graph) {
+    public RouteCandidate generateTrafficRoute(String name, RoadGraph graph, int source, int target) {
 
-        Node start = graph.get(0);
-        Node end = graph.get(graph.size() - 1);
+        AltAStar alt = roadNetworkService.getTrafficSearch(graph);
+        if (alt == null) return null;
 
-        List<Node> path = aStarService.findPath(start, end, 0.7);
+        TrafficWeights weights = trafficWeightService.current(graph);
+        GraphPath path = alt.findPath(source, target, weights);
+        if (!path.isFound()) return null;
 
-        double distanceKm = aStarService.totalDistanceKm(path);
-        double durationMin = (distanceKm / 40.0) * 60;
+        // Cost is already live travel time in hours
+        return roadCandidate(name, graph, path, path.cost());
+    }
+
+    private RouteCandidate roadCandidate(String name, RoadGraph graph, GraphPath path, double hours) {
+
+        List<Node> nodes = graph.toNodes(path.nodes());
 
         RouteCandidate c = new RouteCandidate();
         c.setRouteName(name);
-        c.setPathNodes(path);
+        c.setPathNodes(nodes);
 
         c.setCoordinates(
-                path.stream()
+                nodes.stream()
                         .map(n -> new double[]{n.getLat(), n.getLng()})
                         .toList()
         );
 
-        c.setTotalDistanceKm(distanceKm);
-        c.setTotalDurationMin(durationMin);
+        c.setTotalDistanceKm(path.distanceKm(graph));
+        c.setTotalDurationMin(hours * 60);
 
-        // ⭐ Turn-by-Turn for single-route builder too
-        c.setTurnByTurn(navService.generateDirections(path));
+        c.setTurnByTurn(navService.generateDirections(nodes));
 
         return c;
     }
 
+    private GraphPath shortestPath(RoadGraph graph, int source, int target) {
+        if ("ch".equalsIgnoreCase(algorithm)) {
+            ContractionHierarchy ch = roadNetworkService.getHierarchy(graph);
+            if (ch != null) return ch.findPath(source, target);
+        }
+        return aStarService.findPath(graph, source, target);
+    }
 }
@@ -0,0 +1,140 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.service;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.TrafficWeights;
+import com.neurofleetx.entity.TrafficData;
+import com.neurofleetx.repository.TrafficRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns recent TrafficData observations into per-edge slowdown factors on
+ * the road graph.
+ *
+ * Every refresh takes the latest observation per location from the last
+ * routing.traffic.window-minutes and slows the edges leaving nodes within
+ * routing.traffic.radius-km of it: by speed limit / observed speed when a
+ * speed was reported, otherwise by congestion level. Overlapping
+ * observations keep the larger factor. A changed result is published as a
+ * new TrafficWeights snapshot with the next epoch; nothing is re-preprocessed,
+ * and only cached routes crossing a changed cell are invalidated.
+ */
+@Slf4j
+@Service
+public class TrafficWeightService {
+
+    private final RoadNetworkService roadNetworkService;
+    private final TrafficRepository trafficRepository;
+    private final RouteCacheService routeCache;
+
+    @Value("${routing.traffic.enabled:false}")
+    private boolean enabled;
+
+    @Value("${routing.traffic.window-minutes:30}")
+    private long windowMinutes;
+
+    @Value("${routing.traffic.radius-km:0.3}")
+    private double radiusKm;
+
+    private volatile TrafficWeights current;
+
+    public TrafficWeightService(RoadNetworkService roadNetworkService,
+                                TrafficRepository trafficRepository,
+                                RouteCacheService routeCache) {
+        this.roadNetworkService = roadNetworkService;
+        this.trafficRepository = trafficRepository;
+        this.routeCache = routeCache;
+    }
+
+    /**
+     * Latest weights for the graph; free flow until the first refresh.
+     */
+    public TrafficWeights current(RoadGraph graph) {
+        TrafficWeights w = current;
+        return w != null && w.graph() == graph ? w : TrafficWeights.freeFlow(graph);
+    }
+
+    // Bumped whenever the weights change; 0 means free flow
+    public long epoch() {
+        TrafficWeights w = current;
+        return w != null ? w.epoch() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${routing.traffic.refresh-ms:15000}")
+    public void refresh() {
+        RoadGraph graph = roadNetworkService.getGraph();
+        if (!enabled || graph == null) return;
+
+        LocalDateTime since = LocalDateTime.now(ZoneId.of("Asia/Kolkata")).minusMinutes(windowMinutes);
+        List<TrafficData> recent = trafficRepository.findByTimestampGreaterThanOrderByTimestampDesc(since);
+
+        float[] factors = new float[graph.edgeCount()];
+        Arrays.fill(factors, 1f);
+
+        // Newest first, so the first observation per location wins
+        Set<String> seen = new HashSet<>();
+        int applied = 0;
+        for (TrafficData t : recent) {
+            if (t.getLatitude() == null || t.getLongitude() == null) continue;
+            String key = t.getLocation() != null ? t.getLocation() : t.getLatitude() + "," + t.getLongitude();
+            if (!seen.add(key)) continue;
+
+            Double avgSpeed = t.getAvgSpeed();
+            float levelFactor = congestionFactor(t);
+            graph.spatialIndex().forEachNodeWithin(graph, t.getLatitude(), t.getLongitude(), radiusKm, v -> {
+                for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                    float f = avgSpeed != null && avgSpeed > 0
+                            ? (float) (graph.speedKmh(e) / avgSpeed)
+                            : levelFactor;
+                    if (f > factors[e]) factors[e] = f;
+                }
+            });
+            applied++;
+        }
+
+        TrafficWeights previous = current(graph);
+        Set<Long> changed = changedCells(graph, previous, factors);
+        if (changed.isEmpty()) return;
+
+        long epoch = previous.epoch() + 1;
+        TrafficWeights next = TrafficWeights.of(graph, factors, epoch);
+        current = next;
+        routeCache.advanceEpoch(previous.epoch(), epoch, changed);
+        log.info("Traffic weights epoch {}: {} observations, {} slowed edges, {} cells changed",
+                epoch, applied, next.slowedEdgeCount(), changed.size());
+    }
+
+    private static float congestionFactor(TrafficData t) {
+        if (t.getCongestionLevel() == null) return 1f;
+        return switch (t.getCongestionLevel()) {
+            case LOW -> 1f;
+            case MEDIUM -> 1.4f;
+            case HIGH -> 2f;
+            case CRITICAL -> 3f;
+        };
+    }
+
+    // Route cache cells (RouteCacheService.COVER_CELL_DEG) holding an edge whose factor changed
+    private static Set<Long> changedCells(RoadGraph graph, TrafficWeights previous, float[] factors) {
+        Set<Long> cells = new HashSet<>();
+        for (int u = 0, n = graph.nodeCount(); u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                float f = Math.max(1f, Math.min(TrafficWeights.MAX_FACTOR, factors[e]));
+                if (previous.factor(e) != f) {
+                    cells.add(RouteCacheService.coverCell(graph.lat(u), graph.lng(u)));
+                    break;
+                }
+            }
+        }
+        return cells;
+    }
+}
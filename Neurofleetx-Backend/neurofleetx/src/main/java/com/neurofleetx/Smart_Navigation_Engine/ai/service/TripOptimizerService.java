@@ -0,0 +1,210 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.service;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.vrp.VrpProblem;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.vrp.VrpSolution;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.vrp.VrpSolver;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.MatrixRequest;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.MatrixResponse;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.OptimizeRequest;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.OptimizeResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Multi-stop trip planning: assigns stops to vehicles and orders them,
+ * respecting stop time windows, vehicle capacity and driver shifts, with
+ * the least total travel time.
+ *
+ * Travel times and distances between every vehicle start/end and stop come
+ * from MatrixService. routing.vrp.threads solvers then search in parallel
+ * from different seeds (the first one from the plain regret construction)
+ * until the time budget runs out, and the best plan wins.
+ */
+@Slf4j
+@Service
+public class TripOptimizerService {
+
+    private final MatrixService matrixService;
+
+    // 0 = one per core
+    @Value("${routing.vrp.threads:0}")
+    private int threads;
+
+    @Value("${routing.vrp.default-budget-ms:2000}")
+    private long defaultBudgetMs;
+
+    @Value("${routing.vrp.max-budget-ms:10000}")
+    private long maxBudgetMs;
+
+    private ExecutorService workers;
+    private int poolSize;
+
+    public TripOptimizerService(MatrixService matrixService) {
+        this.matrixService = matrixService;
+    }
+
+    @PostConstruct
+    void init() {
+        poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        workers = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "trip-optimizer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public OptimizeResponse optimize(OptimizeRequest request) {
+        long started = System.currentTimeMillis();
+
+        // 1️⃣ Validate
+        List<OptimizeRequest.VehicleSpec> vehicles = request.getVehicles();
+        List<OptimizeRequest.StopSpec> stops = request.getStops();
+        if (vehicles == null || vehicles.isEmpty()) throw new IllegalArgumentException("vehicles must not be empty");
+        if (stops == null) stops = List.of();
+        long budgetMs = request.getTimeBudgetMs() != null ? request.getTimeBudgetMs() : defaultBudgetMs;
+        budgetMs = Math.max(0, Math.min(budgetMs, maxBudgetMs));
+
+        // 2️⃣ Locations: stops first, then each vehicle's start and end
+        List<double[]> points = new ArrayList<>();
+        for (OptimizeRequest.StopSpec s : stops) points.add(new double[]{s.getLat(), s.getLng()});
+        int[] endLocation = new int[vehicles.size()];
+        for (int v = 0; v < vehicles.size(); v++) {
+            OptimizeRequest.VehicleSpec spec = vehicles.get(v);
+            points.add(new double[]{spec.getStartLat(), spec.getStartLng()});
+            if ((spec.getEndLat() == null) != (spec.getEndLng() == null)) {
+                throw new IllegalArgumentException("Vehicle " + spec.getVehicleId() + " needs both endLat and endLng");
+            }
+            if (spec.getEndLat() != null) {
+                endLocation[v] = points.size();
+                points.add(new double[]{spec.getEndLat(), spec.getEndLng()});
+            } else {
+                endLocation[v] = VrpProblem.OPEN_END;
+            }
+        }
+
+        // 3️⃣ Travel matrices over the road network
+        MatrixResponse time = matrixService.compute(squareMatrix(points, "time"));
+        MatrixResponse distance = matrixService.compute(squareMatrix(points, "distance"));
+
+        // 4️⃣ Problem
+        VrpProblem.Builder builder = new VrpProblem.Builder(points.size(), time.getValues(), distance.getValues());
+        for (int i = 0; i < stops.size(); i++) {
+            OptimizeRequest.StopSpec s = stops.get(i);
+            builder.addStop(i, s.getDemand(), s.getServiceMin(),
+                    s.getReadyMin() != null ? s.getReadyMin() : Double.NEGATIVE_INFINITY,
+                    s.getDueMin() != null ? s.getDueMin() : Double.POSITIVE_INFINITY);
+        }
+        int location = stops.size();
+        for (int v = 0; v < vehicles.size(); v++) {
+            OptimizeRequest.VehicleSpec spec = vehicles.get(v);
+            builder.addVehicle(location, endLocation[v],
+                    spec.getCapacity() != null ? spec.getCapacity() : Integer.MAX_VALUE,
+                    spec.getShiftStartMin(),
+                    spec.getShiftEndMin() != null ? spec.getShiftEndMin() : Double.POSITIVE_INFINITY);
+            location += endLocation[v] == VrpProblem.OPEN_END ? 1 : 2;
+        }
+        VrpProblem problem = builder.build();
+
+        // 5️⃣ Parallel search, best plan wins
+        VrpSolution best = solve(problem, System.nanoTime() + budgetMs * 1_000_000);
+
+        // 6️⃣ Response
+        OptimizeResponse response = toResponse(problem, best, vehicles, stops);
+        response.setApproximate(time.isApproximate());
+        response.setComputeMs(System.currentTimeMillis() - started);
+        log.debug("Optimized {} stops on {} vehicles in {} ms: {} min, {} unassigned", stops.size(),
+                vehicles.size(), response.getComputeMs(), Math.round(best.travelMinutes()), best.unassigned().length);
+        return response;
+    }
+
+    private VrpSolution solve(VrpProblem problem, long deadline) {
+        List<Callable<VrpSolution>> tasks = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            long seed = i;
+            boolean randomStart = i > 0;
+            tasks.add(() -> new VrpSolver(problem, seed).solve(deadline, randomStart));
+        }
+        try {
+            VrpSolution best = null;
+            for (Future<VrpSolution> f : workers.invokeAll(tasks)) {
+                VrpSolution s = f.get();
+                if (s.isBetterThan(best)) best = s;
+            }
+            return best;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Trip optimization interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Trip optimization failed", e.getCause());
+        }
+    }
+
+    private OptimizeResponse toResponse(VrpProblem problem, VrpSolution solution,
+                                        List<OptimizeRequest.VehicleSpec> vehicles,
+                                        List<OptimizeRequest.StopSpec> stops) {
+        List<OptimizeResponse.VehicleRoute> routes = new ArrayList<>();
+        double totalTravel = 0, totalDistance = 0;
+        for (int v = 0; v < vehicles.size(); v++) {
+            int[] order = solution.route(v);
+            OptimizeResponse.VehicleRoute r = new OptimizeResponse.VehicleRoute();
+            r.setVehicleId(vehicles.get(v).getVehicleId());
+            r.setStartMin(vehicles.get(v).getShiftStartMin());
+
+            List<OptimizeResponse.Visit> visits = new ArrayList<>();
+            for (VrpProblem.Visit visit : problem.schedule(v, order)) {
+                OptimizeRequest.StopSpec spec = stops.get(visit.stop());
+                OptimizeResponse.Visit out = new OptimizeResponse.Visit();
+                out.setStopId(spec.getStopId());
+                out.setLat(spec.getLat());
+                out.setLng(spec.getLng());
+                out.setArrivalMin(visit.arrival());
+                out.setServiceStartMin(visit.serviceStart());
+                out.setDepartureMin(visit.departure());
+                out.setLoad(visit.load());
+                visits.add(out);
+            }
+            r.setStops(visits);
+            r.setLoad(visits.isEmpty() ? 0 : visits.get(visits.size() - 1).getLoad());
+            r.setTravelMin(problem.travelMinutes(v, order));
+            r.setDistanceKm(problem.distanceKm(v, order));
+            r.setFinishMin(problem.finishTime(v, order));
+            totalTravel += r.getTravelMin();
+            totalDistance += r.getDistanceKm();
+            routes.add(r);
+        }
+
+        List<String> unassigned = new ArrayList<>();
+        for (int s : solution.unassigned()) unassigned.add(stops.get(s).getStopId());
+
+        OptimizeResponse response = new OptimizeResponse();
+        response.setRoutes(routes);
+        response.setUnassigned(unassigned);
+        response.setTotalTravelMin(totalTravel);
+        response.setTotalDistanceKm(totalDistance);
+        return response;
+    }
+
+    private static MatrixRequest squareMatrix(List<double[]> points, String metric) {
+        MatrixRequest m = new MatrixRequest();
+        m.setSources(points);
+        m.setDestinations(points);
+        m.setMetric(metric);
+        return m;
+    }
+}
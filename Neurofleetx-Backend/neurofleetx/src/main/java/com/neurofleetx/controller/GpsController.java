@@ -1,12 +1,29 @@
 package com.neurofleetx.controller;
 
+import com.neurofleetx.dto.CompactTrackDTO;
 import com.neurofleetx.dto.FleetStatusDTO;
+import com.neurofleetx.dto.GpsBatchResponse;
+import com.neurofleetx.dto.GpsFixRequest;
+import com.neurofleetx.dto.GpsPointDTO;
+import com.neurofleetx.dto.MatchedTrackDTO;
 import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.service.FleetStreamService;
+import com.neurofleetx.service.GpsHistoryService;
+import com.neurofleetx.service.GpsQueueFullException;
 import com.neurofleetx.service.GpsService;
+import com.neurofleetx.service.MapMatchingService;
+import com.neurofleetx.service.TrackSimplificationService;
+import com.neurofleetx.util.TrackEncoder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 
 @RestController
@@ -17,19 +34,34 @@ public class GpsController {
     @Autowired
     private GpsService gpsService;
 
+    @Autowired
+    private FleetStreamService fleetStreamService;
+
+    @Autowired
+    private GpsHistoryService gpsHistoryService;
+
+    @Autowired
+    private TrackSimplificationService trackSimplificationService;
+
+    @Autowired
+    private MapMatchingService mapMatchingService;
+
     // ======================================================
     // 1️⃣ VEHICLE-BASED GPS LOG (existing / hardware GPS)
     // Used for fleet tracking, admin live map
+    // deviceTime (epoch ms) and seq are optional; with seq, retries are idempotent
     // ======================================================
     @PostMapping("/log")
     public ResponseEntity<GpsLog> logGps(
             @RequestParam Long vehicleId,
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam Double speed
+            @RequestParam Double speed,
+            @RequestParam(required = false) Long deviceTime,
+            @RequestParam(required = false) Long seq
     ) {
         return ResponseEntity.ok(
-                gpsService.createGpsLog(vehicleId, latitude, longitude, speed)
+                gpsService.createGpsLog(vehicleId, latitude, longitude, speed, deviceTime, seq)
         );
     }
 
@@ -42,10 +74,12 @@ public class GpsController {
             @RequestParam Long tripId,
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam Double speed
+            @RequestParam Double speed,
+            @RequestParam(required = false) Long deviceTime,
+            @RequestParam(required = false) Long seq
     ) {
         return ResponseEntity.ok(
-                gpsService.createGpsLogForTrip(tripId, latitude, longitude, speed)
+                gpsService.createGpsLogForTrip(tripId, latitude, longitude, speed, deviceTime, seq)
         );
     }
 
@@ -63,6 +97,24 @@ public class GpsController {
             return ResponseEntity.ok(
                     gpsService.createLogByText(registrationNo, location, speed)
             );
+        } catch (GpsQueueFullException e) {
+            return tooManyRequests(e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ======================================================
+    // 3️⃣b BATCH GPS LOGGING
+    // Devices upload buffered fixes; retry only the rejected indexes
+    // ======================================================
+    @PostMapping("/batch")
+    public ResponseEntity<?> logGpsBatch(@RequestBody List<GpsFixRequest> fixes) {
+        try {
+            GpsBatchResponse response = gpsService.createGpsLogBatch(fixes);
+            return ResponseEntity.ok(response);
+        } catch (GpsQueueFullException e) {
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -71,27 +123,134 @@ public class GpsController {
     // ======================================================
     // 4️⃣ GET GPS HISTORY FOR A VEHICLE
     // Used by vehicle status & admin
+    // Without paging params: full list (legacy). With from/to/cursor/limit:
+    // one keyset page of lean points, newest first.
     // ======================================================
     @GetMapping("/vehicle/{vehicleId}")
-    public ResponseEntity<List<GpsLog>> getVehicleGpsLogs(
-            @PathVariable Long vehicleId
+    public ResponseEntity<?> getVehicleGpsLogs(
+            @PathVariable Long vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
-        return ResponseEntity.ok(
-                gpsService.getVehicleLocation(vehicleId)
-        );
+        if (from == null && to == null && cursor == null && limit == null) {
+            return ResponseEntity.ok(gpsService.getVehicleLocation(vehicleId));
+        }
+        try {
+            return ResponseEntity.ok(
+                    gpsHistoryService.getVehicleHistory(vehicleId, from, to, cursor, limit)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     // ======================================================
     // 5️⃣ GET GPS HISTORY FOR A TRIP (NEW)
     // Used by trip summary page
+    // Paging params switch to keyset pages, oldest first.
     // ======================================================
     @GetMapping("/trip/{tripId}")
-    public ResponseEntity<List<GpsLog>> getTripGpsLogs(
-            @PathVariable Long tripId
+    public ResponseEntity<?> getTripGpsLogs(
+            @PathVariable Long tripId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
-        return ResponseEntity.ok(
-                gpsService.getGpsLogsByTrip(tripId)
-        );
+        if (from == null && to == null && cursor == null && limit == null) {
+            return ResponseEntity.ok(gpsService.getGpsLogsByTrip(tripId));
+        }
+        try {
+            return ResponseEntity.ok(
+                    gpsHistoryService.getTripHistory(tripId, from, to, cursor, limit)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ======================================================
+    // 5️⃣b COMPACT TRIP TRACK (selected by Accept header)
+    // application/vnd.neurofleetx.track+json -> delta-encoded columns
+    // application/vnd.neurofleetx.track      -> zigzag varint binary
+    // ======================================================
+    @GetMapping(value = "/trip/{tripId}", produces = TrackEncoder.TRACK_JSON_VALUE)
+    public ResponseEntity<CompactTrackDTO> getTripTrackCompact(@PathVariable Long tripId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TrackEncoder.TRACK_JSON_VALUE))
+                .body(TrackEncoder.toCompactJson(gpsHistoryService.getTripTrack(tripId)));
+    }
+
+    @GetMapping(value = "/trip/{tripId}", produces = TrackEncoder.TRACK_BINARY_VALUE)
+    public ResponseEntity<byte[]> getTripTrackBinary(@PathVariable Long tripId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TrackEncoder.TRACK_BINARY_VALUE))
+                .body(TrackEncoder.toBinary(gpsHistoryService.getTripTrack(tripId)));
+    }
+
+    // ======================================================
+    // 5️⃣c SIMPLIFIED TRIP TRACK (trip summary / playback)
+    // tolerance in metres; timeAware keeps stops & speed changes
+    // Same compact Accept types as the raw track
+    // ======================================================
+    @GetMapping("/trip/{tripId}/simplified")
+    public ResponseEntity<List<GpsPointDTO>> getSimplifiedTripTrack(
+            @PathVariable Long tripId,
+            @RequestParam(defaultValue = "10") double tolerance,
+            @RequestParam(defaultValue = "true") boolean timeAware
+    ) {
+        return ResponseEntity.ok(simplified(tripId, tolerance, timeAware));
+    }
+
+    @GetMapping(value = "/trip/{tripId}/simplified", produces = TrackEncoder.TRACK_JSON_VALUE)
+    public ResponseEntity<CompactTrackDTO> getSimplifiedTripTrackCompact(
+            @PathVariable Long tripId,
+            @RequestParam(defaultValue = "10") double tolerance,
+            @RequestParam(defaultValue = "true") boolean timeAware
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TrackEncoder.TRACK_JSON_VALUE))
+                .body(TrackEncoder.toCompactJson(simplified(tripId, tolerance, timeAware)));
+    }
+
+    @GetMapping(value = "/trip/{tripId}/simplified", produces = TrackEncoder.TRACK_BINARY_VALUE)
+    public ResponseEntity<byte[]> getSimplifiedTripTrackBinary(
+            @PathVariable Long tripId,
+            @RequestParam(defaultValue = "10") double tolerance,
+            @RequestParam(defaultValue = "true") boolean timeAware
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TrackEncoder.TRACK_BINARY_VALUE))
+                .body(TrackEncoder.toBinary(simplified(tripId, tolerance, timeAware)));
+    }
+
+    private List<GpsPointDTO> simplified(Long tripId, double tolerance, boolean timeAware) {
+        if (tolerance <= 0) {
+            throw new IllegalArgumentException("tolerance must be positive");
+        }
+        return trackSimplificationService.getSimplifiedTrack(tripId, tolerance, timeAware);
+    }
+
+    // ======================================================
+    // 5️⃣d MAP-MATCHED TRIP TRACK (distance, per-road speeds, replay)
+    // Whole stored track matched onto the road network
+    // ======================================================
+    @GetMapping("/trip/{tripId}/matched")
+    public ResponseEntity<?> getMatchedTripTrack(@PathVariable Long tripId) {
+        MatchedTrackDTO matched = mapMatchingService.matchTrip(tripId);
+        if (matched == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Road network not loaded");
+        }
+        return ResponseEntity.ok(matched);
+    }
+
+    // Active trip: fixes matched so far, the newest ones still pending
+    @GetMapping("/trip/{tripId}/matched/live")
+    public ResponseEntity<MatchedTrackDTO> getLiveMatchedTripTrack(@PathVariable Long tripId) {
+        MatchedTrackDTO matched = mapMatchingService.getLive(tripId);
+        return matched != null ? ResponseEntity.ok(matched) : ResponseEntity.notFound().build();
     }
 
     // ======================================================
@@ -103,4 +262,40 @@ public class GpsController {
                 gpsService.getFleetStatus()
         );
     }
+
+    // ======================================================
+    // 7️⃣ LIVE FLEET STREAM (SSE, replaces polling fleet-live)
+    // Snapshot first, then per-vehicle position deltas
+    // ======================================================
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFleet(
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLng,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLng,
+            @RequestParam(required = false) List<Long> vehicleIds
+    ) {
+        return fleetStreamService.subscribe(
+                minLat, minLng, maxLat, maxLng,
+                vehicleIds != null ? new HashSet<>(vehicleIds) : null
+        );
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // /log and /trip/log; the other ingestion endpoints catch it before their 400 fallback
+    @ExceptionHandler(GpsQueueFullException.class)
+    public ResponseEntity<?> handleQueueFull(GpsQueueFullException e) {
+        return tooManyRequests(e);
+    }
+
+    // Async ingestion backpressure: devices keep the fixes and retry after a pause
+    private ResponseEntity<?> tooManyRequests(GpsQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .body(e.getMessage());
+    }
 }
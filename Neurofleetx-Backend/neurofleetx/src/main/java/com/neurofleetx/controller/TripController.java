@@ -1,6 +1,7 @@
 package com.neurofleetx.controller;
 
 import com.neurofleetx.dto.TripCreateDTO;
+import com.neurofleetx.dto.TripDTO;
 import com.neurofleetx.entity.Trip;
 import com.neurofleetx.service.TripService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +27,11 @@ public class TripController {
         return ResponseEntity.ok(tripService.getTripById(id));
     }
 
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<TripDTO> getTripSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(tripService.getTripSummary(id));
+    }
+
     @GetMapping("/driver/{driverId}")
     public ResponseEntity<List<Trip>> getTripsByDriver(@PathVariable Long driverId) {
         return ResponseEntity.ok(tripService.getTripsByDriver(driverId));
@@ -0,0 +1,23 @@
+package com.neurofleetx.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Columnar, delta-encoded track (Accept: application/vnd.neurofleetx.track+json).
+ * value[i] = value[i-1] + delta[i]; the first delta is relative to startTime / 0.
+ * lat/lng are scaled by coordScale, speed by speedScale.
+ */
+@Data
+@NoArgsConstructor
+public class CompactTrackDTO {
+    private int count;
+    private long startTime;      // epoch millis
+    private int coordScale;
+    private int speedScale;
+
+    private long[] t;            // millis deltas
+    private int[] lat;
+    private int[] lng;
+    private int[] speed;
+}
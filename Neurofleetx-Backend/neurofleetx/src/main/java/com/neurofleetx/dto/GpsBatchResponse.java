@@ -0,0 +1,47 @@
+package com.neurofleetx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class GpsBatchResponse {
+
+    private int accepted;
+    private int rejected;
+
+    // Accepted fixes that had already been stored (retried uploads); included in accepted
+    private int duplicates;
+
+    // One entry per submitted fix, in request order
+    private List<ItemResult> results = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private boolean accepted;
+        private String reason;
+    }
+
+    public void accept(int index) {
+        results.add(new ItemResult(index, true, null));
+        accepted++;
+    }
+
+    public void duplicate(int index) {
+        results.add(new ItemResult(index, true, "duplicate"));
+        accepted++;
+        duplicates++;
+    }
+
+    public void reject(int index, String reason) {
+        results.add(new ItemResult(index, false, reason));
+        rejected++;
+    }
+}
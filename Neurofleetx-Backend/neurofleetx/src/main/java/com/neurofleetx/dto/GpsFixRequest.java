@@ -0,0 +1,20 @@
+package com.neurofleetx.dto;
+
+import lombok.Data;
+
+@Data
+public class GpsFixRequest {
+    // Exactly one of vehicleId / tripId identifies the fix (tripId wins if both are set)
+    private Long vehicleId;
+    private Long tripId;
+
+    private Double latitude;
+    private Double longitude;
+    private Double speed;
+
+    // Device clock, epoch millis (server time is used when missing)
+    private Long timestamp;
+
+    // Device sequence number, used to drop retried duplicates
+    private Long seq;
+}
@@ -0,0 +1,17 @@
+package com.neurofleetx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GpsHistoryPage {
+    private List<GpsPointDTO> points;
+
+    // Pass back as ?cursor= to get the next page; null when the window is exhausted
+    private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.neurofleetx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Lean history row: no Vehicle / Trip graph attached
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GpsPointDTO {
+    private Long id;
+    private Double latitude;
+    private Double longitude;
+    private Double speed;
+    private LocalDateTime loggedAt;
+}
@@ -0,0 +1,51 @@
+package com.neurofleetx.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// GPS track matched onto the road graph: distance, per-road speeds, replay geometry
+@Data
+public class MatchedTrackDTO {
+    private Long tripId;
+
+    private int fixes;
+    private int matchedFixes;
+    // Continuous matched stretches; a new one starts where the track cannot be followed on the roads
+    private int chains;
+    // Live tracks only: fixes waiting for the lag window before they are matched
+    private int pendingFixes;
+
+    private double rawDistanceKm;
+    private double matchedDistanceKm;
+
+    private List<MatchedPointDTO> points = new ArrayList<>();
+    // Roads in driving order; consecutive fixes on one road are merged
+    private List<RoadSpeedDTO> roads = new ArrayList<>();
+    // [lat, lng] along the roads, one list per chain
+    private List<List<double[]>> path = new ArrayList<>();
+
+    @Data
+    public static class MatchedPointDTO {
+        private LocalDateTime loggedAt;
+        private double latitude;
+        private double longitude;
+        private double matchedLatitude;
+        private double matchedLongitude;
+        // Road distance from the previous matched fix over the time between them; null at a chain start
+        private Double speedKmh;
+    }
+
+    @Data
+    public static class RoadSpeedDTO {
+        private int edge;
+        private double fromLat;
+        private double fromLng;
+        private double toLat;
+        private double toLng;
+        private double km;
+        private Double speedKmh;
+    }
+}
@@ -33,7 +33,17 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "gps_log")
+@Table(
+        name = "gps_log",
+        // Retried uploads carry the same device sequence and are dropped by the DB
+        uniqueConstraints = @UniqueConstraint(name = "uk_gps_vehicle_seq", columnNames = {"vehicle_id", "device_seq"}),
+        indexes = {
+                @Index(name = "idx_gps_vehicle_time", columnList = "vehicle_id, logged_at"),
+                @Index(name = "idx_gps_trip_time", columnList = "trip_id, logged_at"),
+                // Hour-slice scans of the tiering job
+                @Index(name = "idx_gps_time", columnList = "logged_at")
+        }
+)
 public class GpsLog {
 
     @Id
@@ -47,6 +57,10 @@ public class GpsLog {
     @Column(name = "logged_at")
     private LocalDateTime loggedAt;
 
+    // Per-device monotonic counter; null for legacy clients
+    @Column(name = "device_seq")
+    private Long deviceSeq;
+
     // 🔥 LINK TO VEHICLE (needed for fleet tracking)
     @ManyToOne
     @JoinColumn(name = "vehicle_id")
@@ -99,6 +113,14 @@ public class GpsLog {
         this.loggedAt = loggedAt;
     }
 
+    public Long getDeviceSeq() {
+        return deviceSeq;
+    }
+
+    public void setDeviceSeq(Long deviceSeq) {
+        this.deviceSeq = deviceSeq;
+    }
+
     public Vehicle getVehicle() {
         return vehicle;
     }
@@ -0,0 +1,54 @@
+package com.neurofleetx.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold tier of gps_log: one row per vehicle, trip and minute, written by
+ * GpsTieringJob once raw fixes are older than the retention window.
+ */
+@Entity
+@Table(
+        name = "gps_rollup",
+        indexes = {
+                @Index(name = "idx_rollup_vehicle_time", columnList = "vehicle_id, bucket_start"),
+                @Index(name = "idx_rollup_trip_time", columnList = "trip_id, bucket_start")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GpsRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain ids: rollups outlive the raw rows and are never navigated as a graph
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Column(name = "trip_id")
+    private Long tripId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    private Integer sampleCount;
+
+    private Double minSpeed;
+    private Double maxSpeed;
+    private Double avgSpeed;
+
+    private Double firstLat;
+    private Double firstLng;
+    private LocalDateTime firstAt;
+
+    private Double lastLat;
+    private Double lastLng;
+    private LocalDateTime lastAt;
+
+    private Double distanceKm;
+}
@@ -35,6 +35,12 @@ public class Trip {
     private Double distance;
     private Double fuelConsumed;
 
+    // GPS-derived figures, filled in when the trip ends
+    private Long movingSeconds;
+    private Long idleSeconds;
+    private Double maxSpeed;
+    private Double avgSpeed;
+
     @Enumerated(EnumType.STRING)
     private TripStatus status = TripStatus.PENDING;
 
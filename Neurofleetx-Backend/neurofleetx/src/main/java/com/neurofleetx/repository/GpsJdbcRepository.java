@@ -0,0 +1,229 @@
+package com.neurofleetx.repository;
+
+import com.neurofleetx.dto.FleetStatusDTO;
+import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.entity.GpsRollup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC writer for gps_log.
+ * GpsLog uses IDENTITY ids, which stops Hibernate from batching inserts,
+ * so bulk ingestion goes through JdbcTemplate.batchUpdate instead.
+ * (Add rewriteBatchedStatements=true to the MySQL URL to get multi-row INSERTs.)
+ *
+ * Update counts cannot tell a duplicate from an insert: Connector/J reports
+ * 1 for an ON DUPLICATE KEY no-op unless the URL sets useAffectedRows=true,
+ * and SUCCESS_NO_INFO for every row once rewriteBatchedStatements=true.
+ * Callers therefore ask findStoredSeqs which sequences are already stored
+ * before inserting; the ON DUPLICATE KEY clause only keeps a fix that races
+ * past that check from being stored twice.
+ */
+@Repository
+public class GpsJdbcRepository {
+
+    // ON DUPLICATE KEY (not INSERT IGNORE) so only the sequence key is ignored, never FK errors
+    private static final String INSERT_SQL =
+            "INSERT INTO gps_log (latitude, longitude, speed, logged_at, vehicle_id, trip_id, device_seq) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+
+    // Newest fix per vehicle in one pass (MySQL 8 window function) instead of a query per vehicle
+    private static final String LATEST_PER_VEHICLE_SQL =
+            "SELECT g.vehicle_id, v.registration_no, v.vehicle_type, d.name AS driver_name, " +
+            "       g.latitude, g.longitude, g.speed, g.logged_at " +
+            "FROM (SELECT vehicle_id, latitude, longitude, speed, logged_at, " +
+            "             ROW_NUMBER() OVER (PARTITION BY vehicle_id ORDER BY logged_at DESC, id DESC) AS rn " +
+            "      FROM gps_log WHERE vehicle_id IS NOT NULL) g " +
+            "JOIN vehicle v ON v.vehicle_id = g.vehicle_id " +
+            "LEFT JOIN driver d ON d.driver_id = v.driver_id " +
+            "WHERE g.rn = 1";
+
+    // Equality per vehicle keeps the scan (and its locks) on idx_gps_vehicle_time within the slice
+    private static final String CHUNK_WHERE =
+            "WHERE vehicle_id IN (%s) AND logged_at >= ? AND logged_at < ?";
+
+    private static final String INSERT_ROLLUP_SQL =
+            "INSERT INTO gps_rollup (vehicle_id, trip_id, bucket_start, sample_count, " +
+            "min_speed, max_speed, avg_speed, first_lat, first_lng, first_at, " +
+            "last_lat, last_lng, last_at, distance_km) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public int[] batchInsert(List<GpsLog> logs) {
+        if (logs.isEmpty()) return new int[0];
+
+        return jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                GpsLog log = logs.get(i);
+                ps.setDouble(1, log.getLatitude());
+                ps.setDouble(2, log.getLongitude());
+                ps.setDouble(3, log.getSpeed());
+                ps.setTimestamp(4, Timestamp.valueOf(log.getLoggedAt()));
+
+                if (log.getVehicle() != null) ps.setLong(5, log.getVehicle().getVehicleId());
+                else ps.setNull(5, Types.BIGINT);
+
+                if (log.getTrip() != null) ps.setLong(6, log.getTrip().getTripId());
+                else ps.setNull(6, Types.BIGINT);
+
+                if (log.getDeviceSeq() != null) ps.setLong(7, log.getDeviceSeq());
+                else ps.setNull(7, Types.BIGINT);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return logs.size();
+            }
+        });
+    }
+
+    /**
+     * The given device sequences of the vehicle that gps_log already holds
+     * (one lookup on the uk_gps_vehicle_seq key).
+     */
+    public Set<Long> findStoredSeqs(Long vehicleId, Collection<Long> seqs) {
+        if (vehicleId == null || seqs.isEmpty()) return Set.of();
+
+        String placeholders = String.join(", ", Collections.nCopies(seqs.size(), "?"));
+        List<Object> args = new ArrayList<>(seqs.size() + 1);
+        args.add(vehicleId);
+        args.addAll(seqs);
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT device_seq FROM gps_log WHERE vehicle_id = ? AND device_seq IN (" + placeholders + ")",
+                Long.class, args.toArray()));
+    }
+
+    public List<FleetStatusDTO> findLatestPositions() {
+        return jdbcTemplate.query(LATEST_PER_VEHICLE_SQL, (rs, rowNum) -> {
+            String driverName = rs.getString("driver_name");
+            return new FleetStatusDTO(
+                    rs.getLong("vehicle_id"),
+                    rs.getString("registration_no"),
+                    rs.getString("vehicle_type"),
+                    driverName != null ? driverName : "Unassigned",
+                    rs.getDouble("latitude"),
+                    rs.getDouble("longitude"),
+                    rs.getDouble("speed"),
+                    null,
+                    rs.getTimestamp("logged_at").toLocalDateTime().toString()
+            );
+        });
+    }
+
+    // ======================================================
+    // TIERING (raw gps_log -> gps_rollup)
+    // ======================================================
+    public LocalDateTime findOldestLoggedAt() {
+        Timestamp ts = jdbcTemplate.queryForObject("SELECT MIN(logged_at) FROM gps_log", Timestamp.class);
+        return ts != null ? ts.toLocalDateTime() : null;
+    }
+
+    public List<Long> findVehicleIds() {
+        return jdbcTemplate.queryForList("SELECT vehicle_id FROM vehicle ORDER BY vehicle_id", Long.class);
+    }
+
+    /**
+     * Rows of the vehicles in [from, to) in rollup order, pushed to the
+     * handler one at a time and locked until the transaction ends, so
+     * deleteChunk removes exactly the rows that were read.
+     *
+     * Connector/J streams only with a forward-only statement and a fetch
+     * size of Integer.MIN_VALUE; any other setting buffers the whole result
+     * in the heap. The connection cannot run another statement until the
+     * handler has seen the last row.
+     */
+    public void streamChunk(List<Long> vehicleIds, LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+        String sql = "SELECT vehicle_id, trip_id, latitude, longitude, speed, logged_at FROM gps_log " +
+                chunkWhere(vehicleIds) + " ORDER BY vehicle_id, trip_id, logged_at, id FOR UPDATE";
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            setChunk(ps, vehicleIds, from, to);
+            return ps;
+        }, handler);
+    }
+
+    public int[] batchInsertRollups(List<GpsRollup> rollups) {
+        if (rollups.isEmpty()) return new int[0];
+
+        return jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                GpsRollup r = rollups.get(i);
+                ps.setLong(1, r.getVehicleId());
+                if (r.getTripId() != null) ps.setLong(2, r.getTripId());
+                else ps.setNull(2, Types.BIGINT);
+                ps.setTimestamp(3, Timestamp.valueOf(r.getBucketStart()));
+                ps.setInt(4, r.getSampleCount());
+                // Null when no fix of the minute reported a speed
+                setNullableDouble(ps, 5, r.getMinSpeed());
+                setNullableDouble(ps, 6, r.getMaxSpeed());
+                setNullableDouble(ps, 7, r.getAvgSpeed());
+                ps.setDouble(8, r.getFirstLat());
+                ps.setDouble(9, r.getFirstLng());
+                ps.setTimestamp(10, Timestamp.valueOf(r.getFirstAt()));
+                ps.setDouble(11, r.getLastLat());
+                ps.setDouble(12, r.getLastLng());
+                ps.setTimestamp(13, Timestamp.valueOf(r.getLastAt()));
+                ps.setDouble(14, r.getDistanceKm());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rollups.size();
+            }
+        });
+    }
+
+    // Same predicate as streamChunk, whose locks keep late fixes out of it
+    public int deleteChunk(List<Long> vehicleIds, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update("DELETE FROM gps_log " + chunkWhere(vehicleIds),
+                ps -> setChunk(ps, vehicleIds, from, to));
+    }
+
+    // Fixes without a vehicle are never rolled up
+    public int deleteUnownedSlice(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update("DELETE FROM gps_log WHERE vehicle_id IS NULL AND logged_at >= ? AND logged_at < ?",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public int deleteRollupsBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM gps_rollup WHERE bucket_start < ?", Timestamp.valueOf(cutoff));
+    }
+
+    private static String chunkWhere(List<Long> vehicleIds) {
+        return CHUNK_WHERE.formatted(String.join(", ", Collections.nCopies(vehicleIds.size(), "?")));
+    }
+
+    private static void setChunk(PreparedStatement ps, List<Long> vehicleIds, LocalDateTime from, LocalDateTime to)
+            throws SQLException {
+        int i = 1;
+        for (Long id : vehicleIds) ps.setLong(i++, id);
+        ps.setTimestamp(i++, Timestamp.valueOf(from));
+        ps.setTimestamp(i, Timestamp.valueOf(to));
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value != null) ps.setDouble(index, value);
+        else ps.setNull(index, Types.DOUBLE);
+    }
+}
@@ -18,10 +18,19 @@
 //}
 package com.neurofleetx.repository;
 
+import com.neurofleetx.dto.GpsPointDTO;
 import com.neurofleetx.entity.GpsLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface GpsRepository extends JpaRepository<GpsLog, Long> {
 
@@ -37,4 +46,45 @@ public interface GpsRepository extends JpaRepository<GpsLog, Long> {
             nativeQuery = true
     )
     GpsLog findLatestByVehicleId(Long vehicleId);
+
+    // Keyset page of a vehicle's history, newest first, strictly after the (cursorAt, cursorId) cursor.
+    // Served by idx_gps_vehicle_time (vehicle_id, logged_at).
+    @Query("SELECT new com.neurofleetx.dto.GpsPointDTO(g.id, g.latitude, g.longitude, g.speed, g.loggedAt) " +
+            "FROM GpsLog g " +
+            "WHERE g.vehicle.vehicleId = :vehicleId AND g.loggedAt >= :from " +
+            "AND (g.loggedAt < :cursorAt OR (g.loggedAt = :cursorAt AND g.id < :cursorId)) " +
+            "ORDER BY g.loggedAt DESC, g.id DESC")
+    List<GpsPointDTO> findVehicleHistoryPage(
+            @Param("vehicleId") Long vehicleId,
+            @Param("from") LocalDateTime from,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            Pageable page
+    );
+
+    // Keyset page of a trip track, oldest first. Served by idx_gps_trip_time (trip_id, logged_at).
+    @Query("SELECT new com.neurofleetx.dto.GpsPointDTO(g.id, g.latitude, g.longitude, g.speed, g.loggedAt) " +
+            "FROM GpsLog g " +
+            "WHERE g.trip.tripId = :tripId AND g.loggedAt <= :to " +
+            "AND (g.loggedAt > :cursorAt OR (g.loggedAt = :cursorAt AND g.id > :cursorId)) " +
+            "ORDER BY g.loggedAt ASC, g.id ASC")
+    List<GpsPointDTO> findTripHistoryPage(
+            @Param("tripId") Long tripId,
+            @Param("to") LocalDateTime to,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            Pageable page
+    );
+
+    // Whole trip track as lean points, replay order (compact encodings)
+    @Query("SELECT new com.neurofleetx.dto.GpsPointDTO(g.id, g.latitude, g.longitude, g.speed, g.loggedAt) " +
+            "FROM GpsLog g WHERE g.trip.tripId = :tripId ORDER BY g.loggedAt ASC, g.id ASC")
+    List<GpsPointDTO> findTripTrack(@Param("tripId") Long tripId);
+
+    // Same track as a forward-only cursor (MySQL streams rows with fetch size MIN_VALUE).
+    // Caller must consume it inside a read-only transaction and close it.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.neurofleetx.dto.GpsPointDTO(g.id, g.latitude, g.longitude, g.speed, g.loggedAt) " +
+            "FROM GpsLog g WHERE g.trip.tripId = :tripId ORDER BY g.loggedAt ASC, g.id ASC")
+    Stream<GpsPointDTO> streamTripTrack(@Param("tripId") Long tripId);
 }
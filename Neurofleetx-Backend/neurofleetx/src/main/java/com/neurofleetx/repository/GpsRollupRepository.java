@@ -0,0 +1,45 @@
+package com.neurofleetx.repository;
+
+import com.neurofleetx.dto.GpsPointDTO;
+import com.neurofleetx.entity.GpsRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Rollups are exposed as history points: last position of the minute, average speed
+public interface GpsRollupRepository extends JpaRepository<GpsRollup, Long> {
+
+    @Query("SELECT new com.neurofleetx.dto.GpsPointDTO(r.id, r.lastLat, r.lastLng, r.avgSpeed, r.bucketStart) " +
+            "FROM GpsRollup r " +
+            "WHERE r.vehicleId = :vehicleId AND r.bucketStart >= :from " +
+            "AND (r.bucketStart < :cursorAt OR (r.bucketStart = :cursorAt AND r.id < :cursorId)) " +
+            "ORDER BY r.bucketStart DESC, r.id DESC")
+    List<GpsPointDTO> findVehicleRollupPage(
+            @Param("vehicleId") Long vehicleId,
+            @Param("from") LocalDateTime from,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            Pageable page
+    );
+
+    @Query("SELECT new com.neurofleetx.dto.GpsPointDTO(r.id, r.lastLat, r.lastLng, r.avgSpeed, r.bucketStart) " +
+            "FROM GpsRollup r " +
+            "WHERE r.tripId = :tripId AND r.bucketStart <= :to " +
+            "AND (r.bucketStart > :cursorAt OR (r.bucketStart = :cursorAt AND r.id > :cursorId)) " +
+            "ORDER BY r.bucketStart ASC, r.id ASC")
+    List<GpsPointDTO> findTripRollupPage(
+            @Param("tripId") Long tripId,
+            @Param("to") LocalDateTime to,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            Pageable page
+    );
+
+    @Query("SELECT new com.neurofleetx.dto.GpsPointDTO(r.id, r.lastLat, r.lastLng, r.avgSpeed, r.bucketStart) " +
+            "FROM GpsRollup r WHERE r.tripId = :tripId ORDER BY r.bucketStart ASC, r.id ASC")
+    List<GpsPointDTO> findTripRollups(@Param("tripId") Long tripId);
+}
@@ -0,0 +1,211 @@
+package com.neurofleetx.scheduler;
+
+import com.neurofleetx.entity.GpsRollup;
+import com.neurofleetx.repository.GpsJdbcRepository;
+import com.neurofleetx.service.TrackSimplificationService;
+import com.neurofleetx.util.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hot/cold tiering of GPS history.
+ *
+ * Raw fixes older than gps.tiering.raw-days are folded into per-vehicle,
+ * per-trip, per-minute rows of gps_rollup and deleted from gps_log, so
+ * gps_log only holds the recent working set. Rollups themselves are dropped
+ * after gps.tiering.rollup-days.
+ *
+ * Work goes oldest hour first, and within an hour gps.tiering.vehicles-per-chunk
+ * vehicles per transaction: the chunk's rows are streamed under row locks,
+ * folded, written as rollups and deleted, so neither the heap nor one
+ * transaction ever holds a whole fleet-hour.
+ */
+@Slf4j
+@Component
+public class GpsTieringJob {
+
+    @Autowired
+    private GpsJdbcRepository gpsJdbcRepository;
+
+    @Autowired
+    private TrackSimplificationService trackSimplificationService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${gps.tiering.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gps.tiering.raw-days:30}")
+    private int rawDays;
+
+    @Value("${gps.tiering.rollup-days:365}")
+    private int rollupDays;
+
+    // Caps one run so a large backlog is worked off over several runs
+    @Value("${gps.tiering.max-slices-per-run:48}")
+    private int maxSlicesPerRun;
+
+    @Value("${gps.tiering.vehicles-per-chunk:50}")
+    private int vehiclesPerChunk;
+
+    @Value("${gps.tiering.insert-batch-size:500}")
+    private int insertBatchSize;
+
+    public GpsTieringJob(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${gps.tiering.cron:0 15 * * * *}")
+    public void run() {
+        if (!enabled) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        int slices = compact(now.minusDays(rawDays).truncatedTo(ChronoUnit.HOURS));
+
+        int expired = gpsJdbcRepository.deleteRollupsBefore(now.minusDays(rollupDays).truncatedTo(ChronoUnit.DAYS));
+        // Which trips lost rollups is not known here; expiry is rare enough to drop them all
+        if (expired > 0) trackSimplificationService.evictAll();
+        if (slices > 0 || expired > 0) {
+            log.info("GPS tiering: {} hour slices compacted, {} expired rollups removed", slices, expired);
+        }
+    }
+
+    // ======================================================
+    // COMPACTION: hour slices, a chunk of vehicles per transaction
+    // ======================================================
+    int compact(LocalDateTime cutoff) {
+        LocalDateTime oldest = gpsJdbcRepository.findOldestLoggedAt();
+        if (oldest == null) return 0;
+
+        // gps_log.vehicle_id references vehicle, so every owned fix belongs to one of these
+        List<Long> vehicleIds = gpsJdbcRepository.findVehicleIds();
+
+        int slices = 0;
+        LocalDateTime sliceStart = oldest.truncatedTo(ChronoUnit.HOURS);
+        while (sliceStart.isBefore(cutoff) && slices < maxSlicesPerRun) {
+            LocalDateTime from = sliceStart;
+            LocalDateTime to = sliceStart.plusHours(1);
+
+            for (int i = 0; i < vehicleIds.size(); i += vehiclesPerChunk) {
+                List<Long> chunk = vehicleIds.subList(i, Math.min(i + vehiclesPerChunk, vehicleIds.size()));
+                // Rollups and the delete commit together, so a fix is always in exactly one tier
+                Set<Long> trips = new HashSet<>();
+                transactionTemplate.executeWithoutResult(status -> compactChunk(chunk, from, to, trips));
+                // Cached simplifications of those trips were made from the raw fixes
+                trips.forEach(trackSimplificationService::evict);
+            }
+            gpsJdbcRepository.deleteUnownedSlice(from, to);
+
+            sliceStart = to;
+            slices++;
+        }
+        return slices;
+    }
+
+    private void compactChunk(List<Long> vehicleIds, LocalDateTime from, LocalDateTime to, Set<Long> trips) {
+        // Collected first: the connection is busy until the stream is drained.
+        // A minute bucket folds ~30 fixes, so this stays far smaller than the rows.
+        List<GpsRollup> rollups = new ArrayList<>();
+        BucketFolder folder = new BucketFolder(rollup -> {
+            if (rollup.getTripId() != null) trips.add(rollup.getTripId());
+            rollups.add(rollup);
+        });
+
+        gpsJdbcRepository.streamChunk(vehicleIds, from, to, rs -> folder.add(
+                rs.getLong("vehicle_id"),
+                rs.getObject("trip_id", Long.class),
+                rs.getDouble("latitude"),
+                rs.getDouble("longitude"),
+                rs.getObject("speed", Double.class),
+                rs.getTimestamp("logged_at").toLocalDateTime()));
+        folder.finish();
+        if (rollups.isEmpty()) return;
+
+        for (int i = 0; i < rollups.size(); i += insertBatchSize) {
+            gpsJdbcRepository.batchInsertRollups(rollups.subList(i, Math.min(i + insertBatchSize, rollups.size())));
+        }
+        gpsJdbcRepository.deleteChunk(vehicleIds, from, to);
+    }
+
+    /**
+     * Folds rows ordered by (vehicle, trip, time) into minute buckets.
+     * Distance of a bucket is the path length ending in it, including the hop
+     * from the previous bucket of the same vehicle and trip. Fixes without a
+     * speed count as samples and for distance but not for the speed figures,
+     * which stay null for a minute without any speed.
+     */
+    static final class BucketFolder {
+
+        private final Consumer<GpsRollup> sink;
+
+        private GpsRollup current;
+        private double speedSum;
+        private int speedCount;
+
+        BucketFolder(Consumer<GpsRollup> sink) {
+            this.sink = sink;
+        }
+
+        void add(long vehicleId, Long tripId, double lat, double lng, Double speed, LocalDateTime at) {
+            LocalDateTime bucket = at.truncatedTo(ChronoUnit.MINUTES);
+
+            boolean sameTrack = current != null
+                    && current.getVehicleId() == vehicleId
+                    && Objects.equals(current.getTripId(), tripId);
+
+            if (sameTrack && current.getBucketStart().equals(bucket)) {
+                current.setDistanceKm(current.getDistanceKm()
+                        + GeoUtils.haversineDistanceKm(current.getLastLat(), current.getLastLng(), lat, lng));
+                current.setSampleCount(current.getSampleCount() + 1);
+                current.setLastLat(lat);
+                current.setLastLng(lng);
+                current.setLastAt(at);
+                addSpeed(speed);
+                return;
+            }
+
+            double hop = sameTrack
+                    ? GeoUtils.haversineDistanceKm(current.getLastLat(), current.getLastLng(), lat, lng)
+                    : 0.0;
+            finish();
+
+            current = new GpsRollup(null, vehicleId, tripId, bucket, 1,
+                    null, null, null,
+                    lat, lng, at,
+                    lat, lng, at,
+                    hop);
+            speedSum = 0;
+            speedCount = 0;
+            addSpeed(speed);
+        }
+
+        private void addSpeed(Double speed) {
+            if (speed == null) return;
+            current.setMinSpeed(current.getMinSpeed() == null ? speed : Math.min(current.getMinSpeed(), speed));
+            current.setMaxSpeed(current.getMaxSpeed() == null ? speed : Math.max(current.getMaxSpeed(), speed));
+            speedSum += speed;
+            speedCount++;
+        }
+
+        void finish() {
+            if (current == null) return;
+            current.setAvgSpeed(speedCount > 0 ? speedSum / speedCount : null);
+            sink.accept(current);
+            current = null;
+        }
+    }
+}
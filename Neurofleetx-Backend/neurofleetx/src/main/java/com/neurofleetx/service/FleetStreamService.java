@@ -0,0 +1,243 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.FleetStatusDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes position deltas to dashboards over SSE (GET /api/gps/stream).
+ *
+ * Each subscriber has a pending map keyed by vehicleId: publishing just
+ * overwrites the vehicle's pending event and schedules one flush, so a slow
+ * client receives the newest state per vehicle instead of a backlog. A
+ * vehicle that moves out of the subscriber's bbox (or is deleted) gets a
+ * "leave" event so the client can drop its marker.
+ *
+ * Flushes run on virtual threads, so a client whose socket stops draining
+ * parks only its own flush. A subscriber whose send has been blocked for
+ * gps.stream.send-timeout-ms, or whose pending map outgrows
+ * gps.stream.max-pending, is completed; it reconnects and gets a fresh
+ * snapshot.
+ */
+@Slf4j
+@Service
+public class FleetStreamService {
+
+    static final String POSITION = "position";
+    static final String LEAVE = "leave";
+
+    @Autowired
+    private LatestPositionStore latestPositionStore;
+
+    @Value("${gps.stream.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${gps.stream.max-pending:10000}")
+    private int maxPending;
+
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private ExecutorService sender;
+
+    record Event(String name, Object data) {
+    }
+
+    static final class Subscriber {
+        final SseEmitter emitter;
+        final Double minLat, minLng, maxLat, maxLng;
+        final Set<Long> vehicleIds;
+
+        final ConcurrentHashMap<Long, Event> pending = new ConcurrentHashMap<>();
+        // Vehicles the client was last told are inside its view
+        final Set<Long> inside = ConcurrentHashMap.newKeySet();
+        final AtomicBoolean flushScheduled = new AtomicBoolean();
+        volatile boolean heartbeatDue;
+        // System.nanoTime() when the send in progress started, 0 when idle
+        volatile long sendingSince;
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Double minLat, Double minLng, Double maxLat, Double maxLng,
+                   Set<Long> vehicleIds) {
+            this.emitter = emitter;
+            this.minLat = minLat;
+            this.minLng = minLng;
+            this.maxLat = maxLat;
+            this.maxLng = maxLng;
+            this.vehicleIds = vehicleIds;
+        }
+
+        boolean matches(FleetStatusDTO p) {
+            if (vehicleIds != null && !vehicleIds.isEmpty() && !vehicleIds.contains(p.getVehicleId())) {
+                return false;
+            }
+            if (p.getLatitude() == null || p.getLongitude() == null) return false;
+            if (minLat != null && p.getLatitude() < minLat) return false;
+            if (maxLat != null && p.getLatitude() > maxLat) return false;
+            if (minLng != null && p.getLongitude() < minLng) return false;
+            if (maxLng != null && p.getLongitude() > maxLng) return false;
+            return true;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fleet-stream-sender-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(s -> s.emitter.complete());
+        sender.shutdownNow();
+    }
+
+    // ======================================================
+    // SUBSCRIBE: current snapshot first, then deltas only
+    // ======================================================
+    public SseEmitter subscribe(Double minLat, Double minLng, Double maxLat, Double maxLng, Set<Long> vehicleIds) {
+        return subscribe(new SseEmitter(0L), minLat, minLng, maxLat, maxLng, vehicleIds); // no server-side timeout
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Double minLat, Double minLng, Double maxLat, Double maxLng,
+                         Set<Long> vehicleIds) {
+        Subscriber sub = new Subscriber(emitter, minLat, minLng, maxLat, maxLng, vehicleIds);
+
+        emitter.onCompletion(() -> close(sub));
+        emitter.onTimeout(() -> close(sub));
+        emitter.onError(e -> close(sub));
+
+        subscribers.add(sub);
+
+        for (FleetStatusDTO p : latestPositionStore.snapshot()) {
+            if (sub.matches(p)) enqueue(sub, p.getVehicleId(), new Event(POSITION, p), true);
+        }
+        scheduleFlush(sub);
+        return emitter;
+    }
+
+    // ======================================================
+    // PUBLISH (called by GpsService on every newer position)
+    // ======================================================
+    public void publish(FleetStatusDTO position) {
+        for (Subscriber sub : subscribers) {
+            if (sub.matches(position)) {
+                enqueue(sub, position.getVehicleId(), new Event(POSITION, position), true);
+            } else if (sub.inside.contains(position.getVehicleId())) {
+                enqueue(sub, position.getVehicleId(), leave(position.getVehicleId()), false);
+            } else {
+                continue;
+            }
+            scheduleFlush(sub);
+        }
+    }
+
+    /**
+     * The vehicle is gone (deleted): every client showing it gets a leave event.
+     */
+    public void remove(Long vehicleId) {
+        for (Subscriber sub : subscribers) {
+            if (!sub.inside.contains(vehicleId)) continue;
+            enqueue(sub, vehicleId, leave(vehicleId), false);
+            scheduleFlush(sub);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private static Event leave(Long vehicleId) {
+        return new Event(LEAVE, Map.of("vehicleId", vehicleId));
+    }
+
+    private void enqueue(Subscriber sub, Long vehicleId, Event event, boolean entering) {
+        if (entering) sub.inside.add(vehicleId);
+        else sub.inside.remove(vehicleId);
+        sub.pending.put(vehicleId, event);
+    }
+
+    private void scheduleFlush(Subscriber sub) {
+        if (sub.closed || (sub.pending.isEmpty() && !sub.heartbeatDue)) return;
+        if (sub.pending.size() > maxPending) {
+            completeSlow(sub, sub.pending.size() + " updates pending");
+            return;
+        }
+        if (sub.flushScheduled.compareAndSet(false, true)) {
+            sender.execute(() -> flush(sub));
+        }
+    }
+
+    private void flush(Subscriber sub) {
+        do {
+            if (sub.heartbeatDue) {
+                sub.heartbeatDue = false;
+                if (!send(sub, SseEmitter.event().comment("keep-alive"))) return;
+            }
+            Iterator<Map.Entry<Long, Event>> it = sub.pending.entrySet().iterator();
+            while (it.hasNext() && !sub.closed) {
+                Map.Entry<Long, Event> e = it.next();
+                // remove(key, value) keeps an update that raced in after we read the entry
+                if (!sub.pending.remove(e.getKey(), e.getValue())) continue;
+                if (!send(sub, SseEmitter.event().name(e.getValue().name()).data(e.getValue().data()))) return;
+            }
+            sub.flushScheduled.set(false);
+            // Re-check: an update may have arrived between the last send and the reset
+        } while (!sub.closed && (!sub.pending.isEmpty() || sub.heartbeatDue)
+                && sub.flushScheduled.compareAndSet(false, true));
+    }
+
+    private boolean send(Subscriber sub, SseEmitter.SseEventBuilder event) {
+        sub.sendingSince = System.nanoTime();
+        try {
+            sub.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            close(sub);
+            return false;
+        } finally {
+            sub.sendingSince = 0;
+        }
+    }
+
+    // Keeps proxies from closing idle streams, detects dead clients and drops stuck ones
+    @Scheduled(fixedRate = 15000)
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber sub : subscribers) {
+            long since = sub.sendingSince;
+            if (since != 0 && now - since > sendTimeoutMs * 1_000_000) {
+                completeSlow(sub, "send blocked for " + (now - since) / 1_000_000 + " ms");
+                continue;
+            }
+            sub.heartbeatDue = true;
+            scheduleFlush(sub);
+        }
+    }
+
+    private void completeSlow(Subscriber sub, String reason) {
+        log.warn("Closing slow fleet stream subscriber: {}", reason);
+        close(sub);
+        // complete() waits for the emitter's write lock, which the stuck send holds
+        sender.execute(sub.emitter::complete);
+    }
+
+    private void close(Subscriber sub) {
+        sub.closed = true;
+        sub.pending.clear();
+        subscribers.remove(sub);
+    }
+}
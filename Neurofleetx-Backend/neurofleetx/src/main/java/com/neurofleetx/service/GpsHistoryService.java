@@ -0,0 +1,143 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.GpsHistoryPage;
+import com.neurofleetx.dto.GpsPointDTO;
+import com.neurofleetx.repository.GpsRepository;
+import com.neurofleetx.repository.GpsRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Windowed, keyset-paginated GPS history.
+ * Cursors are "loggedAt_id" of the last row returned, so each page is an
+ * index range scan regardless of how deep the client has paged.
+ *
+ * History spans two tiers: raw gps_log (recent) and per-minute gps_rollup
+ * (older, see GpsTieringJob). Pages are stitched across the boundary and
+ * cursors inside the rollup tier carry an "_m" suffix.
+ */
+@Service
+public class GpsHistoryService {
+
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    @Autowired
+    private GpsRepository gpsRepository;
+
+    @Autowired
+    private GpsRollupRepository gpsRollupRepository;
+
+    @Value("${gps.history.default-limit:500}")
+    private int defaultLimit;
+
+    @Value("${gps.history.max-limit:5000}")
+    private int maxLimit;
+
+    // ======================================================
+    // VEHICLE HISTORY (newest first)
+    // ======================================================
+    public GpsHistoryPage getVehicleHistory(Long vehicleId, LocalDateTime from, LocalDateTime to,
+                                            String cursor, Integer limit) {
+        int size = clampLimit(limit);
+        LocalDateTime lower = from != null ? from : MIN_TIME;
+        Cursor c = cursor != null ? Cursor.parse(cursor) : new Cursor(to != null ? to : MAX_TIME, Long.MAX_VALUE, false);
+
+        // Raw tier holds the newest fixes, so it is read first
+        List<GpsPointDTO> points = new ArrayList<>(c.rollup ? List.of() :
+                gpsRepository.findVehicleHistoryPage(vehicleId, lower, c.loggedAt, c.id, Pageable.ofSize(size)));
+        int rawCount = points.size();
+
+        if (points.size() < size) {
+            Cursor r = c.rollup ? c : new Cursor(c.loggedAt, Long.MAX_VALUE, true);
+            points.addAll(gpsRollupRepository.findVehicleRollupPage(
+                    vehicleId, lower, r.loggedAt, r.id, Pageable.ofSize(size - points.size())));
+        }
+
+        return new GpsHistoryPage(points, nextCursor(points, size, c.rollup || points.size() > rawCount));
+    }
+
+    // ======================================================
+    // TRIP HISTORY (oldest first, replay order)
+    // ======================================================
+    public GpsHistoryPage getTripHistory(Long tripId, LocalDateTime from, LocalDateTime to,
+                                         String cursor, Integer limit) {
+        int size = clampLimit(limit);
+        LocalDateTime upper = to != null ? to : MAX_TIME;
+        Cursor c = cursor != null ? Cursor.parse(cursor) : new Cursor(from != null ? from : MIN_TIME, Long.MIN_VALUE, true);
+
+        // Rollup tier holds the oldest part of the trip, so replay starts there
+        List<GpsPointDTO> points = new ArrayList<>();
+        if (c.rollup) {
+            points.addAll(gpsRollupRepository.findTripRollupPage(
+                    tripId, upper, c.loggedAt, c.id, Pageable.ofSize(size)));
+        }
+        int rollupCount = points.size();
+
+        if (points.size() < size) {
+            Cursor r = c.rollup ? new Cursor(c.loggedAt, Long.MIN_VALUE, false) : c;
+            points.addAll(gpsRepository.findTripHistoryPage(
+                    tripId, upper, r.loggedAt, r.id, Pageable.ofSize(size - points.size())));
+        }
+
+        return new GpsHistoryPage(points, nextCursor(points, size, points.size() == rollupCount));
+    }
+
+    // ======================================================
+    // FULL TRIP TRACK (lean points, for compact encodings)
+    // ======================================================
+    public List<GpsPointDTO> getTripTrack(Long tripId) {
+        List<GpsPointDTO> track = new ArrayList<>(gpsRollupRepository.findTripRollups(tripId));
+        track.addAll(gpsRepository.findTripTrack(tripId));
+        return track;
+    }
+
+    private int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) return defaultLimit;
+        return Math.min(limit, maxLimit);
+    }
+
+    // A short page means the window is exhausted
+    private String nextCursor(List<GpsPointDTO> points, int size, boolean lastIsRollup) {
+        if (points.size() < size) return null;
+        GpsPointDTO last = points.get(points.size() - 1);
+        return new Cursor(last.getLoggedAt(), last.getId(), lastIsRollup).format();
+    }
+
+    static final class Cursor {
+        private static final String ROLLUP_SUFFIX = "_m";
+
+        final LocalDateTime loggedAt;
+        final long id;
+        final boolean rollup;
+
+        Cursor(LocalDateTime loggedAt, long id, boolean rollup) {
+            this.loggedAt = loggedAt;
+            this.id = id;
+            this.rollup = rollup;
+        }
+
+        String format() {
+            return loggedAt + "_" + id + (rollup ? ROLLUP_SUFFIX : "");
+        }
+
+        static Cursor parse(String s) {
+            boolean rollup = s.endsWith(ROLLUP_SUFFIX);
+            if (rollup) s = s.substring(0, s.length() - ROLLUP_SUFFIX.length());
+
+            int sep = s.lastIndexOf('_');
+            if (sep <= 0) throw new IllegalArgumentException("Invalid cursor: " + s);
+            try {
+                return new Cursor(LocalDateTime.parse(s.substring(0, sep)), Long.parseLong(s.substring(sep + 1)), rollup);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + s);
+            }
+        }
+    }
+}
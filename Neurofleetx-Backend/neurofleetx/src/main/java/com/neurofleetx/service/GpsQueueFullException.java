@@ -0,0 +1,17 @@
+package com.neurofleetx.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Raised when the GPS write-behind queue is full; devices should back off and retry.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class GpsQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public GpsQueueFullException() {
+        super("GPS ingestion queue is full, retry later");
+    }
+}
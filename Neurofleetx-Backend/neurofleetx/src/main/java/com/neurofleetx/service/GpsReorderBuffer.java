@@ -0,0 +1,122 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.FleetStatusDTO;
+import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.entity.TripStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies stored fixes to derived in-memory state (latest position, live
+ * stream, trip odometer) in event-time order.
+ *
+ * Fixes are held per vehicle for gps.ingest.reorder-window-ms after arrival,
+ * so a fix delayed by a patchy connection can still slot in before newer ones.
+ * A window of 0 applies every fix immediately.
+ */
+@Service
+public class GpsReorderBuffer {
+
+    private static final Comparator<Held> EVENT_ORDER = Comparator
+            .comparing((Held h) -> h.gpsLog.getLoggedAt())
+            .thenComparing(h -> h.gpsLog.getDeviceSeq() != null ? h.gpsLog.getDeviceSeq() : Long.MAX_VALUE);
+
+    @Autowired
+    private LatestPositionStore latestPositionStore;
+
+    @Autowired
+    private FleetStreamService fleetStreamService;
+
+    @Autowired
+    private TripStatsService tripStatsService;
+
+    @Autowired
+    private MapMatchingService mapMatchingService;
+
+    @Autowired
+    private TrackSimplificationService trackSimplificationService;
+
+    @Value("${gps.ingest.reorder-window-ms:1000}")
+    private long windowMs;
+
+    // Upper bound per vehicle; beyond it the oldest fixes are released early
+    @Value("${gps.ingest.reorder-max-held:64}")
+    private int maxHeld;
+
+    private final Map<Long, PriorityQueue<Held>> lanes = new ConcurrentHashMap<>();
+
+    public void submit(GpsLog gpsLog) {
+        if (windowMs <= 0 || gpsLog.getVehicle() == null) {
+            apply(gpsLog);
+            return;
+        }
+
+        PriorityQueue<Held> lane = lanes.computeIfAbsent(
+                gpsLog.getVehicle().getVehicleId(), id -> new PriorityQueue<>(EVENT_ORDER));
+        synchronized (lane) {
+            lane.add(new Held(gpsLog, System.currentTimeMillis()));
+            releaseDue(lane, System.currentTimeMillis());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gps.ingest.reorder-flush-ms:250}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (PriorityQueue<Held> lane : lanes.values()) {
+            synchronized (lane) {
+                releaseDue(lane, now);
+            }
+        }
+    }
+
+    /**
+     * Applies everything held for the vehicle now, e.g. before its trip's
+     * figures are frozen.
+     */
+    public void flush(Long vehicleId) {
+        PriorityQueue<Held> lane = lanes.get(vehicleId);
+        if (lane == null) return;
+        synchronized (lane) {
+            while (!lane.isEmpty()) apply(lane.poll().gpsLog);
+        }
+    }
+
+    // Called with the lane locked, so one vehicle's fixes are applied strictly in order
+    private void releaseDue(PriorityQueue<Held> lane, long now) {
+        while (!lane.isEmpty()) {
+            Held head = lane.peek();
+            if (head.arrivedAt + windowMs > now && lane.size() <= maxHeld) return;
+            apply(lane.poll().gpsLog);
+        }
+    }
+
+    private void apply(GpsLog gpsLog) {
+        FleetStatusDTO latest = latestPositionStore.update(gpsLog);
+        if (latest != null) {
+            fleetStreamService.publish(latest);
+        }
+        tripStatsService.record(gpsLog);
+        mapMatchingService.record(gpsLog);
+        // A late fix changes a completed trip's track, whose simplification may be cached
+        if (gpsLog.getTrip() != null && gpsLog.getTrip().getStatus() == TripStatus.COMPLETED) {
+            trackSimplificationService.evict(gpsLog.getTrip().getTripId());
+        }
+    }
+
+    private static final class Held {
+        final GpsLog gpsLog;
+        final long arrivedAt;
+
+        Held(GpsLog gpsLog, long arrivedAt) {
+            this.gpsLog = gpsLog;
+            this.arrivedAt = arrivedAt;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.neurofleetx.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory duplicate filter for device sequence numbers.
+ *
+ * Each vehicle keeps a sliding bitmap of the last N sequence numbers seen,
+ * so a retried upload is recognised without touching the DB. Anything older
+ * than the window (or seen before a restart) falls through to a
+ * (vehicle_id, device_seq) lookup in gps_log, see GpsService.
+ */
+@Service
+public class GpsSequenceTracker {
+
+    private final int windowBits;
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+
+    public GpsSequenceTracker(@Value("${gps.ingest.dedup-window:1024}") int window) {
+        // Power of two so the bit index is a mask
+        this.windowBits = Integer.highestOneBit(Math.max(64, window));
+    }
+
+    /**
+     * Marks the sequence as seen. Sequences are non-negative (GpsService
+     * rejects the rest); a negative one would pass the window's empty check
+     * on every call.
+     * @return false if it is a known duplicate
+     */
+    public boolean markIfNew(Long vehicleId, Long seq) {
+        if (vehicleId == null || seq == null) return true;
+        if (seq < 0) throw new IllegalArgumentException("seq must not be negative");
+        return windows.computeIfAbsent(vehicleId, id -> new Window(windowBits)).mark(seq);
+    }
+
+    // Undo a mark when the fix could not be stored, so the client's retry is not dropped
+    public void forget(Long vehicleId, Long seq) {
+        if (vehicleId == null || seq == null) return;
+        Window w = windows.get(vehicleId);
+        if (w != null) w.clear(seq);
+    }
+
+    private static final class Window {
+        private final long[] bits;
+        private final int size;
+        private long highest = -1;
+
+        Window(int size) {
+            this.size = size;
+            this.bits = new long[size / 64];
+        }
+
+        synchronized boolean mark(long seq) {
+            if (highest < 0 || seq > highest) {
+                advanceTo(seq);
+                set(seq);
+                return true;
+            }
+            // Too old to tell: let the DB lookup decide
+            if (seq <= highest - size) return true;
+
+            if (isSet(seq)) return false;
+            set(seq);
+            return true;
+        }
+
+        synchronized void clear(long seq) {
+            if (highest >= 0 && seq <= highest && seq > highest - size) {
+                bits[index(seq) >>> 6] &= ~(1L << index(seq));
+            }
+        }
+
+        // Slide the window forward, clearing the slots that now belong to new sequence numbers
+        private void advanceTo(long seq) {
+            if (highest < 0 || seq - highest >= size) {
+                Arrays.fill(bits, 0L);
+            } else {
+                for (long s = highest + 1; s <= seq; s++) {
+                    bits[index(s) >>> 6] &= ~(1L << index(s));
+                }
+            }
+            highest = seq;
+        }
+
+        private void set(long seq) {
+            bits[index(seq) >>> 6] |= 1L << index(seq);
+        }
+
+        private boolean isSet(long seq) {
+            return (bits[index(seq) >>> 6] & (1L << index(seq))) != 0;
+        }
+
+        private int index(long seq) {
+            return (int) (seq & (size - 1));
+        }
+    }
+}
@@ -115,20 +115,34 @@
 package com.neurofleetx.service;
 
 import com.neurofleetx.dto.FleetStatusDTO;
+import com.neurofleetx.dto.GpsBatchResponse;
+import com.neurofleetx.dto.GpsFixRequest;
 import com.neurofleetx.entity.GpsLog;
 import com.neurofleetx.entity.Trip;
 import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.GpsJdbcRepository;
 import com.neurofleetx.repository.GpsRepository;
 import com.neurofleetx.repository.TripRepository;
 import com.neurofleetx.repository.VehicleRepository;
 import com.neurofleetx.util.LocationResolver;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class GpsService {
@@ -142,6 +156,28 @@ public class GpsService {
     @Autowired
     private TripRepository tripRepository;
 
+    @Autowired
+    private GpsJdbcRepository gpsJdbcRepository;
+
+    @Autowired
+    private LatestPositionStore latestPositionStore;
+
+    @Autowired
+    private GpsWriteBehindService writeBehind;
+
+    @Autowired
+    private GpsSequenceTracker sequenceTracker;
+
+    @Autowired
+    private GpsReorderBuffer reorderBuffer;
+
+    @Value("${gps.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    // Device clocks ahead of the server by more than this are clamped to server time
+    @Value("${gps.ingest.max-clock-skew-ms:300000}")
+    private long maxClockSkewMs;
+
     private final LocationResolver locationResolver;
 
     @Autowired
@@ -157,8 +193,11 @@ public class GpsService {
             Long vehicleId,
             Double latitude,
             Double longitude,
-            Double speed
+            Double speed,
+            Long deviceTime,
+            Long seq
     ) {
+        requireValidSeq(seq);
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
                 .orElseThrow(() -> new RuntimeException("Vehicle not found"));
 
@@ -167,9 +206,10 @@ public class GpsService {
         gpsLog.setLatitude(latitude);
         gpsLog.setLongitude(longitude);
         gpsLog.setSpeed(speed);
-        gpsLog.setLoggedAt(LocalDateTime.now());
+        gpsLog.setLoggedAt(toLoggedAt(deviceTime));
+        gpsLog.setDeviceSeq(seq);
 
-        return gpsRepository.save(gpsLog);
+        return storeOnce(gpsLog);
     }
 
     // ======================================================
@@ -180,8 +220,11 @@ public class GpsService {
             Long tripId,
             Double latitude,
             Double longitude,
-            Double speed
+            Double speed,
+            Long deviceTime,
+            Long seq
     ) {
+        requireValidSeq(seq);
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new RuntimeException("Trip not found"));
 
@@ -193,9 +236,10 @@ public class GpsService {
         gpsLog.setLatitude(latitude);
         gpsLog.setLongitude(longitude);
         gpsLog.setSpeed(speed);
-        gpsLog.setLoggedAt(LocalDateTime.now());
+        gpsLog.setLoggedAt(toLoggedAt(deviceTime));
+        gpsLog.setDeviceSeq(seq);
 
-        return gpsRepository.save(gpsLog);
+        return storeOnce(gpsLog);
     }
 
     // ======================================================
@@ -228,7 +272,204 @@ public class GpsService {
         vehicle.setCurrentLocation(locationName);
         vehicleRepository.save(vehicle);
 
-        return gpsRepository.save(gpsLog);
+        return accept(store(gpsLog));
+    }
+
+    // ======================================================
+    // 3️⃣b BATCH GPS LOGGING
+    // Many fixes, one transaction, one JDBC batch
+    // ======================================================
+    @Transactional
+    public GpsBatchResponse createGpsLogBatch(List<GpsFixRequest> fixes) {
+
+        GpsBatchResponse response = new GpsBatchResponse();
+        if (fixes == null || fixes.isEmpty()) return response;
+
+        if (fixes.size() > maxBatchSize) {
+            throw new RuntimeException("Batch too large: " + fixes.size() + " > " + maxBatchSize);
+        }
+
+        // Resolve every referenced vehicle / trip with one query each instead of per fix
+        Set<Long> vehicleIds = new HashSet<>();
+        Set<Long> tripIds = new HashSet<>();
+        for (GpsFixRequest fix : fixes) {
+            if (fix == null) continue;
+            if (fix.getTripId() != null) tripIds.add(fix.getTripId());
+            else if (fix.getVehicleId() != null) vehicleIds.add(fix.getVehicleId());
+        }
+
+        Map<Long, Vehicle> vehicles = vehicleRepository.findAllById(vehicleIds).stream()
+                .collect(Collectors.toMap(Vehicle::getVehicleId, Function.identity()));
+        Map<Long, Trip> trips = tripRepository.findAllById(tripIds).stream()
+                .collect(Collectors.toMap(Trip::getTripId, Function.identity()));
+
+        List<GpsLog> rows = new ArrayList<>();
+        List<Integer> rowIndexes = new ArrayList<>();
+
+        for (int i = 0; i < fixes.size(); i++) {
+            GpsFixRequest fix = fixes.get(i);
+
+            String problem = validateFix(fix);
+            if (problem != null) {
+                response.reject(i, problem);
+                continue;
+            }
+
+            GpsLog gpsLog = new GpsLog();
+            if (fix.getTripId() != null) {
+                Trip trip = trips.get(fix.getTripId());
+                if (trip == null) {
+                    response.reject(i, "Trip not found");
+                    continue;
+                }
+                gpsLog.setTrip(trip);
+                gpsLog.setVehicle(trip.getVehicle());
+            } else {
+                Vehicle vehicle = vehicles.get(fix.getVehicleId());
+                if (vehicle == null) {
+                    response.reject(i, "Vehicle not found");
+                    continue;
+                }
+                gpsLog.setVehicle(vehicle);
+            }
+
+            gpsLog.setLatitude(fix.getLatitude());
+            gpsLog.setLongitude(fix.getLongitude());
+            gpsLog.setSpeed(fix.getSpeed() != null ? fix.getSpeed() : 0.0);
+            gpsLog.setLoggedAt(toLoggedAt(fix.getTimestamp()));
+            gpsLog.setDeviceSeq(fix.getSeq());
+
+            // Retried upload already seen in this process: acknowledge without storing again
+            if (!sequenceTracker.markIfNew(gpsLog.getVehicle().getVehicleId(), fix.getSeq())) {
+                response.duplicate(i);
+                continue;
+            }
+
+            rows.add(gpsLog);
+            rowIndexes.add(i);
+        }
+
+        // Retries older than the in-memory window, or from before a restart: ask the DB
+        Set<GpsLog> stored = findStored(rows);
+        for (int r = rows.size() - 1; r >= 0; r--) {
+            if (stored.contains(rows.get(r))) {
+                response.duplicate(rowIndexes.get(r));
+                rows.remove(r);
+                rowIndexes.remove(r);
+            }
+        }
+
+        if (writeBehind.isAsync()) {
+            // Per-item backpressure: whatever does not fit in the queue is rejected for retry
+            boolean[] taken = writeBehind.offer(rows);
+            for (int r = 0; r < rows.size(); r++) {
+                if (taken[r]) {
+                    accept(rows.get(r));
+                    response.accept(rowIndexes.get(r));
+                } else {
+                    forget(rows.get(r));
+                    response.reject(rowIndexes.get(r), "Ingestion queue full, retry later");
+                }
+            }
+            if (response.getAccepted() == 0 && !rows.isEmpty()) {
+                throw new GpsQueueFullException();
+            }
+        } else {
+            try {
+                gpsJdbcRepository.batchInsert(rows);
+            } catch (RuntimeException e) {
+                rows.forEach(this::forget);
+                throw e;
+            }
+            for (int r = 0; r < rows.size(); r++) {
+                accept(rows.get(r));
+                response.accept(rowIndexes.get(r));
+            }
+        }
+
+        response.getResults().sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return response;
+    }
+
+    // Single-fix path with duplicate suppression; a duplicate is acknowledged but not stored again
+    private GpsLog storeOnce(GpsLog gpsLog) {
+        if (!sequenceTracker.markIfNew(gpsLog.getVehicle().getVehicleId(), gpsLog.getDeviceSeq())) {
+            return gpsLog;
+        }
+        // The async writer's insert cannot report a duplicate, so check before queueing
+        if (writeBehind.isAsync() && !findStored(List.of(gpsLog)).isEmpty()) {
+            return gpsLog;
+        }
+        try {
+            return accept(store(gpsLog));
+        } catch (DataIntegrityViolationException e) {
+            if (gpsLog.getDeviceSeq() == null) throw e;
+            return gpsLog;
+        } catch (RuntimeException e) {
+            forget(gpsLog);
+            throw e;
+        }
+    }
+
+    // Rows whose (vehicle, seq) is already in gps_log; one query per vehicle
+    private Set<GpsLog> findStored(List<GpsLog> rows) {
+        Map<Long, List<GpsLog>> byVehicle = new HashMap<>();
+        for (GpsLog row : rows) {
+            if (row.getDeviceSeq() == null) continue;
+            byVehicle.computeIfAbsent(row.getVehicle().getVehicleId(), id -> new ArrayList<>()).add(row);
+        }
+
+        Set<GpsLog> stored = new HashSet<>();
+        for (Map.Entry<Long, List<GpsLog>> e : byVehicle.entrySet()) {
+            Set<Long> seqs = gpsJdbcRepository.findStoredSeqs(e.getKey(),
+                    e.getValue().stream().map(GpsLog::getDeviceSeq).toList());
+            for (GpsLog row : e.getValue()) {
+                if (seqs.contains(row.getDeviceSeq())) stored.add(row);
+            }
+        }
+        return stored;
+    }
+
+    private void forget(GpsLog gpsLog) {
+        sequenceTracker.forget(gpsLog.getVehicle().getVehicleId(), gpsLog.getDeviceSeq());
+    }
+
+    // Sync mode commits before answering; async mode acknowledges once the fix is queued + journaled
+    private GpsLog store(GpsLog gpsLog) {
+        if (!writeBehind.isAsync()) {
+            return gpsRepository.save(gpsLog);
+        }
+        if (!writeBehind.offer(gpsLog)) {
+            throw new GpsQueueFullException();
+        }
+        return gpsLog;
+    }
+
+    // Derived state that must follow every stored fix, applied in event-time order
+    private GpsLog accept(GpsLog gpsLog) {
+        reorderBuffer.submit(gpsLog);
+        return gpsLog;
+    }
+
+    private String validateFix(GpsFixRequest fix) {
+        if (fix == null) return "Empty fix";
+        if (fix.getVehicleId() == null && fix.getTripId() == null) return "vehicleId or tripId is required";
+        if (fix.getLatitude() == null || fix.getLongitude() == null) return "latitude and longitude are required";
+        if (fix.getLatitude() < -90 || fix.getLatitude() > 90) return "latitude out of range";
+        if (fix.getLongitude() < -180 || fix.getLongitude() > 180) return "longitude out of range";
+        if (fix.getSpeed() != null && fix.getSpeed() < 0) return "speed must not be negative";
+        if (fix.getSeq() != null && fix.getSeq() < 0) return "seq must not be negative";
+        return null;
+    }
+
+    private static void requireValidSeq(Long seq) {
+        if (seq != null && seq < 0) throw new IllegalArgumentException("seq must not be negative");
+    }
+
+    private LocalDateTime toLoggedAt(Long epochMillis) {
+        long now = System.currentTimeMillis();
+        if (epochMillis == null || epochMillis > now + maxClockSkewMs) return LocalDateTime.now();
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
     }
 
     // ======================================================
@@ -249,34 +490,7 @@ public class GpsService {
     // 6️⃣ FLEET LIVE STATUS (ADMIN DASHBOARD)
     // ======================================================
     public List<FleetStatusDTO> getFleetStatus() {
-
-        List<Vehicle> vehicles = vehicleRepository.findAll();
-        List<FleetStatusDTO> fleetStatus = new ArrayList<>();
-
-        for (Vehicle v : vehicles) {
-
-            GpsLog lastLog = gpsRepository.findLatestByVehicleId(v.getVehicleId());
-            if (lastLog == null) continue;
-
-            String status = "STOPPED";
-            if (lastLog.getSpeed() > 0 && lastLog.getSpeed() < 10) {
-                status = "IDLING";
-            } else if (lastLog.getSpeed() >= 10) {
-                status = "MOVING";
-            }
-
-            fleetStatus.add(new FleetStatusDTO(
-                    v.getVehicleId(),
-                    v.getRegistrationNo(),
-                    v.getVehicleType(),
-                    v.getDriver() != null ? v.getDriver().getName() : "Unassigned",
-                    lastLog.getLatitude(),
-                    lastLog.getLongitude(),
-                    lastLog.getSpeed(),
-                    status,
-                    lastLog.getLoggedAt().toString()
-            ));
-        }
-        return fleetStatus;
+        // Served from memory: no vehicle scan, no per-vehicle query
+        return latestPositionStore.snapshot();
     }
 }
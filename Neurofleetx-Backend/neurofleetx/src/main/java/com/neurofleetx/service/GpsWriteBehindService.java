@@ -0,0 +1,381 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.entity.Trip;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.GpsJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind pipeline for GPS fixes (gps.ingest.mode=async).
+ *
+ * A fix is acknowledged once it is appended to the spill journal, the
+ * journal is forced to disk and the fix is in the bounded queue; a single
+ * writer thread drains the queue in size/time bounded JDBC batches. The
+ * journal is rotated at every drain and a sealed segment is deleted only
+ * after its rows commit, so fixes acknowledged before a JVM crash, OS crash
+ * or power loss are replayed on the next start. The force is a group
+ * commit: one per request, outside the journal lock, so concurrent requests
+ * share the fsync.
+ *
+ * Only transient failures (lost connection, lock timeout, deadlock) are
+ * retried in place. A chunk the DB refuses for good, e.g. an FK to a trip
+ * deleted after the ack or a value too long for its column, is split down to
+ * the offending rows; those are appended to gps-rejected.log in the spill
+ * format and the rest is written, so one bad row cannot block the writer.
+ */
+@Slf4j
+@Service
+public class GpsWriteBehindService {
+
+    private static final String ACTIVE_SEGMENT = "gps-spill.log";
+    private static final String SEALED_SUFFIX = ".pending";
+    private static final String REJECT_FILE = "gps-rejected.log";
+
+    @Autowired
+    private GpsJdbcRepository gpsJdbcRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${gps.ingest.mode:sync}")
+    private String ingestMode;
+
+    @Value("${gps.ingest.queue-capacity:50000}")
+    private int queueCapacity;
+
+    @Value("${gps.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${gps.ingest.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${gps.ingest.spill-dir:./data/gps-spill}")
+    private String spillDir;
+
+    private ArrayBlockingQueue<GpsLog> queue;
+    private FileChannel journal;
+    private long sealedSeq;
+
+    // Guards journal append + enqueue against rotation, so a sealed segment holds exactly the drained fixes
+    private final Object journalLock = new Object();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public GpsWriteBehindService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isAsync() {
+        return "async".equalsIgnoreCase(ingestMode);
+    }
+
+    // ======================================================
+    // STARTUP: replay spill segments, then start the writer
+    // ======================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Path dir = Paths.get(spillDir);
+        Files.createDirectories(dir);
+
+        // Segments left by a previous run (crash or sync restart) go to the DB first
+        Path active = dir.resolve(ACTIVE_SEGMENT);
+        if (Files.exists(active)) {
+            Files.move(active, dir.resolve("recovered-" + System.currentTimeMillis() + SEALED_SUFFIX));
+        }
+        replaySealedSegments(dir);
+
+        if (!isAsync()) return;
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        journal = openSegment(active);
+        running = true;
+
+        writer = new Thread(this::drainLoop, "gps-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+
+        log.info("GPS write-behind started (capacity={}, batch={}, interval={}ms)",
+                queueCapacity, batchSize, flushIntervalMs);
+    }
+
+    // ======================================================
+    // ENQUEUE (request thread)
+    // ======================================================
+
+    /**
+     * @return false when the queue is full; the caller must answer 429
+     */
+    public boolean offer(GpsLog gpsLog) {
+        return offer(List.of(gpsLog))[0];
+    }
+
+    /**
+     * Journals and queues the fixes in order until the queue is full, then
+     * forces the journal once for all of them.
+     * @return per fix whether it was taken; the others must be rejected for retry
+     */
+    public boolean[] offer(List<GpsLog> gpsLogs) {
+        if (queue == null) {
+            throw new IllegalStateException("GPS write-behind is not running");
+        }
+        boolean[] taken = new boolean[gpsLogs.size()];
+        FileChannel written = null;
+        synchronized (journalLock) {
+            for (int i = 0; i < gpsLogs.size() && queue.remainingCapacity() > 0; i++) {
+                try {
+                    journal.write(ByteBuffer.wrap(encode(gpsLogs.get(i)).getBytes(StandardCharsets.UTF_8)));
+                } catch (IOException e) {
+                    throw new RuntimeException("GPS spill journal write failed", e);
+                }
+                queue.add(gpsLogs.get(i));
+                taken[i] = true;
+                written = journal;
+            }
+        }
+        if (written != null) sync(written);
+        return taken;
+    }
+
+    private static void sync(FileChannel segment) {
+        try {
+            segment.force(false);
+        } catch (ClosedChannelException e) {
+            // Rotated meanwhile: rotateJournal forced the segment before closing it
+        } catch (IOException e) {
+            throw new RuntimeException("GPS spill journal sync failed", e);
+        }
+    }
+
+    public int queuedCount() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    // ======================================================
+    // WRITER THREAD
+    // ======================================================
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                waitForBatch();
+                flushOnce();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                log.error("GPS write-behind flush failed, retrying: {}", e.getMessage());
+                sleepQuietly(flushIntervalMs);
+            }
+        }
+    }
+
+    private void waitForBatch() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + flushIntervalMs;
+        while (running && queue.size() < batchSize) {
+            long left = deadline - System.currentTimeMillis();
+            if (left <= 0) return;
+            TimeUnit.MILLISECONDS.sleep(Math.min(left, 50));
+        }
+    }
+
+    private void flushOnce() throws IOException {
+        List<GpsLog> drained = new ArrayList<>();
+        Path sealed;
+
+        synchronized (journalLock) {
+            if (queue.isEmpty()) return;
+            queue.drainTo(drained);
+            sealed = rotateJournal();
+        }
+
+        // If we are shut down before everything is written, the sealed
+        // segment stays on disk and is replayed on the next start
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            if (!write(drained.subList(from, Math.min(drained.size(), from + batchSize)))) return;
+        }
+        Files.deleteIfExists(sealed);
+    }
+
+    /**
+     * Inserts the rows, retrying transient failures in place while running
+     * and bisecting a permanent failure down to the rows to reject.
+     * @return false if a transient failure is still unresolved (shut down, or replay at startup)
+     */
+    private boolean write(List<GpsLog> rows) throws IOException {
+        while (true) {
+            try {
+                insertChunk(rows);
+                return true;
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    log.error("GPS write-behind batch of {} failed, retrying: {}", rows.size(), e.getMessage());
+                    if (!running) return false;
+                    sleepQuietly(flushIntervalMs);
+                    continue;
+                }
+                if (rows.size() == 1) {
+                    reject(rows.get(0), e);
+                    return true;
+                }
+                int mid = rows.size() / 2;
+                return write(rows.subList(0, mid)) && write(rows.subList(mid, rows.size()));
+            }
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    // Dead letter: kept in the spill format so the rows can be fixed up and replayed by hand
+    private void reject(GpsLog gpsLog, RuntimeException e) throws IOException {
+        log.warn("Rejected GPS fix (vehicle {}, trip {}, seq {}): {}",
+                gpsLog.getVehicle() != null ? gpsLog.getVehicle().getVehicleId() : null,
+                gpsLog.getTrip() != null ? gpsLog.getTrip().getTripId() : null,
+                gpsLog.getDeviceSeq(), e.getMessage());
+        Files.writeString(Paths.get(spillDir, REJECT_FILE), encode(gpsLog), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private Path rotateJournal() throws IOException {
+        Path dir = Paths.get(spillDir);
+        journal.force(false);
+        journal.close();
+
+        Path sealed = dir.resolve("segment-" + System.currentTimeMillis() + "-" + (sealedSeq++) + SEALED_SUFFIX);
+        Files.move(dir.resolve(ACTIVE_SEGMENT), sealed);
+        journal = openSegment(dir.resolve(ACTIVE_SEGMENT));
+        return sealed;
+    }
+
+    // One transaction per chunk: a failure rolls back only the chunk in flight
+    private void insertChunk(List<GpsLog> chunk) {
+        transactionTemplate.executeWithoutResult(status -> gpsJdbcRepository.batchInsert(chunk));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (writer == null) return;
+        running = false;
+        writer.join(30_000);
+        synchronized (journalLock) {
+            journal.force(true);
+            journal.close();
+        }
+    }
+
+    // ======================================================
+    // SPILL FILE FORMAT: vehicleId|tripId|lat|lng|speed|loggedAt|deviceSeq
+    // (older segments have no deviceSeq; replay is idempotent for fixes that do)
+    // Rows the DB refuses are rejected as during normal writes; if the DB is
+    // unreachable the segments stay for the next start instead of failing it
+    // ======================================================
+    private void replaySealedSegments(Path dir) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "*" + SEALED_SUFFIX)) {
+            ds.forEach(segments::add);
+        }
+        segments.sort(null);
+
+        for (Path segment : segments) {
+            List<GpsLog> logs = new ArrayList<>();
+            for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                GpsLog gpsLog = decode(line);
+                if (gpsLog != null) logs.add(gpsLog);
+            }
+            for (int from = 0; from < logs.size(); from += batchSize) {
+                if (!write(logs.subList(from, Math.min(logs.size(), from + batchSize)))) {
+                    log.error("GPS spill replay stopped at {}; remaining segments kept for the next start",
+                            segment.getFileName());
+                    return;
+                }
+            }
+            Files.delete(segment);
+            log.info("Replayed {} spilled GPS fixes from {}", logs.size(), segment.getFileName());
+        }
+    }
+
+    private FileChannel openSegment(Path path) throws IOException {
+        return FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private String encode(GpsLog g) {
+        return (g.getVehicle() != null ? g.getVehicle().getVehicleId() : "") + "|" +
+                (g.getTrip() != null ? g.getTrip().getTripId() : "") + "|" +
+                g.getLatitude() + "|" +
+                g.getLongitude() + "|" +
+                g.getSpeed() + "|" +
+                g.getLoggedAt() + "|" +
+                (g.getDeviceSeq() != null ? g.getDeviceSeq() : "") + "\n";
+    }
+
+    private GpsLog decode(String line) {
+        String[] p = line.split("\\|", -1);
+        // A torn last line (crash mid-write) is skipped
+        if (p.length < 6 || p.length > 7 || p[5].isEmpty()) return null;
+
+        try {
+            GpsLog g = new GpsLog();
+            if (!p[0].isEmpty()) {
+                Vehicle v = new Vehicle();
+                v.setVehicleId(Long.parseLong(p[0]));
+                g.setVehicle(v);
+            }
+            if (!p[1].isEmpty()) {
+                Trip t = new Trip();
+                t.setTripId(Long.parseLong(p[1]));
+                g.setTrip(t);
+            }
+            g.setLatitude(Double.parseDouble(p[2]));
+            g.setLongitude(Double.parseDouble(p[3]));
+            g.setSpeed(Double.parseDouble(p[4]));
+            g.setLoggedAt(LocalDateTime.parse(p[5]));
+            if (p.length == 7 && !p[6].isEmpty()) g.setDeviceSeq(Long.parseLong(p[6]));
+            return g;
+        } catch (RuntimeException e) {
+            log.warn("Skipping unreadable spill line: {}", line);
+            return null;
+        }
+    }
+
+    private void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
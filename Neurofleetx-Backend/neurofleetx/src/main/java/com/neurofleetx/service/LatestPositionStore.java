@@ -0,0 +1,133 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.FleetStatusDTO;
+import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.GpsJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest known position per vehicle, kept in memory so the fleet dashboard
+ * never has to touch gps_log. Updated by GpsService on every accepted fix and
+ * warmed once at startup from a single windowed query.
+ */
+@Slf4j
+@Component
+public class LatestPositionStore {
+
+    @Autowired
+    private GpsJdbcRepository gpsJdbcRepository;
+
+    // vehicleId -> latest status (entries are replaced, never mutated)
+    private final ConcurrentHashMap<Long, Entry> positions = new ConcurrentHashMap<>();
+
+    static final class Entry {
+        final FleetStatusDTO status;
+        final LocalDateTime loggedAt;
+
+        Entry(FleetStatusDTO status, LocalDateTime loggedAt) {
+            this.status = status;
+            this.loggedAt = loggedAt;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<FleetStatusDTO> latest = gpsJdbcRepository.findLatestPositions();
+            for (FleetStatusDTO dto : latest) {
+                dto.setStatus(statusForSpeed(dto.getSpeed()));
+                // Fixes accepted while the query ran may already be newer
+                positions.merge(dto.getVehicleId(), new Entry(dto, LocalDateTime.parse(dto.getLastUpdate())),
+                        LatestPositionStore::newer);
+            }
+            log.info("Latest-position store warmed with {} vehicles", latest.size());
+        } catch (Exception e) {
+            log.error("Latest-position warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Record a fix; older fixes (e.g. late batch uploads) never overwrite newer ones.
+     * @return the new latest status, or null if the fix was not newer
+     */
+    public FleetStatusDTO update(GpsLog gpsLog) {
+        Vehicle v = gpsLog.getVehicle();
+        if (v == null || v.getVehicleId() == null || gpsLog.getLoggedAt() == null) return null;
+
+        FleetStatusDTO dto = new FleetStatusDTO(
+                v.getVehicleId(),
+                v.getRegistrationNo(),
+                v.getVehicleType(),
+                v.getDriver() != null ? v.getDriver().getName() : "Unassigned",
+                gpsLog.getLatitude(),
+                gpsLog.getLongitude(),
+                gpsLog.getSpeed(),
+                statusForSpeed(gpsLog.getSpeed()),
+                gpsLog.getLoggedAt().toString()
+        );
+        Entry fresh = new Entry(dto, gpsLog.getLoggedAt());
+
+        Entry current = positions.merge(v.getVehicleId(), fresh, LatestPositionStore::newer);
+        return current == fresh ? dto : null;
+    }
+
+    private static Entry newer(Entry old, Entry neu) {
+        return neu.loggedAt.isBefore(old.loggedAt) ? old : neu;
+    }
+
+    /**
+     * Refresh registration / type / driver after a vehicle edit, keeping the position.
+     */
+    public void updateVehicleInfo(Vehicle v) {
+        positions.computeIfPresent(v.getVehicleId(), (id, old) -> {
+            FleetStatusDTO s = old.status;
+            FleetStatusDTO dto = new FleetStatusDTO(
+                    id,
+                    v.getRegistrationNo(),
+                    v.getVehicleType(),
+                    v.getDriver() != null ? v.getDriver().getName() : "Unassigned",
+                    s.getLatitude(),
+                    s.getLongitude(),
+                    s.getSpeed(),
+                    s.getStatus(),
+                    s.getLastUpdate()
+            );
+            return new Entry(dto, old.loggedAt);
+        });
+    }
+
+    public void remove(Long vehicleId) {
+        positions.remove(vehicleId);
+    }
+
+    public FleetStatusDTO get(Long vehicleId) {
+        Entry e = positions.get(vehicleId);
+        return e != null ? e.status : null;
+    }
+
+    public List<FleetStatusDTO> snapshot() {
+        List<FleetStatusDTO> list = new ArrayList<>(positions.size());
+        for (Entry e : positions.values()) {
+            list.add(e.status);
+        }
+        list.sort(Comparator.comparing(FleetStatusDTO::getVehicleId));
+        return list;
+    }
+
+    public static String statusForSpeed(Double speed) {
+        if (speed == null || speed <= 0) return "STOPPED";
+        if (speed < 10) return "IDLING";
+        return "MOVING";
+    }
+}
@@ -0,0 +1,313 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.MapMatcher;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.EdgeSnap;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.service.RoadNetworkService;
+import com.neurofleetx.dto.GpsPointDTO;
+import com.neurofleetx.dto.MatchedTrackDTO;
+import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.util.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map matching of GPS tracks onto the road graph (HMM / Viterbi, see
+ * MapMatcher), for distances and speeds that follow the roads instead of
+ * the jitter between raw fixes.
+ *
+ * Completed trips are matched in one batch over the stored track. Live
+ * trips are matched as fixes are applied, committing each fix once
+ * gps.matching.lag newer fixes have arrived; only the running distance and
+ * per-road speeds are kept for them, and trips idle for
+ * gps.matching.idle-hours are dropped. Nothing is matched while no road
+ * network is loaded.
+ */
+@Slf4j
+@Service
+public class MapMatchingService {
+
+    @Autowired
+    private RoadNetworkService roadNetworkService;
+
+    @Autowired
+    private GpsHistoryService gpsHistoryService;
+
+    @Value("${gps.matching.live:true}")
+    private boolean liveEnabled;
+
+    // GPS noise (emission) and tolerated road / straight-line difference (transition)
+    @Value("${gps.matching.sigma-m:10}")
+    private double sigmaM;
+
+    @Value("${gps.matching.beta-m:50}")
+    private double betaM;
+
+    @Value("${gps.matching.radius-m:50}")
+    private double radiusM;
+
+    // Fixes a live match waits for before committing a fix
+    @Value("${gps.matching.lag:5}")
+    private int lag;
+
+    @Value("${gps.matching.idle-hours:24}")
+    private long idleHours;
+
+    private volatile MapMatcher matcher;
+
+    private final Map<Long, LiveTrack> liveTracks = new ConcurrentHashMap<>();
+
+    private static final class LiveTrack {
+        final MapMatcher.Session session;
+        final Accumulator accumulator;
+        LocalDateTime lastAt;
+
+        LiveTrack(MapMatcher matcher, Long tripId, int lag) {
+            this.session = matcher.session(lag);
+            this.accumulator = new Accumulator(matcher.graph(), tripId, false);
+        }
+    }
+
+    // ======================================================
+    // BATCH: whole stored track of a trip
+    // ======================================================
+
+    /**
+     * Matched track of the trip, or null when no road network is loaded.
+     */
+    public MatchedTrackDTO matchTrip(Long tripId) {
+        MapMatcher m = matcher();
+        if (m == null) return null;
+
+        List<GpsPointDTO> track = new ArrayList<>();
+        for (GpsPointDTO p : gpsHistoryService.getTripTrack(tripId)) {
+            if (p.getLatitude() != null && p.getLongitude() != null && p.getLoggedAt() != null) track.add(p);
+        }
+        int n = track.size();
+        double[] lat = new double[n], lng = new double[n];
+        long[] time = new long[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = track.get(i).getLatitude();
+            lng[i] = track.get(i).getLongitude();
+            time[i] = toMillis(track.get(i).getLoggedAt());
+        }
+
+        Accumulator acc = new Accumulator(m.graph(), tripId, true);
+        for (int i = 0; i < n; i++) acc.addRaw(lat[i], lng[i]);
+        for (MapMatcher.MatchStep step : m.match(lat, lng, time)) {
+            acc.add(step, lat[step.fix()], lng[step.fix()], track.get(step.fix()).getLoggedAt());
+        }
+        return acc.result(0);
+    }
+
+    // ======================================================
+    // LIVE: ingestion hook, called in fix order per vehicle
+    // ======================================================
+    public void record(GpsLog gpsLog) {
+        if (!liveEnabled || gpsLog.getTrip() == null || gpsLog.getLoggedAt() == null) return;
+        if (gpsLog.getLatitude() == null || gpsLog.getLongitude() == null) return;
+        MapMatcher m = matcher();
+        if (m == null) return;
+
+        Long tripId = gpsLog.getTrip().getTripId();
+        // A track started on a graph that has since been reloaded starts over
+        LiveTrack track = liveTracks.compute(tripId, (id, t) ->
+                t != null && t.accumulator.graph == m.graph() ? t : new LiveTrack(m, id, lag));
+
+        try {
+            synchronized (track) {
+                track.lastAt = gpsLog.getLoggedAt();
+                track.accumulator.addRaw(gpsLog.getLatitude(), gpsLog.getLongitude());
+                for (MapMatcher.MatchStep step : track.session.add(
+                        gpsLog.getLatitude(), gpsLog.getLongitude(), toMillis(gpsLog.getLoggedAt()))) {
+                    track.accumulator.add(step, Double.NaN, Double.NaN, null);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Live map matching failed for trip {}: {}", tripId, e.getMessage());
+            liveTracks.remove(tripId);
+        }
+    }
+
+    /**
+     * Running match of a live trip (distance and per-road speeds so far), or null if none.
+     */
+    public MatchedTrackDTO getLive(Long tripId) {
+        LiveTrack track = liveTracks.get(tripId);
+        if (track == null) return null;
+        // A copy: record() keeps appending to the accumulator while the response is written
+        synchronized (track) {
+            return track.accumulator.snapshot(track.session.pendingCount());
+        }
+    }
+
+    public void discard(Long tripId) {
+        liveTracks.remove(tripId);
+    }
+
+    @Scheduled(fixedDelayString = "${gps.matching.cleanup-ms:3600000}")
+    public void evictIdle() {
+        LocalDateTime threshold = LocalDateTime.now().minusHours(idleHours);
+        liveTracks.entrySet().removeIf(e -> e.getValue().lastAt != null && e.getValue().lastAt.isBefore(threshold));
+    }
+
+    // Matcher for the graph currently loaded; rebuilt if the graph changes
+    private MapMatcher matcher() {
+        RoadGraph graph = roadNetworkService.getGraph();
+        if (graph == null) return null;
+        MapMatcher m = matcher;
+        if (m == null || m.graph() != graph) {
+            m = new MapMatcher(graph, sigmaM / 1000, betaM / 1000, radiusM / 1000);
+            matcher = m;
+        }
+        return m;
+    }
+
+    private static long toMillis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Builds a MatchedTrackDTO from matched steps in order. Points and path
+     * geometry are only kept when detailed (batch), so live tracks stay small.
+     */
+    private static final class Accumulator {
+        final RoadGraph graph;
+        final boolean detailed;
+        final MatchedTrackDTO dto = new MatchedTrackDTO();
+
+        double lastRawLat = Double.NaN, lastRawLng;
+        EdgeSnap previous;
+        long previousTime;
+        List<double[]> chain;
+        // Running totals of the road at the end of dto.roads
+        double roadHours;
+
+        Accumulator(RoadGraph graph, Long tripId, boolean detailed) {
+            this.graph = graph;
+            this.detailed = detailed;
+            dto.setTripId(tripId);
+        }
+
+        void addRaw(double lat, double lng) {
+            dto.setFixes(dto.getFixes() + 1);
+            if (!Double.isNaN(lastRawLat)) {
+                dto.setRawDistanceKm(dto.getRawDistanceKm() + GeoUtils.haversineDistanceKm(lastRawLat, lastRawLng, lat, lng));
+            }
+            lastRawLat = lat;
+            lastRawLng = lng;
+        }
+
+        void add(MapMatcher.MatchStep step, double rawLat, double rawLng, LocalDateTime loggedAt) {
+            EdgeSnap b = step.snap();
+            dto.setMatchedFixes(dto.getMatchedFixes() + 1);
+            Double speed = null;
+
+            if (step.chainStart() || previous == null) {
+                dto.setChains(dto.getChains() + 1);
+                if (detailed) {
+                    chain = new ArrayList<>();
+                    chain.add(new double[]{b.lat(), b.lng()});
+                    dto.getPath().add(chain);
+                }
+            } else {
+                double hours = (step.timeMs() - previousTime) / 3_600_000.0;
+                if (hours > 0) speed = step.routeKm() / hours;
+                dto.setMatchedDistanceKm(dto.getMatchedDistanceKm() + step.routeKm());
+                spread(previous, b, step.edges(), step.routeKm(), hours);
+            }
+            if (detailed) {
+                MatchedTrackDTO.MatchedPointDTO p = new MatchedTrackDTO.MatchedPointDTO();
+                p.setLoggedAt(loggedAt);
+                p.setLatitude(rawLat);
+                p.setLongitude(rawLng);
+                p.setMatchedLatitude(b.lat());
+                p.setMatchedLongitude(b.lng());
+                p.setSpeedKmh(speed);
+                dto.getPoints().add(p);
+            }
+            previous = b;
+            previousTime = step.timeMs();
+        }
+
+        // Splits the road distance and time since the previous fix over the edges driven
+        private void spread(EdgeSnap a, EdgeSnap b, int[] edges, double routeKm, double hours) {
+            double perKm = routeKm > 0 ? hours / routeKm : 0;
+            if (edges.length == 0) {
+                drive(a.edge(), routeKm, routeKm * perKm);
+            } else {
+                double leave = (1 - a.fraction()) * graph.weight(a.edge());
+                drive(a.edge(), leave, leave * perKm);
+                if (detailed) chain.add(new double[]{graph.lat(a.to()), graph.lng(a.to())});
+                for (int i = 0; i < edges.length - 1; i++) {
+                    double km = graph.weight(edges[i]);
+                    drive(edges[i], km, km * perKm);
+                    int node = graph.target(edges[i]);
+                    if (detailed) chain.add(new double[]{graph.lat(node), graph.lng(node)});
+                }
+                double enter = b.fraction() * graph.weight(b.edge());
+                drive(b.edge(), enter, enter * perKm);
+            }
+            if (detailed) chain.add(new double[]{b.lat(), b.lng()});
+        }
+
+        private void drive(int edge, double km, double hours) {
+            List<MatchedTrackDTO.RoadSpeedDTO> roads = dto.getRoads();
+            MatchedTrackDTO.RoadSpeedDTO last = roads.isEmpty() ? null : roads.get(roads.size() - 1);
+            if (last == null || last.getEdge() != edge) {
+                last = new MatchedTrackDTO.RoadSpeedDTO();
+                last.setEdge(edge);
+                int from = graph.edgeIndex().source(edge), to = graph.target(edge);
+                last.setFromLat(graph.lat(from));
+                last.setFromLng(graph.lng(from));
+                last.setToLat(graph.lat(to));
+                last.setToLng(graph.lng(to));
+                roads.add(last);
+                roadHours = 0;
+            }
+            last.setKm(last.getKm() + km);
+            roadHours += hours;
+            last.setSpeedKmh(roadHours > 0 ? last.getKm() / roadHours : null);
+        }
+
+        MatchedTrackDTO result(int pending) {
+            dto.setPendingFixes(pending);
+            return dto;
+        }
+
+        // Totals and roads of a live track, detached from the running state
+        MatchedTrackDTO snapshot(int pending) {
+            MatchedTrackDTO copy = new MatchedTrackDTO();
+            copy.setTripId(dto.getTripId());
+            copy.setFixes(dto.getFixes());
+            copy.setMatchedFixes(dto.getMatchedFixes());
+            copy.setChains(dto.getChains());
+            copy.setPendingFixes(pending);
+            copy.setRawDistanceKm(dto.getRawDistanceKm());
+            copy.setMatchedDistanceKm(dto.getMatchedDistanceKm());
+            for (MatchedTrackDTO.RoadSpeedDTO road : dto.getRoads()) {
+                MatchedTrackDTO.RoadSpeedDTO r = new MatchedTrackDTO.RoadSpeedDTO();
+                r.setEdge(road.getEdge());
+                r.setFromLat(road.getFromLat());
+                r.setFromLng(road.getFromLng());
+                r.setToLat(road.getToLat());
+                r.setToLng(road.getToLng());
+                r.setKm(road.getKm());
+                r.setSpeedKmh(road.getSpeedKmh());
+                copy.getRoads().add(r);
+            }
+            return copy;
+        }
+    }
+}
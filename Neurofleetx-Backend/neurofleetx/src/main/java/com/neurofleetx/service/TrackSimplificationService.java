@@ -0,0 +1,98 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.GpsPointDTO;
+import com.neurofleetx.entity.Trip;
+import com.neurofleetx.entity.TripStatus;
+import com.neurofleetx.repository.GpsRepository;
+import com.neurofleetx.repository.GpsRollupRepository;
+import com.neurofleetx.repository.TripRepository;
+import com.neurofleetx.util.TrackBuffer;
+import com.neurofleetx.util.TrackSimplifier;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Shape-preserving simplified trip tracks for trip playback / summary.
+ * The track is streamed from the DB cursor into primitive columns, simplified,
+ * and cached when the trip is COMPLETED (its track no longer changes).
+ */
+@Service
+public class TrackSimplificationService {
+
+    @Autowired
+    private GpsRepository gpsRepository;
+
+    @Autowired
+    private GpsRollupRepository gpsRollupRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Value("${gps.simplify.cache-size:256}")
+    private int cacheSize;
+
+    // LRU of simplified completed trips, keyed "tripId:tolerance:timeAware"
+    private Map<String, List<GpsPointDTO>> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<GpsPointDTO>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<GpsPointDTO> getSimplifiedTrack(Long tripId, double toleranceMeters, boolean timeAware) {
+        Trip trip = tripRepository.findById(tripId)
+                .orElseThrow(() -> new RuntimeException("Trip not found"));
+
+        boolean cacheable = trip.getStatus() == TripStatus.COMPLETED;
+        String key = tripId + ":" + toleranceMeters + ":" + timeAware;
+        if (cacheable) {
+            List<GpsPointDTO> cached = cache.get(key);
+            if (cached != null) return cached;
+        }
+
+        // Compacted (per-minute) part of the trip first, then the raw fixes
+        TrackBuffer track = new TrackBuffer();
+        gpsRollupRepository.findTripRollups(tripId).forEach(track::add);
+        try (Stream<GpsPointDTO> rows = gpsRepository.streamTripTrack(tripId)) {
+            rows.forEach(track::add);
+        }
+
+        BitSet keep = TrackSimplifier.simplify(track, toleranceMeters, timeAware);
+        List<GpsPointDTO> result = new ArrayList<>(keep.cardinality());
+        for (int i = keep.nextSetBit(0); i >= 0; i = keep.nextSetBit(i + 1)) {
+            result.add(track.toPoint(i));
+        }
+        result = Collections.unmodifiableList(result);
+
+        if (cacheable) cache.put(key, result);
+        return result;
+    }
+
+    // Called whenever a trip's stored track changes: delete, compaction, a late fix after completion
+    public void evict(Long tripId) {
+        synchronized (cache) {
+            cache.keySet().removeIf(k -> k.startsWith(tripId + ":"));
+        }
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+}
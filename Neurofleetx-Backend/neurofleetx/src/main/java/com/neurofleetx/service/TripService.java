@@ -104,6 +104,7 @@
 package com.neurofleetx.service;
 
 import com.neurofleetx.dto.TripCreateDTO;
+import com.neurofleetx.dto.TripDTO;
 import com.neurofleetx.entity.Driver;
 import com.neurofleetx.entity.Trip;
 import com.neurofleetx.entity.TripStatus;
@@ -111,10 +112,13 @@ import com.neurofleetx.entity.Vehicle;
 import com.neurofleetx.repository.DriverRepository;
 import com.neurofleetx.repository.TripRepository;
 import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.util.TripOdometer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 @Service
@@ -129,6 +133,18 @@ public class TripService {
     @Autowired
     private DriverRepository driverRepository;
 
+    @Autowired
+    private TripStatsService tripStatsService;
+
+    @Autowired
+    private MapMatchingService mapMatchingService;
+
+    @Autowired
+    private GpsReorderBuffer reorderBuffer;
+
+    @Autowired
+    private TrackSimplificationService trackSimplificationService;
+
     // ======================================================
     // 1️⃣ CREATE TRIP
     // ======================================================
@@ -177,10 +193,23 @@ public class TripService {
         trip.setStatus(TripStatus.COMPLETED);
         trip.setEndTime(LocalDateTime.now());
 
-        // Update distance if provided (and greater than existing)
-        if (distance != null && distance > 0) {
+        // Fixes still held for reordering belong to this trip's figures
+        if (trip.getVehicle() != null) {
+            reorderBuffer.flush(trip.getVehicle().getVehicleId());
+        }
+
+        // GPS odometer wins; the client distance is only a fallback for trips without fixes
+        TripOdometer.Snapshot stats = tripStatsService.finish(tripId);
+        mapMatchingService.discard(tripId);
+        if (stats.getSamples() > 1) {
+            trip.setDistance(stats.getDistanceKm());
+        } else if (distance != null && distance > 0) {
             trip.setDistance(distance);
         }
+        trip.setMovingSeconds(stats.getMovingSeconds());
+        trip.setIdleSeconds(stats.getIdleSeconds());
+        trip.setMaxSpeed(stats.getMaxSpeed());
+        trip.setAvgSpeed(stats.avgMovingSpeed());
 
         return tripRepository.save(trip);
     }
@@ -233,6 +262,9 @@ public class TripService {
             throw new RuntimeException("Trip not found");
         }
         tripRepository.deleteById(id);
+        tripStatsService.discard(id);
+        mapMatchingService.discard(id);
+        trackSimplificationService.evict(id);
     }
 
     // ======================================================
@@ -247,4 +279,53 @@ public class TripService {
         // crash)
         return trips.get(trips.size() - 1);
     }
+
+    // ======================================================
+    // 8️⃣ TRIP SUMMARY (live odometer while ongoing)
+    // ======================================================
+    public TripDTO getTripSummary(Long id) {
+        Trip trip = getTripById(id);
+
+        TripDTO dto = new TripDTO();
+        dto.setTripId(trip.getTripId());
+        dto.setVehicleId(trip.getVehicle().getVehicleId());
+        dto.setVehicleRegistration(trip.getVehicle().getRegistrationNo());
+        dto.setDriverId(trip.getDriver().getDriverId());
+        dto.setDriverName(trip.getDriver().getName());
+        dto.setStartLocation(trip.getStartLocation());
+        dto.setEndLocation(trip.getEndLocation());
+        dto.setStartTime(toEpochMillis(trip.getStartTime()));
+        dto.setEndTime(toEpochMillis(trip.getEndTime()));
+        dto.setEta(toEpochMillis(trip.getEta()));
+        dto.setFuelConsumed(trip.getFuelConsumed());
+        dto.setStatus(trip.getStatus() != null ? trip.getStatus().name() : null);
+        dto.setCreatedAt(toEpochMillis(trip.getCreatedAt()));
+
+        LocalDateTime start = trip.getStartTime();
+        LocalDateTime end = trip.getEndTime();
+
+        if (trip.getStatus() == TripStatus.COMPLETED) {
+            // Figures were frozen by endTrip
+            dto.setDistance(trip.getDistance());
+            dto.setAvgSpeed(trip.getAvgSpeed());
+        } else {
+            TripOdometer.Snapshot stats = tripStatsService.getStats(id);
+            dto.setDistance(stats.getSamples() > 1 ? stats.getDistanceKm() : trip.getDistance());
+            dto.setAvgSpeed(stats.avgMovingSpeed());
+            if (start == null) start = stats.getFirstAt();
+            if (end == null) end = trip.getStatus() == TripStatus.ONGOING ? LocalDateTime.now() : stats.getLastAt();
+        }
+
+        if (start != null && end != null) {
+            dto.setDuration(Duration.between(start, end).toMinutes());
+        }
+        if (dto.getDistance() != null && trip.getFuelConsumed() != null && trip.getFuelConsumed() > 0) {
+            dto.setFuelEfficiency(dto.getDistance() / trip.getFuelConsumed());
+        }
+        return dto;
+    }
+
+    private Long toEpochMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : null;
+    }
 }
@@ -0,0 +1,105 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.GpsPointDTO;
+import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.util.TripOdometer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-trip odometers maintained as fixes arrive, so ending a trip or reading
+ * its summary does not re-scan the track. An odometer missing from memory
+ * (restart, eviction) is rebuilt once from the stored track.
+ */
+@Service
+public class TripStatsService {
+
+    @Autowired
+    private GpsHistoryService gpsHistoryService;
+
+    // Below this mean speed (km/h) an interval counts as idle; matches LatestPositionStore's IDLING band
+    @Value("${gps.trip.moving-speed-kmh:10}")
+    private double movingSpeedKmh;
+
+    @Value("${gps.trip.max-gap-seconds:300}")
+    private long maxGapSeconds;
+
+    @Value("${gps.trip.stats-idle-hours:24}")
+    private long statsIdleHours;
+
+    private final Map<Long, TripOdometer> odometers = new ConcurrentHashMap<>();
+
+    // ======================================================
+    // INGESTION HOOK
+    // ======================================================
+    public void record(GpsLog gpsLog) {
+        if (gpsLog.getTrip() == null || gpsLog.getLoggedAt() == null) return;
+
+        odometerFor(gpsLog.getTrip().getTripId()).add(
+                gpsLog.getLatitude(),
+                gpsLog.getLongitude(),
+                gpsLog.getSpeed() != null ? gpsLog.getSpeed() : 0.0,
+                gpsLog.getLoggedAt());
+    }
+
+    // ======================================================
+    // READ / FINISH
+    // ======================================================
+    public TripOdometer.Snapshot getStats(Long tripId) {
+        TripOdometer odometer = odometers.get(tripId);
+        if (odometer != null) return odometer.snapshot();
+
+        // Kept only once it has fixes: an empty one has no lastAt, so evictIdle could never drop it
+        TripOdometer rebuilt = rebuild(tripId);
+        TripOdometer.Snapshot stats = rebuilt.snapshot();
+        if (stats.getSamples() == 0) return stats;
+        TripOdometer existing = odometers.putIfAbsent(tripId, rebuilt);
+        return existing != null ? existing.snapshot() : stats;
+    }
+
+    // Final figures for a trip that is ending; the odometer is released
+    public TripOdometer.Snapshot finish(Long tripId) {
+        TripOdometer odometer = odometers.remove(tripId);
+        return odometer != null ? odometer.snapshot() : rebuild(tripId).snapshot();
+    }
+
+    public void discard(Long tripId) {
+        odometers.remove(tripId);
+    }
+
+    // Trips abandoned without being ended would otherwise stay in memory forever
+    @Scheduled(fixedDelayString = "${gps.trip.stats-cleanup-ms:3600000}")
+    public void evictIdle() {
+        LocalDateTime threshold = LocalDateTime.now().minusHours(statsIdleHours);
+        odometers.entrySet().removeIf(e -> {
+            LocalDateTime lastAt = e.getValue().snapshot().getLastAt();
+            return lastAt != null && lastAt.isBefore(threshold);
+        });
+    }
+
+    // For a fix that is about to be added, so the odometer is never left empty
+    private TripOdometer odometerFor(Long tripId) {
+        TripOdometer odometer = odometers.get(tripId);
+        if (odometer != null) return odometer;
+
+        // Built outside the map so the track query does not hold a map bin lock
+        TripOdometer rebuilt = rebuild(tripId);
+        TripOdometer existing = odometers.putIfAbsent(tripId, rebuilt);
+        return existing != null ? existing : rebuilt;
+    }
+
+    private TripOdometer rebuild(Long tripId) {
+        TripOdometer odometer = new TripOdometer(movingSpeedKmh, maxGapSeconds);
+        for (GpsPointDTO p : gpsHistoryService.getTripTrack(tripId)) {
+            odometer.add(p.getLatitude(), p.getLongitude(),
+                    p.getSpeed() != null ? p.getSpeed() : 0.0, p.getLoggedAt());
+        }
+        return odometer;
+    }
+}
@@ -93,6 +93,12 @@ public class VehicleService {
     @Autowired
     private com.neurofleetx.repository.DriverRepository driverRepository;
 
+    @Autowired
+    private LatestPositionStore latestPositionStore;
+
+    @Autowired
+    private FleetStreamService fleetStreamService;
+
     // ================= DRIVER MODULE =================
 
     public VehicleDTO getVehicleByDriverId(Long driverId) {
@@ -174,11 +180,15 @@ public class VehicleService {
             existing.setDriver(driver);
         }
 
-        return convertToDTO(vehicleRepository.save(existing));
+        Vehicle saved = vehicleRepository.save(existing);
+        latestPositionStore.updateVehicleInfo(saved);
+        return convertToDTO(saved);
     }
 
     public void deleteVehicle(Long id) {
         vehicleRepository.deleteById(id);
+        latestPositionStore.remove(id);
+        fleetStreamService.remove(id);
     }
 
     // ================= DTO =================
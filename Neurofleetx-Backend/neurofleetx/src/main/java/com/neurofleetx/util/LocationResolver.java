@@ -69,7 +69,14 @@ public class LocationResolver {
     }
 
     public long latLonToGridId(double lat, double lon) {
-        double gridResolution = 0.05;
+        return gridId(lat, lon, 0.05);
+    }
+
+    /**
+     * Same cell scheme at any resolution (degrees). Ids are distinct while the
+     * longitude index stays below 1e6, i.e. east of Greenwich down to ~0.0002 deg.
+     */
+    public static long gridId(double lat, double lon, double gridResolution) {
         long latIndex = Math.round(Math.floor(lat / gridResolution));
         long lonIndex = Math.round(Math.floor(lon / gridResolution));
         long id = latIndex * 1_000_000L + (lonIndex & 0xFFFFFL);
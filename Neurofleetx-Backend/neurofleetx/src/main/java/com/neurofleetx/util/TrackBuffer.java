@@ -0,0 +1,73 @@
+package com.neurofleetx.util;
+
+import com.neurofleetx.dto.GpsPointDTO;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Growable primitive columns for a GPS track, so long tracks can be
+ * processed without keeping one object per fix.
+ */
+public class TrackBuffer {
+
+    private long[] ids;
+    private double[] lat;
+    private double[] lng;
+    private double[] speed;
+    private long[] time;   // epoch millis
+    private int size;
+
+    public TrackBuffer() {
+        this(256);
+    }
+
+    public TrackBuffer(int capacity) {
+        capacity = Math.max(capacity, 16);
+        ids = new long[capacity];
+        lat = new double[capacity];
+        lng = new double[capacity];
+        speed = new double[capacity];
+        time = new long[capacity];
+    }
+
+    public void add(GpsPointDTO p) {
+        add(p.getId() != null ? p.getId() : 0L,
+                p.getLatitude(), p.getLongitude(),
+                p.getSpeed() != null ? p.getSpeed() : 0.0,
+                TrackEncoder.epochMillis(p.getLoggedAt()));
+    }
+
+    public void add(long id, double latitude, double longitude, double spd, long epochMillis) {
+        if (size == lat.length) grow();
+        ids[size] = id;
+        lat[size] = latitude;
+        lng[size] = longitude;
+        speed[size] = spd;
+        time[size] = epochMillis;
+        size++;
+    }
+
+    private void grow() {
+        int cap = lat.length * 2;
+        ids = Arrays.copyOf(ids, cap);
+        lat = Arrays.copyOf(lat, cap);
+        lng = Arrays.copyOf(lng, cap);
+        speed = Arrays.copyOf(speed, cap);
+        time = Arrays.copyOf(time, cap);
+    }
+
+    public int size() { return size; }
+    public long id(int i) { return ids[i]; }
+    public double lat(int i) { return lat[i]; }
+    public double lng(int i) { return lng[i]; }
+    public double speed(int i) { return speed[i]; }
+    public long time(int i) { return time[i]; }
+
+    public GpsPointDTO toPoint(int i) {
+        LocalDateTime at = LocalDateTime.ofInstant(Instant.ofEpochMilli(time[i]), ZoneId.systemDefault());
+        return new GpsPointDTO(ids[i], lat[i], lng[i], speed[i], at);
+    }
+}
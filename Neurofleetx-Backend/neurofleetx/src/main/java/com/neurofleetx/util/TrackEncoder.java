@@ -0,0 +1,109 @@
+package com.neurofleetx.util;
+
+import com.neurofleetx.dto.CompactTrackDTO;
+import com.neurofleetx.dto.GpsPointDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Compact encodings for GPS tracks.
+ * Both formats store columns (time, lat, lng, speed) as deltas of fixed-point
+ * integers: 1e-5 deg (~1 m) for coordinates and 0.1 km/h for speed.
+ */
+public class TrackEncoder {
+
+    public static final String TRACK_JSON_VALUE = "application/vnd.neurofleetx.track+json";
+    public static final String TRACK_BINARY_VALUE = "application/vnd.neurofleetx.track";
+
+    public static final int COORD_SCALE = 100_000;
+    public static final int SPEED_SCALE = 10;
+
+    private static final byte[] MAGIC = "NFXT".getBytes(StandardCharsets.US_ASCII);
+    private static final int BINARY_VERSION = 1;
+
+    public static CompactTrackDTO toCompactJson(List<GpsPointDTO> points) {
+        int n = points.size();
+        CompactTrackDTO dto = new CompactTrackDTO();
+        dto.setCount(n);
+        dto.setCoordScale(COORD_SCALE);
+        dto.setSpeedScale(SPEED_SCALE);
+        dto.setT(new long[n]);
+        dto.setLat(new int[n]);
+        dto.setLng(new int[n]);
+        dto.setSpeed(new int[n]);
+        if (n == 0) return dto;
+
+        long start = epochMillis(points.get(0).getLoggedAt());
+        dto.setStartTime(start);
+
+        long prevT = start;
+        int prevLat = 0, prevLng = 0, prevSpeed = 0;
+        for (int i = 0; i < n; i++) {
+            GpsPointDTO p = points.get(i);
+            long t = epochMillis(p.getLoggedAt());
+            int lat = scaleCoord(p.getLatitude());
+            int lng = scaleCoord(p.getLongitude());
+            int speed = scaleSpeed(p.getSpeed());
+
+            dto.getT()[i] = t - prevT;
+            dto.getLat()[i] = lat - prevLat;
+            dto.getLng()[i] = lng - prevLng;
+            dto.getSpeed()[i] = speed - prevSpeed;
+
+            prevT = t;
+            prevLat = lat;
+            prevLng = lng;
+            prevSpeed = speed;
+        }
+        return dto;
+    }
+
+    /**
+     * Binary layout: "NFXT", version(1 byte), varint count, zigzag startTime,
+     * then four columns of zigzag varint deltas: t, lat, lng, speed.
+     */
+    public static byte[] toBinary(List<GpsPointDTO> points) {
+        CompactTrackDTO c = toCompactJson(points);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + c.getCount() * 8);
+
+        out.writeBytes(MAGIC);
+        out.write(BINARY_VERSION);
+        writeVarLong(out, c.getCount());
+        writeVarLong(out, zigZag(c.getStartTime()));
+
+        for (long d : c.getT()) writeVarLong(out, zigZag(d));
+        for (int d : c.getLat()) writeVarLong(out, zigZag(d));
+        for (int d : c.getLng()) writeVarLong(out, zigZag(d));
+        for (int d : c.getSpeed()) writeVarLong(out, zigZag(d));
+
+        return out.toByteArray();
+    }
+
+    public static long epochMillis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static int scaleCoord(Double v) {
+        return v == null ? 0 : (int) Math.round(v * COORD_SCALE);
+    }
+
+    private static int scaleSpeed(Double v) {
+        return v == null ? 0 : (int) Math.round(v * SPEED_SCALE);
+    }
+
+    private static long zigZag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+}
@@ -0,0 +1,94 @@
+package com.neurofleetx.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Douglas-Peucker simplification over a TrackBuffer.
+ *
+ * Coordinates are projected to a local equirectangular plane in metres, so the
+ * tolerance is in metres. In time-aware mode the error of a point is its
+ * synchronized Euclidean distance (distance to where the vehicle would be at
+ * that timestamp moving uniformly between the segment ends), which keeps
+ * stops and speed changes that plain DP would discard.
+ *
+ * Iterative (explicit stack), so very long tracks cannot overflow the call stack.
+ */
+public class TrackSimplifier {
+
+    private static final double METERS_PER_DEG = 111_320.0;
+
+    /**
+     * @return indexes of the points to keep (always includes first and last)
+     */
+    public static BitSet simplify(TrackBuffer track, double toleranceMeters, boolean timeAware) {
+        int n = track.size();
+        BitSet keep = new BitSet(n);
+        if (n == 0) return keep;
+        keep.set(0);
+        keep.set(n - 1);
+        if (n < 3) return keep;
+
+        double lat0 = track.lat(0);
+        double cosLat = Math.cos(Math.toRadians(lat0));
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = (track.lng(i) - track.lng(0)) * METERS_PER_DEG * cosLat;
+            y[i] = (track.lat(i) - lat0) * METERS_PER_DEG;
+        }
+
+        double tol2 = toleranceMeters * toleranceMeters;
+        int[] stack = new int[64];
+        int sp = 0;
+        stack[sp++] = 0;
+        stack[sp++] = n - 1;
+
+        while (sp > 0) {
+            int last = stack[--sp];
+            int first = stack[--sp];
+            if (last - first < 2) continue;
+
+            double maxD2 = -1;
+            int maxIdx = -1;
+            for (int i = first + 1; i < last; i++) {
+                double d2 = timeAware
+                        ? sed2(x, y, track, first, last, i)
+                        : segmentDistance2(x[i], y[i], x[first], y[first], x[last], y[last]);
+                if (d2 > maxD2) {
+                    maxD2 = d2;
+                    maxIdx = i;
+                }
+            }
+
+            if (maxD2 > tol2) {
+                keep.set(maxIdx);
+                if (sp + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[sp++] = first;
+                stack[sp++] = maxIdx;
+                stack[sp++] = maxIdx;
+                stack[sp++] = last;
+            }
+        }
+        return keep;
+    }
+
+    // Squared distance from p to segment a-b
+    private static double segmentDistance2(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax, dy = by - ay;
+        double len2 = dx * dx + dy * dy;
+        double t = len2 == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / len2;
+        t = Math.max(0, Math.min(1, t));
+        double ex = ax + t * dx - px, ey = ay + t * dy - py;
+        return ex * ex + ey * ey;
+    }
+
+    // Squared synchronized Euclidean distance of point i against segment first-last
+    private static double sed2(double[] x, double[] y, TrackBuffer track, int first, int last, int i) {
+        long t0 = track.time(first), t1 = track.time(last);
+        double r = t1 == t0 ? 0 : (double) (track.time(i) - t0) / (t1 - t0);
+        double ex = x[first] + r * (x[last] - x[first]) - x[i];
+        double ey = y[first] + r * (y[last] - y[first]) - y[i];
+        return ex * ex + ey * ey;
+    }
+}
@@ -0,0 +1,88 @@
+package com.neurofleetx.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Running aggregates of one trip, updated fix by fix in O(1).
+ *
+ * Each interval between consecutive fixes is attributed to moving or idle
+ * time by the mean speed of its two ends; intervals longer than the max gap
+ * (signal loss, app closed) add distance but no time.
+ */
+public class TripOdometer {
+
+    private final double movingSpeedKmh;
+    private final long maxGapSeconds;
+
+    private double distanceKm;
+    private long movingSeconds;
+    private long idleSeconds;
+    private double maxSpeed;
+    private int samples;
+
+    private double lastLat;
+    private double lastLng;
+    private double lastSpeed;
+    private LocalDateTime firstAt;
+    private LocalDateTime lastAt;
+
+    public TripOdometer(double movingSpeedKmh, long maxGapSeconds) {
+        this.movingSpeedKmh = movingSpeedKmh;
+        this.maxGapSeconds = maxGapSeconds;
+    }
+
+    /**
+     * @return false if the fix is not newer than the last one and was ignored
+     */
+    public synchronized boolean add(double lat, double lng, double speed, LocalDateTime at) {
+        if (lastAt != null && !at.isAfter(lastAt)) return false;
+
+        if (lastAt != null) {
+            distanceKm += GeoUtils.haversineDistanceKm(lastLat, lastLng, lat, lng);
+
+            long seconds = Duration.between(lastAt, at).getSeconds();
+            if (seconds <= maxGapSeconds) {
+                if ((lastSpeed + speed) / 2 >= movingSpeedKmh) movingSeconds += seconds;
+                else idleSeconds += seconds;
+            }
+        } else {
+            firstAt = at;
+        }
+
+        maxSpeed = Math.max(maxSpeed, speed);
+        samples++;
+        lastLat = lat;
+        lastLng = lng;
+        lastSpeed = speed;
+        lastAt = at;
+        return true;
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(distanceKm, movingSeconds, idleSeconds, maxSpeed, samples, firstAt, lastAt);
+    }
+
+    /**
+     * Immutable copy of the aggregates at one point in time.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Snapshot {
+        private final double distanceKm;
+        private final long movingSeconds;
+        private final long idleSeconds;
+        private final double maxSpeed;
+        private final int samples;
+        private final LocalDateTime firstAt;
+        private final LocalDateTime lastAt;
+
+        // Average over moving time, km/h
+        public double avgMovingSpeed() {
+            return movingSeconds > 0 ? distanceKm / (movingSeconds / 3600.0) : 0.0;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.GraphPath;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.TrafficWeights;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AltAStarTest {
+
+    private final RoadGraph graph = TestGraphs.randomDirected(200, 17);
+    private final AltAStar search = new AltAStar(Landmarks.build(graph, 8));
+
+    @Test
+    void freeFlowMatchesDijkstra() {
+        assertSameCosts(TrafficWeights.freeFlow(graph));
+    }
+
+    @Test
+    void congestedWeightsMatchDijkstra() {
+        // Factors >= 1 keep the free-flow landmark bounds admissible
+        Random random = new Random(17);
+        float[] factors = new float[graph.edgeCount()];
+        for (int e = 0; e < factors.length; e++) factors[e] = 1f + random.nextFloat() * 3f;
+        assertSameCosts(TrafficWeights.of(graph, factors, 1));
+    }
+
+    private void assertSameCosts(TrafficWeights weights) {
+        WeightFunction reference = TestGraphs.of(weights);
+        for (int source = 0; source < graph.nodeCount(); source += 19) {
+            double[] dist = TestGraphs.dijkstra(graph, source, reference);
+            for (int target = 0; target < graph.nodeCount(); target += 5) {
+                GraphPath path = search.findPath(source, target, weights);
+                if (Double.isInfinite(dist[target])) {
+                    assertThat(path.isFound()).isFalse();
+                    continue;
+                }
+                assertThat(path.isFound()).isTrue();
+                assertThat(path.cost()).isCloseTo(dist[target], within(1e-9));
+                assertThat(TestGraphs.pathCost(graph, path.nodes(), reference)).isCloseTo(dist[target], within(1e-9));
+            }
+        }
+    }
+}
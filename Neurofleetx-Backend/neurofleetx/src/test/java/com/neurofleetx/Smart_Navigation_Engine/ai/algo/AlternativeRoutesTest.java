@@ -0,0 +1,73 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.GraphPath;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AlternativeRoutesTest {
+
+    private final RoadGraph graph = TestGraphs.randomDirected(300, 19);
+    private final AlternativeRoutes alternatives = new AlternativeRoutes(graph);
+
+    @Test
+    void routesRespectStretchAndSharingBounds() {
+        int withAlternatives = 0;
+        for (int source = 0; source < graph.nodeCount(); source += 37) {
+            double[] dist = TestGraphs.dijkstra(graph, source, DistanceWeight.INSTANCE);
+            for (int target = 5; target < graph.nodeCount(); target += 41) {
+                if (source == target) continue;
+                List<GraphPath> routes = alternatives.find(source, target, 3, DistanceWeight.INSTANCE);
+                if (Double.isInfinite(dist[target])) {
+                    assertThat(routes).isEmpty();
+                    continue;
+                }
+                assertThat(routes).isNotEmpty().hasSizeLessThanOrEqualTo(3);
+                assertThat(routes.get(0).cost()).isCloseTo(dist[target], within(1e-9));
+                if (routes.size() > 1) withAlternatives++;
+
+                Set<Long> taken = new HashSet<>();
+                for (GraphPath route : routes) {
+                    int[] nodes = route.nodes();
+                    assertThat(nodes[0]).isEqualTo(source);
+                    assertThat(nodes[nodes.length - 1]).isEqualTo(target);
+                    assertThat(nodes).doesNotHaveDuplicates();
+                    assertThat(route.cost()).isLessThanOrEqualTo(dist[target] * AlternativeRoutes.MAX_STRETCH + 1e-9);
+                    assertThat(TestGraphs.pathCost(graph, nodes, DistanceWeight.INSTANCE)).isCloseTo(route.cost(), within(1e-9));
+                    if (!taken.isEmpty()) assertThat(sharing(nodes, taken)).isLessThanOrEqualTo(AlternativeRoutes.MAX_SHARING);
+                    for (int i = 1; i < nodes.length; i++) taken.add(key(nodes[i - 1], nodes[i]));
+                }
+            }
+        }
+        assertThat(withAlternatives).isPositive();
+    }
+
+    @Test
+    void sameSourceAndTargetGivesTheTrivialRoute() {
+        List<GraphPath> routes = alternatives.find(4, 4, 3, DistanceWeight.INSTANCE);
+        assertThat(routes).hasSize(1);
+        assertThat(routes.get(0).cost()).isZero();
+    }
+
+    // Share of the route's length on edges of earlier routes, as AlternativeRoutes measures it
+    private double sharing(int[] nodes, Set<Long> taken) {
+        double shared = 0, total = 0;
+        for (int i = 1; i < nodes.length; i++) {
+            double km = graph.distanceKm(nodes[i - 1], nodes[i]);
+            total += km;
+            if (taken.contains(key(nodes[i - 1], nodes[i]))) shared += km;
+        }
+        return shared / total;
+    }
+
+    private long key(int from, int to) {
+        return (long) from * graph.nodeCount() + to;
+    }
+}
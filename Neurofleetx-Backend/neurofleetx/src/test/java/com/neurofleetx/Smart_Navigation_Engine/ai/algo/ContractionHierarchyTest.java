@@ -0,0 +1,47 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.TimeWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.GraphPath;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ContractionHierarchyTest {
+
+    private final RoadGraph graph = TestGraphs.randomDirected(150, 16);
+
+    @Test
+    void distanceQueriesMatchDijkstra() {
+        ContractionHierarchy ch = ContractionHierarchy.build(graph);
+        assertSameCosts(ch, DistanceWeight.INSTANCE);
+    }
+
+    @Test
+    void timeQueriesMatchDijkstra() {
+        ContractionHierarchy ch = ContractionHierarchy.buildByTime(graph);
+        assertSameCosts(ch, TimeWeight.FREE_FLOW);
+    }
+
+    private void assertSameCosts(ContractionHierarchy ch, WeightFunction weight) {
+        for (int source = 0; source < graph.nodeCount(); source += 13) {
+            double[] dist = TestGraphs.dijkstra(graph, source, weight);
+            for (int target = 0; target < graph.nodeCount(); target += 3) {
+                GraphPath path = ch.findPath(source, target);
+                if (Double.isInfinite(dist[target])) {
+                    assertThat(path.isFound()).isFalse();
+                    continue;
+                }
+                assertThat(path.isFound()).isTrue();
+                assertThat(path.cost()).isCloseTo(dist[target], within(1e-6));
+                // Shortcuts unpacked back to original edges
+                int[] nodes = path.nodes();
+                assertThat(nodes[0]).isEqualTo(source);
+                assertThat(nodes[nodes.length - 1]).isEqualTo(target);
+                assertThat(TestGraphs.pathCost(graph, nodes, weight)).isCloseTo(dist[target], within(1e-6));
+            }
+        }
+    }
+}
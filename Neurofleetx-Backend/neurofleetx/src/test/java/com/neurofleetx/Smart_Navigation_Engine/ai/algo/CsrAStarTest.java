@@ -0,0 +1,100 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.CompositeWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.FuelWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.SafetyWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.TimeWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.GraphPath;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CsrAStarTest {
+
+    private final RoadGraph graph = TestGraphs.randomDirected(200, 11);
+    private final CsrAStar search = new CsrAStar(graph);
+
+    @Test
+    void distanceCostMatchesDijkstra() {
+        for (int source = 0; source < graph.nodeCount(); source += 23) {
+            double[] dist = TestGraphs.dijkstra(graph, source, DistanceWeight.INSTANCE);
+            for (int target = 0; target < graph.nodeCount(); target += 7) {
+                GraphPath path = search.findPath(source, target);
+                assertMatches(path, dist[target], DistanceWeight.INSTANCE);
+            }
+        }
+    }
+
+    @Test
+    void travelTimeCostMatchesDijkstra() {
+        for (int source = 0; source < graph.nodeCount(); source += 23) {
+            double[] dist = TestGraphs.dijkstra(graph, source, TimeWeight.FREE_FLOW);
+            for (int target = 0; target < graph.nodeCount(); target += 7) {
+                GraphPath path = search.findPath(source, target, TimeWeight.FREE_FLOW);
+                assertMatches(path, dist[target], TimeWeight.FREE_FLOW);
+            }
+        }
+    }
+
+    @Test
+    void fuelSafetyAndCompositeCostsMatchDijkstra() {
+        WeightFunction composite = CompositeWeight.of(FuelWeight.INSTANCE, 1.0).plus(TimeWeight.FREE_FLOW, 2.0);
+        for (WeightFunction weight : List.of(FuelWeight.INSTANCE, SafetyWeight.INSTANCE, composite)) {
+            for (int source = 0; source < graph.nodeCount(); source += 41) {
+                double[] dist = TestGraphs.dijkstra(graph, source, weight);
+                for (int target = 0; target < graph.nodeCount(); target += 11) {
+                    assertMatches(search.findPath(source, target, weight), dist[target], weight);
+                }
+            }
+        }
+    }
+
+    @Test
+    void concurrentQueriesShareTheBoundedPool() throws Exception {
+        SearchSpacePool pool = SearchSpacePool.of(graph);
+        ExecutorService workers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int w = 0; w < 8; w++) {
+                long seed = w;
+                results.add(workers.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int q = 0; q < 50; q++) {
+                        int source = random.nextInt(graph.nodeCount());
+                        int target = random.nextInt(graph.nodeCount());
+                        double expected = TestGraphs.dijkstra(graph, source, DistanceWeight.INSTANCE)[target];
+                        GraphPath path = search.findPath(source, target);
+                        if (path.isFound() ? Math.abs(path.cost() - expected) > 1e-9 : expected != Double.POSITIVE_INFINITY) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) assertThat(result.get()).isTrue();
+        } finally {
+            workers.shutdown();
+        }
+        assertThat(pool.allocated()).isBetween(1, pool.capacity());
+    }
+
+    private void assertMatches(GraphPath path, double expected, WeightFunction weight) {
+        if (Double.isInfinite(expected)) {
+            assertThat(path.isFound()).isFalse();
+            return;
+        }
+        assertThat(path.isFound()).isTrue();
+        assertThat(path.cost()).isCloseTo(expected, within(1e-9));
+        assertThat(TestGraphs.pathCost(graph, path.nodes(), weight)).isCloseTo(expected, within(1e-9));
+    }
+}
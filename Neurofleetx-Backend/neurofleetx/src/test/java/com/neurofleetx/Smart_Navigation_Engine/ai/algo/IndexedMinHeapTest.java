@@ -0,0 +1,77 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedMinHeapTest {
+
+    @Test
+    void pollsInKeyOrderAfterRandomOffers() {
+        Random random = new Random(13);
+        int n = 500;
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        double[] best = new double[n];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+
+        for (int i = 0; i < 5000; i++) {
+            int item = random.nextInt(n);
+            double k = random.nextDouble() * 100;
+            boolean changed = heap.offer(item, k);
+            assertThat(changed).isEqualTo(k < best[item]);
+            best[item] = Math.min(best[item], k);
+        }
+
+        double last = Double.NEGATIVE_INFINITY;
+        int polled = 0;
+        while (!heap.isEmpty()) {
+            double k = heap.peekKey();
+            int item = heap.poll();
+            assertThat(k).isEqualTo(best[item]).isGreaterThanOrEqualTo(last);
+            assertThat(heap.contains(item)).isFalse();
+            last = k;
+            polled++;
+        }
+        assertThat(polled).isEqualTo((int) Arrays.stream(best).filter(Double::isFinite).count());
+    }
+
+    @Test
+    void offerWithALargerKeyLeavesTheItemAlone() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insert(1, 5.0);
+        assertThat(heap.offer(1, 7.0)).isFalse();
+        assertThat(heap.key(1)).isEqualTo(5.0);
+        assertThat(heap.offer(1, 2.0)).isTrue();
+        assertThat(heap.size()).isEqualTo(1);
+        assertThat(heap.peekKey()).isEqualTo(2.0);
+    }
+
+    @Test
+    void clearEmptiesTheHeapForReuse() {
+        IndexedMinHeap heap = new IndexedMinHeap(8);
+        for (int i = 0; i < 8; i++) heap.insert(i, 8 - i);
+        heap.poll();
+        heap.clear();
+
+        assertThat(heap.isEmpty()).isTrue();
+        for (int i = 0; i < 8; i++) assertThat(heap.contains(i)).isFalse();
+        heap.insert(3, 1.0);
+        assertThat(heap.poll()).isEqualTo(3);
+    }
+
+    @Test
+    void growsForItemsBeyondTheCapacity() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        heap.insert(100, 3.0);
+        heap.insert(0, 1.0);
+        heap.insert(50, 2.0);
+
+        assertThat(heap.contains(100)).isTrue();
+        assertThat(heap.poll()).isEqualTo(0);
+        assertThat(heap.poll()).isEqualTo(50);
+        assertThat(heap.poll()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,147 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraphBuilder;
+import com.neurofleetx.util.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MapMatcherTest {
+
+    private static final int SIDE = 60;
+
+    private RoadGraph graph;
+    private final List<Integer> trueEdges = new ArrayList<>();
+    private double trueKm;
+    private double[] lat, lng;
+    private long[] time;
+
+    @BeforeEach
+    void setUp() {
+        // Slightly irregular ~100 m grid of two-way streets
+        Random random = new Random(5);
+        RoadGraphBuilder b = new RoadGraphBuilder();
+        double[] la = new double[SIDE * SIDE], ln = new double[SIDE * SIDE];
+        for (int i = 0; i < SIDE * SIDE; i++) {
+            la[i] = 11.0 + (i / SIDE) * 0.001 + random.nextDouble() * 0.0002;
+            ln[i] = 77.0 + (i % SIDE) * 0.001 + random.nextDouble() * 0.0002;
+            b.addNode(la[i], ln[i]);
+        }
+        for (int i = 0; i < SIDE * SIDE; i++) {
+            if (i % SIDE + 1 < SIDE) twoWay(b, la, ln, i, i + 1);
+            if (i / SIDE + 1 < SIDE) twoWay(b, la, ln, i, i + SIDE);
+        }
+        graph = b.build();
+
+        // True route: 60 blocks of random walk without U-turns
+        List<Integer> nodes = new ArrayList<>();
+        int cur = SIDE * 30 + 30, prev = -1;
+        nodes.add(cur);
+        for (int k = 0; k < 60; k++) {
+            List<Integer> next = new ArrayList<>();
+            for (int e = graph.edgeStart(cur); e < graph.edgeEnd(cur); e++) {
+                if (graph.target(e) != prev) next.add(graph.target(e));
+            }
+            int chosen = next.get(random.nextInt(next.size()));
+            if (random.nextDouble() < 0.5 && prev >= 0 && next.contains(2 * cur - prev)) chosen = 2 * cur - prev;
+            prev = cur;
+            cur = chosen;
+            nodes.add(cur);
+        }
+        for (int i = 1; i < nodes.size(); i++) {
+            int u = nodes.get(i - 1), v = nodes.get(i);
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                if (graph.target(e) == v) {
+                    trueEdges.add(e);
+                    trueKm += graph.weight(e);
+                }
+            }
+        }
+
+        // A fix every ~30 m, 10 m of noise, 3 s apart
+        List<double[]> fixes = new ArrayList<>();
+        double step = 0.03, carry = 0;
+        for (int i = 1; i < nodes.size(); i++) {
+            int u = nodes.get(i - 1), v = nodes.get(i);
+            double len = GeoUtils.haversineDistanceKm(la[u], ln[u], la[v], ln[v]);
+            for (double s = carry; s < len; s += step) {
+                double f = s / len;
+                fixes.add(new double[]{
+                        la[u] + (la[v] - la[u]) * f + random.nextGaussian() * 0.00009,
+                        ln[u] + (ln[v] - ln[u]) * f + random.nextGaussian() * 0.00009});
+                carry = s + step - len;
+            }
+        }
+        lat = new double[fixes.size()];
+        lng = new double[fixes.size()];
+        time = new long[fixes.size()];
+        for (int i = 0; i < fixes.size(); i++) {
+            lat[i] = fixes.get(i)[0];
+            lng[i] = fixes.get(i)[1];
+            time[i] = 1_000_000L + i * 3000L;
+        }
+    }
+
+    @Test
+    void batchMatchFollowsTheDrivenRoute() {
+        MapMatcher matcher = new MapMatcher(graph, 0.010, 0.050, 0.050);
+        List<MapMatcher.MatchStep> steps = matcher.match(lat, lng, time);
+
+        assertThat(steps.stream().filter(MapMatcher.MatchStep::chainStart)).hasSize(1);
+        List<Integer> entered = entered(steps);
+        // The first fix may snap to the reverse edge; everything after is the driven route
+        assertThat(entered).isEqualTo(trueEdges.subList(trueEdges.size() - entered.size(), trueEdges.size()));
+        assertThat(entered.size()).isGreaterThanOrEqualTo(trueEdges.size() - 1);
+        assertThat(matchedKm(steps)).isCloseTo(trueKm, within(trueKm * 0.02));
+    }
+
+    @Test
+    void fixedLagSessionAgreesWithBatch() {
+        MapMatcher matcher = new MapMatcher(graph, 0.010, 0.050, 0.050);
+        List<MapMatcher.MatchStep> batch = matcher.match(lat, lng, time);
+
+        MapMatcher.Session session = matcher.session(5);
+        List<MapMatcher.MatchStep> live = new ArrayList<>();
+        for (int i = 0; i < lat.length; i++) {
+            live.addAll(session.add(lat[i], lng[i], time[i]));
+            assertThat(session.pendingCount()).isLessThanOrEqualTo(6);
+        }
+        live.addAll(session.finish());
+
+        assertThat(entered(live)).isEqualTo(entered(batch));
+        assertThat(matchedKm(live)).isCloseTo(matchedKm(batch), within(1e-9));
+    }
+
+    @Test
+    void fixFarFromAnyRoadIsLeftUnmatched() {
+        MapMatcher matcher = new MapMatcher(graph, 0.010, 0.050, 0.050);
+        List<MapMatcher.MatchStep> steps = matcher.match(new double[]{12.0}, new double[]{78.0}, new long[]{0});
+        assertThat(steps).isEmpty();
+    }
+
+    private static List<Integer> entered(List<MapMatcher.MatchStep> steps) {
+        List<Integer> edges = new ArrayList<>();
+        for (MapMatcher.MatchStep step : steps) {
+            if (step.chainStart()) continue;
+            for (int e : step.edges()) edges.add(e);
+        }
+        return edges;
+    }
+
+    private static double matchedKm(List<MapMatcher.MatchStep> steps) {
+        return steps.stream().filter(s -> !s.chainStart()).mapToDouble(MapMatcher.MatchStep::routeKm).sum();
+    }
+
+    private static void twoWay(RoadGraphBuilder b, double[] la, double[] ln, int u, int v) {
+        double km = GeoUtils.haversineDistanceKm(la[u], ln[u], la[v], ln[v]);
+        b.addEdge(u, v, km, 40, 0);
+        b.addEdge(v, u, km, 40, 0);
+    }
+}
@@ -0,0 +1,51 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.DistanceWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight.TimeWeight;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class OneToManyTest {
+
+    private final RoadGraph graph = TestGraphs.randomDirected(150, 22);
+    private final int[] sources = {0, 9, 41, 77, 120, 149};
+    private final int[] targets = {3, 9, 15, 60, 61, 99, 148};
+
+    @Test
+    void rowsMatchPairwiseDijkstra() {
+        OneToMany oneToMany = new OneToMany(graph);
+        float[] matrix = new float[sources.length * targets.length];
+        for (int i = 0; i < sources.length; i++) {
+            oneToMany.distancesFrom(sources[i], targets, TimeWeight.FREE_FLOW, matrix, i * targets.length);
+        }
+        assertMatrix(matrix, TimeWeight.FREE_FLOW);
+    }
+
+    @Test
+    void hierarchyBucketsMatchPairwiseDijkstra() {
+        ContractionHierarchy ch = ContractionHierarchy.build(graph);
+        ContractionHierarchy.Buckets buckets = ch.buckets(targets);
+        float[] matrix = new float[sources.length * targets.length];
+        for (int i = 0; i < sources.length; i++) {
+            ch.distancesFrom(sources[i], buckets, matrix, i * targets.length);
+        }
+        assertMatrix(matrix, DistanceWeight.INSTANCE);
+    }
+
+    private void assertMatrix(float[] matrix, WeightFunction weight) {
+        for (int i = 0; i < sources.length; i++) {
+            double[] dist = TestGraphs.dijkstra(graph, sources[i], weight);
+            for (int j = 0; j < targets.length; j++) {
+                float actual = matrix[i * targets.length + j];
+                if (Double.isInfinite(dist[targets[j]])) {
+                    assertThat(actual).isEqualTo(Float.POSITIVE_INFINITY);
+                } else {
+                    assertThat((double) actual).isCloseTo(dist[targets[j]], within(dist[targets[j]] * 1e-6 + 1e-9));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraphBuilder;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.TrafficWeights;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.Node;
+import com.neurofleetx.util.GeoUtils;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Small graphs and a reference Dijkstra for the routing tests.
+ */
+public final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    /**
+     * Random directed road graph in a ~2 km box: each node links to a few of
+     * its nearest neighbours, a third of the links one-way. Edge lengths are
+     * at least the straight line (A* heuristics stay admissible); speeds
+     * vary so that time and distance metrics disagree, and the road class
+     * follows the speed (fast = major, slow = residential).
+     */
+    static RoadGraph randomDirected(int n, long seed) {
+        Random random = new Random(seed);
+        RoadGraphBuilder b = new RoadGraphBuilder();
+        double[] lat = new double[n], lng = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = 11.0 + random.nextDouble() * 0.02;
+            lng[i] = 77.0 + random.nextDouble() * 0.02;
+            b.addNode(lat[i], lng[i]);
+        }
+        for (int u = 0; u < n; u++) {
+            Integer[] order = new Integer[n];
+            for (int v = 0; v < n; v++) order[v] = v;
+            final int from = u;
+            Arrays.sort(order, (x, y) -> Double.compare(
+                    GeoUtils.haversineDistanceKm(lat[from], lng[from], lat[x], lng[x]),
+                    GeoUtils.haversineDistanceKm(lat[from], lng[from], lat[y], lng[y])));
+            for (int k = 1; k <= 3 && k < n; k++) {
+                int v = order[k];
+                double km = GeoUtils.haversineDistanceKm(lat[u], lng[u], lat[v], lng[v]) * (1 + random.nextDouble() * 0.5);
+                int speed = 20 + random.nextInt(81);
+                int flags = speed >= 80 ? RoadGraph.FLAG_MAJOR_ROAD : speed < 35 ? RoadGraph.FLAG_RESIDENTIAL : 0;
+                b.addEdge(u, v, km, speed, flags);
+                if (random.nextInt(3) > 0) b.addEdge(v, u, km, speed, flags);
+            }
+        }
+        return b.build();
+    }
+
+    /**
+     * rows x cols lattice from (11.0, 77.0), spacingDeg apart, node r * cols + c.
+     * Columns are two-way; rows are one-way eastward, so a node can reach
+     * every node east of it but only its own column to the west. Edges are
+     * the straight line at RoadGraph.DEFAULT_SPEED_KMH.
+     */
+    public static RoadGraph grid(int rows, int cols, double spacingDeg) {
+        RoadGraphBuilder b = new RoadGraphBuilder();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) b.addNode(11.0 + r * spacingDeg, 77.0 + c * spacingDeg);
+        }
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int u = r * cols + c;
+                if (c + 1 < cols) gridEdge(b, u, u + 1, r, c, r, c + 1, spacingDeg);
+                if (r + 1 < rows) {
+                    gridEdge(b, u, u + cols, r, c, r + 1, c, spacingDeg);
+                    gridEdge(b, u + cols, u, r + 1, c, r, c, spacingDeg);
+                }
+            }
+        }
+        return b.build();
+    }
+
+    private static void gridEdge(RoadGraphBuilder b, int u, int v, int r1, int c1, int r2, int c2, double spacingDeg) {
+        double km = GeoUtils.haversineDistanceKm(11.0 + r1 * spacingDeg, 77.0 + c1 * spacingDeg,
+                11.0 + r2 * spacingDeg, 77.0 + c2 * spacingDeg);
+        b.addEdge(u, v, km, RoadGraph.DEFAULT_SPEED_KMH, 0);
+    }
+
+    /**
+     * Plain Dijkstra: cost from source to every node, +infinity if unreachable.
+     */
+    static double[] dijkstra(RoadGraph graph, int source, WeightFunction weight) {
+        double[] dist = new double[graph.nodeCount()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((x, y) -> Double.compare(x[0], y[0]));
+        queue.add(new double[]{0, source});
+        while (!queue.isEmpty()) {
+            double[] top = queue.poll();
+            int u = (int) top[1];
+            if (top[0] > dist[u]) continue;
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                double d = dist[u] + weight.edgeCost(graph, u, e);
+                int v = graph.target(e);
+                if (d < dist[v]) {
+                    dist[v] = d;
+                    queue.add(new double[]{d, v});
+                }
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * The traffic snapshot as a WeightFunction, for the reference Dijkstra.
+     */
+    static WeightFunction of(TrafficWeights weights) {
+        return new WeightFunction() {
+            @Override
+            public double cost(Node a, Node b) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public double edgeCost(RoadGraph graph, int from, int edge) {
+                return weights.timeHours(edge);
+            }
+        };
+    }
+
+    /**
+     * Cost of the node sequence under the metric, cheapest parallel edge per
+     * hop; +infinity if two consecutive nodes are not connected.
+     */
+    static double pathCost(RoadGraph graph, int[] nodes, WeightFunction weight) {
+        double total = 0;
+        for (int i = 1; i < nodes.length; i++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (int e = graph.edgeStart(nodes[i - 1]), end = graph.edgeEnd(nodes[i - 1]); e < end; e++) {
+                if (graph.target(e) == nodes[i]) best = Math.min(best, weight.edgeCost(graph, nodes[i - 1], e));
+            }
+            total += best;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,100 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.vrp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class VrpSolverTest {
+
+    private static final double EPS = 1e-6;
+
+    @Test
+    void randomInstancesRespectWindowsCapacityAndShift() {
+        for (long seed = 1; seed <= 10; seed++) {
+            Random rnd = new Random(seed);
+            int n = 40;
+            double[] x = new double[n + 1], y = new double[n + 1];
+            for (int i = 0; i <= n; i++) {
+                x[i] = rnd.nextDouble() * 60;
+                y[i] = rnd.nextDouble() * 60;
+            }
+            VrpProblem.Builder b = new VrpProblem.Builder(n + 1, matrix(x, y), matrix(x, y));
+            for (int i = 1; i <= n; i++) {
+                double ready = rnd.nextDouble() * 300;
+                b.addStop(i, 1 + rnd.nextInt(4), 5, ready, ready + 30 + rnd.nextDouble() * 90);
+            }
+            for (int v = 0; v < 4; v++) b.addVehicle(0, v % 2 == 0 ? 0 : VrpProblem.OPEN_END, 25, 0, 420);
+            VrpProblem problem = b.build();
+
+            VrpSolution solution = new VrpSolver(problem, seed).solve(System.nanoTime() + 50_000_000L, seed % 2 == 0);
+
+            assertFeasible(problem, solution);
+        }
+    }
+
+    @Test
+    void capacitySplitsStopsAcrossVehicles() {
+        VrpProblem.Builder b = new VrpProblem.Builder(2, new float[]{0, 1, 1, 0}, new float[]{0, 1, 1, 0});
+        for (int i = 0; i < 4; i++) b.addStop(1, 5, 0, 0, 1000);
+        b.addVehicle(0, 0, 10, 0, 1000);
+        b.addVehicle(0, 0, 10, 0, 1000);
+        VrpProblem problem = b.build();
+
+        VrpSolution solution = new VrpSolver(problem, 7).solve(System.nanoTime(), false);
+
+        assertFeasible(problem, solution);
+        assertThat(solution.unassigned()).isEmpty();
+        assertThat(solution.route(0)).hasSize(2);
+        assertThat(solution.route(1)).hasSize(2);
+    }
+
+    @Test
+    void unreachableStopsAreLeftUnassigned() {
+        float[] time = {0, 10, 100, 10, 0, 100, 100, 100, 0};
+        VrpProblem.Builder b = new VrpProblem.Builder(3, time, time);
+        int inWindow = b.addStop(1, 1, 0, 0, 60);
+        int tooFar = b.addStop(2, 1, 0, 0, 60);        // window closes before the vehicle can arrive
+        int afterShift = b.addStop(1, 1, 0, 500, 600); // opens after the shift ends
+        int tooHeavy = b.addStop(1, 50, 0, 0, 60);
+        b.addVehicle(0, 0, 10, 0, 480);
+        VrpProblem problem = b.build();
+
+        VrpSolution solution = new VrpSolver(problem, 3).solve(System.nanoTime(), false);
+
+        assertFeasible(problem, solution);
+        assertThat(solution.route(0)).containsExactly(inWindow);
+        assertThat(solution.unassigned()).containsExactlyInAnyOrder(tooFar, afterShift, tooHeavy);
+    }
+
+    // Checks the solution against the problem's own schedule, independently of routeCost
+    private static void assertFeasible(VrpProblem problem, VrpSolution solution) {
+        int[] seen = new int[problem.stopCount()];
+        double travel = 0;
+        for (int v = 0; v < solution.vehicleCount(); v++) {
+            int[] route = solution.route(v);
+            for (VrpProblem.Visit visit : problem.schedule(v, route)) {
+                seen[visit.stop()]++;
+                assertThat(visit.arrival()).isLessThanOrEqualTo(problem.due[visit.stop()] + EPS);
+                assertThat(visit.serviceStart()).isGreaterThanOrEqualTo(problem.ready[visit.stop()] - EPS);
+                assertThat(visit.load()).isLessThanOrEqualTo(problem.capacity[v]);
+            }
+            assertThat(problem.finishTime(v, route)).isLessThanOrEqualTo(problem.shiftEnd[v] + EPS);
+            travel += problem.travelMinutes(v, route);
+        }
+        for (int s : solution.unassigned()) seen[s]++;
+        assertThat(seen).containsOnly(1);
+        assertThat(solution.travelMinutes()).isCloseTo(travel, offset(1e-3));
+    }
+
+    private static float[] matrix(double[] x, double[] y) {
+        int n = x.length;
+        float[] m = new float[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) m[i * n + j] = (float) Math.hypot(x[i] - x[j], y[i] - y[j]);
+        }
+        return m;
+    }
+}
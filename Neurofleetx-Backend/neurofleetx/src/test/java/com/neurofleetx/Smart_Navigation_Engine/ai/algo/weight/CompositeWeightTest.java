@@ -0,0 +1,44 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class CompositeWeightTest {
+
+    @Test
+    void costAndHeuristicAreTheWeightedSums() {
+        RoadGraph graph = FuelWeightTest.oneKmAt(30, 100);
+        CompositeWeight eco = CompositeWeight.of(FuelWeight.INSTANCE, 1.0).plus(TimeWeight.FREE_FLOW, 2.0);
+
+        for (int e = 0; e < 2; e++) {
+            int target = graph.target(e);
+            assertThat(eco.edgeCost(graph, 0, e)).isCloseTo(
+                    FuelWeight.INSTANCE.edgeCost(graph, 0, e) + 2.0 * TimeWeight.FREE_FLOW.edgeCost(graph, 0, e),
+                    within(1e-12));
+            assertThat(eco.estimate(graph, 0, target)).isCloseTo(
+                    FuelWeight.INSTANCE.estimate(graph, 0, target) + 2.0 * TimeWeight.FREE_FLOW.estimate(graph, 0, target),
+                    within(1e-12));
+        }
+    }
+
+    @Test
+    void plusLeavesTheOriginalUnchanged() {
+        RoadGraph graph = FuelWeightTest.oneKmAt(60);
+        CompositeWeight fuel = CompositeWeight.of(FuelWeight.INSTANCE, 1.0);
+        fuel.plus(DistanceWeight.INSTANCE, 5.0);
+
+        assertThat(fuel.edgeCost(graph, 0, 0)).isCloseTo(FuelWeight.INSTANCE.edgeCost(graph, 0, 0), within(1e-12));
+    }
+
+    @Test
+    void negativeOrNonFiniteCoefficientsAreRejected() {
+        assertThatThrownBy(() -> CompositeWeight.of(FuelWeight.INSTANCE, -1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompositeWeight.of(FuelWeight.INSTANCE, 1.0).plus(TimeWeight.FREE_FLOW, Double.NaN))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,43 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FuelWeightTest {
+
+    @Test
+    void consumptionIsLowestAtTheOptimalSpeed() {
+        RoadGraph graph = oneKmAt(10, 40, 60, 90, 130);
+
+        double optimal = FuelWeight.INSTANCE.edgeCost(graph, 0, 2);
+        assertThat(optimal).isCloseTo(FuelWeight.BASE_L_PER_100KM / 100, within(1e-12));
+        assertThat(FuelWeight.INSTANCE.edgeCost(graph, 0, 1)).isGreaterThan(optimal);
+        assertThat(FuelWeight.INSTANCE.edgeCost(graph, 0, 0)).isGreaterThan(FuelWeight.INSTANCE.edgeCost(graph, 0, 1));
+        assertThat(FuelWeight.INSTANCE.edgeCost(graph, 0, 3)).isGreaterThan(optimal);
+        assertThat(FuelWeight.INSTANCE.edgeCost(graph, 0, 4)).isGreaterThan(FuelWeight.INSTANCE.edgeCost(graph, 0, 3));
+    }
+
+    @Test
+    void heuristicNeverExceedsAnEdge() {
+        RoadGraph graph = oneKmAt(10, 40, 60, 90, 130);
+        for (int e = 0; e < 5; e++) {
+            assertThat(FuelWeight.INSTANCE.estimate(graph, 0, graph.target(e)))
+                    .isLessThanOrEqualTo(FuelWeight.INSTANCE.edgeCost(graph, 0, e));
+        }
+    }
+
+    // Node 0 with a 1 km edge at each speed to its own node ~1 km east
+    static RoadGraph oneKmAt(int... speeds) {
+        RoadGraphBuilder b = new RoadGraphBuilder();
+        b.addNode(11.0, 77.0);
+        for (int speed : speeds) {
+            int node = b.addNode(11.0, 77.0091);
+            b.addEdge(0, node, 1.0, speed, 0);
+        }
+        return b.build();
+    }
+}
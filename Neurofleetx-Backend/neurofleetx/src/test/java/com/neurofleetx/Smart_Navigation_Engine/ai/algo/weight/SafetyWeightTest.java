@@ -0,0 +1,39 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.algo.weight;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SafetyWeightTest {
+
+    @Test
+    void riskFollowsRoadClassAndSpeed() {
+        RoadGraphBuilder b = new RoadGraphBuilder();
+        b.addNode(11.0, 77.0);
+        for (int i = 0; i < 4; i++) b.addNode(11.0, 77.0091);
+        b.addEdge(0, 1, 2.0, 60, RoadGraph.FLAG_MAJOR_ROAD);
+        b.addEdge(0, 2, 2.0, 50, 0);
+        b.addEdge(0, 3, 2.0, 30, RoadGraph.FLAG_RESIDENTIAL);
+        b.addEdge(0, 4, 2.0, 110, RoadGraph.FLAG_MAJOR_ROAD);
+        RoadGraph graph = b.build();
+
+        assertThat(cost(graph, 1)).isCloseTo(2.0 * SafetyWeight.MAJOR_ROAD_RISK, within(1e-12));
+        assertThat(cost(graph, 2)).isCloseTo(2.0 * SafetyWeight.ORDINARY_ROAD_RISK, within(1e-12));
+        assertThat(cost(graph, 3)).isCloseTo(2.0 * SafetyWeight.RESIDENTIAL_RISK, within(1e-12));
+        assertThat(cost(graph, 4))
+                .isCloseTo(2.0 * (SafetyWeight.MAJOR_ROAD_RISK + SafetyWeight.HIGH_SPEED_EXTRA), within(1e-12));
+        for (int node = 1; node <= 4; node++) {
+            assertThat(SafetyWeight.INSTANCE.estimate(graph, 0, node)).isLessThanOrEqualTo(cost(graph, node));
+        }
+    }
+
+    private static double cost(RoadGraph graph, int target) {
+        for (int e = graph.edgeStart(0); e < graph.edgeEnd(0); e++) {
+            if (graph.target(e) == target) return SafetyWeight.INSTANCE.edgeCost(graph, 0, e);
+        }
+        throw new AssertionError("No edge to " + target);
+    }
+}
@@ -0,0 +1,63 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.graph.osm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OsmGraphImporterTest {
+
+    @Test
+    void oneWayExitSplitsTheComponents() {
+        // 0 <-> 1 <-> 2 -> 3 <-> 4: nothing leads back from {3, 4}
+        int[] from = {0, 1, 1, 2, 2, 3, 4};
+        int[] to = {1, 0, 2, 1, 3, 4, 3};
+        int[] component = OsmGraphImporter.strongComponents(5, from, to, from.length);
+
+        assertThat(component[0]).isEqualTo(component[1]).isEqualTo(component[2]);
+        assertThat(component[3]).isEqualTo(component[4]).isNotEqualTo(component[0]);
+    }
+
+    @Test
+    void matchesMutualReachabilityOnRandomGraphs() {
+        Random random = new Random(14);
+        for (int round = 0; round < 20; round++) {
+            int n = 30;
+            int segments = 45;
+            int[] from = new int[segments], to = new int[segments];
+            for (int s = 0; s < segments; s++) {
+                from[s] = random.nextInt(n);
+                to[s] = random.nextInt(n);
+            }
+            int[] component = OsmGraphImporter.strongComponents(n, from, to, segments);
+
+            boolean[][] reach = new boolean[n][];
+            for (int v = 0; v < n; v++) reach[v] = reachable(v, n, from, to);
+            for (int a = 0; a < n; a++) {
+                for (int b = 0; b < n; b++) {
+                    assertThat(component[a] == component[b]).isEqualTo(reach[a][b] && reach[b][a]);
+                }
+            }
+        }
+    }
+
+    private static boolean[] reachable(int source, int n, int[] from, int[] to) {
+        boolean[] seen = new boolean[n];
+        Deque<Integer> queue = new ArrayDeque<>();
+        seen[source] = true;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            for (int s = 0; s < from.length; s++) {
+                if (from[s] == v && !seen[to[s]]) {
+                    seen[to[s]] = true;
+                    queue.add(to[s]);
+                }
+            }
+        }
+        return seen;
+    }
+}
@@ -0,0 +1,142 @@
+package com.neurofleetx.Smart_Navigation_Engine.ai.service;
+
+import com.neurofleetx.Smart_Navigation_Engine.ai.algo.TestGraphs;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.RoadGraph;
+import com.neurofleetx.Smart_Navigation_Engine.ai.graph.TrafficWeights;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.IsochroneResponse;
+import com.neurofleetx.Smart_Navigation_Engine.ai.model.ReachableVehiclesResponse;
+import com.neurofleetx.dto.FleetStatusDTO;
+import com.neurofleetx.service.LatestPositionStore;
+import com.neurofleetx.util.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IsochroneServiceTest {
+
+    private static final double SPACING = 0.005;
+
+    // 3 x 3: columns two-way, rows one-way eastward
+    private final RoadGraph graph = TestGraphs.grid(3, 3, SPACING);
+    private final LatestPositionStore positions = mock(LatestPositionStore.class);
+    private IsochroneService service;
+
+    @BeforeEach
+    void setUp() {
+        RoadNetworkService roadNetwork = mock(RoadNetworkService.class);
+        when(roadNetwork.getGraph()).thenReturn(graph);
+        when(roadNetwork.snapNode(anyDouble(), anyDouble())).thenAnswer(inv -> nearest(inv.getArgument(0), inv.getArgument(1)));
+        TrafficWeightService traffic = mock(TrafficWeightService.class);
+        when(traffic.current(graph)).thenReturn(TrafficWeights.freeFlow(graph));
+
+        service = new IsochroneService(roadNetwork, traffic, positions);
+        ReflectionTestUtils.setField(service, "maxMinutes", 60.0);
+        ReflectionTestUtils.setField(service, "cellDeg", SPACING);
+    }
+
+    @Test
+    void hullDropsInteriorCollinearAndRepeatedPoints() {
+        List<double[]> points = new ArrayList<>(List.of(
+                new double[]{0, 0}, new double[]{0, 2}, new double[]{2, 2}, new double[]{2, 0},
+                new double[]{1, 1},              // inside
+                new double[]{0, 1},              // on an edge
+                new double[]{2, 2}, new double[]{0, 0})); // repeated corners
+
+        List<double[]> hull = IsochroneService.convexHull(points);
+
+        assertThat(hull).containsExactlyInAnyOrder(
+                new double[]{0, 0}, new double[]{0, 2}, new double[]{2, 2}, new double[]{2, 0});
+    }
+
+    @Test
+    void degenerateHullsKeepTheirDistinctPoints() {
+        List<double[]> same = new ArrayList<>(List.of(new double[]{1, 1}, new double[]{1, 1}, new double[]{1, 1}));
+        assertThat(IsochroneService.convexHull(same)).containsExactly(new double[]{1, 1});
+
+        List<double[]> line = new ArrayList<>(List.of(new double[]{0, 0}, new double[]{1, 1}, new double[]{2, 2}));
+        assertThat(IsochroneService.convexHull(line)).containsExactlyInAnyOrder(new double[]{0, 0}, new double[]{2, 2});
+    }
+
+    @Test
+    void cellKeysDecodeToTheirCentreOnBothSidesOfZero() {
+        assertCentre(11.0012, 77.0074, 11.0025, 77.0075);
+        assertCentre(-0.0012, -0.0074, -0.0025, -0.0075);
+        assertCentre(-33.8688, 151.2093, -33.8675, 151.2075);
+
+        assertThat(service.cellKey(0.0001, 0.0001)).isNotEqualTo(service.cellKey(-0.0001, 0.0001));
+        assertThat(service.cellKey(0.0001, 0.0001)).isNotEqualTo(service.cellKey(0.0001, -0.0001));
+    }
+
+    @Test
+    void bandIsTheFirstLimitNotExceeded() {
+        double[] limits = {5, 10, 15};
+        assertThat(IsochroneService.bandOf(limits, 3)).isZero();
+        assertThat(IsochroneService.bandOf(limits, 5)).isZero();
+        assertThat(IsochroneService.bandOf(limits, 7)).isEqualTo(1);
+        assertThat(IsochroneService.bandOf(limits, 15)).isEqualTo(2);
+        assertThat(IsochroneService.bandOf(limits, 20)).isEqualTo(2);
+    }
+
+    @Test
+    void backwardIsochroneFollowsTheReversedEdges() {
+        // From the north-west corner everything is reachable; only its own column can get there
+        IsochroneResponse from = service.isochrone(11.0, 77.0, List.of(30.0), false);
+        IsochroneResponse to = service.isochrone(11.0, 77.0, List.of(30.0), true);
+
+        assertThat(from.getBands().get(0).getReachedNodes()).isEqualTo(9);
+        assertThat(to.getBands().get(0).getReachedNodes()).isEqualTo(3);
+        assertThat(to.getCells()).allSatisfy(c -> assertThat(c.getLng()).isCloseTo(77.0025, within(1e-9)));
+    }
+
+    @Test
+    void reachableVehiclesAreTheOnesThatCanDriveToThePoint() {
+        when(positions.snapshot()).thenReturn(List.of(
+                vehicle(1L, 2, 0),   // two hops up its column
+                vehicle(2L, 0, 1),   // east of the point on a one-way row: cannot get back
+                vehicle(3L, 1, 0))); // one hop
+
+        ReachableVehiclesResponse response = service.reachableVehicles(11.0, 77.0, 30);
+
+        assertThat(response.getVehicles()).extracting(ReachableVehiclesResponse.ReachableVehicle::getVehicleId)
+                .containsExactly(3L, 1L);
+        double hopMin = GeoUtils.haversineDistanceKm(11.0, 77.0, 11.0 + SPACING, 77.0) / RoadGraph.DEFAULT_SPEED_KMH * 60;
+        assertThat(response.getVehicles().get(1).getEtaMin()).isCloseTo(2 * hopMin, within(1e-6));
+
+        // A tighter limit leaves out the farther vehicle
+        assertThat(service.reachableVehicles(11.0, 77.0, hopMin * 1.5).getVehicles())
+                .extracting(ReachableVehiclesResponse.ReachableVehicle::getVehicleId).containsExactly(3L);
+    }
+
+    private void assertCentre(double lat, double lng, double centreLat, double centreLng) {
+        double[] centre = service.cellCentre(service.cellKey(lat, lng));
+        assertThat(centre[0]).isCloseTo(centreLat, within(1e-9));
+        assertThat(centre[1]).isCloseTo(centreLng, within(1e-9));
+    }
+
+    private static FleetStatusDTO vehicle(Long id, int row, int col) {
+        return new FleetStatusDTO(id, "KA-" + id, "VAN", "Driver " + id,
+                11.0 + row * SPACING, 77.0 + col * SPACING, 0.0, "STOPPED", null);
+    }
+
+    private int nearest(double lat, double lng) {
+        int best = -1;
+        double bestKm = Double.POSITIVE_INFINITY;
+        for (int n = 0; n < graph.nodeCount(); n++) {
+            double km = GeoUtils.haversineDistanceKm(lat, lng, graph.lat(n), graph.lng(n));
+            if (km < bestKm) {
+                bestKm = km;
+                best = n;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,54 @@
+package com.neurofleetx.controller;
+
+import com.neurofleetx.service.GpsQueueFullException;
+import com.neurofleetx.service.GpsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GpsControllerTest {
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        GpsService gpsService = mock(GpsService.class);
+        when(gpsService.createGpsLog(anyLong(), anyDouble(), anyDouble(), anyDouble(), any(), any()))
+                .thenThrow(new GpsQueueFullException());
+        when(gpsService.createGpsLogForTrip(anyLong(), anyDouble(), anyDouble(), anyDouble(), any(), any()))
+                .thenThrow(new GpsQueueFullException());
+
+        GpsController controller = new GpsController();
+        ReflectionTestUtils.setField(controller, "gpsService", gpsService);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void vehicleLogAsksDevicesToRetryWhenTheQueueIsFull() throws Exception {
+        mvc.perform(post("/api/gps/log")
+                        .param("vehicleId", "1").param("latitude", "11.0")
+                        .param("longitude", "77.0").param("speed", "30"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void tripLogAsksDevicesToRetryWhenTheQueueIsFull() throws Exception {
+        mvc.perform(post("/api/gps/trip/log")
+                        .param("tripId", "7").param("latitude", "11.0")
+                        .param("longitude", "77.0").param("speed", "30"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+}
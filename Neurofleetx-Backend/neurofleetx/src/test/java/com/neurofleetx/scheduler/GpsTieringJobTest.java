@@ -0,0 +1,137 @@
+package com.neurofleetx.scheduler;
+
+import com.neurofleetx.entity.GpsRollup;
+import com.neurofleetx.repository.GpsJdbcRepository;
+import com.neurofleetx.service.TrackSimplificationService;
+import com.neurofleetx.util.GeoUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GpsTieringJobTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+    private final List<GpsRollup> rollups = new ArrayList<>();
+    private final GpsTieringJob.BucketFolder folder = new GpsTieringJob.BucketFolder(rollups::add);
+
+    @Test
+    void fixesFoldIntoMinuteBuckets() {
+        folder.add(1, 10L, 11.000, 77.0, 20.0, T0.plusSeconds(5));
+        folder.add(1, 10L, 11.001, 77.0, 40.0, T0.plusSeconds(35));
+        folder.add(1, 10L, 11.002, 77.0, 30.0, T0.plusSeconds(65));
+        folder.finish();
+
+        assertThat(rollups).hasSize(2);
+        GpsRollup first = rollups.get(0);
+        assertThat(first.getBucketStart()).isEqualTo(T0);
+        assertThat(first.getSampleCount()).isEqualTo(2);
+        assertThat(first.getMinSpeed()).isEqualTo(20.0);
+        assertThat(first.getMaxSpeed()).isEqualTo(40.0);
+        assertThat(first.getAvgSpeed()).isEqualTo(30.0);
+        assertThat(first.getFirstAt()).isEqualTo(T0.plusSeconds(5));
+        assertThat(first.getLastAt()).isEqualTo(T0.plusSeconds(35));
+        assertThat(first.getDistanceKm()).isCloseTo(km(11.000, 11.001), offset(1e-9));
+
+        // The hop from the previous minute belongs to the bucket it ends in
+        GpsRollup second = rollups.get(1);
+        assertThat(second.getBucketStart()).isEqualTo(T0.plusMinutes(1));
+        assertThat(second.getDistanceKm()).isCloseTo(km(11.001, 11.002), offset(1e-9));
+    }
+
+    @Test
+    void newTripOrVehicleStartsWithoutAHop() {
+        folder.add(1, 10L, 11.000, 77.0, 20.0, T0);
+        folder.add(1, 11L, 11.010, 77.0, 20.0, T0.plusSeconds(10));
+        folder.add(1, null, 11.020, 77.0, 20.0, T0.plusSeconds(20));
+        folder.add(2, null, 11.030, 77.0, 20.0, T0.plusSeconds(30));
+        folder.finish();
+
+        assertThat(rollups).extracting(GpsRollup::getTripId).containsExactly(10L, 11L, null, null);
+        assertThat(rollups).extracting(GpsRollup::getVehicleId).containsExactly(1L, 1L, 1L, 2L);
+        assertThat(rollups).allSatisfy(r -> {
+            assertThat(r.getSampleCount()).isEqualTo(1);
+            assertThat(r.getDistanceKm()).isZero();
+        });
+    }
+
+    @Test
+    void missingSpeedsAreLeftOutOfTheSpeedFigures() {
+        folder.add(1, 10L, 11.000, 77.0, null, T0);
+        folder.add(1, 10L, 11.001, 77.0, 30.0, T0.plusSeconds(10));
+        folder.add(1, 10L, 11.002, 77.0, 50.0, T0.plusSeconds(20));
+        folder.add(1, 10L, 11.003, 77.0, null, T0.plusSeconds(70));
+        folder.finish();
+
+        GpsRollup first = rollups.get(0);
+        assertThat(first.getSampleCount()).isEqualTo(3);
+        assertThat(first.getMinSpeed()).isEqualTo(30.0);
+        assertThat(first.getMaxSpeed()).isEqualTo(50.0);
+        assertThat(first.getAvgSpeed()).isEqualTo(40.0);
+
+        GpsRollup second = rollups.get(1);
+        assertThat(second.getSampleCount()).isEqualTo(1);
+        assertThat(second.getMinSpeed()).isNull();
+        assertThat(second.getMaxSpeed()).isNull();
+        assertThat(second.getAvgSpeed()).isNull();
+    }
+
+    @Test
+    void eachChunkOfVehiclesIsFoldedAndDeletedOnItsOwn() throws Exception {
+        GpsJdbcRepository repo = mock(GpsJdbcRepository.class);
+        TrackSimplificationService simplification = mock(TrackSimplificationService.class);
+        when(repo.findOldestLoggedAt()).thenReturn(T0.plusMinutes(20));
+        when(repo.findVehicleIds()).thenReturn(List.of(1L, 2L, 3L));
+
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("vehicle_id")).thenReturn(3L);
+        when(row.getObject("trip_id", Long.class)).thenReturn(30L);
+        when(row.getDouble("latitude")).thenReturn(11.0);
+        when(row.getDouble("longitude")).thenReturn(77.0);
+        when(row.getObject("speed", Double.class)).thenReturn(25.0);
+        when(row.getTimestamp("logged_at")).thenReturn(Timestamp.valueOf(T0.plusMinutes(20)));
+        // Only the second chunk has rows in the slice
+        doAnswer(inv -> {
+            inv.<RowCallbackHandler>getArgument(3).processRow(row);
+            return null;
+        }).when(repo).streamChunk(eq(List.of(3L)), any(), any(), any());
+
+        GpsTieringJob job = new GpsTieringJob(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(job, "gpsJdbcRepository", repo);
+        ReflectionTestUtils.setField(job, "trackSimplificationService", simplification);
+        ReflectionTestUtils.setField(job, "maxSlicesPerRun", 48);
+        ReflectionTestUtils.setField(job, "vehiclesPerChunk", 2);
+        ReflectionTestUtils.setField(job, "insertBatchSize", 500);
+
+        assertThat(job.compact(T0.plusHours(1))).isEqualTo(1);
+
+        verify(repo).streamChunk(eq(List.of(1L, 2L)), eq(T0), eq(T0.plusHours(1)), any());
+        verify(repo, never()).deleteChunk(eq(List.of(1L, 2L)), any(), any());
+        verify(repo).batchInsertRollups(anyList());
+        verify(repo).deleteChunk(List.of(3L), T0, T0.plusHours(1));
+        verify(repo).deleteUnownedSlice(T0, T0.plusHours(1));
+        verify(simplification).evict(30L);
+    }
+
+    private static double km(double fromLat, double toLat) {
+        return GeoUtils.haversineDistanceKm(fromLat, 77.0, toLat, 77.0);
+    }
+}
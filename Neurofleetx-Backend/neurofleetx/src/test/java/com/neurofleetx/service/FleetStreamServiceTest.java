@@ -0,0 +1,157 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.FleetStatusDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FleetStreamServiceTest {
+
+    private FleetStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        LatestPositionStore store = mock(LatestPositionStore.class);
+        when(store.snapshot()).thenReturn(List.of());
+        service = new FleetStreamService();
+        ReflectionTestUtils.setField(service, "latestPositionStore", store);
+        ReflectionTestUtils.setField(service, "sendTimeoutMs", 10_000L);
+        ReflectionTestUtils.setField(service, "maxPending", 100);
+        ReflectionTestUtils.invokeMethod(service, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+    }
+
+    @Test
+    void vehicleLeavingTheBboxGetsOneLeaveEvent() throws Exception {
+        RecordingEmitter client = new RecordingEmitter();
+        service.subscribe(client, 11.0, 77.0, 12.0, 78.0, null);
+
+        service.publish(position(1L, 11.5));
+        awaitEvents(client, 1);
+        service.publish(position(1L, 13.0));
+        awaitEvents(client, 2);
+        service.publish(position(1L, 13.5));
+        service.remove(1L);
+        service.publish(position(2L, 13.0));
+        Thread.sleep(100);
+
+        assertThat(client.events).containsExactly("position", "leave");
+    }
+
+    @Test
+    void deletedVehicleLeavesEveryViewShowingIt() throws Exception {
+        RecordingEmitter client = new RecordingEmitter();
+        service.subscribe(client, null, null, null, null, null);
+
+        service.publish(position(1L, 11.5));
+        awaitEvents(client, 1);
+        service.remove(1L);
+        awaitEvents(client, 2);
+
+        assertThat(client.events).containsExactly("position", "leave");
+    }
+
+    @Test
+    void stuckClientDoesNotHoldUpOthersAndIsCompleted() throws Exception {
+        BlockingEmitter stuck = new BlockingEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        service.subscribe(stuck, null, null, null, null, null);
+        service.subscribe(healthy, null, null, null, null, null);
+
+        for (long v = 1; v <= 20; v++) service.publish(position(v, 11.5));
+        awaitEvents(healthy, 20);
+        assertThat(stuck.entered.await(5, java.util.concurrent.TimeUnit.SECONDS)).isTrue();
+
+        ReflectionTestUtils.setField(service, "sendTimeoutMs", 0L);
+        Thread.sleep(5);
+        service.heartbeat();
+
+        assertThat(service.subscriberCount()).isEqualTo(1);
+        stuck.release.countDown();
+        await(() -> stuck.completed);
+    }
+
+    @Test
+    void subscriberFallingTooFarBehindIsCompleted() throws Exception {
+        ReflectionTestUtils.setField(service, "maxPending", 5);
+        BlockingEmitter stuck = new BlockingEmitter();
+        service.subscribe(stuck, null, null, null, null, null);
+
+        service.publish(position(1L, 11.5));
+        assertThat(stuck.entered.await(5, java.util.concurrent.TimeUnit.SECONDS)).isTrue();
+        for (long v = 2; v <= 10; v++) service.publish(position(v, 11.5));
+
+        assertThat(service.subscriberCount()).isZero();
+        stuck.release.countDown();
+    }
+
+    private static FleetStatusDTO position(Long vehicleId, double lat) {
+        return new FleetStatusDTO(vehicleId, "KA-0" + vehicleId, "VAN", "Unassigned",
+                lat, 77.5, 30.0, "MOVING", "2026-01-01T08:00");
+    }
+
+    private static void awaitEvents(RecordingEmitter client, int count) throws InterruptedException {
+        await(() -> client.events.size() >= count);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("Timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    // Records the event name of every named event; comments (keep-alives) are ignored
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text && text.startsWith("event:")) {
+                    events.add(text.substring(6, text.indexOf('\n')));
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    // A client whose socket stopped draining: the first send never returns until released
+    private static final class BlockingEmitter extends RecordingEmitter {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.GpsHistoryPage;
+import com.neurofleetx.dto.GpsPointDTO;
+import com.neurofleetx.repository.GpsRepository;
+import com.neurofleetx.repository.GpsRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GpsHistoryServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    // Rows are tagged by latitude so a page shows which tier each point came from
+    private static final double RAW = 1.0;
+    private static final double ROLLUP = 2.0;
+
+    private static final Comparator<GpsPointDTO> OLDEST_FIRST =
+            Comparator.comparing(GpsPointDTO::getLoggedAt).thenComparing(GpsPointDTO::getId);
+
+    private final List<GpsPointDTO> raw = new ArrayList<>();
+    private final List<GpsPointDTO> rollups = new ArrayList<>();
+
+    private GpsHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        // Compacted minutes; two trips of the vehicle share the 09:01 and 09:03 buckets
+        rollup(1, 0);
+        rollup(2, 1);
+        rollup(3, 1);
+        rollup(4, 2);
+        rollup(5, 3);
+        rollup(6, 3);
+        // Recent fixes; ids overlap the rollup ids on purpose, and a burst shares one timestamp
+        fix(1, 60);
+        fix(2, 60);
+        fix(3, 60);
+        fix(4, 61);
+        fix(5, 62);
+        fix(6, 62);
+        fix(7, 63);
+
+        // Fakes apply the same keyset predicates and order as the JPQL in the repositories
+        GpsRepository gpsRepository = mock(GpsRepository.class);
+        when(gpsRepository.findVehicleHistoryPage(anyLong(), any(), any(), anyLong(), any()))
+                .thenAnswer(inv -> newestFirst(raw, inv.getArgument(1), inv.getArgument(2),
+                        inv.getArgument(3), inv.getArgument(4)));
+        when(gpsRepository.findTripHistoryPage(anyLong(), any(), any(), anyLong(), any()))
+                .thenAnswer(inv -> oldestFirst(raw, inv.getArgument(1), inv.getArgument(2),
+                        inv.getArgument(3), inv.getArgument(4)));
+
+        GpsRollupRepository gpsRollupRepository = mock(GpsRollupRepository.class);
+        when(gpsRollupRepository.findVehicleRollupPage(anyLong(), any(), any(), anyLong(), any()))
+                .thenAnswer(inv -> newestFirst(rollups, inv.getArgument(1), inv.getArgument(2),
+                        inv.getArgument(3), inv.getArgument(4)));
+        when(gpsRollupRepository.findTripRollupPage(anyLong(), any(), any(), anyLong(), any()))
+                .thenAnswer(inv -> oldestFirst(rollups, inv.getArgument(1), inv.getArgument(2),
+                        inv.getArgument(3), inv.getArgument(4)));
+
+        service = new GpsHistoryService();
+        ReflectionTestUtils.setField(service, "gpsRepository", gpsRepository);
+        ReflectionTestUtils.setField(service, "gpsRollupRepository", gpsRollupRepository);
+        ReflectionTestUtils.setField(service, "defaultLimit", 500);
+        ReflectionTestUtils.setField(service, "maxLimit", 5000);
+    }
+
+    @Test
+    void vehicleHistoryPagesRawThenRollupsNewestFirst() {
+        List<String> expected = new ArrayList<>();
+        expected.addAll(keys(raw, OLDEST_FIRST.reversed()));
+        expected.addAll(keys(rollups, OLDEST_FIRST.reversed()));
+
+        for (int size = 1; size <= expected.size() + 1; size++) {
+            int limit = size;
+            assertThat(pageThrough(cursor -> service.getVehicleHistory(1L, null, null, cursor, limit)))
+                    .as("page size %d", size)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void tripHistoryPagesRollupsThenRawOldestFirst() {
+        List<String> expected = new ArrayList<>();
+        expected.addAll(keys(rollups, OLDEST_FIRST));
+        expected.addAll(keys(raw, OLDEST_FIRST));
+
+        for (int size = 1; size <= expected.size() + 1; size++) {
+            int limit = size;
+            assertThat(pageThrough(cursor -> service.getTripHistory(7L, null, null, cursor, limit)))
+                    .as("page size %d", size)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void pagesSplitInsideAnEqualTimestampBurst() {
+        // Newest first, the fifth point is the first of the three fixes logged at 10:00
+        GpsHistoryPage first = service.getVehicleHistory(1L, null, null, null, 5);
+        assertThat(first.getNextCursor()).isEqualTo(T0.plusMinutes(60) + "_3");
+
+        GpsHistoryPage second = service.getVehicleHistory(1L, null, null, first.getNextCursor(), 2);
+        assertThat(second.getPoints()).extracting(GpsPointDTO::getId).containsExactly(2L, 1L);
+        assertThat(second.getPoints()).extracting(GpsPointDTO::getLatitude).containsOnly(RAW);
+    }
+
+    @Test
+    void rollupSuffixOnlyWhenThePageEndsInTheRollupTier() {
+        // Vehicle: seven raw fixes come first, the eighth point is the newest rollup
+        assertThat(service.getVehicleHistory(1L, null, null, null, 7).getNextCursor())
+                .isEqualTo(T0.plusMinutes(60) + "_1");
+        assertThat(service.getVehicleHistory(1L, null, null, null, 8).getNextCursor())
+                .isEqualTo(T0.plusMinutes(3) + "_6_m");
+
+        // Trip: six rollups come first, the seventh point is the oldest raw fix
+        assertThat(service.getTripHistory(7L, null, null, null, 6).getNextCursor())
+                .isEqualTo(T0.plusMinutes(3) + "_6_m");
+        assertThat(service.getTripHistory(7L, null, null, null, 7).getNextCursor())
+                .isEqualTo(T0.plusMinutes(60) + "_1");
+    }
+
+    @Test
+    void windowBoundsApplyAcrossBothTiers() {
+        LocalDateTime from = T0.plusMinutes(1);
+        LocalDateTime to = T0.plusMinutes(61);
+
+        assertThat(pageThrough(cursor -> service.getVehicleHistory(1L, from, to, cursor, 2)))
+                .containsExactly("raw-4", "raw-3", "raw-2", "raw-1",
+                        "rollup-6", "rollup-5", "rollup-4", "rollup-3", "rollup-2");
+        assertThat(pageThrough(cursor -> service.getTripHistory(7L, from, to, cursor, 2)))
+                .containsExactly("rollup-2", "rollup-3", "rollup-4", "rollup-5", "rollup-6",
+                        "raw-1", "raw-2", "raw-3", "raw-4");
+    }
+
+    @Test
+    void cursorRoundTripsAndRejectsGarbage() {
+        LocalDateTime at = LocalDateTime.of(2025, 3, 1, 9, 0, 0, 500_000_000);
+        GpsHistoryService.Cursor parsed = GpsHistoryService.Cursor.parse(
+                new GpsHistoryService.Cursor(at, 42L, true).format());
+        assertThat(parsed.loggedAt).isEqualTo(at);
+        assertThat(parsed.id).isEqualTo(42L);
+        assertThat(parsed.rollup).isTrue();
+
+        GpsHistoryService.Cursor plain = GpsHistoryService.Cursor.parse(T0 + "_7");
+        assertThat(plain.loggedAt).isEqualTo(T0);
+        assertThat(plain.rollup).isFalse();
+
+        for (String bad : List.of("", "_m", "42", "_42", "yesterday_42", T0 + "_x", T0 + "_42_z")) {
+            assertThatThrownBy(() -> GpsHistoryService.Cursor.parse(bad))
+                    .as(bad)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    // Follows nextCursor to the end, recording every point as "tier-id"
+    private static List<String> pageThrough(Function<String, GpsHistoryPage> fetch) {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            GpsHistoryPage page = fetch.apply(cursor);
+            page.getPoints().forEach(p -> seen.add(key(p)));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static List<String> keys(List<GpsPointDTO> rows, Comparator<GpsPointDTO> order) {
+        return rows.stream().sorted(order).map(GpsHistoryServiceTest::key).toList();
+    }
+
+    private static String key(GpsPointDTO p) {
+        return (p.getLatitude() == RAW ? "raw-" : "rollup-") + p.getId();
+    }
+
+    private void fix(long id, int minute) {
+        raw.add(new GpsPointDTO(id, RAW, 77.0, 40.0, T0.plusMinutes(minute)));
+    }
+
+    private void rollup(long id, int minute) {
+        rollups.add(new GpsPointDTO(id, ROLLUP, 77.0, 35.0, T0.plusMinutes(minute)));
+    }
+
+    private static List<GpsPointDTO> newestFirst(List<GpsPointDTO> rows, LocalDateTime from,
+                                                 LocalDateTime cursorAt, long cursorId, Pageable page) {
+        return rows.stream()
+                .filter(p -> !p.getLoggedAt().isBefore(from))
+                .filter(p -> p.getLoggedAt().isBefore(cursorAt)
+                        || (p.getLoggedAt().isEqual(cursorAt) && p.getId() < cursorId))
+                .sorted(OLDEST_FIRST.reversed())
+                .limit(page.getPageSize())
+                .toList();
+    }
+
+    private static List<GpsPointDTO> oldestFirst(List<GpsPointDTO> rows, LocalDateTime to,
+                                                 LocalDateTime cursorAt, long cursorId, Pageable page) {
+        return rows.stream()
+                .filter(p -> !p.getLoggedAt().isAfter(to))
+                .filter(p -> p.getLoggedAt().isAfter(cursorAt)
+                        || (p.getLoggedAt().isEqual(cursorAt) && p.getId() > cursorId))
+                .sorted(OLDEST_FIRST)
+                .limit(page.getPageSize())
+                .toList();
+    }
+}
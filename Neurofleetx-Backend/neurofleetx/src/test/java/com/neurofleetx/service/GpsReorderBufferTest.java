@@ -0,0 +1,107 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.entity.Vehicle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class GpsReorderBufferTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+    private final List<Long> applied = new CopyOnWriteArrayList<>();
+    private GpsReorderBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        TripStatsService tripStats = mock(TripStatsService.class);
+        doAnswer(inv -> applied.add(inv.<GpsLog>getArgument(0).getDeviceSeq())).when(tripStats).record(any());
+
+        buffer = new GpsReorderBuffer();
+        ReflectionTestUtils.setField(buffer, "latestPositionStore", mock(LatestPositionStore.class));
+        ReflectionTestUtils.setField(buffer, "fleetStreamService", mock(FleetStreamService.class));
+        ReflectionTestUtils.setField(buffer, "tripStatsService", tripStats);
+        ReflectionTestUtils.setField(buffer, "mapMatchingService", mock(MapMatchingService.class));
+        ReflectionTestUtils.setField(buffer, "trackSimplificationService", mock(TrackSimplificationService.class));
+        ReflectionTestUtils.setField(buffer, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(buffer, "maxHeld", 64);
+    }
+
+    @Test
+    void lateFixSlotsInBeforeNewerOnes() {
+        buffer.submit(fix(1L, 3, 10));
+        buffer.submit(fix(1L, 1, 0));
+        buffer.submit(fix(1L, 2, 5));
+        buffer.flush();
+        assertThat(applied).isEmpty();
+
+        buffer.flush(1L);
+        assertThat(applied).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void sequenceBreaksTimestampTies() {
+        buffer.submit(fix(1L, 8, 0));
+        buffer.submit(fix(1L, 7, 0));
+        buffer.flush(1L);
+        assertThat(applied).containsExactly(7L, 8L);
+    }
+
+    @Test
+    void fixesAreReleasedOnceTheWindowHasPassed() throws Exception {
+        ReflectionTestUtils.setField(buffer, "windowMs", 20L);
+        buffer.submit(fix(1L, 2, 5));
+        buffer.submit(fix(1L, 1, 0));
+        Thread.sleep(40);
+        buffer.flush();
+        assertThat(applied).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void fullLaneReleasesItsOldestFixes() {
+        ReflectionTestUtils.setField(buffer, "maxHeld", 2);
+        buffer.submit(fix(1L, 3, 10));
+        buffer.submit(fix(1L, 1, 0));
+        buffer.submit(fix(1L, 2, 5));
+        assertThat(applied).containsExactly(1L);
+    }
+
+    @Test
+    void flushingOneVehicleLeavesOthersHeld() {
+        buffer.submit(fix(1L, 1, 0));
+        buffer.submit(fix(2L, 2, 0));
+        buffer.flush(1L);
+        assertThat(applied).containsExactly(1L);
+    }
+
+    @Test
+    void zeroWindowAppliesImmediately() {
+        ReflectionTestUtils.setField(buffer, "windowMs", 0L);
+        buffer.submit(fix(1L, 2, 5));
+        buffer.submit(fix(1L, 1, 0));
+        assertThat(applied).containsExactly(2L, 1L);
+    }
+
+    private static GpsLog fix(Long vehicleId, long seq, int second) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(vehicleId);
+        GpsLog log = new GpsLog();
+        log.setVehicle(vehicle);
+        log.setDeviceSeq(seq);
+        log.setLatitude(11.0);
+        log.setLongitude(77.0);
+        log.setSpeed(30.0);
+        log.setLoggedAt(T0.plusSeconds(second));
+        return log;
+    }
+}
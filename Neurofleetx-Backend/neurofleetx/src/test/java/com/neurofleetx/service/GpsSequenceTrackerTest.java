@@ -0,0 +1,68 @@
+package com.neurofleetx.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GpsSequenceTrackerTest {
+
+    private final GpsSequenceTracker tracker = new GpsSequenceTracker(128);
+
+    @Test
+    void repeatedSequenceIsADuplicate() {
+        assertThat(tracker.markIfNew(1L, 5L)).isTrue();
+        assertThat(tracker.markIfNew(1L, 5L)).isFalse();
+        // Another vehicle has its own window
+        assertThat(tracker.markIfNew(2L, 5L)).isTrue();
+    }
+
+    @Test
+    void outOfOrderSequencesInsideTheWindowAreTracked() {
+        assertThat(tracker.markIfNew(1L, 100L)).isTrue();
+        assertThat(tracker.markIfNew(1L, 90L)).isTrue();
+        assertThat(tracker.markIfNew(1L, 95L)).isTrue();
+        assertThat(tracker.markIfNew(1L, 90L)).isFalse();
+        assertThat(tracker.markIfNew(1L, 101L)).isTrue();
+        assertThat(tracker.markIfNew(1L, 95L)).isFalse();
+    }
+
+    @Test
+    void negativeSequenceIsRefused() {
+        assertThatThrownBy(() -> tracker.markIfNew(1L, -1L)).isInstanceOf(IllegalArgumentException.class);
+        // The refused call left no trace in the window
+        assertThat(tracker.markIfNew(1L, 0L)).isTrue();
+        assertThat(tracker.markIfNew(1L, 0L)).isFalse();
+    }
+
+    @Test
+    void sequencesOlderThanTheWindowAreLeftToTheDatabase() {
+        tracker.markIfNew(1L, 10L);
+        tracker.markIfNew(1L, 10L + 128);
+        // Slot of 10 was reused by 138: the tracker cannot tell, so it says "new"
+        assertThat(tracker.markIfNew(1L, 10L)).isTrue();
+        assertThat(tracker.markIfNew(1L, 10L + 128)).isFalse();
+    }
+
+    @Test
+    void slidingForwardClearsReusedSlots() {
+        tracker.markIfNew(1L, 3L);
+        tracker.markIfNew(1L, 130L);
+        // 131 shares 3's slot; it must not look like a duplicate
+        assertThat(tracker.markIfNew(1L, 131L)).isTrue();
+        assertThat(tracker.markIfNew(1L, 131L)).isFalse();
+    }
+
+    @Test
+    void forgottenSequenceCanBeRetried() {
+        tracker.markIfNew(1L, 7L);
+        tracker.forget(1L, 7L);
+        assertThat(tracker.markIfNew(1L, 7L)).isTrue();
+    }
+
+    @Test
+    void fixesWithoutSequenceAreNeverDuplicates() {
+        assertThat(tracker.markIfNew(1L, null)).isTrue();
+        assertThat(tracker.markIfNew(1L, null)).isTrue();
+    }
+}
@@ -0,0 +1,124 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.GpsBatchResponse;
+import com.neurofleetx.dto.GpsFixRequest;
+import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.GpsJdbcRepository;
+import com.neurofleetx.repository.TripRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GpsServiceBatchTest {
+
+    // Device sequences of vehicle 1 in the fake gps_log
+    private final Set<Long> stored = new HashSet<>();
+
+    private GpsService service;
+    private GpsReorderBuffer reorderBuffer;
+
+    @BeforeEach
+    void setUp() {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(1L);
+
+        VehicleRepository vehicles = mock(VehicleRepository.class);
+        when(vehicles.findAllById(any())).thenReturn(List.of(vehicle));
+        TripRepository trips = mock(TripRepository.class);
+        when(trips.findAllById(any())).thenReturn(List.of());
+
+        // Like MySQL without useAffectedRows: every row reports 1, duplicate or not
+        GpsJdbcRepository jdbc = mock(GpsJdbcRepository.class);
+        when(jdbc.batchInsert(anyList())).thenAnswer(inv -> {
+            List<GpsLog> rows = inv.getArgument(0);
+            rows.forEach(r -> stored.add(r.getDeviceSeq()));
+            int[] counts = new int[rows.size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+        when(jdbc.findStoredSeqs(anyLong(), any())).thenAnswer(inv -> {
+            Collection<Long> seqs = inv.getArgument(1);
+            return seqs.stream().filter(stored::contains).collect(Collectors.toSet());
+        });
+
+        GpsWriteBehindService writeBehind = mock(GpsWriteBehindService.class);
+        when(writeBehind.isAsync()).thenReturn(false);
+        reorderBuffer = mock(GpsReorderBuffer.class);
+
+        service = new GpsService(new RestTemplate());
+        ReflectionTestUtils.setField(service, "vehicleRepository", vehicles);
+        ReflectionTestUtils.setField(service, "tripRepository", trips);
+        ReflectionTestUtils.setField(service, "gpsJdbcRepository", jdbc);
+        ReflectionTestUtils.setField(service, "writeBehind", writeBehind);
+        ReflectionTestUtils.setField(service, "reorderBuffer", reorderBuffer);
+        ReflectionTestUtils.setField(service, "sequenceTracker", new GpsSequenceTracker(1024));
+        ReflectionTestUtils.setField(service, "maxBatchSize", 1000);
+        ReflectionTestUtils.setField(service, "maxClockSkewMs", 300_000L);
+    }
+
+    @Test
+    void sameFixPostedTwiceIsCountedOnce() {
+        GpsBatchResponse first = service.createGpsLogBatch(List.of(fix(5)));
+        GpsBatchResponse second = service.createGpsLogBatch(List.of(fix(5)));
+
+        assertThat(first.getAccepted()).isEqualTo(1);
+        assertThat(first.getDuplicates()).isZero();
+        assertThat(second.getAccepted()).isEqualTo(1);
+        assertThat(second.getDuplicates()).isEqualTo(1);
+        verify(reorderBuffer, times(1)).submit(any());
+    }
+
+    @Test
+    void retryAfterRestartIsCaughtByTheStoredRows() {
+        service.createGpsLogBatch(List.of(fix(5), fix(6)));
+
+        // A fresh tracker has not seen the sequences: only the DB lookup knows them
+        ReflectionTestUtils.setField(service, "sequenceTracker", new GpsSequenceTracker(1024));
+        GpsBatchResponse retry = service.createGpsLogBatch(List.of(fix(6), fix(7)));
+
+        assertThat(retry.getAccepted()).isEqualTo(2);
+        assertThat(retry.getDuplicates()).isEqualTo(1);
+        assertThat(retry.getResults().get(0).getReason()).isEqualTo("duplicate");
+        assertThat(retry.getResults().get(1).getReason()).isNull();
+        verify(reorderBuffer, times(3)).submit(any());
+    }
+
+    @Test
+    void negativeSequenceIsRejectedPerItem() {
+        GpsBatchResponse response = service.createGpsLogBatch(List.of(fix(-1), fix(8)));
+
+        assertThat(response.getAccepted()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getReason()).isEqualTo("seq must not be negative");
+        assertThat(stored).containsExactly(8L);
+    }
+
+    private static GpsFixRequest fix(long seq) {
+        GpsFixRequest fix = new GpsFixRequest();
+        fix.setVehicleId(1L);
+        fix.setLatitude(11.0 + seq * 0.001);
+        fix.setLongitude(77.0);
+        fix.setSpeed(30.0);
+        fix.setTimestamp(System.currentTimeMillis());
+        fix.setSeq(seq);
+        return fix;
+    }
+}
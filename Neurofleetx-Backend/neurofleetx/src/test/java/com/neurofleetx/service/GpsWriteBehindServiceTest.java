@@ -0,0 +1,117 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.GpsJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GpsWriteBehindServiceTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final List<Long> inserted = new ArrayList<>();
+    private GpsJdbcRepository jdbc;
+    private GpsWriteBehindService service;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager tm = mock(PlatformTransactionManager.class);
+        when(tm.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        jdbc = mock(GpsJdbcRepository.class);
+
+        service = new GpsWriteBehindService(tm);
+        ReflectionTestUtils.setField(service, "gpsJdbcRepository", jdbc);
+        ReflectionTestUtils.setField(service, "ingestMode", "sync");
+        ReflectionTestUtils.setField(service, "batchSize", 500);
+        ReflectionTestUtils.setField(service, "spillDir", spillDir.toString());
+    }
+
+    @Test
+    void replayRejectsTheRowTheDbRefusesAndWritesTheRest() throws Exception {
+        // Vehicle 2 was deleted after the ack: any chunk holding its fix fails with an FK error
+        when(jdbc.batchInsert(anyList())).thenAnswer(inv -> {
+            List<GpsLog> rows = inv.getArgument(0);
+            if (rows.stream().anyMatch(r -> r.getVehicle().getVehicleId() == 2L)) {
+                throw new DataIntegrityViolationException("FK vehicle_id");
+            }
+            rows.forEach(r -> inserted.add(r.getDeviceSeq()));
+            return new int[rows.size()];
+        });
+        Path segment = spillDir.resolve("segment-1-0.pending");
+        Files.writeString(segment, line(1, 10) + line(2, 11) + line(1, 12) + line(1, 13));
+
+        service.start();
+
+        assertThat(inserted).containsExactlyInAnyOrder(10L, 12L, 13L);
+        assertThat(Files.readAllLines(spillDir.resolve("gps-rejected.log")))
+                .containsExactly(line(2, 11).trim());
+        assertThat(segment).doesNotExist();
+    }
+
+    @Test
+    void replayKeepsTheSegmentWhenTheDbIsUnreachable() throws Exception {
+        when(jdbc.batchInsert(anyList())).thenThrow(new CannotGetJdbcConnectionException("down"));
+        Path segment = spillDir.resolve("segment-1-0.pending");
+        Files.writeString(segment, line(1, 10));
+
+        service.start();
+
+        assertThat(segment).exists();
+        assertThat(spillDir.resolve("gps-rejected.log")).doesNotExist();
+    }
+
+    @Test
+    void offeredFixesAreJournaledUntilTheQueueIsFull() throws Exception {
+        ReflectionTestUtils.setField(service, "ingestMode", "async");
+        ReflectionTestUtils.setField(service, "queueCapacity", 2);
+        ReflectionTestUtils.setField(service, "flushIntervalMs", 60_000L);
+        service.start();
+        try {
+            boolean[] taken = service.offer(List.of(fix(1, 10), fix(1, 11), fix(1, 12)));
+
+            assertThat(taken).containsExactly(true, true, false);
+            assertThat(service.queuedCount()).isEqualTo(2);
+            assertThat(Files.readAllLines(spillDir.resolve("gps-spill.log")))
+                    .containsExactly(line(1, 10).trim(), line(1, 11).trim());
+        } finally {
+            service.stop();
+        }
+    }
+
+    private static GpsLog fix(long vehicleId, long seq) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(vehicleId);
+        GpsLog log = new GpsLog();
+        log.setVehicle(vehicle);
+        log.setLatitude(11.0);
+        log.setLongitude(77.0);
+        log.setSpeed(30.0);
+        log.setLoggedAt(LocalDateTime.of(2026, 1, 1, 8, 0));
+        log.setDeviceSeq(seq);
+        return log;
+    }
+
+    private static String line(long vehicleId, long seq) {
+        return vehicleId + "||11.0|77.0|30.0|2026-01-01T08:00|" + seq + "\n";
+    }
+}
@@ -0,0 +1,56 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.FleetStatusDTO;
+import com.neurofleetx.entity.GpsLog;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.GpsJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LatestPositionStoreTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+    @Test
+    void warmUpDoesNotOverwriteANewerLiveFix() {
+        GpsJdbcRepository jdbc = mock(GpsJdbcRepository.class);
+        LatestPositionStore store = new LatestPositionStore();
+        ReflectionTestUtils.setField(store, "gpsJdbcRepository", jdbc);
+
+        // A live fix lands while the warm-up query is still running
+        store.update(fix(12.0, T0.plusMinutes(1)));
+        FleetStatusDTO stale = new FleetStatusDTO(1L, "KA-01", "VAN", "Unassigned",
+                11.0, 77.0, 30.0, null, T0.toString());
+        when(jdbc.findLatestPositions()).thenReturn(List.of(stale));
+        store.warmUp();
+
+        assertThat(store.get(1L).getLatitude()).isEqualTo(12.0);
+    }
+
+    @Test
+    void olderFixIsNotPublished() {
+        LatestPositionStore store = new LatestPositionStore();
+        assertThat(store.update(fix(12.0, T0.plusMinutes(1)))).isNotNull();
+        assertThat(store.update(fix(11.0, T0))).isNull();
+        assertThat(store.get(1L).getLatitude()).isEqualTo(12.0);
+    }
+
+    private static GpsLog fix(double lat, LocalDateTime at) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(1L);
+        GpsLog log = new GpsLog();
+        log.setVehicle(vehicle);
+        log.setLatitude(lat);
+        log.setLongitude(77.0);
+        log.setSpeed(30.0);
+        log.setLoggedAt(at);
+        return log;
+    }
+}
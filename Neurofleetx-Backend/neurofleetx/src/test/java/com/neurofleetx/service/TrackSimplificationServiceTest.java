@@ -0,0 +1,67 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.GpsPointDTO;
+import com.neurofleetx.entity.Trip;
+import com.neurofleetx.entity.TripStatus;
+import com.neurofleetx.repository.GpsRepository;
+import com.neurofleetx.repository.GpsRollupRepository;
+import com.neurofleetx.repository.TripRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrackSimplificationServiceTest {
+
+    private final GpsRepository gpsRepository = mock(GpsRepository.class);
+    private TrackSimplificationService service;
+
+    @BeforeEach
+    void setUp() {
+        Trip trip = new Trip();
+        trip.setTripId(7L);
+        trip.setStatus(TripStatus.COMPLETED);
+        TripRepository trips = mock(TripRepository.class);
+        when(trips.findById(7L)).thenReturn(Optional.of(trip));
+        GpsRollupRepository rollups = mock(GpsRollupRepository.class);
+        when(rollups.findTripRollups(7L)).thenReturn(List.of());
+
+        LocalDateTime t0 = LocalDateTime.of(2026, 1, 1, 8, 0);
+        when(gpsRepository.streamTripTrack(7L)).thenAnswer(inv -> Stream.of(
+                new GpsPointDTO(1L, 11.0, 77.0, 30.0, t0),
+                new GpsPointDTO(2L, 11.001, 77.0, 30.0, t0.plusSeconds(10)),
+                new GpsPointDTO(3L, 11.002, 77.0, 30.0, t0.plusSeconds(20))));
+
+        service = new TrackSimplificationService();
+        ReflectionTestUtils.setField(service, "gpsRepository", gpsRepository);
+        ReflectionTestUtils.setField(service, "gpsRollupRepository", rollups);
+        ReflectionTestUtils.setField(service, "tripRepository", trips);
+        ReflectionTestUtils.setField(service, "cacheSize", 16);
+        ReflectionTestUtils.invokeMethod(service, "init");
+    }
+
+    @Test
+    void completedTripIsServedFromCacheUntilEvicted() {
+        List<GpsPointDTO> first = service.getSimplifiedTrack(7L, 5, false);
+        assertThat(service.getSimplifiedTrack(7L, 5, false)).isSameAs(first);
+        verify(gpsRepository, times(1)).streamTripTrack(7L);
+
+        service.evict(7L);
+        assertThat(service.getSimplifiedTrack(7L, 5, false)).isEqualTo(first).isNotSameAs(first);
+        verify(gpsRepository, times(2)).streamTripTrack(7L);
+
+        service.evictAll();
+        service.getSimplifiedTrack(7L, 5, false);
+        verify(gpsRepository, times(3)).streamTripTrack(7L);
+    }
+}
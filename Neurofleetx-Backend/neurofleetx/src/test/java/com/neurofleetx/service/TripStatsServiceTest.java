@@ -0,0 +1,59 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.GpsPointDTO;
+import com.neurofleetx.util.TripOdometer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TripStatsServiceTest {
+
+    private final GpsHistoryService history = mock(GpsHistoryService.class);
+    private TripStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TripStatsService();
+        ReflectionTestUtils.setField(service, "gpsHistoryService", history);
+        ReflectionTestUtils.setField(service, "movingSpeedKmh", 10.0);
+        ReflectionTestUtils.setField(service, "maxGapSeconds", 300L);
+        ReflectionTestUtils.setField(service, "statsIdleHours", 24L);
+    }
+
+    @Test
+    void tripWithoutFixesLeavesNoOdometerBehind() {
+        when(history.getTripTrack(7L)).thenReturn(List.of());
+
+        TripOdometer.Snapshot stats = service.getStats(7L);
+
+        assertThat(stats.getSamples()).isZero();
+        assertThat(odometers()).isEmpty();
+    }
+
+    @Test
+    void storedTrackIsRebuiltOnceAndReleasedOnFinish() {
+        LocalDateTime t0 = LocalDateTime.now().minusMinutes(5);
+        GpsPointDTO a = new GpsPointDTO(1L, 11.0, 77.0, 30.0, t0);
+        GpsPointDTO b = new GpsPointDTO(2L, 11.001, 77.0, 30.0, t0.plusSeconds(10));
+        when(history.getTripTrack(7L)).thenReturn(List.of(a, b));
+
+        assertThat(service.getStats(7L).getSamples()).isEqualTo(2);
+        assertThat(odometers()).containsKey(7L);
+
+        assertThat(service.finish(7L).getMovingSeconds()).isEqualTo(10);
+        assertThat(odometers()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, TripOdometer> odometers() {
+        return (Map<Long, TripOdometer>) ReflectionTestUtils.getField(service, "odometers");
+    }
+}
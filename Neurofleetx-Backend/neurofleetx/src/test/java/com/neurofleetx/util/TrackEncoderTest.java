@@ -0,0 +1,110 @@
+package com.neurofleetx.util;
+
+import com.neurofleetx.dto.CompactTrackDTO;
+import com.neurofleetx.dto.GpsPointDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrackEncoderTest {
+
+    private final List<GpsPointDTO> track = randomTrack(500);
+
+    @Test
+    void compactJsonRoundTrips() {
+        CompactTrackDTO c = TrackEncoder.toCompactJson(track);
+        assertThat(c.getCount()).isEqualTo(track.size());
+
+        long t = c.getStartTime();
+        int lat = 0, lng = 0, speed = 0;
+        for (int i = 0; i < c.getCount(); i++) {
+            t += c.getT()[i];
+            lat += c.getLat()[i];
+            lng += c.getLng()[i];
+            speed += c.getSpeed()[i];
+            assertPoint(i, t, lat, lng, speed, c.getCoordScale(), c.getSpeedScale());
+        }
+    }
+
+    @Test
+    void binaryRoundTrips() {
+        ByteBuffer in = ByteBuffer.wrap(TrackEncoder.toBinary(track));
+        byte[] magic = new byte[4];
+        in.get(magic);
+        assertThat(new String(magic, StandardCharsets.US_ASCII)).isEqualTo("NFXT");
+        assertThat(in.get()).isEqualTo((byte) 1);
+
+        int n = (int) readVarLong(in);
+        assertThat(n).isEqualTo(track.size());
+        long start = unZigZag(readVarLong(in));
+        long[][] columns = new long[4][n];
+        for (long[] column : columns) {
+            for (int i = 0; i < n; i++) column[i] = unZigZag(readVarLong(in));
+        }
+        assertThat(in.hasRemaining()).isFalse();
+
+        long t = start, lat = 0, lng = 0, speed = 0;
+        for (int i = 0; i < n; i++) {
+            t += columns[0][i];
+            lat += columns[1][i];
+            lng += columns[2][i];
+            speed += columns[3][i];
+            assertPoint(i, t, lat, lng, speed, TrackEncoder.COORD_SCALE, TrackEncoder.SPEED_SCALE);
+        }
+    }
+
+    @Test
+    void binaryIsSmallerThanFixedWidthColumns() {
+        // 8 bytes of time, 4 each of lat / lng / speed per point uncompressed
+        assertThat(TrackEncoder.toBinary(track).length).isLessThan(track.size() * 20 / 2);
+    }
+
+    @Test
+    void emptyTrackEncodes() {
+        assertThat(TrackEncoder.toCompactJson(List.of()).getCount()).isZero();
+        assertThat(TrackEncoder.toBinary(List.of())).hasSize(7);
+    }
+
+    private void assertPoint(int i, long t, long lat, long lng, long speed, int coordScale, int speedScale) {
+        GpsPointDTO p = track.get(i);
+        assertThat(t).isEqualTo(TrackEncoder.epochMillis(p.getLoggedAt()));
+        assertThat((double) lat / coordScale).isCloseTo(p.getLatitude(), within(0.5 / coordScale + 1e-12));
+        assertThat((double) lng / coordScale).isCloseTo(p.getLongitude(), within(0.5 / coordScale + 1e-12));
+        assertThat((double) speed / speedScale).isCloseTo(p.getSpeed(), within(0.5 / speedScale + 1e-12));
+    }
+
+    private static List<GpsPointDTO> randomTrack(int n) {
+        Random random = new Random(6);
+        List<GpsPointDTO> points = new ArrayList<>(n);
+        LocalDateTime t = LocalDateTime.of(2026, 1, 1, 8, 0);
+        double lat = 11.0, lng = 77.0;
+        for (int i = 0; i < n; i++) {
+            t = t.plusNanos((1000 + random.nextInt(9000)) * 1_000_000L);
+            lat += (random.nextDouble() - 0.5) * 0.001;
+            lng -= (random.nextDouble() - 0.5) * 0.001;
+            points.add(new GpsPointDTO((long) i, lat, lng, random.nextDouble() * 80, t));
+        }
+        return points;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+    }
+
+    private static long unZigZag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
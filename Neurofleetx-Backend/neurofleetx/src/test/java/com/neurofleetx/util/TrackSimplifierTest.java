@@ -0,0 +1,102 @@
+package com.neurofleetx.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrackSimplifierTest {
+
+    private static final double METERS_PER_DEG = 111_320.0;
+
+    @Test
+    void straightLineKeepsOnlyTheEnds() {
+        TrackBuffer track = new TrackBuffer();
+        for (int i = 0; i <= 10; i++) track.add(i, 11.0 + i * 0.0001, 77.0, 30, i * 1000L);
+
+        BitSet keep = TrackSimplifier.simplify(track, 5, false);
+
+        assertThat(keep.cardinality()).isEqualTo(2);
+        assertThat(keep.get(0)).isTrue();
+        assertThat(keep.get(10)).isTrue();
+    }
+
+    @Test
+    void cornerIsKept() {
+        TrackBuffer track = new TrackBuffer();
+        for (int i = 0; i <= 5; i++) track.add(i, 11.0 + i * 0.001, 77.0, 30, i * 1000L);
+        for (int i = 1; i <= 5; i++) track.add(5 + i, 11.005, 77.0 + i * 0.001, 30, (5 + i) * 1000L);
+
+        BitSet keep = TrackSimplifier.simplify(track, 5, false);
+
+        assertThat(keep.stream().toArray()).containsExactly(0, 5, 10);
+    }
+
+    @Test
+    void droppedPointsStayWithinTolerance() {
+        Random random = new Random(7);
+        TrackBuffer track = new TrackBuffer();
+        double lat = 11.0, lng = 77.0;
+        for (int i = 0; i < 2000; i++) {
+            lat += (random.nextDouble() - 0.3) * 0.0002;
+            lng += (random.nextDouble() - 0.4) * 0.0002;
+            track.add(i, lat, lng, 30, i * 1000L);
+        }
+
+        double tolerance = 10;
+        BitSet keep = TrackSimplifier.simplify(track, tolerance, false);
+        assertThat(keep.cardinality()).isLessThan(track.size());
+
+        double cosLat = Math.cos(Math.toRadians(track.lat(0)));
+        int prev = 0;
+        for (int next = keep.nextSetBit(1); next >= 0; prev = next, next = keep.nextSetBit(next + 1)) {
+            for (int i = prev + 1; i < next; i++) {
+                assertThat(distanceToSegment(track, cosLat, i, prev, next)).isLessThanOrEqualTo(tolerance + 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void timeAwareModeKeepsAStopOnAStraightRoad() {
+        // Drives north, waits at the same spot for a minute, drives on
+        TrackBuffer track = new TrackBuffer();
+        long t = 0;
+        for (int i = 0; i <= 5; i++) track.add(i, 11.0 + i * 0.0005, 77.0, 30, t += 5000);
+        for (int i = 0; i < 6; i++) track.add(6 + i, 11.0025, 77.0, 0, t += 10_000);
+        for (int i = 1; i <= 5; i++) track.add(11 + i, 11.0025 + i * 0.0005, 77.0, 30, t += 5000);
+
+        assertThat(TrackSimplifier.simplify(track, 10, false).cardinality()).isEqualTo(2);
+        BitSet timed = TrackSimplifier.simplify(track, 10, true);
+        assertThat(timed.cardinality()).isGreaterThan(2);
+        assertThat(timed.get(5) || timed.get(6)).isTrue();
+        assertThat(timed.get(11) || timed.get(12)).isTrue();
+    }
+
+    @Test
+    void tinyTracksKeepEveryPoint() {
+        TrackBuffer track = new TrackBuffer();
+        assertThat(TrackSimplifier.simplify(track, 10, false).cardinality()).isZero();
+        track.add(0, 11.0, 77.0, 0, 0);
+        track.add(1, 11.1, 77.0, 0, 1000);
+        assertThat(TrackSimplifier.simplify(track, 10, false).cardinality()).isEqualTo(2);
+    }
+
+    private static double distanceToSegment(TrackBuffer track, double cosLat, int p, int a, int b) {
+        double px = x(track, cosLat, p), py = y(track, p);
+        double ax = x(track, cosLat, a), ay = y(track, a);
+        double dx = x(track, cosLat, b) - ax, dy = y(track, b) - ay;
+        double len2 = dx * dx + dy * dy;
+        double r = len2 == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / len2));
+        return Math.hypot(ax + r * dx - px, ay + r * dy - py);
+    }
+
+    private static double x(TrackBuffer track, double cosLat, int i) {
+        return (track.lng(i) - track.lng(0)) * METERS_PER_DEG * cosLat;
+    }
+
+    private static double y(TrackBuffer track, int i) {
+        return (track.lat(i) - track.lat(0)) * METERS_PER_DEG;
+    }
+}
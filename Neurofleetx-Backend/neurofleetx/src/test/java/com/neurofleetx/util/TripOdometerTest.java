@@ -0,0 +1,55 @@
+package com.neurofleetx.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TripOdometerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+    @Test
+    void splitsIntervalsIntoMovingAndIdleTime() {
+        TripOdometer odometer = new TripOdometer(10, 300);
+        odometer.add(11.000, 77.0, 40, T0);
+        odometer.add(11.001, 77.0, 40, T0.plusSeconds(10));  // moving
+        odometer.add(11.001, 77.0, 0, T0.plusSeconds(70));   // mean 20 km/h: moving
+        odometer.add(11.001, 77.0, 0, T0.plusSeconds(130));  // idle
+
+        TripOdometer.Snapshot stats = odometer.snapshot();
+        assertThat(stats.getSamples()).isEqualTo(4);
+        assertThat(stats.getMovingSeconds()).isEqualTo(70);
+        assertThat(stats.getIdleSeconds()).isEqualTo(60);
+        assertThat(stats.getDistanceKm()).isCloseTo(GeoUtils.haversineDistanceKm(11.0, 77.0, 11.001, 77.0), within(1e-12));
+        assertThat(stats.getMaxSpeed()).isEqualTo(40);
+        assertThat(stats.getFirstAt()).isEqualTo(T0);
+        assertThat(stats.getLastAt()).isEqualTo(T0.plusSeconds(130));
+    }
+
+    @Test
+    void gapAddsDistanceButNoTime() {
+        TripOdometer odometer = new TripOdometer(10, 300);
+        odometer.add(11.0, 77.0, 30, T0);
+        odometer.add(11.01, 77.0, 30, T0.plusSeconds(600));
+
+        TripOdometer.Snapshot stats = odometer.snapshot();
+        assertThat(stats.getDistanceKm()).isGreaterThan(1.0);
+        assertThat(stats.getMovingSeconds()).isZero();
+        assertThat(stats.getIdleSeconds()).isZero();
+        assertThat(stats.avgMovingSpeed()).isZero();
+    }
+
+    @Test
+    void ignoresFixesThatAreNotNewer() {
+        TripOdometer odometer = new TripOdometer(10, 300);
+        assertThat(odometer.add(11.0, 77.0, 30, T0.plusSeconds(10))).isTrue();
+        assertThat(odometer.add(11.1, 77.0, 30, T0.plusSeconds(10))).isFalse();
+        assertThat(odometer.add(11.1, 77.0, 30, T0)).isFalse();
+
+        assertThat(odometer.snapshot().getSamples()).isEqualTo(1);
+        assertThat(odometer.snapshot().getDistanceKm()).isZero();
+    }
+}